@@ -0,0 +1,101 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.ledger.grameLedger;
+import com.gramegrame.api.proto.java.AccountAmount;
+import com.gramegrame.api.proto.java.CryptoTransferTransactionBody;
+import com.gramegrame.api.proto.java.ResponseCodeEnum;
+import com.gramegrame.api.proto.java.TransferList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.grame.services.bench.LedgerFixture.account;
+
+/**
+ * Measures {@link grameLedger#doAtomicTransfers(CryptoTransferTransactionBody)} plus the
+ * surrounding ledger transaction, for a transfer list that debits one account and credits
+ * {@code numAdjustments - 1} others. Alternates the transfer with its inverse, so balances
+ * never drift far enough to make the measured path fail.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class AtomicTransfersBench {
+	private static final long AMOUNT = 1_000L;
+
+	@Param({ "2", "10", "100" })
+	int numAdjustments;
+
+	boolean forward;
+	grameLedger ledger;
+	CryptoTransferTransactionBody forwardOp;
+	CryptoTransferTransactionBody reverseOp;
+
+	@Setup
+	public void setup() {
+		ledger = new LedgerFixture(numAdjustments).ledger();
+		forwardOp = opWith(1);
+		reverseOp = opWith(-1);
+	}
+
+	@Benchmark
+	public ResponseCodeEnum doAtomicTransfers() {
+		forward = !forward;
+		ledger.begin();
+		var validity = ledger.doAtomicTransfers(forward ? forwardOp : reverseOp);
+		ledger.commit();
+		return validity;
+	}
+
+	private CryptoTransferTransactionBody opWith(long sign) {
+		var credits = numAdjustments - 1;
+		var transfers = TransferList.newBuilder()
+				.addAccountAmounts(adjustment(0, -sign * AMOUNT * credits));
+		for (int i = 1; i <= credits; i++) {
+			transfers.addAccountAmounts(adjustment(i, sign * AMOUNT));
+		}
+		return CryptoTransferTransactionBody.newBuilder()
+				.setTransfers(transfers)
+				.build();
+	}
+
+	private AccountAmount adjustment(int i, long amount) {
+		return AccountAmount.newBuilder()
+				.setAccountID(account(i))
+				.setAmount(amount)
+				.build();
+	}
+}
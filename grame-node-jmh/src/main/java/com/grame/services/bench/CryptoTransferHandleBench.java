@@ -0,0 +1,155 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.config.MockEntityNumbers;
+import com.grame.services.config.MockGlobalDynamicProps;
+import com.grame.services.fees.calculation.UsageBasedFeeCalculator;
+import com.grame.services.ledger.grameLedger;
+import com.grame.services.legacy.core.jproto.JKey;
+import com.grame.services.sigs.Rationalization;
+import com.grame.services.sigs.factories.BodySigningSigFactory;
+import com.grame.services.sigs.order.grameSigningOrder;
+import com.grame.services.sigs.verification.SyncVerifier;
+import com.grame.services.state.expiry.ExpiringCreations;
+import com.grame.services.state.expiry.ExpiryManager;
+import com.grame.services.utils.PlatformTxnAccessor;
+import com.gramegrame.api.proto.java.TransactionReceipt;
+import com.gramegrame.api.proto.java.TransactionRecord;
+import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.engine.CryptoEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.grame.services.sigs.grameToPlatformSigOps.expandIn;
+import static com.grame.services.sigs.metadata.DelegatingSigMetadataLookup.defaultLookupsFor;
+import static com.grame.services.sigs.sourcing.DefaultSigBytesProvider.DEFAULT_SIG_BYTES;
+import static com.grame.services.utils.MiscUtils.asTimestamp;
+import static com.grame.test.factories.scenarios.CryptoTransferScenarios.CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO;
+import static com.grame.test.factories.sigs.SigWrappers.asValid;
+import static com.grame.test.factories.txns.SignedTxnFactory.DEFAULT_NODE;
+import static com.grame.test.factories.txns.SignedTxnFactory.DEFAULT_PAYER_KT;
+
+/**
+ * Measures the consensus handling of a {@code CryptoTransfer} end-to-end, composed from
+ * the same components {@code AwareProcessLogic} and {@code CryptoTransferTransitionLogic}
+ * use, in the same order: purge expired records, rationalize (platform-verified) signatures,
+ * compute and charge the fee, do the atomic transfers, create the expiring payer record, and
+ * commit the ledger.
+ *
+ * Consensus time advances by one millisecond per transaction, so after the first three
+ * minutes (of consensus time) every handled transaction also purges one expired record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class CryptoTransferHandleBench {
+	Instant consensusTime = Instant.ofEpochSecond(1_234_567L);
+
+	JKey payerKey;
+	grameLedger ledger;
+	ExpiryManager expiries;
+	ExpiringCreations creator;
+	SyncVerifier syncVerifier;
+	grameSigningOrder keyOrder;
+	PlatformTxnAccessor accessor;
+	UsageBasedFeeCalculator fees;
+
+	@Setup
+	public void setup() throws Throwable {
+		var scenario = CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO;
+		var hfs = scenario.hfs();
+		var accounts = scenario.accounts();
+
+		var fixture = new LedgerFixture(accounts);
+		ledger = fixture.ledger();
+		expiries = fixture.expiries();
+		creator = fixture.creator();
+
+		fees = FeeCalculationBench.feeCalculatorWith(1_000);
+		payerKey = DEFAULT_PAYER_KT.asJKey();
+
+		syncVerifier = new CryptoEngine()::verifySync;
+		keyOrder = new grameSigningOrder(
+				new MockEntityNumbers(),
+				defaultLookupsFor(hfs, () -> accounts, () -> null, ref -> null, ref -> null),
+				txn -> false,
+				(txn, function) -> false,
+				new MockGlobalDynamicProps());
+
+		accessor = scenario.platformTxn();
+		expandIn(accessor, keyOrder, DEFAULT_SIG_BYTES, BodySigningSigFactory::new);
+		var expanded = new ArrayList<>(accessor.getPlatformTxn().getSignatures());
+		accessor.getPlatformTxn().clear();
+		accessor.getPlatformTxn().addAll(asValid(expanded).toArray(new TransactionSignature[0]));
+	}
+
+	@Benchmark
+	public TransactionRecord handle() {
+		consensusTime = consensusTime.plusMillis(1);
+		var now = consensusTime.getEpochSecond();
+		var payer = accessor.getPayer();
+
+		ledger.begin();
+		expiries.purgeExpiredRecordsAt(now, ledger);
+
+		new Rationalization(
+				accessor,
+				syncVerifier,
+				keyOrder,
+				DEFAULT_SIG_BYTES,
+				BodySigningSigFactory::new
+		).execute();
+
+		var fee = fees.computeFee(accessor, payerKey, null);
+		var totalFee = fee.getNodeFee() + fee.getNetworkFee() + fee.getServiceFee();
+		ledger.doTransfer(payer, DEFAULT_NODE, totalFee);
+
+		var status = ledger.doAtomicTransfers(accessor.getTxn().getCryptoTransfer());
+
+		var record = TransactionRecord.newBuilder()
+				.setReceipt(TransactionReceipt.newBuilder().setStatus(status))
+				.setTransactionID(accessor.getTxnId())
+				.setConsensusTimestamp(asTimestamp(consensusTime))
+				.setTransactionFee(totalFee)
+				.setTransferList(ledger.netTransfersInTxn())
+				.build();
+		creator.createExpiringRecord(payer, record, now, 0L);
+
+		ledger.commit();
+		return record;
+	}
+}
@@ -0,0 +1,119 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.config.MockGlobalDynamicProps;
+import com.grame.services.ledger.grameLedger;
+import com.grame.services.state.expiry.ExpiringCreations;
+import com.grame.services.state.expiry.ExpiryManager;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.ResponseCodeEnum;
+import com.gramegrame.api.proto.java.Timestamp;
+import com.gramegrame.api.proto.java.TransactionID;
+import com.gramegrame.api.proto.java.TransactionReceipt;
+import com.gramegrame.api.proto.java.TransactionRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.grame.services.bench.LedgerFixture.account;
+
+/**
+ * Measures {@link ExpiryManager#purgeExpiredRecordsAt(long, grameLedger)} when each of
+ * {@code numPayers} accounts has {@code recordsPerPayer} records that all expire at the
+ * purge time. The records are re-created (outside the measurement) before every purge,
+ * each round one second later than the last, so expiries stay monotonic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class ExpiryPurgeBench {
+	private static final long RECORDS_TTL = new MockGlobalDynamicProps().cacheRecordsTtl();
+
+	@Param({ "1", "10" })
+	int recordsPerPayer;
+	@Param({ "10", "1000" })
+	int numPayers;
+
+	long now = 1_234_567L;
+	grameLedger ledger;
+	ExpiryManager expiries;
+	ExpiringCreations creator;
+	TransactionRecord[] records;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		var fixture = new LedgerFixture(numPayers);
+		ledger = fixture.ledger();
+		expiries = fixture.expiries();
+		creator = fixture.creator();
+
+		records = new TransactionRecord[numPayers];
+		for (int i = 0; i < numPayers; i++) {
+			records[i] = recordPaidBy(account(i));
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void addExpiringRecords() {
+		now++;
+		ledger.begin();
+		for (int i = 0; i < numPayers; i++) {
+			var payer = account(i);
+			for (int j = 0; j < recordsPerPayer; j++) {
+				creator.createExpiringRecord(payer, records[i], now, 0L);
+			}
+		}
+		ledger.commit();
+	}
+
+	@Benchmark
+	public void purge() {
+		ledger.begin();
+		expiries.purgeExpiredRecordsAt(now + RECORDS_TTL, ledger);
+		ledger.commit();
+	}
+
+	private TransactionRecord recordPaidBy(AccountID payer) {
+		return TransactionRecord.newBuilder()
+				.setReceipt(TransactionReceipt.newBuilder().setStatus(ResponseCodeEnum.SUCCESS))
+				.setTransactionID(TransactionID.newBuilder()
+						.setAccountID(payer)
+						.setTransactionValidStart(Timestamp.newBuilder().setSeconds(now)))
+				.setConsensusTimestamp(Timestamp.newBuilder().setSeconds(now))
+				.setTransactionFee(100_000L)
+				.build();
+	}
+}
@@ -0,0 +1,117 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.config.MockGlobalDynamicProps;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.fees.FeeMultiplierSource;
+import com.grame.services.fees.HbarCentExchange;
+import com.grame.services.fees.calculation.FeeQuoteCache;
+import com.grame.services.fees.calculation.UsageBasedFeeCalculator;
+import com.grame.services.fees.calculation.UsagePricesProvider;
+import com.grame.services.fees.calculation.crypto.txns.CryptoTransferResourceUsage;
+import com.grame.services.legacy.core.jproto.JKey;
+import com.grame.services.utils.SignedTxnAccessor;
+import com.gramegrame.api.proto.java.ExchangeRate;
+import com.gramegrame.fee.FeeObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.grame.services.fees.calculation.AwareFcfsUsagePrices.DEFAULT_USAGE_PRICES;
+import static com.grame.test.factories.txns.CryptoTransferFactory.newSignedCryptoTransfer;
+import static com.grame.test.factories.txns.SignedTxnFactory.DEFAULT_PAYER_ID;
+import static com.grame.test.factories.txns.SignedTxnFactory.DEFAULT_PAYER_KT;
+import static com.grame.test.factories.txns.TinyBarsFromTo.tinyBarsFromTo;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures {@link UsageBasedFeeCalculator#computeFee} for a simple {@code CryptoTransfer},
+ * with the {@link FeeQuoteCache} either disabled ({@code quoteCacheMaxSize=0}) or large
+ * enough that every quote after the first is a hit.
+ *
+ * The exchange rate, prices, and multiplier sources are stub-only mocks, so their (trivial)
+ * cost is not what is being measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class FeeCalculationBench {
+	@Param({ "0", "1000" })
+	int quoteCacheMaxSize;
+
+	JKey payerKey;
+	SignedTxnAccessor accessor;
+	UsageBasedFeeCalculator fees;
+
+	@Setup
+	public void setup() throws Throwable {
+		fees = feeCalculatorWith(quoteCacheMaxSize);
+		payerKey = DEFAULT_PAYER_KT.asJKey();
+		accessor = new SignedTxnAccessor(newSignedCryptoTransfer()
+				.transfers(tinyBarsFromTo(DEFAULT_PAYER_ID, "0.0.1001", 1_000L))
+				.get());
+	}
+
+	@Benchmark
+	public FeeObject computeFee() {
+		return fees.computeFee(accessor, payerKey, null);
+	}
+
+	static UsageBasedFeeCalculator feeCalculatorWith(int quoteCacheMaxSize) {
+		var exchange = mock(HbarCentExchange.class, withSettings().stubOnly());
+		given(exchange.activeRate()).willReturn(ExchangeRate.newBuilder()
+				.setHbarEquiv(1)
+				.setCentEquiv(12)
+				.build());
+		var usagePrices = mock(UsagePricesProvider.class, withSettings().stubOnly());
+		given(usagePrices.activePrices()).willReturn(DEFAULT_USAGE_PRICES);
+		var multiplierSource = mock(FeeMultiplierSource.class, withSettings().stubOnly());
+		given(multiplierSource.currentMultiplier()).willReturn(1L);
+		var nodeLocalProperties = mock(NodeLocalProperties.class, withSettings().stubOnly());
+		given(nodeLocalProperties.feeQuoteCacheMaxSize()).willReturn(quoteCacheMaxSize);
+
+		var cryptoTransferUsage = new CryptoTransferResourceUsage(new MockGlobalDynamicProps());
+		return new UsageBasedFeeCalculator(
+				exchange,
+				usagePrices,
+				multiplierSource,
+				List.of(),
+				function -> List.of(cryptoTransferUsage),
+				new FeeQuoteCache(nodeLocalProperties));
+	}
+}
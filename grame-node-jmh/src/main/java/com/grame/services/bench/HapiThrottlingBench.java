@@ -0,0 +1,79 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.throttling.ConcurrentHapiThrottling;
+import com.grame.services.throttling.DeterministicThrottling;
+import com.grame.services.throttling.FunctionalityThrottling;
+import com.grame.services.throttling.HapiThrottling;
+import com.grame.test.utils.SerdeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.gramegrame.api.proto.java.grameFunctionality.CryptoTransfer;
+
+/**
+ * Compares the throughput of throttling decisions made by the synchronized {@link HapiThrottling}
+ * and the lock-free {@link ConcurrentHapiThrottling}, with several threads sharing one instance
+ * (like the Netty workers running precheck).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Threads(8)
+@State(Scope.Benchmark)
+public class HapiThrottlingBench {
+	private static final int NETWORK_SIZE = 1;
+	private static final int STRIPES = 8;
+
+	@Param({ "synchronized", "concurrent" })
+	String throttlingType;
+
+	FunctionalityThrottling throttling;
+
+	@Setup
+	public void setup() throws IOException {
+		throttling = "synchronized".equals(throttlingType)
+				? new HapiThrottling(new DeterministicThrottling(() -> NETWORK_SIZE))
+				: new ConcurrentHapiThrottling(() -> NETWORK_SIZE, () -> STRIPES);
+		throttling.rebuildFor(SerdeUtils.pojoDefs("bootstrap/throttles.json"));
+	}
+
+	@Benchmark
+	public boolean shouldThrottle() {
+		return throttling.shouldThrottle(CryptoTransfer);
+	}
+}
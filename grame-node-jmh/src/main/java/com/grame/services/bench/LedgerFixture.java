@@ -0,0 +1,187 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.CacheBuilder;
+import com.grame.services.config.MockGlobalDynamicProps;
+import com.grame.services.context.properties.GlobalDynamicProperties;
+import com.grame.services.ledger.TransactionalLedger;
+import com.grame.services.ledger.grameLedger;
+import com.grame.services.ledger.accounts.BackingTokenRels;
+import com.grame.services.ledger.accounts.FCMapBackingAccounts;
+import com.grame.services.ledger.ids.SeqNoEntityIdSource;
+import com.grame.services.ledger.properties.AccountProperty;
+import com.grame.services.ledger.properties.ChangeSummaryManager;
+import com.grame.services.ledger.properties.TokenRelProperty;
+import com.grame.services.records.AccountRecordsHistorian;
+import com.grame.services.records.RecordCache;
+import com.grame.services.records.TxnIdRecentHistories;
+import com.grame.services.state.EntityCreator;
+import com.grame.services.state.expiry.ExpiringCreations;
+import com.grame.services.state.expiry.ExpiryManager;
+import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.state.merkle.MerkleEntityAssociation;
+import com.grame.services.state.merkle.MerkleEntityId;
+import com.grame.services.state.merkle.MerkleToken;
+import com.grame.services.state.merkle.MerkleTokenRelStatus;
+import com.grame.services.state.submerkle.SequenceNumber;
+import com.grame.services.store.tokens.grameTokenStore;
+import com.grame.test.mocks.TestContextValidator;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.TokenID;
+import com.gramegrame.api.proto.java.TransactionID;
+import com.gramegrame.api.proto.java.TransactionRecord;
+import com.swirlds.fcmap.FCMap;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Optional;
+
+import static com.grame.test.factories.accounts.MerkleAccountFactory.newAccount;
+
+/**
+ * Wires a {@link grameLedger} the way {@code ServicesContext} does, but over in-memory
+ * {@link FCMap}s and without a {@code Platform}; so benchmarks exercise the real ledger,
+ * expiry, and record-creation code paths, with nothing but the transaction context stubbed.
+ *
+ * Since the historian only needs the transaction context to decide which records to
+ * create, the fixture's historian does nothing; benchmarks create records explicitly
+ * through the {@link ExpiringCreations} instead.
+ */
+public class LedgerFixture {
+	public static final long FIRST_ACCOUNT_NUM = 1_001L;
+	public static final long INITIAL_BALANCE = 1_000_000_000_000L;
+
+	private final FCMap<MerkleEntityId, MerkleAccount> accounts;
+	private final TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger;
+	private final ExpiryManager expiries;
+	private final ExpiringCreations creator;
+	private final grameLedger ledger;
+
+	public LedgerFixture(int numAccounts) {
+		this(accountsWith(numAccounts));
+	}
+
+	public LedgerFixture(FCMap<MerkleEntityId, MerkleAccount> accounts) {
+		this.accounts = accounts;
+
+		GlobalDynamicProperties dynamicProperties = new MockGlobalDynamicProps() {
+			@Override
+			public boolean shouldKeepRecordsInState() {
+				return true;
+			}
+		};
+
+		var histories = new TxnIdRecentHistories();
+		var recordCache = new RecordCache(null, CacheBuilder.newBuilder().<TransactionID, Boolean>build(), histories);
+		expiries = new ExpiryManager(recordCache, histories, null, null, dynamicProperties);
+		creator = new ExpiringCreations(expiries, dynamicProperties);
+		creator.setRecordCache(recordCache);
+
+		accountsLedger = new TransactionalLedger<>(
+				AccountProperty.class,
+				MerkleAccount::new,
+				new FCMapBackingAccounts(() -> this.accounts),
+				new ChangeSummaryManager<>());
+
+		FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> tokenAssociations = new FCMap<>();
+		TransactionalLedger<Pair<AccountID, TokenID>, TokenRelProperty, MerkleTokenRelStatus> tokenRelsLedger =
+				new TransactionalLedger<>(
+						TokenRelProperty.class,
+						MerkleTokenRelStatus::new,
+						new BackingTokenRels(() -> tokenAssociations),
+						new ChangeSummaryManager<>());
+		FCMap<MerkleEntityId, MerkleToken> tokens = new FCMap<>();
+		var seqNo = new SequenceNumber(FIRST_ACCOUNT_NUM + accounts.size());
+		var ids = new SeqNoEntityIdSource(() -> seqNo);
+		var tokenStore = new grameTokenStore(
+				ids,
+				TestContextValidator.TEST_VALIDATOR,
+				dynamicProperties,
+				() -> tokens,
+				tokenRelsLedger);
+
+		ledger = new grameLedger(tokenStore, ids, creator, new NoopHistorian(), accountsLedger);
+		ledger.setTokenRelsLedger(tokenRelsLedger);
+	}
+
+	public static AccountID account(long i) {
+		return AccountID.newBuilder().setAccountNum(FIRST_ACCOUNT_NUM + i).build();
+	}
+
+	public FCMap<MerkleEntityId, MerkleAccount> accounts() {
+		return accounts;
+	}
+
+	public TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger() {
+		return accountsLedger;
+	}
+
+	public ExpiryManager expiries() {
+		return expiries;
+	}
+
+	public ExpiringCreations creator() {
+		return creator;
+	}
+
+	public grameLedger ledger() {
+		return ledger;
+	}
+
+	private static FCMap<MerkleEntityId, MerkleAccount> accountsWith(int n) {
+		FCMap<MerkleEntityId, MerkleAccount> accounts = new FCMap<>();
+		for (int i = 0; i < n; i++) {
+			accounts.put(MerkleEntityId.fromAccountId(account(i)), newAccount().balance(INITIAL_BALANCE).get());
+		}
+		return accounts;
+	}
+
+	private static class NoopHistorian implements AccountRecordsHistorian {
+		@Override
+		public void setLedger(grameLedger ledger) {
+		}
+
+		@Override
+		public void setCreator(EntityCreator creator) {
+		}
+
+		@Override
+		public void addNewRecords() {
+		}
+
+		@Override
+		public void purgeExpiredRecords() {
+		}
+
+		@Override
+		public void reviewExistingRecords() {
+		}
+
+		@Override
+		public Optional<TransactionRecord> lastCreatedRecord() {
+			return Optional.empty();
+		}
+
+		@Override
+		public void addNewEntities() {
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.config.MockEntityNumbers;
+import com.grame.services.config.MockGlobalDynamicProps;
+import com.grame.services.legacy.crypto.SignatureStatus;
+import com.grame.services.sigs.Rationalization;
+import com.grame.services.sigs.factories.BodySigningSigFactory;
+import com.grame.services.sigs.order.grameSigningOrder;
+import com.grame.services.sigs.verification.SyncVerifier;
+import com.grame.services.utils.PlatformTxnAccessor;
+import com.swirlds.common.crypto.TransactionSignature;
+import com.swirlds.common.crypto.engine.CryptoEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.grame.services.sigs.grameToPlatformSigOps.expandIn;
+import static com.grame.services.sigs.metadata.DelegatingSigMetadataLookup.defaultLookupsFor;
+import static com.grame.services.sigs.sourcing.DefaultSigBytesProvider.DEFAULT_SIG_BYTES;
+import static com.grame.test.factories.scenarios.CryptoTransferScenarios.CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO;
+import static com.grame.test.factories.sigs.SigWrappers.asValid;
+
+/**
+ * Measures {@link Rationalization#execute()} for a {@code CryptoTransfer} that needs
+ * both payer and receiver signatures. When {@code preVerified}, the platform already
+ * verified the expanded signatures during pre-consensus expansion, and rationalization
+ * only confirms them; otherwise it must expand and verify them synchronously.
+ *
+ * Since the synchronous path replaces the platform transaction's signatures, that case
+ * needs a fresh accessor per invocation; the (excluded) setup cost is a single signing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class RationalizationBench {
+	@Param({ "true", "false" })
+	boolean preVerified;
+
+	SyncVerifier syncVerifier;
+	grameSigningOrder keyOrder;
+	PlatformTxnAccessor accessor;
+	PlatformTxnAccessor preVerifiedAccessor;
+
+	@Setup(Level.Trial)
+	public void setupTrial() throws Throwable {
+		var scenario = CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO;
+		var hfs = scenario.hfs();
+		var accounts = scenario.accounts();
+
+		syncVerifier = new CryptoEngine()::verifySync;
+		keyOrder = new grameSigningOrder(
+				new MockEntityNumbers(),
+				defaultLookupsFor(hfs, () -> accounts, () -> null, ref -> null, ref -> null),
+				txn -> false,
+				(txn, function) -> false,
+				new MockGlobalDynamicProps());
+
+		preVerifiedAccessor = scenario.platformTxn();
+		expandIn(preVerifiedAccessor, keyOrder, DEFAULT_SIG_BYTES, BodySigningSigFactory::new);
+		var expanded = new ArrayList<>(preVerifiedAccessor.getPlatformTxn().getSignatures());
+		preVerifiedAccessor.getPlatformTxn().clear();
+		preVerifiedAccessor.getPlatformTxn().addAll(asValid(expanded).toArray(new TransactionSignature[0]));
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() throws Throwable {
+		accessor = preVerified ? preVerifiedAccessor : CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO.platformTxn();
+	}
+
+	@Benchmark
+	public SignatureStatus execute() {
+		return new Rationalization(
+				accessor,
+				syncVerifier,
+				keyOrder,
+				DEFAULT_SIG_BYTES,
+				BodySigningSigFactory::new
+		).execute();
+	}
+}
@@ -0,0 +1,75 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.utils.SignedTxnAccessor;
+import com.grame.test.factories.txns.TinyBarsFromTo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.grame.test.factories.txns.CryptoTransferFactory.newSignedCryptoTransfer;
+import static com.grame.test.factories.txns.SignedTxnFactory.DEFAULT_PAYER_ID;
+import static com.grame.test.factories.txns.TinyBarsFromTo.tinyBarsFromTo;
+
+/**
+ * Measures parsing a signed {@code CryptoTransfer} into a {@link SignedTxnAccessor},
+ * which every transaction pays once at ingest and again (unless cached) at consensus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class SignedTxnAccessorBench {
+	@Param({ "1", "10" })
+	int numTransfers;
+
+	byte[] signedTxnBytes;
+
+	@Setup
+	public void setup() throws Throwable {
+		var transfers = new TinyBarsFromTo[numTransfers];
+		for (int i = 0; i < numTransfers; i++) {
+			transfers[i] = tinyBarsFromTo(DEFAULT_PAYER_ID, "0.0." + (1_001 + i), 1_000L);
+		}
+		signedTxnBytes = newSignedCryptoTransfer()
+				.transfers(transfers)
+				.get()
+				.toByteArray();
+	}
+
+	@Benchmark
+	public SignedTxnAccessor parse() throws Exception {
+		return new SignedTxnAccessor(signedTxnBytes);
+	}
+}
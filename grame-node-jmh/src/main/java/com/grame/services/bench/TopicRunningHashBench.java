@@ -0,0 +1,104 @@
+package com.grame.services.bench;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.state.merkle.internals.TopicRunningHasher;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.TopicID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.grame.services.state.merkle.MerkleTopic.RUNNING_HASH_VERSION;
+
+/**
+ * Compares the {@link TopicRunningHasher} with the object-stream encoding it replaced
+ * in {@code MerkleTopic}, for a message of {@code messageSize} bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class TopicRunningHashBench {
+	@Param({ "100", "1024" })
+	int messageSize;
+
+	long sequenceNumber;
+	byte[] message;
+	byte[] runningHash = new byte[48];
+	AccountID payer = AccountID.newBuilder().setAccountNum(1_001L).build();
+	TopicID topicId = TopicID.newBuilder().setTopicNum(1_234L).build();
+	Instant consensusTime = Instant.ofEpochSecond(1_234_567L, 890);
+	TopicRunningHasher hasher;
+
+	@Setup
+	public void setup() {
+		message = new byte[messageSize];
+		new Random(messageSize).nextBytes(message);
+		hasher = new TopicRunningHasher();
+	}
+
+	@Benchmark
+	public byte[] objectStream() throws IOException, NoSuchAlgorithmException {
+		var boas = new ByteArrayOutputStream();
+		try (var out = new ObjectOutputStream(boas)) {
+			out.writeObject(runningHash);
+			out.writeLong(RUNNING_HASH_VERSION);
+			out.writeLong(payer.getShardNum());
+			out.writeLong(payer.getRealmNum());
+			out.writeLong(payer.getAccountNum());
+			out.writeLong(topicId.getShardNum());
+			out.writeLong(topicId.getRealmNum());
+			out.writeLong(topicId.getTopicNum());
+			out.writeLong(consensusTime.getEpochSecond());
+			out.writeInt(consensusTime.getNano());
+			out.writeLong(++sequenceNumber);
+			out.writeObject(MessageDigest.getInstance("SHA-384").digest(message));
+			out.flush();
+		}
+		return runningHash = MessageDigest.getInstance("SHA-384").digest(boas.toByteArray());
+	}
+
+	@Benchmark
+	public byte[] reusedDigests() {
+		return runningHash = hasher.nextRunningHash(
+				runningHash, payer, topicId, consensusTime, ++sequenceNumber, message);
+	}
+}
@@ -0,0 +1,87 @@
+package com.grame.services.ledger;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.bench.LedgerFixture;
+import com.grame.services.ledger.properties.AccountProperty;
+import com.grame.services.state.merkle.MerkleAccount;
+import com.gramegrame.api.proto.java.AccountID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.grame.services.ledger.properties.AccountProperty.BALANCE;
+
+/**
+ * Measures a {@link TransactionalLedger} transaction that changes the balance of
+ * {@code changeSetSize} existing accounts and commits them to the backing {@code FCMap}.
+ *
+ * Lives in the ledger's package because {@code begin()} and {@code commit()} are
+ * package-private; the {@link com.grame.services.ledger.grameLedger} wrappers would
+ * add the net-transfer bookkeeping measured by {@code AtomicTransfersBench}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class TransactionalLedgerBench {
+	private static final int NUM_ACCOUNTS = 10_000;
+
+	@Param({ "1", "10", "100", "1000" })
+	int changeSetSize;
+
+	long nextBalance = LedgerFixture.INITIAL_BALANCE;
+	int nextAccount = 0;
+	AccountID[] ids;
+	TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger;
+
+	@Setup
+	public void setup() {
+		accountsLedger = new LedgerFixture(NUM_ACCOUNTS).accountsLedger();
+		ids = new AccountID[NUM_ACCOUNTS];
+		for (int i = 0; i < NUM_ACCOUNTS; i++) {
+			ids[i] = LedgerFixture.account(i);
+		}
+	}
+
+	@Benchmark
+	public void changeAndCommit() {
+		accountsLedger.begin();
+		nextBalance++;
+		for (int i = 0; i < changeSetSize; i++) {
+			accountsLedger.set(ids[nextAccount], BALANCE, nextBalance);
+			nextAccount = (nextAccount + 1) % NUM_ACCOUNTS;
+		}
+		accountsLedger.commit();
+	}
+}
@@ -36,11 +36,13 @@ import com.grame.services.context.properties.PropertySource;
 import com.grame.services.context.properties.PropertySources;
 import com.grame.services.context.properties.SemanticVersions;
 import com.grame.services.context.properties.StandardizedPropertySources;
+import com.grame.services.contracts.execution.BytecodeCache;
 import com.grame.services.contracts.execution.SolidityLifecycle;
 import com.grame.services.contracts.execution.SoliditySigsVerifier;
 import com.grame.services.contracts.execution.TxnAwareSoliditySigsVerifier;
-import com.grame.services.contracts.persistence.BlobStoragePersistence;
+import com.grame.services.contracts.persistence.SlotKeyedRepositoryRoot;
 import com.grame.services.contracts.sources.BlobStorageSource;
+import com.grame.services.contracts.sources.ContractStorageSlots;
 import com.grame.services.contracts.sources.LedgerAccountsSource;
 import com.grame.services.fees.AwareHbarCentExchange;
 import com.grame.services.fees.FeeCalculator;
@@ -50,6 +52,7 @@ import com.grame.services.fees.HbarCentExchange;
 import com.grame.services.fees.StandardExemptions;
 import com.grame.services.fees.TxnRateFeeMultiplierSource;
 import com.grame.services.fees.calculation.AwareFcfsUsagePrices;
+import com.grame.services.fees.calculation.FeeQuoteCache;
 import com.grame.services.fees.calculation.TxnResourceUsageEstimator;
 import com.grame.services.fees.calculation.UsageBasedFeeCalculator;
 import com.grame.services.fees.calculation.UsagePricesProvider;
@@ -127,6 +130,7 @@ import com.grame.services.grpc.controllers.CryptoController;
 import com.grame.services.grpc.controllers.FileController;
 import com.grame.services.grpc.controllers.FreezeController;
 import com.grame.services.grpc.controllers.NetworkController;
+import com.grame.services.grpc.controllers.OutcomeStreamController;
 import com.grame.services.grpc.controllers.ScheduleController;
 import com.grame.services.grpc.controllers.TokenController;
 import com.grame.services.keys.CharacteristicsFactory;
@@ -134,6 +138,7 @@ import com.grame.services.keys.InHandleActivationHelper;
 import com.grame.services.keys.LegacyEd25519KeyReader;
 import com.grame.services.keys.StandardSyncActivationCheck;
 import com.grame.services.ledger.grameLedger;
+import com.grame.services.ledger.RunningBalanceTotals;
 import com.grame.services.ledger.TransactionalLedger;
 import com.grame.services.ledger.accounts.BackingStore;
 import com.grame.services.ledger.accounts.BackingTokenRels;
@@ -147,7 +152,6 @@ import com.grame.services.ledger.properties.TokenRelProperty;
 import com.grame.services.legacy.handler.FreezeHandler;
 import com.grame.services.legacy.handler.SmartContractRequestHandler;
 import com.grame.services.legacy.handler.TransactionHandler;
-import com.grame.services.legacy.initialization.ExportExistingAccounts;
 import com.grame.services.legacy.services.state.AwareProcessLogic;
 import com.grame.services.queries.AnswerFlow;
 import com.grame.services.queries.answering.AnswerFunctions;
@@ -158,6 +162,7 @@ import com.grame.services.queries.consensus.GetTopicInfoAnswer;
 import com.grame.services.queries.consensus.HcsAnswers;
 import com.grame.services.queries.contract.ContractAnswers;
 import com.grame.services.queries.contract.ContractCallLocalAnswer;
+import com.grame.services.queries.contract.PooledLocalCaller;
 import com.grame.services.queries.contract.GetBySolidityIdAnswer;
 import com.grame.services.queries.contract.GetBytecodeAnswer;
 import com.grame.services.queries.contract.GetContractInfoAnswer;
@@ -182,13 +187,15 @@ import com.grame.services.queries.token.GetTokenInfoAnswer;
 import com.grame.services.queries.token.TokenAnswers;
 import com.grame.services.queries.validation.QueryFeeCheck;
 import com.grame.services.records.AccountRecordsHistorian;
+import com.grame.services.records.OutcomeSubscriptions;
 import com.grame.services.records.RecordCache;
 import com.grame.services.records.RecordCacheFactory;
 import com.grame.services.records.TxnAwareRecordsHistorian;
-import com.grame.services.records.TxnIdRecentHistory;
+import com.grame.services.records.TxnIdRecentHistories;
 import com.grame.services.security.ops.SystemOpPolicies;
 import com.grame.services.sigs.factories.SigFactoryCreator;
 import com.grame.services.sigs.metadata.DelegatingSigMetadataLookup;
+import com.grame.services.sigs.metadata.SigMetadataVersions;
 import com.grame.services.sigs.order.grameSigningOrder;
 import com.grame.services.sigs.sourcing.DefaultSigBytesProvider;
 import com.grame.services.sigs.verification.PrecheckKeyReqs;
@@ -199,7 +206,10 @@ import com.grame.services.state.expiry.ExpiryManager;
 import com.grame.services.state.exports.AccountsExporter;
 import com.grame.services.state.exports.BalancesExporter;
 import com.grame.services.state.exports.SignedStateBalancesExporter;
+import com.grame.services.state.exports.StreamingAccountsExporter;
 import com.grame.services.state.initialization.BackedSystemAccountsCreator;
+import com.grame.services.state.initialization.DerivedView;
+import com.grame.services.state.initialization.DerivedViewsRebuild;
 import com.grame.services.state.initialization.HfsSystemFilesManager;
 import com.grame.services.state.initialization.SystemAccountsCreator;
 import com.grame.services.state.initialization.SystemFilesManager;
@@ -207,6 +217,8 @@ import com.grame.services.state.logic.AwareNodeDiligenceScreen;
 import com.grame.services.state.logic.NetworkCtxManager;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleBlobMeta;
+import com.grame.services.state.merkle.MerkleContractStorageKey;
+import com.grame.services.state.merkle.MerkleContractStorageValue;
 import com.grame.services.state.merkle.MerkleDiskFs;
 import com.grame.services.state.merkle.MerkleEntityAssociation;
 import com.grame.services.state.merkle.MerkleEntityId;
@@ -225,6 +237,7 @@ import com.grame.services.state.validation.BasedLedgerValidator;
 import com.grame.services.state.validation.LedgerValidator;
 import com.grame.services.stats.CounterFactory;
 import com.grame.services.stats.HapiOpCounters;
+import com.grame.services.stats.HapiOpLatencies;
 import com.grame.services.stats.HapiOpSpeedometers;
 import com.grame.services.stats.MiscRunningAvgs;
 import com.grame.services.stats.MiscSpeedometers;
@@ -236,9 +249,9 @@ import com.grame.services.store.schedule.ScheduleStore;
 import com.grame.services.store.tokens.grameTokenStore;
 import com.grame.services.store.tokens.TokenStore;
 import com.grame.services.stream.RecordStreamManager;
+import com.grame.services.throttling.ConcurrentHapiThrottling;
 import com.grame.services.throttling.DeterministicThrottling;
 import com.grame.services.throttling.FunctionalityThrottling;
-import com.grame.services.throttling.HapiThrottling;
 import com.grame.services.throttling.TransactionThrottling;
 import com.grame.services.throttling.TxnAwareHandleThrottling;
 import com.grame.services.txns.ProcessLogic;
@@ -293,13 +306,13 @@ import com.grame.services.usage.file.FileOpsUsage;
 import com.grame.services.usage.schedule.ScheduleOpsUsage;
 import com.grame.services.utils.EntityIdUtils;
 import com.grame.services.utils.MiscUtils;
+import com.grame.services.utils.ParsedTxnAccessorCache;
 import com.grame.services.utils.Pause;
 import com.grame.services.utils.SleepingPause;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.grameFunctionality;
 import com.gramegrame.api.proto.java.TokenID;
 import com.gramegrame.api.proto.java.TransactionBody;
-import com.gramegrame.api.proto.java.TransactionID;
 import com.gramegrame.fee.CryptoFeeBuilder;
 import com.gramegrame.fee.FileFeeBuilder;
 import com.gramegrame.fee.SmartContractFeeBuilder;
@@ -318,7 +331,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.ethereum.core.AccountState;
 import org.ethereum.datasource.Source;
-import org.ethereum.datasource.StoragePersistence;
 import org.ethereum.db.ServicesRepositoryRoot;
 
 import java.io.File;
@@ -326,11 +338,11 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -339,7 +351,6 @@ import java.util.function.Supplier;
 import static com.grame.services.context.ServicesNodeType.STAKED_NODE;
 import static com.grame.services.context.ServicesNodeType.ZERO_STAKE_NODE;
 import static com.grame.services.contracts.sources.AddressKeyedMapFactory.bytecodeMapFrom;
-import static com.grame.services.contracts.sources.AddressKeyedMapFactory.storageMapFrom;
 import static com.grame.services.files.interceptors.ConfigListUtils.uncheckedParse;
 import static com.grame.services.files.interceptors.PureRatesValidation.isNormalIntradayChange;
 import static com.grame.services.ledger.grameLedger.ACCOUNT_ID_COMPARATOR;
@@ -448,14 +459,17 @@ public class ServicesContext {
 	private EntityIdSource ids;
 	private FileController fileGrpc;
 	private HapiOpCounters opCounters;
+	private HapiOpLatencies opLatencies;
 	private AnswerFunctions answerFunctions;
 	private ContractAnswers contractAnswers;
 	private OptionValidator validator;
 	private LedgerValidator ledgerValidator;
+	private RunningBalanceTotals balanceTotals;
 	private TokenController tokenGrpc;
 	private MiscRunningAvgs runningAvgs;
 	private ScheduleAnswers scheduleAnswers;
 	private MiscSpeedometers speedometers;
+	private SigMetadataVersions sigMetaVersions;
 	private ServicesNodeType nodeType;
 	private SystemOpPolicies systemOpPolicies;
 	private CryptoController cryptoGrpc;
@@ -473,6 +487,7 @@ public class ServicesContext {
 	private GrpcServerManager grpc;
 	private TxnResponseHelper txnResponseHelper;
 	private SigFactoryCreator sigFactoryCreator;
+	private BytecodeCache bytecodeCache;
 	private BlobStorageSource bytecodeDb;
 	private HapiOpPermissions hapiOpPermissions;
 	private TransactionContext txnCtx;
@@ -481,9 +496,12 @@ public class ServicesContext {
 	private grameSigningOrder keyOrder;
 	private grameSigningOrder backedKeyOrder;
 	private grameSigningOrder lookupRetryingKeyOrder;
-	private StoragePersistence storagePersistence;
+	private PendingAccountVisibility pendingAccountVisibility;
+	private ContractStorageSlots contractStorageSlots;
 	private ScheduleController scheduleGrpc;
 	private ConsensusController consensusGrpc;
+	private OutcomeStreamController outcomeStreamGrpc;
+	private OutcomeSubscriptions outcomeSubscriptions;
 	private QueryResponseHelper queryResponseHelper;
 	private UsagePricesProvider usagePrices;
 	private Supplier<StateView> stateViews;
@@ -515,17 +533,20 @@ public class ServicesContext {
 	private AwareNodeDiligenceScreen nodeDiligenceScreen;
 	private InHandleActivationHelper activationHelper;
 	private PlatformSubmissionManager submissionManager;
+	private ParsedTxnAccessorCache accessorCache;
 	private SmartContractRequestHandler contracts;
 	private TxnAwareSoliditySigsVerifier soliditySigsVerifier;
 	private ValidatingCallbackInterceptor apiPermissionsReloading;
 	private ValidatingCallbackInterceptor applicationPropertiesReloading;
 	private Supplier<ServicesRepositoryRoot> newPureRepo;
-	private Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	private PooledLocalCaller localCaller;
+	private TxnIdRecentHistories txnHistories;
 	private AtomicReference<FCMap<MerkleEntityId, MerkleTopic>> queryableTopics;
 	private AtomicReference<FCMap<MerkleEntityId, MerkleToken>> queryableTokens;
 	private AtomicReference<FCMap<MerkleEntityId, MerkleAccount>> queryableAccounts;
 	private AtomicReference<FCMap<MerkleEntityId, MerkleSchedule>> queryableSchedules;
 	private AtomicReference<FCMap<MerkleBlobMeta, MerkleOptionalBlob>> queryableStorage;
+	private AtomicReference<FCMap<MerkleContractStorageKey, MerkleContractStorageValue>> queryableContractStorage;
 	private AtomicReference<FCMap<MerkleEntityAssociation, MerkleTokenRelStatus>> queryableTokenAssociations;
 
 	/* Context-free infrastructure. */
@@ -538,7 +559,7 @@ public class ServicesContext {
 		pause = SleepingPause.SLEEPING_PAUSE;
 		b64KeyReader = new LegacyEd25519KeyReader();
 		stateMigrations = new StdStateMigrations(SleepingPause.SLEEPING_PAUSE);
-		accountsExporter = ExportExistingAccounts::exportAccounts;
+		accountsExporter = new StreamingAccountsExporter();
 	}
 
 	public ServicesContext(
@@ -559,26 +580,53 @@ public class ServicesContext {
 		queryableAccounts().set(accounts());
 		queryableTopics().set(topics());
 		queryableStorage().set(storage());
+		queryableContractStorage().set(contractStorage());
 		queryableTokens().set(tokens());
 		queryableTokenAssociations().set(tokenAssociations());
 		queryableSchedules().set(schedules());
 	}
 
-	public void rebuildBackingStoresIfPresent() {
+	/**
+	 * Rebuilds every in-memory view derived from the state maps (the backing stores, the store
+	 * views, the running balance totals, and the {@link ExpiryManager}'s tracking of records and
+	 * entities) with a single parallel traversal of each map; and drops any node-local memos of
+	 * the replaced state. Must be called whenever the state is loaded, or replaced by a reconnect.
+	 */
+	public void rebuildDerivedViews() {
+		var rebuild = new DerivedViewsRebuild(ForkJoinPool.commonPool());
+
+		List<DerivedView<MerkleEntityId, MerkleAccount, ?>> accountsViews = new ArrayList<>();
+		if (backingAccounts != null) {
+			accountsViews.add(backingAccounts.existingAccountsView());
+		}
+		accountsViews.add(expiries().payerExpiriesView());
+		if (balanceTotals != null) {
+			accountsViews.add(balanceTotals.floatView());
+		}
+		rebuild.rebuild("accounts", accounts(), accountsViews);
+
 		if (backingTokenRels != null) {
-			backingTokenRels.rebuildFromSources();
+			rebuild.rebuild(
+					"token associations",
+					tokenAssociations(),
+					List.of(backingTokenRels.existingRelsView()));
 		}
-		if (backingAccounts != null) {
-			backingAccounts.rebuildFromSources();
+		if (tokenStore != null) {
+			rebuild.rebuild("tokens", tokens(), tokenStore.derivedViews());
 		}
-	}
 
-	public void rebuildStoreViewsIfPresent() {
+		List<DerivedView<MerkleEntityId, MerkleSchedule, ?>> schedulesViews = new ArrayList<>();
 		if (scheduleStore != null) {
-			scheduleStore.rebuildViews();
+			schedulesViews.addAll(scheduleStore.derivedViews());
 		}
-		if (tokenStore != null) {
-			tokenStore.rebuildViews();
+		schedulesViews.add(expiries().entityExpiriesView());
+		rebuild.rebuild("schedules", schedules(), schedulesViews);
+
+		if (sigMetaVersions != null) {
+			sigMetaVersions.noteStateReplaced();
+		}
+		if (bytecodeCache != null) {
+			bytecodeCache.invalidateAll();
 		}
 	}
 
@@ -597,6 +645,14 @@ public class ServicesContext {
 		return opCounters;
 	}
 
+	public HapiOpLatencies opLatencies() {
+		if (opLatencies == null) {
+			opLatencies = new HapiOpLatencies(new CounterFactory() {
+			}, MiscUtils::baseStatNameOf);
+		}
+		return opLatencies;
+	}
+
 	public MiscRunningAvgs runningAvgs() {
 		if (runningAvgs == null) {
 			runningAvgs = new MiscRunningAvgs(new RunningAvgFactory() {
@@ -622,7 +678,9 @@ public class ServicesContext {
 
 	public FunctionalityThrottling hapiThrottling() {
 		if (hapiThrottling == null) {
-			hapiThrottling = new HapiThrottling(new DeterministicThrottling(() -> addressBook().getSize()));
+			hapiThrottling = new ConcurrentHapiThrottling(
+					() -> addressBook().getSize(),
+					nodeLocalProperties()::hapiThrottlingStripes);
 		}
 		return hapiThrottling;
 	}
@@ -661,7 +719,9 @@ public class ServicesContext {
 					runningAvgs(),
 					speedometers(),
 					opSpeedometers,
-					nodeLocalProperties());
+					nodeLocalProperties(),
+					txnHistories(),
+					opLatencies());
 		}
 		return statsManager;
 	}
@@ -675,11 +735,27 @@ public class ServicesContext {
 
 	public LedgerValidator ledgerValidator() {
 		if (ledgerValidator == null) {
-			ledgerValidator = new BasedLedgerValidator(grameNums(), properties(), globalDynamicProperties());
+			ledgerValidator = new BasedLedgerValidator(
+					grameNums(),
+					properties(),
+					globalDynamicProperties(),
+					nodeLocalProperties(),
+					balanceTotals());
 		}
 		return ledgerValidator;
 	}
 
+	public RunningBalanceTotals balanceTotals() {
+		if (balanceTotals == null) {
+			balanceTotals = new RunningBalanceTotals(
+					properties().getLongProperty("ledger.totalTinyBarFloat"),
+					nodeLocalProperties().floatSpotCheckNumsPerSegment(),
+					() -> txnCtx().consensusTime());
+			balanceTotals.reseedFrom(accounts());
+		}
+		return balanceTotals;
+	}
+
 	public InHandleActivationHelper activationHelper() {
 		if (activationHelper == null) {
 			activationHelper = new InHandleActivationHelper(
@@ -712,6 +788,7 @@ public class ServicesContext {
 					() -> queryableTopics().get(),
 					() -> queryableAccounts().get(),
 					() -> queryableStorage().get(),
+					() -> queryableContractStorage().get(),
 					() -> queryableTokenAssociations().get(),
 					this::diskFs,
 					nodeLocalProperties());
@@ -727,6 +804,7 @@ public class ServicesContext {
 					this::topics,
 					this::accounts,
 					this::storage,
+					this::contractStorage,
 					this::tokenAssociations,
 					this::diskFs,
 					nodeLocalProperties());
@@ -757,7 +835,7 @@ public class ServicesContext {
 
 	public TxnResponseHelper txnResponseHelper() {
 		if (txnResponseHelper == null) {
-			txnResponseHelper = new TxnResponseHelper(submissionFlow(), opCounters());
+			txnResponseHelper = new TxnResponseHelper(submissionFlow(), opCounters(), opLatencies());
 		}
 		return txnResponseHelper;
 	}
@@ -814,7 +892,7 @@ public class ServicesContext {
 					new GetContractInfoAnswer(validator()),
 					new GetBySolidityIdAnswer(),
 					new GetContractRecordsAnswer(validator()),
-					new ContractCallLocalAnswer(contracts()::contractCallLocal, validator())
+					new ContractCallLocalAnswer(localCaller(), validator())
 			);
 		}
 		return contractAnswers;
@@ -923,14 +1001,15 @@ public class ServicesContext {
 							new GetContractInfoResourceUsage(),
 							new GetContractRecordsResourceUsage(contractFees),
 							new ContractCallLocalResourceUsage(
-									contracts()::contractCallLocal, contractFees, globalDynamicProperties()),
+									localCaller(), contractFees, globalDynamicProperties()),
 							/* Token */
 							new GetTokenInfoResourceUsage(),
 							/* Schedule */
 							new GetScheduleInfoResourceUsage(scheduleOpsUsage)
 					),
 					txnUsageEstimators(
-							cryptoOpsUsage, fileOpsUsage, fileFees, cryptoFees, contractFees, scheduleOpsUsage)
+							cryptoOpsUsage, fileOpsUsage, fileFees, cryptoFees, contractFees, scheduleOpsUsage),
+					new FeeQuoteCache(nodeLocalProperties())
 			);
 		}
 		return fees;
@@ -1041,6 +1120,7 @@ public class ServicesContext {
 		if (lookupRetryingKeyOrder == null) {
 			var lookups = defaultAccountRetryingLookupsFor(
 					hfs(),
+					pendingAccountVisibility(),
 					nodeLocalProperties(),
 					this::accounts,
 					this::topics,
@@ -1068,14 +1148,22 @@ public class ServicesContext {
 				lookups,
 				txn -> policies.check(txn, CryptoUpdate) != AUTHORIZED,
 				(txn, function) -> policies.check(txn, function) != AUTHORIZED,
-				properties);
+				properties,
+				sigMetaVersions());
 	}
 
-	public StoragePersistence storagePersistence() {
-		if (storagePersistence == null) {
-			storagePersistence = new BlobStoragePersistence(storageMapFrom(blobStore()));
+	public SigMetadataVersions sigMetaVersions() {
+		if (sigMetaVersions == null) {
+			sigMetaVersions = new SigMetadataVersions(speedometers());
 		}
-		return storagePersistence;
+		return sigMetaVersions;
+	}
+
+	public ContractStorageSlots contractStorageSlots() {
+		if (contractStorageSlots == null) {
+			contractStorageSlots = new ContractStorageSlots(blobStore(), this::contractStorage);
+		}
+		return contractStorageSlots;
 	}
 
 	public SyncVerifier syncVerifier() {
@@ -1103,7 +1191,8 @@ public class ServicesContext {
 			balancesExporter = new SignedStateBalancesExporter(
 					properties(),
 					platform()::sign,
-					globalDynamicProperties());
+					globalDynamicProperties(),
+					ledgerValidator());
 		}
 		return balancesExporter;
 	}
@@ -1121,7 +1210,7 @@ public class ServicesContext {
 					ids(),
 					globalDynamicProperties(),
 					txnCtx()::consensusTime,
-					DataMapFactory.dataMapFrom(blobStore()),
+					DataMapFactory.chunkedDataMapFrom(blobStore()),
 					MetadataMapFactory.metaMapFrom(blobStore()),
 					this::getCurrentSpecialFileSystem);
 			hfs.register(feeSchedulesManager());
@@ -1297,9 +1386,9 @@ public class ServicesContext {
 		return txnCtx;
 	}
 
-	public Map<TransactionID, TxnIdRecentHistory> txnHistories() {
+	public TxnIdRecentHistories txnHistories() {
 		if (txnHistories == null) {
-			txnHistories = new ConcurrentHashMap<>();
+			txnHistories = new TxnIdRecentHistories();
 		}
 		return txnHistories;
 	}
@@ -1326,7 +1415,6 @@ public class ServicesContext {
 			recordsHistorian = new TxnAwareRecordsHistorian(
 					recordCache(),
 					txnCtx(),
-					this::accounts,
 					expiries());
 		}
 		return recordsHistorian;
@@ -1353,9 +1441,16 @@ public class ServicesContext {
 		return backingTokenRels;
 	}
 
+	public PendingAccountVisibility pendingAccountVisibility() {
+		if (pendingAccountVisibility == null) {
+			pendingAccountVisibility = new PendingAccountVisibility();
+		}
+		return pendingAccountVisibility;
+	}
+
 	public BackingStore<AccountID, MerkleAccount> backingAccounts() {
 		if (backingAccounts == null) {
-			backingAccounts = new FCMapBackingAccounts(this::accounts);
+			backingAccounts = new FCMapBackingAccounts(this::accounts, runningAvgs(), pendingAccountVisibility());
 		}
 		return backingAccounts;
 	}
@@ -1416,6 +1511,7 @@ public class ServicesContext {
 					creator(),
 					recordsHistorian(),
 					accountsLedger);
+			ledger.setBalanceTotals(balanceTotals());
 			scheduleStore().setAccountsLedger(accountsLedger);
 			scheduleStore().setgrameLedger(ledger);
 		}
@@ -1425,7 +1521,9 @@ public class ServicesContext {
 	public ExpiryManager expiries() {
 		if (expiries == null) {
 			var histories = txnHistories();
-			expiries = new ExpiryManager(recordCache(), histories, scheduleStore(), schedules());
+			expiries = new ExpiryManager(
+					recordCache(), histories, scheduleStore(), globalDynamicProperties());
+			expiries.setSigMetaVersions(sigMetaVersions());
 		}
 		return expiries;
 	}
@@ -1601,11 +1699,23 @@ public class ServicesContext {
 
 	public PlatformSubmissionManager submissionManager() {
 		if (submissionManager == null) {
-			submissionManager = new PlatformSubmissionManager(platform(), recordCache(), speedometers());
+			submissionManager = new PlatformSubmissionManager(
+					platform(),
+					recordCache(),
+					speedometers(),
+					accessorCache(),
+					opLatencies());
 		}
 		return submissionManager;
 	}
 
+	public ParsedTxnAccessorCache accessorCache() {
+		if (accessorCache == null) {
+			accessorCache = new ParsedTxnAccessorCache(nodeLocalProperties(), speedometers(), opLatencies());
+		}
+		return accessorCache;
+	}
+
 	public ConsensusController consensusGrpc() {
 		if (null == consensusGrpc) {
 			consensusGrpc = new ConsensusController(hcsAnswers(), txnResponseHelper(), queryResponseHelper());
@@ -1613,6 +1723,20 @@ public class ServicesContext {
 		return consensusGrpc;
 	}
 
+	public OutcomeStreamController outcomeStreamGrpc() {
+		if (outcomeStreamGrpc == null) {
+			outcomeStreamGrpc = new OutcomeStreamController(outcomeSubscriptions(), nodeLocalProperties());
+		}
+		return outcomeStreamGrpc;
+	}
+
+	public OutcomeSubscriptions outcomeSubscriptions() {
+		if (outcomeSubscriptions == null) {
+			outcomeSubscriptions = new OutcomeSubscriptions(recordCache());
+		}
+		return outcomeSubscriptions;
+	}
+
 	public GrpcServerManager grpc() {
 		if (grpc == null) {
 			grpc = new NettyGrpcServerManager(
@@ -1627,7 +1751,7 @@ public class ServicesContext {
 							tokenGrpc(),
 							scheduleGrpc()),
 					new ConfigDrivenNettyFactory(nodeLocalProperties()),
-					Collections.emptyList());
+					List.of(outcomeStreamGrpc().definition()));
 		}
 		return grpc;
 	}
@@ -1645,7 +1769,8 @@ public class ServicesContext {
 					solidityLifecycle(),
 					soliditySigsVerifier(),
 					entityExpiries(),
-					globalDynamicProperties());
+					globalDynamicProperties(),
+					bytecodeCache());
 		}
 		return contracts;
 	}
@@ -1702,8 +1827,7 @@ public class ServicesContext {
 
 	public ServicesRepositoryRoot repository() {
 		if (repository == null) {
-			repository = new ServicesRepositoryRoot(accountSource(), bytecodeDb());
-			repository.setStoragePersistence(storagePersistence());
+			repository = new SlotKeyedRepositoryRoot(accountSource(), bytecodeDb(), contractStorageSlots());
 		}
 		return repository;
 	}
@@ -1713,7 +1837,7 @@ public class ServicesContext {
 			TransactionalLedger<AccountID, AccountProperty, MerkleAccount> pureDelegate = new TransactionalLedger<>(
 					AccountProperty.class,
 					MerkleAccount::new,
-					new PureFCMapBackingAccounts(this::accounts),
+					new PureFCMapBackingAccounts(() -> queryableAccounts().get()),
 					new ChangeSummaryManager<>());
 			grameLedger pureLedger = new grameLedger(
 					NOOP_TOKEN_STORE,
@@ -1724,11 +1848,14 @@ public class ServicesContext {
 			Source<byte[], AccountState> pureAccountSource = new LedgerAccountsSource(
 					pureLedger,
 					globalDynamicProperties());
-			newPureRepo = () -> {
-				var pureRepository = new ServicesRepositoryRoot(pureAccountSource, bytecodeDb());
-				pureRepository.setStoragePersistence(storagePersistence());
-				return pureRepository;
-			};
+			Map<String, byte[]> pureBlobStore = new FcBlobsBytesStore(
+					MerkleOptionalBlob::new,
+					() -> queryableStorage().get());
+			var pureBytecodeDb = new BlobStorageSource(bytecodeMapFrom(pureBlobStore));
+			var pureStorageSlots = new ContractStorageSlots(
+					pureBlobStore,
+					() -> queryableContractStorage().get());
+			newPureRepo = () -> new SlotKeyedRepositoryRoot(pureAccountSource, pureBytecodeDb, pureStorageSlots);
 		}
 		return newPureRepo;
 	}
@@ -1749,11 +1876,28 @@ public class ServicesContext {
 
 	public BlobStorageSource bytecodeDb() {
 		if (bytecodeDb == null) {
-			bytecodeDb = new BlobStorageSource(bytecodeMapFrom(blobStore()));
+			bytecodeDb = new BlobStorageSource(bytecodeMapFrom(blobStore()), bytecodeCache()::invalidate);
 		}
 		return bytecodeDb;
 	}
 
+	public PooledLocalCaller localCaller() {
+		if (localCaller == null) {
+			localCaller = new PooledLocalCaller(
+					contracts()::contractCallLocal,
+					() -> queryableAccounts().get(),
+					nodeLocalProperties());
+		}
+		return localCaller;
+	}
+
+	public BytecodeCache bytecodeCache() {
+		if (bytecodeCache == null) {
+			bytecodeCache = new BytecodeCache(nodeLocalProperties(), runningAvgs());
+		}
+		return bytecodeCache;
+	}
+
 	public TransactionHandler txns() {
 		if (txns == null) {
 			txns = new TransactionHandler(
@@ -1807,6 +1951,13 @@ public class ServicesContext {
 		return queryableStorage;
 	}
 
+	public AtomicReference<FCMap<MerkleContractStorageKey, MerkleContractStorageValue>> queryableContractStorage() {
+		if (queryableContractStorage == null) {
+			queryableContractStorage = new AtomicReference<>(contractStorage());
+		}
+		return queryableContractStorage;
+	}
+
 	public AtomicReference<FCMap<MerkleEntityId, MerkleAccount>> queryableAccounts() {
 		if (queryableAccounts == null) {
 			queryableAccounts = new AtomicReference<>(accounts());
@@ -1930,6 +2081,10 @@ public class ServicesContext {
 		return state.storage();
 	}
 
+	public FCMap<MerkleContractStorageKey, MerkleContractStorageValue> contractStorage() {
+		return state.contractStorage();
+	}
+
 	public FCMap<MerkleEntityId, MerkleToken> tokens() {
 		return state.tokens();
 	}
@@ -2008,6 +2163,22 @@ public class ServicesContext {
 		this.backingAccounts = backingAccounts;
 	}
 
+	void setBalanceTotals(RunningBalanceTotals balanceTotals) {
+		this.balanceTotals = balanceTotals;
+	}
+
+	void setSigMetaVersions(SigMetadataVersions sigMetaVersions) {
+		this.sigMetaVersions = sigMetaVersions;
+	}
+
+	void setBytecodeCache(BytecodeCache bytecodeCache) {
+		this.bytecodeCache = bytecodeCache;
+	}
+
+	void setExpiries(ExpiryManager expiries) {
+		this.expiries = expiries;
+	}
+
 	public void setTokenStore(TokenStore tokenStore) {
 		this.tokenStore = tokenStore;
 	}
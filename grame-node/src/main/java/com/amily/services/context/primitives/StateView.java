@@ -23,6 +23,7 @@ package com.grame.services.context.primitives;
 import com.google.protobuf.ByteString;
 import com.grame.services.context.properties.NodeLocalProperties;
 import com.grame.services.contracts.sources.AddressKeyedMapFactory;
+import com.grame.services.contracts.sources.ContractStorageSlots;
 import com.grame.services.files.DataMapFactory;
 import com.grame.services.files.MetadataMapFactory;
 import com.grame.services.files.store.FcBlobsBytesStore;
@@ -31,6 +32,8 @@ import com.grame.services.legacy.core.jproto.JKey;
 import com.grame.services.legacy.core.jproto.JKeyList;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleBlobMeta;
+import com.grame.services.state.merkle.MerkleContractStorageKey;
+import com.grame.services.state.merkle.MerkleContractStorageValue;
 import com.grame.services.state.merkle.MerkleDiskFs;
 import com.grame.services.state.merkle.MerkleEntityAssociation;
 import com.grame.services.state.merkle.MerkleEntityId;
@@ -111,6 +114,11 @@ public class StateView {
 	public static final Supplier<FCMap<MerkleBlobMeta, MerkleOptionalBlob>> EMPTY_STORAGE_SUPPLIER =
 			() -> EMPTY_STORAGE;
 
+	public static final FCMap<MerkleContractStorageKey, MerkleContractStorageValue> EMPTY_CONTRACT_STORAGE =
+			new FCMap<>();
+	public static final Supplier<FCMap<MerkleContractStorageKey, MerkleContractStorageValue>> EMPTY_CONTRACT_STORAGE_SUPPLIER =
+			() -> EMPTY_CONTRACT_STORAGE;
+
 	public static final FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> EMPTY_TOKEN_ASSOCIATIONS =
 			new FCMap<>();
 	public static final Supplier<FCMap<MerkleEntityAssociation, MerkleTokenRelStatus>> EMPTY_TOKEN_ASSOCS_SUPPLIER =
@@ -123,6 +131,7 @@ public class StateView {
 
 	Map<byte[], byte[]> contractStorage;
 	Map<byte[], byte[]> contractBytecode;
+	ContractStorageSlots contractStorageSlots;
 	Map<FileID, byte[]> fileContents;
 	Map<FileID, HFileMeta> fileAttrs;
 	private final TokenStore tokenStore;
@@ -141,7 +150,7 @@ public class StateView {
 			Supplier<MerkleDiskFs> diskFs
 	) {
 		this(NOOP_TOKEN_STORE, NOOP_SCHEDULE_STORE, topics, accounts, EMPTY_STORAGE_SUPPLIER,
-				EMPTY_TOKEN_ASSOCS_SUPPLIER, diskFs, properties);
+				EMPTY_CONTRACT_STORAGE_SUPPLIER, EMPTY_TOKEN_ASSOCS_SUPPLIER, diskFs, properties);
 	}
 
 	public StateView(
@@ -152,8 +161,8 @@ public class StateView {
 			NodeLocalProperties properties,
 			Supplier<MerkleDiskFs> diskFs
 	) {
-		this(tokenStore, scheduleStore, topics, accounts, EMPTY_STORAGE_SUPPLIER, EMPTY_TOKEN_ASSOCS_SUPPLIER, diskFs,
-				properties);
+		this(tokenStore, scheduleStore, topics, accounts, EMPTY_STORAGE_SUPPLIER, EMPTY_CONTRACT_STORAGE_SUPPLIER,
+				EMPTY_TOKEN_ASSOCS_SUPPLIER, diskFs, properties);
 	}
 
 	public StateView(
@@ -162,6 +171,7 @@ public class StateView {
 			Supplier<FCMap<MerkleEntityId, MerkleTopic>> topics,
 			Supplier<FCMap<MerkleEntityId, MerkleAccount>> accounts,
 			Supplier<FCMap<MerkleBlobMeta, MerkleOptionalBlob>> storage,
+			Supplier<FCMap<MerkleContractStorageKey, MerkleContractStorageValue>> contractStorage,
 			Supplier<FCMap<MerkleEntityAssociation, MerkleTokenRelStatus>> tokenAssociations,
 			Supplier<MerkleDiskFs> diskFs,
 			NodeLocalProperties properties
@@ -174,10 +184,11 @@ public class StateView {
 
 		Map<String, byte[]> blobStore = unmodifiableMap(new FcBlobsBytesStore(MerkleOptionalBlob::new, storage));
 
-		fileContents = DataMapFactory.dataMapFrom(blobStore);
+		fileContents = DataMapFactory.chunkedDataMapFrom(blobStore);
 		fileAttrs = MetadataMapFactory.metaMapFrom(blobStore);
 		contractStorage = AddressKeyedMapFactory.storageMapFrom(blobStore);
 		contractBytecode = AddressKeyedMapFactory.bytecodeMapFrom(blobStore);
+		contractStorageSlots = new ContractStorageSlots(blobStore, contractStorage);
 		this.properties = properties;
 		this.diskFs = diskFs;
 	}
@@ -406,7 +417,7 @@ public class StateView {
 
 		var mirrorId = asAccount(id);
 
-		var storageSize = storageOf(id).orElse(EMPTY_BYTES).length;
+		var storageSize = contractStorageSlots.sizeInBytes(asSolidityAddress(id));
 		var bytecodeSize = bytecodeOf(id).orElse(EMPTY_BYTES).length;
 		var totalBytesUsed = storageSize + bytecodeSize;
 		var info = ContractGetInfoResponse.ContractInfo.newBuilder()
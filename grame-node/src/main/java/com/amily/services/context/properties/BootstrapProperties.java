@@ -215,7 +215,8 @@ public class BootstrapProperties implements PropertySource {
 			"tokens.maxPerAccount",
 			"tokens.maxSymbolUtf8Bytes",
 			"tokens.maxTokenNameUtf8Bytes",
-			"consensus.message.maxBytesAllowed"
+			"consensus.message.maxBytesAllowed",
+			"expiries.maxEntityPurgesPerTxn"
 	);
 
 	static final Set<String> NODE_PROPS = Set.of(
@@ -245,7 +246,21 @@ public class BootstrapProperties implements PropertySource {
 			"precheck.account.lookupRetryBackoffIncrementMs",
 			"stats.hapiOps.speedometerUpdateIntervalMs",
 			"stats.runningAvgHalfLifeSecs",
-			"stats.speedometerHalfLifeSecs"
+			"stats.speedometerHalfLifeSecs",
+			"cache.accessors.maxSize",
+			"throttling.hapi.stripes",
+			"validation.fullFloatScan.enabled",
+			"validation.floatSpotCheck.numsPerSegment",
+			"validation.floatSpotCheck.periodSecs",
+			"stats.latencies.scrapePort",
+			"cache.bytecode.maxSize",
+			"contracts.localCall.poolSize",
+			"contracts.localCall.queueSize",
+			"contracts.localCall.timeoutMs",
+			"cache.localCalls.maxSize",
+			"grpc.outcomeStream.bufferSize",
+			"grpc.outcomeStream.maxSubscriptions",
+			"fees.quoteCache.maxSize"
 	);
 
 	public static final Set<String> BOOTSTRAP_PROP_NAMES = unmodifiableSet(
@@ -338,6 +353,21 @@ public class BootstrapProperties implements PropertySource {
 			entry("stats.hapiOps.speedometerUpdateIntervalMs", AS_LONG),
 			entry("stats.runningAvgHalfLifeSecs", AS_DOUBLE),
 			entry("stats.speedometerHalfLifeSecs", AS_DOUBLE),
-			entry("consensus.message.maxBytesAllowed", AS_INT)
+			entry("consensus.message.maxBytesAllowed", AS_INT),
+			entry("cache.accessors.maxSize", AS_INT),
+			entry("throttling.hapi.stripes", AS_INT),
+			entry("validation.fullFloatScan.enabled", AS_BOOLEAN),
+			entry("validation.floatSpotCheck.numsPerSegment", AS_INT),
+			entry("validation.floatSpotCheck.periodSecs", AS_INT),
+			entry("expiries.maxEntityPurgesPerTxn", AS_INT),
+			entry("stats.latencies.scrapePort", AS_INT),
+			entry("cache.bytecode.maxSize", AS_INT),
+			entry("contracts.localCall.poolSize", AS_INT),
+			entry("contracts.localCall.queueSize", AS_INT),
+			entry("contracts.localCall.timeoutMs", AS_INT),
+			entry("cache.localCalls.maxSize", AS_INT),
+			entry("grpc.outcomeStream.bufferSize", AS_INT),
+			entry("grpc.outcomeStream.maxSubscriptions", AS_INT),
+			entry("fees.quoteCache.maxSize", AS_INT)
 	);
 }
@@ -63,6 +63,7 @@ public class GlobalDynamicProperties {
 	private Set<grameFunctionality> schedulingWhitelist;
 	private CongestionMultipliers congestionMultipliers;
 	private int feesMinCongestionPeriod;
+	private int maxEntityPurgesPerTxn;
 
 	public GlobalDynamicProperties(
 			grameNumbers grameNums,
@@ -111,6 +112,7 @@ public class GlobalDynamicProperties {
 		messageMaxBytesAllowed = properties.getIntProperty( "consensus.message.maxBytesAllowed");
 		congestionMultipliers = properties.getCongestionMultiplierProperty("fees.percentCongestionMultipliers");
 		feesMinCongestionPeriod = properties.getIntProperty("fees.minCongestionPeriod");
+		maxEntityPurgesPerTxn = properties.getIntProperty("expiries.maxEntityPurgesPerTxn");
 	}
 
 	public int maxTokensPerAccount() {
@@ -240,4 +242,8 @@ public class GlobalDynamicProperties {
 	public int feesMinCongestionPeriod() {
 		return feesMinCongestionPeriod;
 	}
+
+	public int maxEntityPurgesPerTxn() {
+		return maxEntityPurgesPerTxn;
+	}
 }
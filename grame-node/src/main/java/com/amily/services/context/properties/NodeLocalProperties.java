@@ -50,6 +50,20 @@ public class NodeLocalProperties {
 	private String accountsExportPath;
 	private boolean exportAccountsOnStartup;
 	private Profile nettyMode;
+	private int accessorCacheMaxSize;
+	private int hapiThrottlingStripes;
+	private boolean fullFloatScanEnabled;
+	private int floatSpotCheckNumsPerSegment;
+	private int floatSpotCheckPeriodSecs;
+	private int statsLatencyScrapePort;
+	private int bytecodeCacheMaxSize;
+	private int localCallPoolSize;
+	private int localCallQueueSize;
+	private int localCallTimeoutMs;
+	private int localCallMemoMaxSize;
+	private int outcomeStreamBufferSize;
+	private int outcomeStreamMaxSubscriptions;
+	private int feeQuoteCacheMaxSize;
 
 	public NodeLocalProperties(PropertySource properties) {
 		this.properties = properties;
@@ -85,6 +99,20 @@ public class NodeLocalProperties {
 		accountsExportPath = properties.getStringProperty("grame.accountsExportPath");
 		exportAccountsOnStartup = properties.getBooleanProperty("grame.exportAccountsOnStartup");
 		nettyMode = properties.getProfileProperty("netty.mode");
+		accessorCacheMaxSize = properties.getIntProperty("cache.accessors.maxSize");
+		hapiThrottlingStripes = properties.getIntProperty("throttling.hapi.stripes");
+		fullFloatScanEnabled = properties.getBooleanProperty("validation.fullFloatScan.enabled");
+		floatSpotCheckNumsPerSegment = properties.getIntProperty("validation.floatSpotCheck.numsPerSegment");
+		floatSpotCheckPeriodSecs = properties.getIntProperty("validation.floatSpotCheck.periodSecs");
+		statsLatencyScrapePort = properties.getIntProperty("stats.latencies.scrapePort");
+		bytecodeCacheMaxSize = properties.getIntProperty("cache.bytecode.maxSize");
+		localCallPoolSize = properties.getIntProperty("contracts.localCall.poolSize");
+		localCallQueueSize = properties.getIntProperty("contracts.localCall.queueSize");
+		localCallTimeoutMs = properties.getIntProperty("contracts.localCall.timeoutMs");
+		localCallMemoMaxSize = properties.getIntProperty("cache.localCalls.maxSize");
+		outcomeStreamBufferSize = properties.getIntProperty("grpc.outcomeStream.bufferSize");
+		outcomeStreamMaxSubscriptions = properties.getIntProperty("grpc.outcomeStream.maxSubscriptions");
+		feeQuoteCacheMaxSize = properties.getIntProperty("fees.quoteCache.maxSize");
 	}
 
 	public int port() {
@@ -194,4 +222,60 @@ public class NodeLocalProperties {
 	public Profile nettyMode() {
 		return nettyMode;
 	}
+
+	public int accessorCacheMaxSize() {
+		return accessorCacheMaxSize;
+	}
+
+	public int hapiThrottlingStripes() {
+		return hapiThrottlingStripes;
+	}
+
+	public boolean fullFloatScanEnabled() {
+		return fullFloatScanEnabled;
+	}
+
+	public int floatSpotCheckNumsPerSegment() {
+		return floatSpotCheckNumsPerSegment;
+	}
+
+	public int floatSpotCheckPeriodSecs() {
+		return floatSpotCheckPeriodSecs;
+	}
+
+	public int statsLatencyScrapePort() {
+		return statsLatencyScrapePort;
+	}
+
+	public int bytecodeCacheMaxSize() {
+		return bytecodeCacheMaxSize;
+	}
+
+	public int localCallPoolSize() {
+		return localCallPoolSize;
+	}
+
+	public int localCallQueueSize() {
+		return localCallQueueSize;
+	}
+
+	public int localCallTimeoutMs() {
+		return localCallTimeoutMs;
+	}
+
+	public int localCallMemoMaxSize() {
+		return localCallMemoMaxSize;
+	}
+
+	public int outcomeStreamBufferSize() {
+		return outcomeStreamBufferSize;
+	}
+
+	public int outcomeStreamMaxSubscriptions() {
+		return outcomeStreamMaxSubscriptions;
+	}
+
+	public int feeQuoteCacheMaxSize() {
+		return feeQuoteCacheMaxSize;
+	}
 }
@@ -0,0 +1,127 @@
+package com.grame.services.contracts.execution;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.stats.MiscRunningAvgs;
+import org.ethereum.db.ServicesRepositoryImpl;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded, node-local cache of contract bytecode and its code hash, keyed by
+ * contract address. A hit lets the {@link com.grame.services.legacy.evm.SolidityExecutor}
+ * skip both the read of the bytecode blob from state, and the Keccak-256 hash of it.
+ *
+ * Entries must be invalidated whenever the code or the deleted status of a contract
+ * may change; that is, when its code is saved, and when it is deleted (including by
+ * {@code SELFDESTRUCT} or as an empty touched account) or undeleted. All entries must
+ * be invalidated when the working state is replaced.
+ * Since only the working state does this, the cache must only ever be filled from the
+ * working state; local calls against the signed state should {@link #load} instead.
+ */
+public class BytecodeCache {
+	private final MiscRunningAvgs runningAvgs;
+	private final AtomicInteger evictionsSinceLastLookup = new AtomicInteger();
+	private final Cache<ByteBuffer, Bytecode> bytecodes;
+
+	public BytecodeCache(NodeLocalProperties properties, MiscRunningAvgs runningAvgs) {
+		this.runningAvgs = runningAvgs;
+		this.bytecodes = CacheBuilder.newBuilder()
+				.maximumSize(properties.bytecodeCacheMaxSize())
+				.removalListener(this::countIfEvicted)
+				.build();
+	}
+
+	/**
+	 * Returns the bytecode and code hash of the contract at the given address, loading
+	 * them from the given repository on a miss.
+	 *
+	 * @param address the address of the contract
+	 * @param repository the repository to load from on a miss
+	 * @return the bytecode and its hash
+	 */
+	public Bytecode getOrLoad(byte[] address, ServicesRepositoryImpl repository) {
+		var key = ByteBuffer.wrap(address);
+		var bytecode = bytecodes.getIfPresent(key);
+		boolean hit = bytecode != null;
+		if (!hit) {
+			bytecode = load(address, repository);
+			if (bytecode.getCode() != null && bytecode.getCode().length > 0) {
+				bytecodes.put(ByteBuffer.wrap(address.clone()), bytecode);
+			}
+		}
+		runningAvgs.recordBytecodeCacheLookup(hit, evictionsSinceLastLookup.getAndSet(0));
+		return bytecode;
+	}
+
+	/**
+	 * Returns the bytecode and code hash of the contract at the given address, loaded
+	 * from the given repository without consulting or filling any cache.
+	 *
+	 * @param address the address of the contract
+	 * @param repository the repository to load from
+	 * @return the bytecode and its hash
+	 */
+	public static Bytecode load(byte[] address, ServicesRepositoryImpl repository) {
+		return new Bytecode(repository.getCode(address), repository.getCodeHash(address));
+	}
+
+	public void invalidate(byte[] address) {
+		bytecodes.invalidate(ByteBuffer.wrap(address));
+	}
+
+	public void invalidateAll() {
+		bytecodes.invalidateAll();
+	}
+
+	long size() {
+		return bytecodes.size();
+	}
+
+	private void countIfEvicted(RemovalNotification<ByteBuffer, Bytecode> notification) {
+		if (notification.wasEvicted()) {
+			evictionsSinceLastLookup.incrementAndGet();
+		}
+	}
+
+	public static class Bytecode {
+		private final byte[] code;
+		private final byte[] codeHash;
+
+		public Bytecode(byte[] code, byte[] codeHash) {
+			this.code = code;
+			this.codeHash = codeHash;
+		}
+
+		public byte[] getCode() {
+			return code;
+		}
+
+		public byte[] getCodeHash() {
+			return codeHash;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.grame.services.contracts.persistence;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.contracts.sources.ContractStorageSlots;
+import org.ethereum.core.AccountState;
+import org.ethereum.datasource.CachedSource;
+import org.ethereum.datasource.MultiCache;
+import org.ethereum.datasource.ReadWriteCache;
+import org.ethereum.datasource.Source;
+import org.ethereum.datasource.WriteCache;
+import org.ethereum.db.ServicesRepositoryRoot;
+import org.ethereum.vm.DataWord;
+
+import static com.grame.services.contracts.sources.ContractStorageSlots.BYTES_PER_SLOT;
+
+/**
+ * A root repository whose contract storage is read from, and written back to, a
+ * {@link ContractStorageSlots} one slot at a time; instead of as a serialized trie per
+ * contract through a {@code StoragePersistence}.
+ *
+ * Each contract touched since the last flush gets a write cache over its slots, and
+ * tracking repositories commit into these caches as usual. So flushing the storage
+ * puts (or deletes) exactly the slots that were changed, and no others. (As in the
+ * {@code ServicesRepositoryRoot} this replaces, committing the root itself never
+ * flushes storage; only {@link #flushStorageCacheIfTotalSizeLessThan(int)} does.)
+ */
+public class SlotKeyedRepositoryRoot extends ServicesRepositoryRoot {
+	private final ContractStorageSlots slots;
+
+	private MultiCache<CachedSource<DataWord, DataWord>> slotCaches;
+
+	public SlotKeyedRepositoryRoot(
+			Source<byte[], AccountState> accountSource,
+			Source<byte[], byte[]> bytecodeSource,
+			ContractStorageSlots slots
+	) {
+		super(accountSource, bytecodeSource);
+		this.slots = slots;
+		resetSlotCaches();
+	}
+
+	/**
+	 * Flushes the changed slots of every touched contract, unless that would leave any
+	 * such contract with more than the given kilobytes of storage.
+	 *
+	 * @param maxStorageKb
+	 * 		the maximum storage any one contract may use after the flush
+	 * @return whether the changed slots were flushed
+	 */
+	@Override
+	public synchronized boolean flushStorageCacheIfTotalSizeLessThan(int maxStorageKb) {
+		long maxStorageBytes = maxStorageKb * 1024L;
+		var touched = slotCaches.getModified();
+		for (byte[] address : touched) {
+			if (slotCaches.get(address).hasModified() && projectedSizeInBytes(address) > maxStorageBytes) {
+				return false;
+			}
+		}
+		for (byte[] address : touched) {
+			slotCaches.get(address).flush();
+		}
+		resetSlotCaches();
+		return true;
+	}
+
+	@Override
+	public synchronized void emptyStorageCache() {
+		resetSlotCaches();
+	}
+
+	long projectedSizeInBytes(byte[] address) {
+		var cache = slotCaches.get(address);
+		long size = slots.sizeInBytes(address);
+		for (DataWord key : cache.getModified()) {
+			var wasPresent = slots.get(address, key) != null;
+			var isPresent = cache.get(key) != null;
+			if (isPresent != wasPresent) {
+				size += isPresent ? BYTES_PER_SLOT : -BYTES_PER_SLOT;
+			}
+		}
+		return size;
+	}
+
+	private void resetSlotCaches() {
+		slotCaches = new MultiCache<>(null) {
+			@Override
+			protected CachedSource<DataWord, DataWord> create(byte[] address, CachedSource<DataWord, DataWord> ignore) {
+				return new ReadWriteCache<>(slots.sourceFor(address), WriteCache.CacheType.SIMPLE);
+			}
+
+			/* Like the fork's own storage cache, only flushes when the size limit allows */
+			@Override
+			public synchronized boolean flushImpl() {
+				return false;
+			}
+		};
+		init(accountStateCache, codeCache, slotCaches);
+	}
+}
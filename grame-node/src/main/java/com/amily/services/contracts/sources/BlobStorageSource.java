@@ -25,14 +25,21 @@ import org.ethereum.datasource.DbSource;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class BlobStorageSource implements DbSource<byte[]> {
 	private String name = "<N/A>";
 
 	private final Map<byte[], byte[]> blobDelegate;
+	private final Consumer<byte[]> onChange;
 
 	public BlobStorageSource(Map<byte[], byte[]> blobDelegate) {
+		this(blobDelegate, ignore -> {});
+	}
+
+	public BlobStorageSource(Map<byte[], byte[]> blobDelegate, Consumer<byte[]> onChange) {
 		this.blobDelegate = blobDelegate;
+		this.onChange = onChange;
 	}
 
 	@Override
@@ -43,11 +50,13 @@ public class BlobStorageSource implements DbSource<byte[]> {
 	@Override
 	public void put(byte[] address, byte[] storage) {
 		blobDelegate.put(address, storage);
+		onChange.accept(address);
 	}
 
 	@Override
 	public void delete(byte[] key) {
 		blobDelegate.remove(key);
+		onChange.accept(key);
 	}
 
 	@Override
@@ -0,0 +1,235 @@
+package com.grame.services.contracts.sources;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.primitives.Longs;
+import com.grame.services.state.merkle.MerkleContractStorageKey;
+import com.grame.services.state.merkle.MerkleContractStorageValue;
+import com.swirlds.fcmap.FCMap;
+import org.ethereum.datasource.Source;
+import org.ethereum.vm.DataWord;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.grame.services.contracts.sources.AddressKeyedMapFactory.LEGACY_STORAGE_PATH_TEMPLATE;
+import static com.grame.services.contracts.sources.AddressKeyedMapFactory.toKeyMapping;
+import static com.grame.services.utils.EntityIdUtils.accountParsedFromSolidityAddress;
+import static org.ethereum.vm.DataWord.DATA_WORD_BYTES;
+
+/**
+ * Contract storage kept one slot per entry of a dedicated {@code FCMap} keyed by (contract,
+ * slot); along with an entry per contract (with an empty slot key) that counts its slots. So
+ * putting or deleting a slot touches only that slot's entry (and the count), no matter how much
+ * storage the contract has.
+ *
+ * The storage of a contract not changed since before this map existed is still a legacy
+ * {@code /{realm}/d{num}} blob of (key, value) pairs sorted by key; and is read from that blob
+ * by binary search. The first change to such a contract's storage moves all its slots into the
+ * map and removes the blob. Only the few most recently read legacy blobs are cached.
+ */
+public class ContractStorageSlots {
+	public static final int BYTES_PER_SLOT = 2 * DATA_WORD_BYTES;
+
+	static final int MAX_CACHED_LEGACY_BLOBS = 8;
+
+	private final Map<String, byte[]> blobs;
+	private final Supplier<FCMap<MerkleContractStorageKey, MerkleContractStorageValue>> storage;
+	private final Map<String, byte[]> legacyBlobCache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+			return size() > MAX_CACHED_LEGACY_BLOBS;
+		}
+	};
+
+	public ContractStorageSlots(
+			Map<String, byte[]> blobs,
+			Supplier<FCMap<MerkleContractStorageKey, MerkleContractStorageValue>> storage
+	) {
+		this.blobs = blobs;
+		this.storage = storage;
+	}
+
+	public DataWord get(byte[] address, DataWord key) {
+		var value = storage.get().get(slotKey(address, key));
+		if (value != null) {
+			return DataWord.of(value.getData());
+		}
+		var legacy = legacyBlob(address);
+		return (legacy == null) ? null : legacyValue(legacy, key);
+	}
+
+	public void put(byte[] address, DataWord key, DataWord value) {
+		migrateIfLegacy(address);
+
+		var slots = storage.get();
+		var slotKey = slotKey(address, key);
+		var slotValue = new MerkleContractStorageValue(value.getData());
+		if (slots.containsKey(slotKey)) {
+			slots.replace(slotKey, slotValue);
+		} else {
+			slots.put(slotKey, slotValue);
+			setNumSlots(address, numSlots(address) + 1);
+		}
+	}
+
+	public void delete(byte[] address, DataWord key) {
+		migrateIfLegacy(address);
+
+		var slots = storage.get();
+		var slotKey = slotKey(address, key);
+		if (slots.containsKey(slotKey)) {
+			slots.remove(slotKey);
+			setNumSlots(address, numSlots(address) - 1);
+		}
+	}
+
+	public long numSlots(byte[] address) {
+		var count = storage.get().get(slotCountKey(address));
+		if (count != null) {
+			return Longs.fromByteArray(count.getData());
+		}
+		var legacy = legacyBlob(address);
+		return (legacy == null) ? 0 : legacy.length / BYTES_PER_SLOT;
+	}
+
+	/**
+	 * Returns the bytes of storage used by the contract at the given address; that is, the
+	 * size of its (key, value) pairs, whether in the map or still in a legacy blob.
+	 */
+	public long sizeInBytes(byte[] address) {
+		return numSlots(address) * BYTES_PER_SLOT;
+	}
+
+	/**
+	 * Returns a view of the storage of the contract at the given address as a
+	 * {@code Source} of slot values; as expected by the contract repository.
+	 */
+	public Source<DataWord, DataWord> sourceFor(byte[] address) {
+		return new Source<>() {
+			@Override
+			public void put(DataWord key, DataWord value) {
+				if (value == null) {
+					ContractStorageSlots.this.delete(address, key);
+				} else {
+					ContractStorageSlots.this.put(address, key, value);
+				}
+			}
+
+			@Override
+			public DataWord get(DataWord key) {
+				return ContractStorageSlots.this.get(address, key);
+			}
+
+			@Override
+			public void delete(DataWord key) {
+				ContractStorageSlots.this.delete(address, key);
+			}
+
+			@Override
+			public boolean flush() {
+				return false;
+			}
+		};
+	}
+
+	private void migrateIfLegacy(byte[] address) {
+		var legacy = legacyBlob(address);
+		if (legacy == null) {
+			return;
+		}
+
+		var slots = storage.get();
+		for (int i = 0; i < legacy.length; i += BYTES_PER_SLOT) {
+			slots.put(
+					slotKey(address, Arrays.copyOfRange(legacy, i, i + DATA_WORD_BYTES)),
+					new MerkleContractStorageValue(Arrays.copyOfRange(legacy, i + DATA_WORD_BYTES, i + BYTES_PER_SLOT)));
+		}
+		setNumSlots(address, legacy.length / BYTES_PER_SLOT);
+
+		var path = legacyPath(address);
+		blobs.remove(path);
+		synchronized (legacyBlobCache) {
+			legacyBlobCache.remove(path);
+		}
+	}
+
+	private byte[] legacyBlob(byte[] address) {
+		var path = legacyPath(address);
+		if (!blobs.containsKey(path)) {
+			return null;
+		}
+		synchronized (legacyBlobCache) {
+			return legacyBlobCache.computeIfAbsent(path, blobs::get);
+		}
+	}
+
+	/* Legacy blobs are written with their pairs sorted by key, as unsigned bytes. */
+	static DataWord legacyValue(byte[] legacy, DataWord key) {
+		var target = key.getData();
+		int lo = 0, hi = legacy.length / BYTES_PER_SLOT - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int at = mid * BYTES_PER_SLOT;
+			int cmp = Arrays.compareUnsigned(legacy, at, at + DATA_WORD_BYTES, target, 0, DATA_WORD_BYTES);
+			if (cmp < 0) {
+				lo = mid + 1;
+			} else if (cmp > 0) {
+				hi = mid - 1;
+			} else {
+				return DataWord.of(Arrays.copyOfRange(legacy, at + DATA_WORD_BYTES, at + BYTES_PER_SLOT));
+			}
+		}
+		return null;
+	}
+
+	private void setNumSlots(byte[] address, long n) {
+		var slots = storage.get();
+		var countKey = slotCountKey(address);
+		if (n == 0) {
+			slots.remove(countKey);
+		} else if (slots.containsKey(countKey)) {
+			slots.replace(countKey, new MerkleContractStorageValue(Longs.toByteArray(n)));
+		} else {
+			slots.put(countKey, new MerkleContractStorageValue(Longs.toByteArray(n)));
+		}
+	}
+
+	private MerkleContractStorageKey slotKey(byte[] address, DataWord key) {
+		return slotKey(address, key.getData());
+	}
+
+	private MerkleContractStorageKey slotKey(byte[] address, byte[] key) {
+		var id = accountParsedFromSolidityAddress(address);
+		return new MerkleContractStorageKey(id.getShardNum(), id.getRealmNum(), id.getAccountNum(), key);
+	}
+
+	private MerkleContractStorageKey slotCountKey(byte[] address) {
+		var id = accountParsedFromSolidityAddress(address);
+		return MerkleContractStorageKey.slotCountOf(id.getShardNum(), id.getRealmNum(), id.getAccountNum());
+	}
+
+	private String legacyPath(byte[] address) {
+		return toKeyMapping(LEGACY_STORAGE_PATH_TEMPLATE).apply(address);
+	}
+}
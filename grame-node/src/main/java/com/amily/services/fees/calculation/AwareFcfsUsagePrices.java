@@ -30,18 +30,13 @@ import com.gramegrame.api.proto.java.FeeData;
 import com.gramegrame.api.proto.java.FeeSchedule;
 import com.gramegrame.api.proto.java.grameFunctionality;
 import com.gramegrame.api.proto.java.Timestamp;
-import com.gramegrame.api.proto.java.TimestampSeconds;
 import com.gramegrame.api.proto.java.TransactionFeeSchedule;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.time.Instant;
-import java.util.Map;
-import java.util.Objects;
 
 import static com.grame.services.utils.EntityIdUtils.readableId;
-import static java.util.stream.Collectors.toMap;
-
 /**
  * Implements a {@link UsagePricesProvider} by loading the required
  * fee schedules from the grame FileSystem.
@@ -70,11 +65,7 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 
 	CurrentAndNextFeeSchedule feeSchedules;
 
-	Timestamp currFunctionUsagePricesExpiry;
-	Timestamp nextFunctionUsagePricesExpiry;
-
-	Map<grameFunctionality, FeeData> currFunctionUsagePrices;
-	Map<grameFunctionality, FeeData> nextFunctionUsagePrices;
+	private volatile CompiledSchedules compiledSchedules;
 
 	public AwareFcfsUsagePrices(grameFs hfs, FileNumbers fileNumbers, TransactionContext txnCtx) {
 		this.hfs = hfs;
@@ -112,49 +103,61 @@ public class AwareFcfsUsagePrices implements UsagePricesProvider {
 
 	@Override
 	public FeeData pricesGiven(grameFunctionality function, Timestamp at) {
-		try {
-			Map<grameFunctionality, FeeData> functionUsagePrices = applicableUsagePrices(at);
-			FeeData usagePrices = functionUsagePrices.get(function);
-			Objects.requireNonNull(usagePrices);
+		var schedules = compiledSchedules;
+		var usagePrices = (schedules == null) ? null : schedules.pricesAt(function, at.getSeconds());
+		if (usagePrices != null) {
 			return usagePrices;
-		} catch (Exception e) {
-			log.debug(
-					"Default usage price will be used, no specific usage prices available for function {} @ {}!",
-					function, Instant.ofEpochSecond(at.getSeconds(), at.getNanos()));
 		}
+		log.debug(
+				"Default usage price will be used, no specific usage prices available for function {} @ {}!",
+				function, Instant.ofEpochSecond(at.getSeconds(), at.getNanos()));
 		return DEFAULT_USAGE_PRICES;
 	}
 
-	private Map<grameFunctionality, FeeData> applicableUsagePrices(Timestamp at) {
-		if (onlyNextScheduleApplies(at)) {
-			return nextFunctionUsagePrices;
-		} else {
-			return currFunctionUsagePrices;
-		}
-	}
-
-	private boolean onlyNextScheduleApplies(Timestamp at) {
-		return at.getSeconds() >= currFunctionUsagePricesExpiry.getSeconds() &&
-				at.getSeconds() < nextFunctionUsagePricesExpiry.getSeconds();
-	}
-
 	public void setFeeSchedules(CurrentAndNextFeeSchedule feeSchedules) {
 		this.feeSchedules = feeSchedules;
 
-		currFunctionUsagePrices = functionUsagePricesFrom(feeSchedules.getCurrentFeeSchedule());
-		currFunctionUsagePricesExpiry = asTimestamp(feeSchedules.getCurrentFeeSchedule().getExpiryTime());
-
-		nextFunctionUsagePrices = functionUsagePricesFrom(feeSchedules.getNextFeeSchedule());
-		nextFunctionUsagePricesExpiry = asTimestamp(feeSchedules.getNextFeeSchedule().getExpiryTime());
+		compiledSchedules = new CompiledSchedules(
+				feeSchedules.getCurrentFeeSchedule().getExpiryTime().getSeconds(),
+				feeSchedules.getNextFeeSchedule().getExpiryTime().getSeconds(),
+				functionUsagePricesFrom(feeSchedules.getCurrentFeeSchedule()),
+				functionUsagePricesFrom(feeSchedules.getNextFeeSchedule()));
 	}
 
-	private Timestamp asTimestamp(TimestampSeconds ts) {
-		return Timestamp.newBuilder().setSeconds(ts.getSeconds()).build();
+	private FeeData[] functionUsagePricesFrom(FeeSchedule feeSchedule) {
+		var usagePrices = new FeeData[grameFunctionality.values().length];
+		for (TransactionFeeSchedule functionSchedule : feeSchedule.getTransactionFeeScheduleList()) {
+			int i = functionSchedule.getgrameFunctionality().ordinal();
+			if (usagePrices[i] != null) {
+				throw new IllegalStateException(String.format(
+						"Duplicate usage prices for %s!", functionSchedule.getgrameFunctionality()));
+			}
+			usagePrices[i] = functionSchedule.getFeeData();
+		}
+		return usagePrices;
 	}
 
-	private Map<grameFunctionality, FeeData> functionUsagePricesFrom(FeeSchedule feeSchedule) {
-		return feeSchedule.getTransactionFeeScheduleList()
-				.stream()
-				.collect(toMap(TransactionFeeSchedule::getgrameFunctionality, TransactionFeeSchedule::getFeeData));
+	/**
+	 * The current and next schedules' prices in arrays indexed by {@link grameFunctionality}
+	 * ordinal, published together so a lookup never sees one schedule's prices paired with
+	 * the other's expiry.
+	 */
+	static final class CompiledSchedules {
+		private final long currExpiry;
+		private final long nextExpiry;
+		private final FeeData[] currPrices;
+		private final FeeData[] nextPrices;
+
+		CompiledSchedules(long currExpiry, long nextExpiry, FeeData[] currPrices, FeeData[] nextPrices) {
+			this.currExpiry = currExpiry;
+			this.nextExpiry = nextExpiry;
+			this.currPrices = currPrices;
+			this.nextPrices = nextPrices;
+		}
+
+		FeeData pricesAt(grameFunctionality function, long secs) {
+			var applicable = (secs >= currExpiry && secs < nextExpiry) ? nextPrices : currPrices;
+			return applicable[function.ordinal()];
+		}
 	}
 }
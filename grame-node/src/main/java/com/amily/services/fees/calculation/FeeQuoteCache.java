@@ -0,0 +1,103 @@
+package com.grame.services.fees.calculation;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.gramegrame.api.proto.java.ExchangeRate;
+import com.gramegrame.api.proto.java.FeeData;
+import com.gramegrame.fee.FeeBuilder;
+import com.gramegrame.fee.FeeObject;
+
+import java.util.Objects;
+
+/**
+ * Memoizes {@link FeeBuilder#getFeeObject(FeeData, FeeData, ExchangeRate, long)} for the
+ * most recently quoted combinations of usage prices, resource usage, exchange rate, and
+ * congestion multiplier. Most transactions of a given type have identical resource usage
+ * (for example, every simple crypto transfer), so at high TPS nearly every fee is a hit.
+ *
+ * Because the prices and rate are part of the key, a quote can never be stale; but the
+ * cache is still cleared when a new fee schedule is loaded, since no quote for the old
+ * prices will be requested again.
+ */
+public class FeeQuoteCache {
+	private final Cache<QuoteKey, FeeObject> quotes;
+
+	public FeeQuoteCache(NodeLocalProperties properties) {
+		quotes = CacheBuilder.newBuilder()
+				.maximumSize(properties.feeQuoteCacheMaxSize())
+				.build();
+	}
+
+	public FeeObject quote(FeeData prices, FeeData usage, ExchangeRate rate, long multiplier) {
+		var key = new QuoteKey(prices, usage, rate, multiplier);
+		var quote = quotes.getIfPresent(key);
+		if (quote == null) {
+			quote = FeeBuilder.getFeeObject(prices, usage, rate, multiplier);
+			quotes.put(key, quote);
+		}
+		return quote;
+	}
+
+	public void invalidateAll() {
+		quotes.invalidateAll();
+	}
+
+	long size() {
+		return quotes.size();
+	}
+
+	static final class QuoteKey {
+		private final long multiplier;
+		private final FeeData prices;
+		private final FeeData usage;
+		private final ExchangeRate rate;
+
+		QuoteKey(FeeData prices, FeeData usage, ExchangeRate rate, long multiplier) {
+			this.prices = prices;
+			this.usage = usage;
+			this.rate = rate;
+			this.multiplier = multiplier;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || QuoteKey.class != o.getClass()) {
+				return false;
+			}
+			var that = (QuoteKey) o;
+			return this.multiplier == that.multiplier &&
+					this.usage.equals(that.usage) &&
+					this.prices.equals(that.prices) &&
+					this.rate.equals(that.rate);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(multiplier, usage, prices, rate);
+		}
+	}
+}
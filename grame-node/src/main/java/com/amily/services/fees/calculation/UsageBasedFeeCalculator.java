@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static com.grame.services.fees.calculation.AwareFcfsUsagePrices.DEFAULT_USAGE_PRICES;
@@ -64,19 +65,30 @@ import static com.gramegrame.fee.FeeBuilder.getTinybarsFromTinyCents;
 public class UsageBasedFeeCalculator implements FeeCalculator {
 	private static final Logger log = LogManager.getLogger(UsageBasedFeeCalculator.class);
 
+	private final FeeQuoteCache quotes;
 	private final HbarCentExchange exchange;
 	private final FeeMultiplierSource feeMultiplierSource;
 	private final UsagePricesProvider usagePrices;
 	private final List<QueryResourceUsageEstimator> queryUsageEstimators;
 	private final Function<grameFunctionality, List<TxnResourceUsageEstimator>> txnUsageEstimators;
 
+	/* Every estimator's applicability is decided by the body (or query) case alone, and the
+	grameFunctionality of a transaction is a function of its body case; so the first applicable
+	estimator found for a function or query case is the only one we ever need to look up. */
+	private final Map<Query.QueryCase, QueryResourceUsageEstimator> queryEstimatorsByCase =
+			new ConcurrentHashMap<>();
+	private final Map<grameFunctionality, TxnResourceUsageEstimator> txnEstimatorsByFunction =
+			new ConcurrentHashMap<>();
+
 	public UsageBasedFeeCalculator(
 			HbarCentExchange exchange,
 			UsagePricesProvider usagePrices,
 			FeeMultiplierSource feeMultiplierSource,
 			List<QueryResourceUsageEstimator> queryUsageEstimators,
-			Function<grameFunctionality, List<TxnResourceUsageEstimator>> txnUsageEstimators
+			Function<grameFunctionality, List<TxnResourceUsageEstimator>> txnUsageEstimators,
+			FeeQuoteCache quotes
 	) {
+		this.quotes = quotes;
 		this.exchange = exchange;
 		this.usagePrices = usagePrices;
 		this.feeMultiplierSource = feeMultiplierSource;
@@ -87,6 +99,7 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 	@Override
 	public void init() {
 		usagePrices.loadPriceSchedules();
+		quotes.invalidateAll();
 	}
 
 	@Override
@@ -202,7 +215,7 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 		var usageEstimator = getTxnUsageEstimator(accessor);
 		try {
 			FeeData metrics = usageEstimator.usageGiven(accessor.getTxn(), sigUsage, view);
-			return FeeBuilder.getFeeObject(prices, metrics, rate, feeMultiplierSource.currentMultiplier());
+			return quotes.quote(prices, metrics, rate, feeMultiplierSource.currentMultiplier());
 		} catch (InvalidTxBodyException e) {
 			log.warn(
 					"Argument accessor={} malformed for implied estimator {}!",
@@ -213,27 +226,37 @@ public class UsageBasedFeeCalculator implements FeeCalculator {
 	}
 
 	private QueryResourceUsageEstimator getQueryUsageEstimator(Query query) {
-		Optional<QueryResourceUsageEstimator> usageEstimator = queryUsageEstimators
-				.stream()
-				.filter(estimator -> estimator.applicableTo(query))
-				.findAny();
-		if (usageEstimator.isPresent()) {
-			return usageEstimator.get();
+		var usageEstimator = queryEstimatorsByCase.computeIfAbsent(query.getQueryCase(), ignore -> {
+			for (var estimator : queryUsageEstimators) {
+				if (estimator.applicableTo(query)) {
+					return estimator;
+				}
+			}
+			return null;
+		});
+		if (usageEstimator == null) {
+			throw new NoSuchElementException("No estimator exists for the given query");
 		}
-		throw new NoSuchElementException("No estimator exists for the given query");
+		return usageEstimator;
 	}
 
 	private TxnResourceUsageEstimator getTxnUsageEstimator(TxnAccessor accessor) {
 		var txn = accessor.getTxn();
-		var estimators = Optional
-				.ofNullable(txnUsageEstimators.apply(accessor.getFunction()))
-				.orElse(Collections.emptyList());
-		for (TxnResourceUsageEstimator estimator : estimators) {
-			if (estimator.applicableTo(txn)) {
-				return estimator;
+		var usageEstimator = txnEstimatorsByFunction.computeIfAbsent(accessor.getFunction(), function -> {
+			var estimators = Optional
+					.ofNullable(txnUsageEstimators.apply(function))
+					.orElse(Collections.emptyList());
+			for (TxnResourceUsageEstimator estimator : estimators) {
+				if (estimator.applicableTo(txn)) {
+					return estimator;
+				}
 			}
+			return null;
+		});
+		if (usageEstimator == null) {
+			throw new NoSuchElementException("No estimator exists for the given transaction");
 		}
-		throw new NoSuchElementException("No estimator exists for the given transaction");
+		return usageEstimator;
 	}
 
 	private SigValueObj getSigUsage(TxnAccessor accessor, JKey payerKey) {
@@ -0,0 +1,352 @@
+package com.grame.services.files;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.primitives.Longs;
+import com.gramegrame.api.proto.java.FileID;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static com.grame.services.files.DataMapFactory.LEGACY_PATH_PATTERN;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * A view of file contents that persists each file as a sequence of fixed-size chunks,
+ * each in its own blob (and hence its own Merkle leaf, with its own hash). Appending to
+ * a file only re-puts its tail chunk, plus any new chunks; so uploading a large file via
+ * many appends costs time linear in its total size, instead of quadratic.
+ *
+ * The layout uses a manifest blob at {@code /{realm}/c{num}} that records the total
+ * length of the file, and chunk blobs at {@code /{realm}/c{num}/{i}}. Contents still in
+ * the legacy {@code /{realm}/f{num}} blob are readable as-is, and migrate to the chunked
+ * layout the first time they are re-persisted or appended to.
+ */
+public class ChunkedDataMap extends AbstractMap<FileID, byte[]> {
+	public static final int CHUNK_SIZE = 4096;
+
+	static final String MANIFEST_PATH_TEMPLATE = "/%d/c%d";
+	static final Pattern MANIFEST_PATH_PATTERN = Pattern.compile("/(\\d+)/c(\\d+)");
+	static final String CHUNK_PATH_TEMPLATE = "%s/%d";
+
+	private static final byte[] NO_CONTENTS = new byte[0];
+
+	private final Map<String, byte[]> store;
+
+	public ChunkedDataMap(Map<String, byte[]> store) {
+		this.store = store;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		var fid = (FileID) key;
+		return store.containsKey(manifestPath(fid)) || store.containsKey(legacyPath(fid));
+	}
+
+	@Override
+	public byte[] get(Object key) {
+		var fid = (FileID) key;
+		var manifestPath = manifestPath(fid);
+		var manifest = store.get(manifestPath);
+		if (manifest == null) {
+			return store.get(legacyPath(fid));
+		}
+		return read(manifestPath, 0, (int) lengthFrom(manifest));
+	}
+
+	/**
+	 * Returns the length of the given file, without assembling its contents.
+	 *
+	 * @param fid
+	 * 		the file of interest
+	 * @return its length, or -1 if it has no contents
+	 */
+	public long sizeOf(FileID fid) {
+		var manifest = store.get(manifestPath(fid));
+		if (manifest != null) {
+			return lengthFrom(manifest);
+		}
+		var legacy = store.get(legacyPath(fid));
+		return (legacy == null) ? -1 : legacy.length;
+	}
+
+	/**
+	 * Returns the given range of the contents of the given file, touching only the
+	 * chunks that overlap the range.
+	 *
+	 * @param fid
+	 * 		the file of interest
+	 * @param offset
+	 * 		the offset of the first byte to read
+	 * @param length
+	 * 		the maximum number of bytes to read
+	 * @return the bytes in range, or {@code null} if the file has no contents
+	 * @throws IllegalArgumentException
+	 * 		if the offset or length is negative
+	 */
+	public byte[] read(FileID fid, long offset, int length) {
+		if (offset < 0 || length < 0) {
+			throw new IllegalArgumentException(String.format("Cannot read %d bytes from offset %d!", length, offset));
+		}
+		var manifestPath = manifestPath(fid);
+		var manifest = store.get(manifestPath);
+		if (manifest == null) {
+			var legacy = store.get(legacyPath(fid));
+			if (legacy == null) {
+				return null;
+			}
+			var from = (int) Math.min(offset, legacy.length);
+			return Arrays.copyOfRange(legacy, from, (int) Math.min((long) from + length, legacy.length));
+		}
+		var total = lengthFrom(manifest);
+		var from = Math.min(offset, total);
+		return read(manifestPath, from, (int) Math.min(length, total - from));
+	}
+
+	/**
+	 * Returns a stream over the contents of the given file, which fetches each chunk
+	 * from the underlying store only when the stream reaches it.
+	 *
+	 * @param fid
+	 * 		the file of interest
+	 * @return a stream over its contents, or {@code null} if the file has no contents
+	 */
+	public InputStream stream(FileID fid) {
+		var manifestPath = manifestPath(fid);
+		var manifest = store.get(manifestPath);
+		if (manifest == null) {
+			var legacy = store.get(legacyPath(fid));
+			return (legacy == null) ? null : new ByteArrayInputStream(legacy);
+		}
+		int n = chunksFor(lengthFrom(manifest));
+		return new SequenceInputStream(new Enumeration<InputStream>() {
+			private int i = 0;
+
+			@Override
+			public boolean hasMoreElements() {
+				return i < n;
+			}
+
+			@Override
+			public InputStream nextElement() {
+				return new ByteArrayInputStream(store.get(chunkPath(manifestPath, i++)));
+			}
+		});
+	}
+
+	/**
+	 * Extends the contents of the given file, re-putting only its tail chunk (if that
+	 * chunk was not already full) and whatever new chunks the extension requires.
+	 *
+	 * @param fid
+	 * 		the file to extend
+	 * @param moreContents
+	 * 		the extension
+	 */
+	public void append(FileID fid, byte[] moreContents) {
+		var manifestPath = manifestPath(fid);
+		var manifest = store.get(manifestPath);
+		if (manifest == null) {
+			migrate(fid, manifestPath);
+			manifest = store.get(manifestPath);
+		}
+		var length = lengthFrom(manifest);
+
+		int consumed = 0;
+		int tailFill = (int) (length % CHUNK_SIZE);
+		int i = (int) (length / CHUNK_SIZE);
+		if (tailFill > 0) {
+			var tailPath = chunkPath(manifestPath, i);
+			var tail = store.get(tailPath);
+			consumed = Math.min(CHUNK_SIZE - tailFill, moreContents.length);
+			var newTail = Arrays.copyOf(tail, tailFill + consumed);
+			System.arraycopy(moreContents, 0, newTail, tailFill, consumed);
+			store.put(tailPath, newTail);
+			i++;
+		}
+		for (; consumed < moreContents.length; i++) {
+			var upTo = Math.min(moreContents.length, consumed + CHUNK_SIZE);
+			store.put(chunkPath(manifestPath, i), Arrays.copyOfRange(moreContents, consumed, upTo));
+			consumed = upTo;
+		}
+
+		if (moreContents.length > 0) {
+			store.put(manifestPath, Longs.toByteArray(length + moreContents.length));
+		}
+	}
+
+	/**
+	 * Persists the given contents for the given file, re-putting only those chunks
+	 * which differ from the currently persisted contents.
+	 *
+	 * <B>NOTE:</B> This method breaks the standard {@code Map} contract,
+	 * and does not return the previous contents.
+	 *
+	 * @param fid
+	 * 		the file to update
+	 * @param contents
+	 * 		its new contents
+	 * @return {@code null}
+	 */
+	@Override
+	public byte[] put(FileID fid, byte[] contents) {
+		var manifestPath = manifestPath(fid);
+		var manifest = store.get(manifestPath);
+
+		int oldChunks = 0;
+		if (manifest != null) {
+			oldChunks = chunksFor(lengthFrom(manifest));
+		} else {
+			var legacyPath = legacyPath(fid);
+			if (store.containsKey(legacyPath)) {
+				store.remove(legacyPath);
+			}
+		}
+
+		int newChunks = chunksFor(contents.length);
+		for (int i = 0; i < newChunks; i++) {
+			var from = i * CHUNK_SIZE;
+			var chunk = Arrays.copyOfRange(contents, from, Math.min(contents.length, from + CHUNK_SIZE));
+			var chunkPath = chunkPath(manifestPath, i);
+			if (i >= oldChunks || !Arrays.equals(chunk, store.get(chunkPath))) {
+				store.put(chunkPath, chunk);
+			}
+		}
+		for (int i = newChunks; i < oldChunks; i++) {
+			store.remove(chunkPath(manifestPath, i));
+		}
+
+		if (manifest == null || lengthFrom(manifest) != contents.length) {
+			store.put(manifestPath, Longs.toByteArray(contents.length));
+		}
+		return null;
+	}
+
+	/**
+	 * Removes all chunks of the given file.
+	 *
+	 * <B>NOTE:</B> This method breaks the standard {@code Map} contract,
+	 * and does not return the removed contents.
+	 *
+	 * @param key
+	 * 		the file to remove
+	 * @return {@code null}
+	 */
+	@Override
+	public byte[] remove(Object key) {
+		var fid = (FileID) key;
+		var manifestPath = manifestPath(fid);
+		var manifest = store.get(manifestPath);
+		if (manifest != null) {
+			for (int i = 0, n = chunksFor(lengthFrom(manifest)); i < n; i++) {
+				store.remove(chunkPath(manifestPath, i));
+			}
+			store.remove(manifestPath);
+		}
+		store.remove(legacyPath(fid));
+		return null;
+	}
+
+	@Override
+	public Set<Entry<FileID, byte[]>> entrySet() {
+		return store.keySet()
+				.stream()
+				.map(path -> {
+					if (MANIFEST_PATH_PATTERN.matcher(path).matches()) {
+						return toFid(MANIFEST_PATH_PATTERN, path);
+					} else if (LEGACY_PATH_PATTERN.matcher(path).matches()) {
+						return toFid(LEGACY_PATH_PATTERN, path);
+					} else {
+						return null;
+					}
+				})
+				.filter(Objects::nonNull)
+				.map(fid -> new SimpleEntry<>(fid, get(fid)))
+				.collect(toSet());
+	}
+
+	private void migrate(FileID fid, String manifestPath) {
+		var legacyPath = legacyPath(fid);
+		var legacy = store.get(legacyPath);
+		if (legacy == null) {
+			legacy = NO_CONTENTS;
+		} else {
+			store.remove(legacyPath);
+		}
+		for (int i = 0, n = chunksFor(legacy.length); i < n; i++) {
+			var from = i * CHUNK_SIZE;
+			store.put(
+					chunkPath(manifestPath, i),
+					Arrays.copyOfRange(legacy, from, Math.min(legacy.length, from + CHUNK_SIZE)));
+		}
+		store.put(manifestPath, Longs.toByteArray(legacy.length));
+	}
+
+	private byte[] read(String manifestPath, long offset, int length) {
+		var contents = new byte[length];
+		int copied = 0;
+		for (int i = (int) (offset / CHUNK_SIZE); copied < length; i++) {
+			var chunk = store.get(chunkPath(manifestPath, i));
+			int from = (copied == 0) ? (int) (offset % CHUNK_SIZE) : 0;
+			int n = Math.min(chunk.length - from, length - copied);
+			System.arraycopy(chunk, from, contents, copied, n);
+			copied += n;
+		}
+		return contents;
+	}
+
+	static int chunksFor(long length) {
+		return (int) ((length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+	}
+
+	static long lengthFrom(byte[] manifest) {
+		return Longs.fromByteArray(manifest);
+	}
+
+	static String chunkPath(String manifestPath, int i) {
+		return String.format(CHUNK_PATH_TEMPLATE, manifestPath, i);
+	}
+
+	static String manifestPath(FileID fid) {
+		return String.format(MANIFEST_PATH_TEMPLATE, fid.getRealmNum(), fid.getFileNum());
+	}
+
+	private static String legacyPath(FileID fid) {
+		return DataMapFactory.toKeyString(fid);
+	}
+
+	private static FileID toFid(Pattern pathPattern, String path) {
+		var matcher = pathPattern.matcher(path);
+		matcher.matches();
+		return FileID.newBuilder()
+				.setRealmNum(Long.parseLong(matcher.group(1)))
+				.setFileNum(Long.parseLong(matcher.group(2)))
+				.build();
+	}
+}
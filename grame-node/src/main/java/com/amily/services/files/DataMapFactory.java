@@ -29,7 +29,7 @@ import java.util.regex.Pattern;
 
 public class DataMapFactory {
 	private static final String LEGACY_PATH_TEMPLATE = "/%d/f%d";
-	private static final Pattern LEGACY_PATH_PATTERN = Pattern.compile("/(\\d+)/f(\\d+)");
+	static final Pattern LEGACY_PATH_PATTERN = Pattern.compile("/(\\d+)/f(\\d+)");
 	private static final int REALM_INDEX = 1;
 	private static final int ACCOUNT_INDEX = 2;
 
@@ -47,6 +47,10 @@ public class DataMapFactory {
 				store);
 	}
 
+	public static ChunkedDataMap chunkedDataMapFrom(Map<String, byte[]> store) {
+		return new ChunkedDataMap(store);
+	}
+
 	static FileID toFid(String key) {
 		var matcher = LEGACY_PATH_PATTERN.matcher(key);
 		var flag = matcher.matches();
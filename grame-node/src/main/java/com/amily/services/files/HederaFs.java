@@ -25,6 +25,10 @@ import com.gramegrame.api.proto.java.FileID;
 import com.gramegrame.api.proto.java.ResponseCodeEnum;
 import com.grame.services.files.TieredgrameFs.IllegalArgumentType;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+
 /**
  * A non-hierarchical collection of files managed by {@link FileID} using create/read/update/delete semantics.
  *
@@ -80,6 +84,39 @@ public interface grameFs {
 	 */
 	byte[] cat(FileID id);
 
+	/**
+	 * Returns the given range of the contents of the given file. The range is truncated
+	 * at the end of the file.
+	 *
+	 * @param id the file to cat
+	 * @param offset the offset of the first byte in the range
+	 * @param length the maximum number of bytes in the range
+	 * @return the contents in range
+	 * @throws IllegalArgumentException with {@link IllegalArgumentType#UNKNOWN_FILE} if file is missing
+	 * @throws IllegalArgumentException with {@link IllegalArgumentType#DELETED_FILE} if the file is deleted
+	 * @throws IllegalArgumentException if the offset or length is negative
+	 */
+	default byte[] cat(FileID id, long offset, int length) {
+		if (offset < 0 || length < 0) {
+			throw new IllegalArgumentException(String.format("Cannot cat %d bytes from offset %d!", length, offset));
+		}
+		var contents = cat(id);
+		var from = (int) Math.min(offset, contents.length);
+		return Arrays.copyOfRange(contents, from, (int) Math.min((long) from + length, contents.length));
+	}
+
+	/**
+	 * Returns a stream over the contents of the given file.
+	 *
+	 * @param id the file to cat
+	 * @return a stream over its contents
+	 * @throws IllegalArgumentException with {@link IllegalArgumentType#UNKNOWN_FILE} if file is missing
+	 * @throws IllegalArgumentException with {@link IllegalArgumentType#DELETED_FILE} if the file is deleted
+	 */
+	default InputStream catStream(FileID id) {
+		return new ByteArrayInputStream(cat(id));
+	}
+
 	/**
 	 * Returns the metadata for the given file.
 	 *
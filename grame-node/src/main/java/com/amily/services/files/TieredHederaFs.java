@@ -31,6 +31,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -49,13 +50,18 @@ import static java.util.stream.Collectors.toList;
 /**
  * A {@link grameFs} that stores the contents and metadata of its files in
  * separate injected {@link Map}s.
+ *
+ * Contents are kept in a {@link ChunkedDataMap}, so an append to a file with no
+ * relevant {@link FileUpdateInterceptor} only re-puts the file's tail chunk.
+ * (Interceptors inspect the complete new contents of a file, so appends to
+ * intercepted files are still applied as a full update.)
  */
 public class TieredgrameFs implements grameFs {
 	public static final Logger log = LogManager.getLogger(TieredgrameFs.class);
 
 	private final EntityIdSource ids;
 	private final Supplier<Instant> now;
-	private final Map<FileID, byte[]> data;
+	private final ChunkedDataMap data;
 	private final Map<FileID, HFileMeta> metadata;
 	private final GlobalDynamicProperties properties;
 
@@ -84,7 +90,7 @@ public class TieredgrameFs implements grameFs {
 			EntityIdSource ids,
 			GlobalDynamicProperties properties,
 			Supplier<Instant> now,
-			Map<FileID, byte[]> data,
+			ChunkedDataMap data,
 			Map<FileID, HFileMeta> metadata,
 			Supplier<MerkleDiskFs> diskFs
 	) {
@@ -140,6 +146,34 @@ public class TieredgrameFs implements grameFs {
 		}
 	}
 
+	@Override
+	public byte[] cat(FileID id, long offset, int length) {
+		assertUsable(id);
+		if (offset < 0 || length < 0) {
+			throw new IllegalArgumentException(String.format("Cannot cat %d bytes from offset %d!", length, offset));
+		}
+		if (isOnDisk(id)) {
+			var contents = diskFs.get().contentsBufferOf(id);
+			var from = (int) Math.min(offset, contents.remaining());
+			var range = new byte[Math.min(length, contents.remaining() - from)];
+			contents.position(from);
+			contents.get(range);
+			return range;
+		} else {
+			return data.read(id, offset, length);
+		}
+	}
+
+	@Override
+	public InputStream catStream(FileID id) {
+		assertUsable(id);
+		if (isOnDisk(id)) {
+			return grameFs.super.catStream(id);
+		} else {
+			return data.stream(id);
+		}
+	}
+
 	@Override
 	public HFileMeta getattr(FileID id) {
 		assertExtant(id);
@@ -177,9 +211,12 @@ public class TieredgrameFs implements grameFs {
 	public UpdateResult append(FileID id, byte[] moreContents) {
 		assertUsable(id);
 
-		byte[] contents;
-
 		boolean isDiskBased = isOnDisk(id);
+		if (!isDiskBased && interceptorsFor(id).isEmpty()) {
+			return uninterceptedAppend(id, moreContents);
+		}
+
+		byte[] contents;
 		if (isDiskBased) {
 			contents = diskFs.get().contentsOf(id);
 		} else {
@@ -257,6 +294,19 @@ public class TieredgrameFs implements grameFs {
 		return diskFs.get().contains(fid);
 	}
 
+	private UpdateResult uninterceptedAppend(FileID id, byte[] moreContents) {
+		var newLength = Math.max(0, data.sizeOf(id)) + moreContents.length;
+		log.debug(
+				"Appending {} bytes to {} :: new file will have {} bytes.",
+				moreContents.length,
+				EntityIdUtils.readableId(id),
+				newLength);
+		assertWithinSizeLimits(newLength);
+
+		data.append(id, moreContents);
+		return new SimpleUpdateResult(false, true, SUCCESS);
+	}
+
 	private UpdateResult uncheckedSetattr(FileID id, HFileMeta attr) {
 		var verdict = judge(id, (interceptor, ignore) -> interceptor.preAttrChange(id, attr));
 
@@ -327,7 +377,11 @@ public class TieredgrameFs implements grameFs {
 	}
 
 	private void assertWithinSizeLimits(byte[] data) {
-		if (data.length > properties.maxFileSizeKb() * BYTES_PER_KB) {
+		assertWithinSizeLimits(data.length);
+	}
+
+	private void assertWithinSizeLimits(long length) {
+		if (length > (long) properties.maxFileSizeKb() * BYTES_PER_KB) {
 			throwIllegal(OVERSIZE_CONTENTS);
 		}
 	}
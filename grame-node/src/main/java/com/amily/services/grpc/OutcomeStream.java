@@ -0,0 +1,236 @@
+package com.grame.services.grpc;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.records.OutcomeSubscriptions;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.Query;
+import com.gramegrame.api.proto.java.Response;
+import com.gramegrame.api.proto.java.ResponseCodeEnum;
+import com.gramegrame.api.proto.java.ResponseHeader;
+import com.gramegrame.api.proto.java.TransactionGetRecordResponse;
+import com.gramegrame.api.proto.java.TransactionID;
+import com.gramegrame.api.proto.java.TransactionRecord;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.NOT_SUPPORTED;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
+import static com.gramegrame.api.proto.java.ResponseType.ANSWER_ONLY;
+
+/**
+ * One client's stream of consensus outcomes. The client sends a {@code transactionGetReceipt}
+ * query to subscribe to the outcome of a single transaction id, or a {@code cryptoGetAccountRecords}
+ * query to subscribe to the outcomes of all transactions paid for by an account; and receives
+ * a {@code transactionGetRecord} response for each outcome.
+ *
+ * Outcomes wait in a bounded buffer, and are only written to the connection when gRPC reports
+ * it is ready; so a slow client gets backpressure rather than unbounded memory on the node. If
+ * the buffer overflows anyway, the stream fails with {@link Status#RESOURCE_EXHAUSTED} and the
+ * client should fall back to polling.
+ *
+ * When the client half-closes, its payer subscriptions end, and the stream completes as soon
+ * as every transaction id it subscribed to has been resolved.
+ */
+public class OutcomeStream implements StreamObserver<Query>, OutcomeSubscriptions.Subscriber {
+	private final int maxSubscriptions;
+	private final Executor drainer;
+	private final OutcomeSubscriptions subscriptions;
+	private final ServerCallStreamObserver<Response> observer;
+	private final ArrayBlockingQueue<Response> buffer;
+	private final AtomicBoolean draining = new AtomicBoolean(false);
+	private final AtomicBoolean terminated = new AtomicBoolean(false);
+	private final Set<AccountID> payers = ConcurrentHashMap.newKeySet();
+	private final Set<TransactionID> pendingTxnIds = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean finishing = false;
+	private volatile boolean overflowed = false;
+	private volatile boolean halfClosed = false;
+
+	public OutcomeStream(
+			OutcomeSubscriptions subscriptions,
+			ServerCallStreamObserver<Response> observer,
+			Executor drainer,
+			int bufferSize,
+			int maxSubscriptions
+	) {
+		this.subscriptions = subscriptions;
+		this.observer = observer;
+		this.drainer = drainer;
+		this.maxSubscriptions = maxSubscriptions;
+		this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+
+		observer.setOnReadyHandler(this::scheduleDrain);
+		observer.setOnCancelHandler(this::cancelAll);
+	}
+
+	@Override
+	public void onNext(Query query) {
+		if (terminated.get()) {
+			return;
+		}
+		switch (query.getQueryCase()) {
+			case TRANSACTIONGETRECEIPT:
+				var txnId = query.getTransactionGetReceipt().getTransactionID();
+				if (!hasCapacity()) {
+					enqueue(rejection(txnId, BUSY));
+				} else if (pendingTxnIds.add(txnId)) {
+					subscriptions.subscribe(txnId, this);
+				}
+				break;
+			case CRYPTOGETACCOUNTRECORDS:
+				var payer = query.getCryptoGetAccountRecords().getAccountID();
+				if (!hasCapacity()) {
+					enqueue(rejection(TransactionID.getDefaultInstance(), BUSY));
+				} else if (payers.add(payer)) {
+					subscriptions.subscribe(payer, this);
+				}
+				break;
+			default:
+				enqueue(rejection(TransactionID.getDefaultInstance(), NOT_SUPPORTED));
+		}
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		cancelAll();
+	}
+
+	@Override
+	public void onCompleted() {
+		halfClosed = true;
+		for (var payer : payers) {
+			subscriptions.cancel(payer, this);
+		}
+		payers.clear();
+		maybeFinish();
+	}
+
+	@Override
+	public void resolve(TransactionRecord outcome) {
+		if (pendingTxnIds.remove(outcome.getTransactionID())) {
+			enqueue(responseWith(outcome, OK));
+			maybeFinish();
+		}
+	}
+
+	@Override
+	public void observe(TransactionRecord outcome) {
+		enqueue(responseWith(outcome, OK));
+	}
+
+	void drain() {
+		try {
+			if (terminated.get()) {
+				return;
+			}
+			if (overflowed) {
+				cancelAll();
+				observer.onError(Status.RESOURCE_EXHAUSTED
+						.withDescription("Outcome buffer overflowed, please poll for receipts")
+						.asRuntimeException());
+				return;
+			}
+			Response next;
+			while (observer.isReady() && (next = buffer.poll()) != null) {
+				observer.onNext(next);
+			}
+			if (finishing && buffer.isEmpty()) {
+				terminated.set(true);
+				observer.onCompleted();
+				return;
+			}
+		} finally {
+			draining.set(false);
+		}
+		if (overflowed || (!buffer.isEmpty() && observer.isReady())) {
+			scheduleDrain();
+		}
+	}
+
+	private void enqueue(Response response) {
+		if (!buffer.offer(response)) {
+			overflowed = true;
+		}
+		scheduleDrain();
+	}
+
+	private void scheduleDrain() {
+		if (!terminated.get() && draining.compareAndSet(false, true)) {
+			drainer.execute(this::drain);
+		}
+	}
+
+	private void maybeFinish() {
+		if (halfClosed && pendingTxnIds.isEmpty()) {
+			finishing = true;
+			scheduleDrain();
+		}
+	}
+
+	private boolean hasCapacity() {
+		return !halfClosed && (pendingTxnIds.size() + payers.size()) < maxSubscriptions;
+	}
+
+	private void cancelAll() {
+		if (terminated.compareAndSet(false, true)) {
+			for (var txnId : pendingTxnIds) {
+				subscriptions.cancel(txnId, this);
+			}
+			for (var payer : payers) {
+				subscriptions.cancel(payer, this);
+			}
+			pendingTxnIds.clear();
+			payers.clear();
+			buffer.clear();
+		}
+	}
+
+	boolean isTerminated() {
+		return terminated.get();
+	}
+
+	int numPending() {
+		return pendingTxnIds.size() + payers.size();
+	}
+
+	private static Response rejection(TransactionID txnId, ResponseCodeEnum status) {
+		return responseWith(TransactionRecord.newBuilder().setTransactionID(txnId).build(), status);
+	}
+
+	private static Response responseWith(TransactionRecord outcome, ResponseCodeEnum status) {
+		return Response.newBuilder()
+				.setTransactionGetRecord(TransactionGetRecordResponse.newBuilder()
+						.setHeader(ResponseHeader.newBuilder()
+								.setNodeTransactionPrecheckCode(status)
+								.setResponseType(ANSWER_ONLY))
+						.setTransactionRecord(outcome))
+				.build();
+	}
+}
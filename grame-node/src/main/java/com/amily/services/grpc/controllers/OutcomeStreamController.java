@@ -0,0 +1,86 @@
+package com.grame.services.grpc.controllers;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.grpc.OutcomeStream;
+import com.grame.services.records.OutcomeSubscriptions;
+import com.gramegrame.api.proto.java.Query;
+import com.gramegrame.api.proto.java.Response;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves {@code proto.OutcomeStreamService/subscribe}, a bidirectional stream over which a
+ * client registers transaction ids (or payer accounts) and is pushed their consensus outcomes;
+ * see {@link OutcomeStream} for the protocol. The method reuses the existing {@link Query} and
+ * {@link Response} messages, so it needs no new protobuf types.
+ */
+public class OutcomeStreamController {
+	public static final String SERVICE_NAME = "proto.OutcomeStreamService";
+	public static final MethodDescriptor<Query, Response> SUBSCRIBE_METHOD =
+			MethodDescriptor.<Query, Response>newBuilder()
+					.setType(MethodDescriptor.MethodType.BIDI_STREAMING)
+					.setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, "subscribe"))
+					.setRequestMarshaller(ProtoUtils.marshaller(Query.getDefaultInstance()))
+					.setResponseMarshaller(ProtoUtils.marshaller(Response.getDefaultInstance()))
+					.build();
+
+	private final Executor drainer;
+	private final OutcomeSubscriptions subscriptions;
+	private final NodeLocalProperties properties;
+
+	public OutcomeStreamController(OutcomeSubscriptions subscriptions, NodeLocalProperties properties) {
+		this(subscriptions, properties, Executors.newSingleThreadExecutor(runnable -> {
+			var drainer = new Thread(runnable, "OutcomeStreamDrainer");
+			drainer.setDaemon(true);
+			return drainer;
+		}));
+	}
+
+	OutcomeStreamController(OutcomeSubscriptions subscriptions, NodeLocalProperties properties, Executor drainer) {
+		this.drainer = drainer;
+		this.properties = properties;
+		this.subscriptions = subscriptions;
+	}
+
+	public ServerServiceDefinition definition() {
+		return ServerServiceDefinition.builder(SERVICE_NAME)
+				.addMethod(SUBSCRIBE_METHOD, ServerCalls.asyncBidiStreamingCall(this::subscribe))
+				.build();
+	}
+
+	StreamObserver<Query> subscribe(StreamObserver<Response> observer) {
+		return new OutcomeStream(
+				subscriptions,
+				(ServerCallStreamObserver<Response>) observer,
+				drainer,
+				properties.outcomeStreamBufferSize(),
+				properties.outcomeStreamMaxSubscriptions());
+	}
+}
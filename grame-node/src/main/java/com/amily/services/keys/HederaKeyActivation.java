@@ -71,7 +71,7 @@ public class grameKeyActivation {
 			grameSigningOrder keyOrder,
 			SigningOrderResultFactory<SignatureStatus> summaryFactory
 	) {
-		SigningOrderResult<SignatureStatus> payerSummary = keyOrder.keysForPayer(accessor.getTxn(), summaryFactory);
+		SigningOrderResult<SignatureStatus> payerSummary = keyOrder.memoizedKeysForPayer(accessor, summaryFactory);
 
 		return isActive(
 				payerSummary.getPayerKey(),
@@ -115,25 +115,79 @@ public class grameKeyActivation {
 			int M = key.hasKeyList()
 					? characteristics.sigsNeededForList((JKeyList)key)
 					: characteristics.sigsNeededForThreshold((JThresholdKey)key);
-			return children.stream().mapToInt(child -> isActive(child, sigsFn, tests) ? 1 : 0).sum() >= M;
+			if (M <= 0) {
+				return true;
+			}
+			int numActive = 0;
+			for (int i = 0, n = children.size(); i < n; i++) {
+				if (isActive(children.get(i), sigsFn, tests, DEFAULT_ACTIVATION_CHARACTERISTICS) && ++numActive >= M) {
+					return true;
+				}
+			}
+			return false;
 		}
 	}
 
 	/**
-	 * Factory for a source of platform signatures backed by a list.
+	 * Factory for a source of platform signatures backed by a list. The expanded public
+	 * keys of the sigs are hashed into an index once, so each lookup costs a single
+	 * probe (in expectation) and allocates nothing. If two sigs have the same public key,
+	 * the first in the list is returned.
 	 *
 	 * @param sigs the backing list of platform sigs.
 	 * @return a supplier that produces the backing list sigs by public key.
 	 */
 	public static Function<byte[], TransactionSignature> pkToSigMapFrom(List<TransactionSignature> sigs) {
-		return key -> {
+		return new IndexedSigs(sigs);
+	}
+
+	static class IndexedSigs implements Function<byte[], TransactionSignature> {
+		private final int mask;
+		private final int[] hashes;
+		private final byte[][] keys;
+		private final TransactionSignature[] sigs;
+
+		IndexedSigs(List<TransactionSignature> sigs) {
+			int capacity = Integer.highestOneBit(Math.max(1, sigs.size()) * 2 - 1) << 1;
+			this.mask = capacity - 1;
+			this.hashes = new int[capacity];
+			this.keys = new byte[capacity][];
+			this.sigs = new TransactionSignature[capacity];
 			for (TransactionSignature sig : sigs) {
-				if (Arrays.equals(key, sig.getExpandedPublicKeyDirect())) {
-					return sig;
+				add(sig);
+			}
+		}
+
+		private void add(TransactionSignature sig) {
+			byte[] key = sig.getExpandedPublicKeyDirect();
+			int hash = hashOf(key);
+			int i = hash & mask;
+			while (keys[i] != null) {
+				if (hashes[i] == hash && Arrays.equals(keys[i], key)) {
+					return;
+				}
+				i = (i + 1) & mask;
+			}
+			hashes[i] = hash;
+			keys[i] = key;
+			this.sigs[i] = sig;
+		}
+
+		@Override
+		public TransactionSignature apply(byte[] key) {
+			int hash = hashOf(key);
+			for (int i = hash & mask; keys[i] != null; i = (i + 1) & mask) {
+				if (hashes[i] == hash && Arrays.equals(keys[i], key)) {
+					return sigs[i];
 				}
 			}
 			return INVALID_MISSING_SIG;
-		};
+		}
+
+		private static int hashOf(byte[] key) {
+			int h = Arrays.hashCode(key);
+			return h ^ (h >>> 16);
+		}
 	}
 
 	private static class InvalidSignature extends TransactionSignature {
@@ -150,7 +150,7 @@ public class InHandleActivationHelper {
 	private void ensureUpToDate() {
 		var current = accessorSource.get();
 		if (accessor != current) {
-			var otherOrderingResult = keyOrderer.keysForOtherParties(current.getTxn(), IN_HANDLE_SUMMARY_FACTORY);
+			var otherOrderingResult = keyOrderer.memoizedKeysForOtherParties(current, IN_HANDLE_SUMMARY_FACTORY);
 			if (otherOrderingResult.hasErrorReport()) {
 				var errorReport = otherOrderingResult.getErrorReport();
 				log.debug("Allowing active other-party sigs: {} ({})!", errorReport, errorReport.getResponseCode());
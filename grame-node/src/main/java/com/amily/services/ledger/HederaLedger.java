@@ -128,6 +128,8 @@ public class grameLedger {
 	private final TransactionalLedger<AccountID, AccountProperty, MerkleAccount> accountsLedger;
 
 	int numTouches = 0;
+	RunningBalanceTotals balanceTotals = null;
+	final TransferList.Builder destroyedBalances = TransferList.newBuilder();
 	final TokenID[] tokensTouched = new TokenID[MAX_CONCEIVABLE_TOKENS_PER_TXN];
 	final Map<TokenID, TransferList.Builder> netTokenTransfers = new HashMap<>();
 	TransactionalLedger<
@@ -160,6 +162,10 @@ public class grameLedger {
 		this.tokenRelsLedger = tokenRelsLedger;
 	}
 
+	public void setBalanceTotals(RunningBalanceTotals balanceTotals) {
+		this.balanceTotals = balanceTotals;
+	}
+
 	/* -- TRANSACTIONAL SEMANTICS -- */
 	public void begin() {
 		accountsLedger.begin();
@@ -174,6 +180,7 @@ public class grameLedger {
 			tokenRelsLedger.rollback();
 		}
 		netTransfers.clear();
+		destroyedBalances.clear();
 		clearNetTokenTransfers();
 	}
 
@@ -185,7 +192,11 @@ public class grameLedger {
 		if (tokenRelsLedger != UNUSABLE_TOKEN_RELS_LEDGER && tokenRelsLedger.isInTransaction()) {
 			tokenRelsLedger.commit();
 		}
+		if (balanceTotals != null) {
+			balanceTotals.track(netTransfers, destroyedBalances);
+		}
 		netTransfers.clear();
+		destroyedBalances.clear();
 		clearNetTokenTransfers();
 	}
 
@@ -428,13 +439,22 @@ public class grameLedger {
 	}
 
 	public void destroy(AccountID id) {
+		long balance = getBalance(id);
 		accountsLedger.destroy(id);
+		long adjustment = 0;
 		for (int i = 0; i < netTransfers.getAccountAmountsCount(); i++) {
 			if (netTransfers.getAccountAmounts(i).getAccountID().equals(id)) {
+				adjustment = netTransfers.getAccountAmounts(i).getAmount();
 				netTransfers.removeAccountAmounts(i);
-				return;
+				break;
 			}
 		}
+		/* The float loses the destroyed balance, less any part of it already in the net transfers */
+		if (balance != adjustment) {
+			destroyedBalances.addAccountAmounts(AccountAmount.newBuilder()
+					.setAccountID(id)
+					.setAmount(adjustment - balance));
+		}
 	}
 
 	/* -- ACCOUNT PROPERTY ACCESS -- */
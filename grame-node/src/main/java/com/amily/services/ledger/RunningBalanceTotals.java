@@ -0,0 +1,285 @@
+package com.grame.services.ledger;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.state.initialization.DerivedView;
+import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.state.merkle.MerkleEntityId;
+import com.gramegrame.api.proto.java.TransferListOrBuilder;
+import com.swirlds.fcmap.FCMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Maintains the total hbar float of the ledger incrementally, from the net
+ * {@link com.gramegrame.api.proto.java.TransferList} of each committed transaction;
+ * so that confirming the float is conserved never requires a walk over every
+ * {@link MerkleAccount} in state. The running float is (re-)seeded from one full
+ * scan of the accounts whenever state is loaded or reconnected.
+ *
+ * Also spot-checks the balances of one fixed-size segment of account numbers at a
+ * time, <i>without</i> reading the working state from the thread handling consensus
+ * transactions. Once a segment is watched, that thread only logs the segment's net
+ * adjustment as of each consensus time. The total of the segment in a first signed
+ * state then fixes its baseline; and its total in a later signed state must differ
+ * from that baseline by exactly the adjustments logged between the two consensus times.
+ *
+ * The float and the watch are updated from the thread handling consensus transactions;
+ * {@link RunningBalanceTotals#spotCheck(FCMap, Instant, long, long)} is called with
+ * signed states from another thread.
+ */
+public class RunningBalanceTotals {
+	private static final Logger log = LogManager.getLogger(RunningBalanceTotals.class);
+
+	public enum SpotCheck {
+		UNWATCHED, EMPTY, SEEDED, MATCHED, MISMATCHED
+	}
+
+	private final long expectedFloat;
+	private final long numsPerSegment;
+	private final Supplier<Instant> consensusTime;
+
+	private volatile long runningFloat;
+	private volatile boolean floatConserved = false;
+	private volatile SegmentWatch watch = null;
+
+	public RunningBalanceTotals(long expectedFloat, long numsPerSegment, Supplier<Instant> consensusTime) {
+		this.expectedFloat = expectedFloat;
+		this.numsPerSegment = Math.max(1, numsPerSegment);
+		this.consensusTime = consensusTime;
+	}
+
+	/**
+	 * Tracks the committed changes to the float from a transaction; that is, its net transfers,
+	 * plus (as negative adjustments) the balances of any accounts it destroyed.
+	 *
+	 * @param netTransfers the net transfers of the transaction
+	 * @param destroyedBalances the balances removed from the ledger with destroyed accounts
+	 */
+	public void track(TransferListOrBuilder netTransfers, TransferListOrBuilder destroyedBalances) {
+		var segmentWatch = watch;
+		long net = netOf(netTransfers, segmentWatch) + netOf(destroyedBalances, segmentWatch);
+		if (net != 0) {
+			boolean wasConserved = hasExpectedFloat();
+			runningFloat += net;
+			floatConserved = false;
+			if (wasConserved) {
+				log.error("Committed transfers had non-zero net adjustment {}, running float is now {}",
+						net, runningFloat);
+			} else {
+				log.debug("Committed transfers had non-zero net adjustment {}, running float is now {}",
+						net, runningFloat);
+			}
+		}
+	}
+
+	private long netOf(TransferListOrBuilder adjustments, SegmentWatch segmentWatch) {
+		long net = 0;
+		for (int i = 0, n = adjustments.getAccountAmountsCount(); i < n; i++) {
+			var adjustment = adjustments.getAccountAmounts(i);
+			long amount = adjustment.getAmount();
+			net += amount;
+			if (segmentWatch != null && segmentOf(adjustment.getAccountID().getAccountNum()) == segmentWatch.segment) {
+				segmentWatch.adjust(consensusTime.get(), amount);
+			}
+		}
+		return net;
+	}
+
+	public boolean hasExpectedFloat() {
+		return floatConserved && runningFloat == expectedFloat;
+	}
+
+	/**
+	 * Starts logging the net adjustments to the given segment from the given consensus time;
+	 * unless some segment is already being watched. Costs constant time, and so is safe to
+	 * call for every transaction.
+	 *
+	 * @param segment the segment of account numbers to watch
+	 * @param since the consensus time from which to log adjustments
+	 * @return whether the segment is now watched
+	 */
+	public boolean watch(long segment, Instant since) {
+		if (watch != null) {
+			return false;
+		}
+		watch = new SegmentWatch(segment, since);
+		return true;
+	}
+
+	public boolean isWatching() {
+		return watch != null;
+	}
+
+	/**
+	 * Spot-checks the watched segment against the accounts in a signed state. The first signed
+	 * state at or after the start of the watch seeds the baseline of the segment; the next one
+	 * is checked against it, ending the watch.
+	 *
+	 * @param signedAccounts the accounts in a signed state
+	 * @param signedAt the consensus time of the signed state
+	 * @param shard the shard of the accounts
+	 * @param realm the realm of the accounts
+	 * @return the outcome of the check
+	 */
+	public SpotCheck spotCheck(
+			FCMap<MerkleEntityId, MerkleAccount> signedAccounts,
+			Instant signedAt,
+			long shard,
+			long realm
+	) {
+		var segmentWatch = watch;
+		if (segmentWatch == null || signedAt.isBefore(segmentWatch.since)) {
+			return SpotCheck.UNWATCHED;
+		}
+
+		var key = new MerkleEntityId(shard, realm, 0);
+		long from = segmentWatch.segment * numsPerSegment;
+		long total = 0;
+		boolean anyPresent = false;
+		for (long num = from, to = from + numsPerSegment; num < to; num++) {
+			key.setNum(num);
+			var account = signedAccounts.get(key);
+			if (account != null) {
+				total += account.getBalance();
+				anyPresent = true;
+			}
+		}
+		if (!anyPresent) {
+			endWatch(segmentWatch);
+			return SpotCheck.EMPTY;
+		}
+
+		long baseline = total - segmentWatch.adjustmentAsOf(signedAt);
+		if (segmentWatch.baseline == null) {
+			segmentWatch.baseline = baseline;
+			return SpotCheck.SEEDED;
+		}
+		endWatch(segmentWatch);
+		if (segmentWatch.baseline != baseline) {
+			log.error("Balances of account nums [{}, {}) changed by {} not {} between signed states",
+					from, from + numsPerSegment,
+					total - segmentWatch.baseline, segmentWatch.adjustmentAsOf(signedAt));
+			return SpotCheck.MISMATCHED;
+		}
+		return SpotCheck.MATCHED;
+	}
+
+	private void endWatch(SegmentWatch segmentWatch) {
+		if (watch == segmentWatch) {
+			watch = null;
+		}
+	}
+
+	/**
+	 * Replaces the running float with the total balance of the given accounts, and
+	 * ends any segment watch; for use when state is loaded or reconnected.
+	 *
+	 * @param accounts the accounts in the new state
+	 */
+	public void reseedFrom(FCMap<MerkleEntityId, MerkleAccount> accounts) {
+		reseed(accounts.values().stream().mapToLong(MerkleAccount::getBalance).sum());
+	}
+
+	/**
+	 * Returns a view that re-seeds the running float (and ends any segment watch)
+	 * from the same traversal of the accounts map as any other derived views.
+	 *
+	 * @return the view of the ledger float
+	 */
+	public DerivedView<MerkleEntityId, MerkleAccount, long[]> floatView() {
+		return new DerivedView<>() {
+			@Override
+			public String name() {
+				return "ledger float";
+			}
+
+			@Override
+			public long[] newPartition() {
+				return new long[1];
+			}
+
+			@Override
+			public void derive(MerkleEntityId id, MerkleAccount account, long[] partition) {
+				partition[0] += account.getBalance();
+			}
+
+			@Override
+			public void rebuildFrom(List<long[]> partitions) {
+				reseed(partitions.stream().mapToLong(partition -> partition[0]).sum());
+			}
+		};
+	}
+
+	void reseed(long scannedFloat) {
+		watch = null;
+		runningFloat = scannedFloat;
+		floatConserved = true;
+		if (scannedFloat != expectedFloat) {
+			log.error("Total balance {} of accounts in state does not match expected float {}",
+					scannedFloat, expectedFloat);
+		}
+	}
+
+	public long getNumsPerSegment() {
+		return numsPerSegment;
+	}
+
+	long segmentOf(long num) {
+		return num / numsPerSegment;
+	}
+
+	Long watchedSegment() {
+		var segmentWatch = watch;
+		return (segmentWatch == null) ? null : segmentWatch.segment;
+	}
+
+	private static class SegmentWatch {
+		private final long segment;
+		private final Instant since;
+		/* The cumulative adjustment to the segment as of each consensus time. */
+		private final ConcurrentNavigableMap<Instant, Long> adjustments = new ConcurrentSkipListMap<>();
+
+		private long cumulative = 0;
+		private volatile Long baseline = null;
+
+		private SegmentWatch(long segment, Instant since) {
+			this.segment = segment;
+			this.since = since;
+		}
+
+		private void adjust(Instant at, long amount) {
+			cumulative += amount;
+			adjustments.put(at, cumulative);
+		}
+
+		private long adjustmentAsOf(Instant at) {
+			var entry = adjustments.floorEntry(at);
+			return (entry == null) ? 0 : entry.getValue();
+		}
+	}
+}
@@ -225,7 +225,7 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 		if (changeSet != null && changeSet.containsKey(property)) {
 			return changeSet.get(property);
 		} else {
-			return property.getter().apply(toGetterTarget(id));
+			return property.getter().apply(toGetterTarget(id, property));
 		}
 	}
 
@@ -247,8 +247,12 @@ public class TransactionalLedger<K, P extends Enum<P> & BeanProperty<A>, A> impl
 		return isInTransaction;
 	}
 
-	private A toGetterTarget(K id) {
-		return isPendingCreation(id) ? newEntity.get() : entities.getRef(id);
+	private A toGetterTarget(K id, P property) {
+		if (isPendingCreation(id)) {
+			return newEntity.get();
+		}
+		/* Only promote to a (copied) mutable ref if the caller may change the returned value in place. */
+		return property.needsMutableRef() ? entities.getRef(id) : entities.getUnsafeRef(id);
 	}
 
 	private boolean isPendingCreation(K id) {
@@ -20,6 +20,7 @@ package com.grame.services.ledger.accounts;
  * ‍
  */
 
+import com.grame.services.state.initialization.DerivedView;
 import com.grame.services.state.merkle.MerkleEntityAssociation;
 import com.grame.services.state.merkle.MerkleTokenRelStatus;
 import com.gramegrame.api.proto.java.AccountID;
@@ -29,6 +30,7 @@ import com.swirlds.fcmap.FCMap;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -72,6 +74,22 @@ public class BackingTokenRels implements BackingStore<Pair<AccountID, TokenID>,
 				.forEach(existingRels::add);
 	}
 
+	/**
+	 * Returns a view that rebuilds the set of existing token relationships along with
+	 * any other views derived from the same traversal of the token associations map.
+	 *
+	 * @return the view of existing token relationships
+	 */
+	public DerivedView<MerkleEntityAssociation, MerkleTokenRelStatus, List<Pair<AccountID, TokenID>>> existingRelsView() {
+		return DerivedView.listing(
+				"existing token relationships",
+				(association, status) -> association.asAccountTokenRel(),
+				partitions -> {
+					existingRels.clear();
+					partitions.forEach(existingRels::addAll);
+				});
+	}
+
 	@Override
 	public void flushMutableRefs() {
 		cache.entrySet().stream()
@@ -112,7 +130,7 @@ public class BackingTokenRels implements BackingStore<Pair<AccountID, TokenID>,
 
 	@Override
 	public MerkleTokenRelStatus getUnsafeRef(Pair<AccountID, TokenID> id) {
-		throw new UnsupportedOperationException();
+		return delegate.get().get(fromAccountTokenRel(id));
 	}
 
 	@Override
@@ -23,11 +23,14 @@ package com.grame.services.ledger.accounts;
 import com.grame.services.ledger.grameLedger;
 import com.gramegrame.api.proto.java.AccountID;
 import com.grame.services.state.merkle.MerkleEntityId;
+import com.grame.services.state.initialization.DerivedView;
 import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.stats.MiscRunningAvgs;
 import com.swirlds.fcmap.FCMap;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -39,10 +42,31 @@ public class FCMapBackingAccounts implements BackingStore<AccountID, MerkleAccou
 	Set<AccountID> existingAccounts = new HashSet<>();
 	Map<AccountID, MerkleAccount> cache = new HashMap<>();
 
+	int numMutatedRefs = 0;
+
+	private final MiscRunningAvgs runningAvgs;
+	private final PendingAccountVisibility visibility;
 	private final Supplier<FCMap<MerkleEntityId, MerkleAccount>> delegate;
 
 	public FCMapBackingAccounts(Supplier<FCMap<MerkleEntityId, MerkleAccount>> delegate) {
+		this(delegate, null);
+	}
+
+	public FCMapBackingAccounts(
+			Supplier<FCMap<MerkleEntityId, MerkleAccount>> delegate,
+			MiscRunningAvgs runningAvgs
+	) {
+		this(delegate, runningAvgs, null);
+	}
+
+	public FCMapBackingAccounts(
+			Supplier<FCMap<MerkleEntityId, MerkleAccount>> delegate,
+			MiscRunningAvgs runningAvgs,
+			PendingAccountVisibility visibility
+	) {
 		this.delegate = delegate;
+		this.runningAvgs = runningAvgs;
+		this.visibility = visibility;
 		rebuildFromSources();
 	}
 
@@ -54,8 +78,30 @@ public class FCMapBackingAccounts implements BackingStore<AccountID, MerkleAccou
 				.forEach(existingAccounts::add);
 	}
 
+	/**
+	 * Returns a view that rebuilds the set of existing accounts along with any
+	 * other views derived from the same traversal of the accounts map.
+	 *
+	 * @return the view of existing accounts
+	 */
+	public DerivedView<MerkleEntityId, MerkleAccount, List<AccountID>> existingAccountsView() {
+		return DerivedView.listing(
+				"existing accounts",
+				(id, account) -> id.toAccountId(),
+				partitions -> {
+					existingAccounts.clear();
+					partitions.forEach(existingAccounts::addAll);
+				});
+	}
+
 	@Override
 	public void flushMutableRefs() {
+		if (runningAvgs != null) {
+			runningAvgs.recordAccountsCopiedPerTxn(cache.size());
+			runningAvgs.recordAccountsMutatedPerTxn(numMutatedRefs);
+		}
+		numMutatedRefs = 0;
+
 		cache.keySet()
 				.stream()
 				.sorted(grameLedger.ACCOUNT_ID_COMPARATOR)
@@ -74,10 +120,15 @@ public class FCMapBackingAccounts implements BackingStore<AccountID, MerkleAccou
 		if (!existingAccounts.contains(id)) {
 			delegate.get().put(delegateId, account);
 			existingAccounts.add(id);
+			if (visibility != null) {
+				visibility.signalCreated(id.getAccountNum());
+			}
 		} else if (!cache.containsKey(id) || (cache.get(id) != account)) {
 			throw new IllegalArgumentException(String.format(
 					"Argument 'id=%s' does not map to a mutable ref!",
 					readableId(id)));
+		} else {
+			numMutatedRefs++;
 		}
 	}
 
@@ -0,0 +1,120 @@
+package com.grame.services.ledger.accounts;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A wait-set, keyed by account number, for threads that need an account which the
+ * handle thread has probably just created, but not yet committed to state (e.g., a
+ * precheck of a transaction whose payer was created by the previous transaction).
+ *
+ * Instead of sleeping with backoff and polling, such threads park until either
+ * the handle thread signals the account's creation, or their deadline passes; so
+ * they resume as soon as the account is visible, and never wait longer than needed.
+ *
+ * Signaling a creation costs a single map lookup when no thread is waiting.
+ */
+public class PendingAccountVisibility {
+	private final ConcurrentHashMap<Long, Waiters> waiting = new ConcurrentHashMap<>();
+
+	/**
+	 * Parks the calling thread until the creation of the given account is signaled,
+	 * or the given timeout elapses; in either case, returns whether the account is
+	 * then visible according to the given test.
+	 *
+	 * @param num
+	 * 		the number of the awaited account
+	 * @param timeoutMs
+	 * 		the longest time to wait
+	 * @param isVisible
+	 * 		a test of whether the account is now visible
+	 * @return whether the account became visible
+	 */
+	public boolean awaitVisible(long num, long timeoutMs, BooleanSupplier isVisible) {
+		var waiters = park(num);
+		try {
+			/* Re-check after parking, in case the creation was signaled just before. */
+			if (isVisible.getAsBoolean()) {
+				return true;
+			}
+			waiters.created.get(timeoutMs, MILLISECONDS);
+			return isVisible.getAsBoolean();
+		} catch (TimeoutException ignore) {
+			return isVisible.getAsBoolean();
+		} catch (InterruptedException ignore) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException impossible) {
+			return false;
+		} finally {
+			unpark(num, waiters);
+		}
+	}
+
+	/**
+	 * Wakes any threads waiting for the given account, which must already be visible
+	 * in state.
+	 *
+	 * @param num
+	 * 		the number of the created account
+	 */
+	public void signalCreated(long num) {
+		if (waiting.isEmpty()) {
+			return;
+		}
+		var waiters = waiting.remove(num);
+		if (waiters != null) {
+			waiters.created.complete(null);
+		}
+	}
+
+	int numWaitedOn() {
+		return waiting.size();
+	}
+
+	private Waiters park(long num) {
+		return waiting.compute(num, (ignore, waiters) -> {
+			if (waiters == null) {
+				waiters = new Waiters();
+			}
+			waiters.parked++;
+			return waiters;
+		});
+	}
+
+	private void unpark(long num, Waiters parkedOn) {
+		waiting.computeIfPresent(num, (ignore, waiters) ->
+				(waiters == parkedOn && --waiters.parked == 0) ? null : waiters);
+	}
+
+	private static class Waiters {
+		private final CompletableFuture<Void> created = new CompletableFuture<>();
+
+		private int parked = 0;
+	}
+}
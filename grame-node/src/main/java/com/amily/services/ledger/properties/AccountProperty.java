@@ -156,6 +156,11 @@ public enum AccountProperty implements BeanProperty<MerkleAccount> {
 		public Function<MerkleAccount, Object> getter() {
 			return MerkleAccount::tokens;
 		}
+
+		@Override
+		public boolean needsMutableRef() {
+			return true;
+		}
 	},
 	RECORDS {
 		@Override
@@ -167,6 +172,11 @@ public enum AccountProperty implements BeanProperty<MerkleAccount> {
 		public Function<MerkleAccount, Object> getter() {
 			return MerkleAccount::records;
 		}
+
+		@Override
+		public boolean needsMutableRef() {
+			return true;
+		}
 	};
 
 	@Override
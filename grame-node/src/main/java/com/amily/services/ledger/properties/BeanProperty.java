@@ -46,4 +46,15 @@ public interface BeanProperty<A> {
 	 * @return the getter on the target type.
 	 */
 	Function<A, Object> getter();
+
+	/**
+	 * Indicates if the getter returns a reference to mutable state of the target,
+	 * which callers may change in place before setting it back; such a property
+	 * can only be read from a mutable reference to the target.
+	 *
+	 * @return whether the property must be read from a mutable reference.
+	 */
+	default boolean needsMutableRef() {
+		return false;
+	}
 }
@@ -46,6 +46,7 @@ import static org.ethereum.vm.VMUtils.zipAndEncode;
 
 import com.grame.services.context.TransactionContext;
 import com.grame.services.context.properties.GlobalDynamicProperties;
+import com.grame.services.contracts.execution.BytecodeCache;
 import com.grame.services.contracts.execution.SoliditySigsVerifier;
 import com.grame.services.utils.EntityIdUtils;
 import com.gramegrame.api.proto.java.AccountID;
@@ -121,6 +122,7 @@ public class SolidityExecutor {
 	private final SoliditySigsVerifier sigsVerifier;
 	private final ProgramInvokeFactory programInvokeFactory = new ProgramInvokeFactoryImpl();
 	private final ServicesRepositoryImpl repository;
+	private final BytecodeCache bytecodeCache;
 	private final ServicesRepositoryImpl trackingRepository;
 	private final NewAccountCreateAdapter contractCreateAdaptor = new SequenceAccountCreator();
 	private final GlobalDynamicProperties dynamicProperties;
@@ -165,7 +167,8 @@ public class SolidityExecutor {
 			TransactionContext txnCtx,
 			boolean localCall,
 			SoliditySigsVerifier sigsVerifier,
-			GlobalDynamicProperties dynamicProperties
+			GlobalDynamicProperties dynamicProperties,
+			BytecodeCache bytecodeCache
 	) {
 		this.txn = txn;
 		this.rbh = rbh;
@@ -182,6 +185,7 @@ public class SolidityExecutor {
 		this.sigsVerifier = sigsVerifier;
 		this.trackingRepository = repository.startTracking();
 		this.dynamicProperties = dynamicProperties;
+		this.bytecodeCache = bytecodeCache;
 		this.payerAddress = Optional.ofNullable(payerAddress)
 				.map(ByteUtil::hexStringToBytes)
 				.orElse(solidityTxn.getSender());
@@ -265,7 +269,11 @@ public class SolidityExecutor {
 				}
 			}
 		} else {
-			byte[] code = repository.getCode(targetAddress);
+			// a local call runs against the signed state, which must never fill the shared cache
+			var bytecode = localCall
+					? BytecodeCache.load(targetAddress, repository)
+					: bytecodeCache.getOrLoad(targetAddress, repository);
+			byte[] code = bytecode.getCode();
 			if (isEmpty(code)) {
 				errorCode = CONTRACT_BYTECODE_EMPTY;
 				setError(String.format("Error: Bytecode is empty for contract 0x%s", Hex.toHexString(targetAddress)));
@@ -275,7 +283,7 @@ public class SolidityExecutor {
 				((ProgramInvokeImpl) programInvoke).setStaticCall(localCall);
 				this.vm = new VM(config, VMHook.EMPTY);
 				this.program = new Program(
-						repository.getCodeHash(targetAddress),
+						bytecode.getCodeHash(),
 						code,
 						programInvoke,
 						solidityTxn,
@@ -513,7 +521,9 @@ public class SolidityExecutor {
 		if (result != null) {
 			logs = result.getLogInfoList();
 			for (DataWord address : result.getDeleteAccounts()) {
-				repository.setDeleted(address.getLast20Bytes(), true);
+				var deleted = address.getLast20Bytes();
+				repository.setDeleted(deleted, true);
+				invalidateCachedBytecode(deleted);
 			}
 		}
 
@@ -523,6 +533,7 @@ public class SolidityExecutor {
 							.ifPresent(account -> {
 								if (account.isEmpty()) {
 									repository.delete(address);
+									invalidateCachedBytecode(address);
 								}
 							}));
 		}
@@ -541,6 +552,13 @@ public class SolidityExecutor {
 		return summary;
 	}
 
+	private void invalidateCachedBytecode(byte[] address) {
+		/* A local call never reads through (or has) the shared cache, so has nothing to invalidate. */
+		if (!localCall) {
+			bytecodeCache.invalidate(address);
+		}
+	}
+
 	public TransactionReceipt getReceipt() {
 		if (receipt == null) {
 			receipt = asReceipt(getGasUsed(), errorMessage, solidityTxn, getVMLogs(), getResult());
@@ -24,6 +24,7 @@ import com.google.protobuf.ByteString;
 import com.google.protobuf.TextFormat;
 import com.grame.services.context.TransactionContext;
 import com.grame.services.context.properties.GlobalDynamicProperties;
+import com.grame.services.contracts.execution.BytecodeCache;
 import com.grame.services.contracts.execution.SolidityLifecycle;
 import com.grame.services.contracts.execution.SoliditySigsVerifier;
 import com.grame.services.fees.HbarCentExchange;
@@ -83,6 +84,7 @@ import java.util.function.Supplier;
 import static com.grame.services.contracts.execution.DomainUtils.fakeBlock;
 import static com.grame.services.legacy.core.jproto.JKey.convertKey;
 import static com.grame.services.utils.EntityIdUtils.asAccount;
+import static com.grame.services.utils.EntityIdUtils.asSolidityAddress;
 import static com.grame.services.utils.EntityIdUtils.asSolidityAddressHex;
 import static com.gramegrame.api.proto.java.grameFunctionality.ContractCall;
 import static com.gramegrame.api.proto.java.grameFunctionality.ContractCreate;
@@ -124,6 +126,7 @@ public class SmartContractRequestHandler {
 	private SolidityLifecycle lifecycle;
 	private SoliditySigsVerifier sigsVerifier;
 	private GlobalDynamicProperties dynamicProperties;
+	private BytecodeCache bytecodeCache;
 
 	public SmartContractRequestHandler(
 			ServicesRepositoryRoot repository,
@@ -136,7 +139,8 @@ public class SmartContractRequestHandler {
 			SolidityLifecycle lifecycle,
 			SoliditySigsVerifier sigsVerifier,
 			Map<EntityId, Long> entityExpiries,
-			GlobalDynamicProperties dynamicProperties
+			GlobalDynamicProperties dynamicProperties,
+			BytecodeCache bytecodeCache
 	) {
 		this.repository = repository;
 		this.newPureRepo = newPureRepo;
@@ -149,6 +153,7 @@ public class SmartContractRequestHandler {
 		this.sigsVerifier = sigsVerifier;
 		this.entityExpiries = entityExpiries;
 		this.dynamicProperties = dynamicProperties;
+		this.bytecodeCache = bytecodeCache;
 	}
 
 	/**
@@ -311,7 +316,8 @@ public class SmartContractRequestHandler {
 				txnCtx,
 		true,
 				sigsVerifier,
-				dynamicProperties);
+				dynamicProperties,
+				null);
 
 		var result = lifecycle.runPure(maxResultSize, executor);
 
@@ -347,7 +353,8 @@ public class SmartContractRequestHandler {
 				txnCtx,
 				false,
 				sigsVerifier,
-				dynamicProperties);
+				dynamicProperties,
+				bytecodeCache);
 		var result = lifecycle.run(executor, repository);
 
 		var receiptBuilder = RequestBuilder.getTransactionReceipt(
@@ -702,6 +709,7 @@ public class SmartContractRequestHandler {
 				entityExpiries.put(entity, oldExpiry);
 				grameAccountCustomizer customizer = new grameAccountCustomizer().expiry(newExpiry);
 				ledger.customizeDeleted(id, customizer);
+				bytecodeCache.invalidate(asSolidityAddress(cid));
 			}
 		} catch (Exception e) {
 			log.warn("Unhandled exception in SystemDelete", e);
@@ -746,6 +754,7 @@ public class SmartContractRequestHandler {
 			if (receipt.getStatus() == SUCCESS) {
 				try {
 					receipt = updateDeleteFlag(cid, false);
+					bytecodeCache.invalidate(asSolidityAddress(cid));
 				} catch (Exception e) {
 					receipt = getTransactionReceipt(FAIL_INVALID, exchange.activeRates());
 					if (log.isDebugEnabled()) {
@@ -804,6 +813,7 @@ public class SmartContractRequestHandler {
 			if (validity == SUCCESS) {
 				AccountID id = asAccount(cid);
 				ledger.delete(id, beneficiary);
+				bytecodeCache.invalidate(asSolidityAddress(cid));
 			}
 			transactionReceipt = getTransactionReceipt(validity, exchange.activeRates());
 		} else {
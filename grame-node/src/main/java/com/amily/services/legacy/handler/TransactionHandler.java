@@ -342,6 +342,26 @@ public class TransactionHandler {
   }
 
   public TxnValidityAndFeeReq validateTransactionPreConsensus(Transaction transaction, boolean isQueryPayment) {
+    return validateTransactionPreConsensus(transaction, null, isQueryPayment);
+  }
+
+  /**
+   * Validates a transaction whose accessor was already parsed by the caller, so that neither
+   * the transaction bytes nor its signature map need to be parsed again during precheck.
+   *
+   * @param accessor the already-parsed transaction
+   * @param isQueryPayment whether the transaction is a query payment
+   * @return the validity of the transaction, and the fee it requires
+   */
+  public TxnValidityAndFeeReq validateAccessorPreConsensus(SignedTxnAccessor accessor, boolean isQueryPayment) {
+    return validateTransactionPreConsensus(accessor.getBackwardCompatibleSignedTxn(), accessor, isQueryPayment);
+  }
+
+  private TxnValidityAndFeeReq validateTransactionPreConsensus(
+          Transaction transaction,
+          SignedTxnAccessor parsedAccessor,
+          boolean isQueryPayment
+  ) {
     ResponseCodeEnum returnCode = validateTransactionContents(transaction);
     if (OK != returnCode) {
       return new TxnValidityAndFeeReq(returnCode);
@@ -365,13 +385,17 @@ public class TransactionHandler {
     }
 
     long feeRequired = 0L;
-    SignedTxnAccessor accessor = null;
+    SignedTxnAccessor accessor = parsedAccessor;
     TransactionBody txn = TransactionBody.getDefaultInstance();
-    try {
-      accessor = new SignedTxnAccessor(transaction);
+    if (accessor != null) {
       txn = accessor.getTxn();
-    } catch (InvalidProtocolBufferException e1) {
-      returnCode = INVALID_TRANSACTION_BODY;
+    } else {
+      try {
+        accessor = new SignedTxnAccessor(transaction);
+        txn = accessor.getTxn();
+      } catch (InvalidProtocolBufferException e1) {
+        returnCode = INVALID_TRANSACTION_BODY;
+      }
     }
 
     if (returnCode == OK && !validateTxBodyDepth(txn)) {
@@ -407,7 +431,7 @@ public class TransactionHandler {
 
     if (returnCode == OK) {
       try {
-        if (!verifySignature(transaction)) {
+        if (!precheckVerifier.hasNecessarySignatures(accessor)) {
           returnCode = ResponseCodeEnum.INVALID_SIGNATURE;
         }
       } catch (KeySignatureTypeMismatchException e) {
@@ -470,15 +494,6 @@ public class TransactionHandler {
     return queryOp.map(op -> hapiOpPermissions.permissibilityOf(op, payer)).orElse(NOT_SUPPORTED);
   }
 
-  public boolean verifySignature(Transaction signedTxn) throws Exception {
-    try {
-      SignedTxnAccessor accessor = new SignedTxnAccessor(signedTxn);
-      return precheckVerifier.hasNecessarySignatures(accessor);
-    } catch (InvalidProtocolBufferException ignore) {
-      return false;
-    }
-  }
-
   public void setHapiOpPermissions(HapiOpPermissions hapiOpPermissions) {
     this.hapiOpPermissions = hapiOpPermissions;
   }
@@ -42,8 +42,12 @@ import java.util.EnumSet;
 import static com.grame.services.keys.grameKeyActivation.ONLY_IF_SIG_IS_VALID;
 import static com.grame.services.keys.grameKeyActivation.payerSigIsActive;
 import static com.grame.services.legacy.crypto.SignatureStatusCode.SUCCESS_VERIFY_ASYNC;
+import static com.grame.services.sigs.grameToPlatformSigOps.expandIn;
 import static com.grame.services.sigs.grameToPlatformSigOps.rationalizeIn;
 import static com.grame.services.sigs.Rationalization.IN_HANDLE_SUMMARY_FACTORY;
+import static com.grame.services.stats.HapiOpLatencies.Stage.FEE_COMPUTATION;
+import static com.grame.services.stats.HapiOpLatencies.Stage.SIG_RATIONALIZATION;
+import static com.grame.services.stats.HapiOpLatencies.Stage.TRANSITION;
 import static com.grame.services.txns.diligence.DuplicateClassification.BELIEVED_UNIQUE;
 import static com.grame.services.txns.diligence.DuplicateClassification.DUPLICATE;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.DUPLICATE_TRANSACTION;
@@ -89,7 +93,7 @@ public class AwareProcessLogic implements ProcessLogic {
 	@Override
 	public void incorporateConsensusTxn(Transaction platformTxn, Instant consensusTime, long submittingMember) {
 		try {
-			PlatformTxnAccessor accessor = new PlatformTxnAccessor(platformTxn);
+			PlatformTxnAccessor accessor = ctx.accessorCache().accessorFor(platformTxn);
 			Instant timestamp = consensusTime;
 			if (accessor.canTriggerTxn()) {
 				timestamp = timestamp.minusNanos(1);
@@ -109,6 +113,23 @@ public class AwareProcessLogic implements ProcessLogic {
 		}
 	}
 
+	@Override
+	public void expandSignatures(Transaction platformTxn) {
+		try {
+			/* Cached, so the handle thread gets back this accessor, and any signing orders memoized on it. */
+			PlatformTxnAccessor accessor = ctx.accessorCache().expansionAccessorFor(platformTxn);
+			expandIn(
+					accessor,
+					ctx.lookupRetryingKeyOrder(),
+					new ScopedSigBytesProvider(accessor),
+					ctx.sigFactoryCreator()::createScopedFactory);
+		} catch (InvalidProtocolBufferException e) {
+			log.warn("expandSignatures called with non-gRPC txn!", e);
+		} catch (Exception race) {
+			log.warn("Unexpected problem, signatures will be verified synchronously in handleTransaction!", race);
+		}
+	}
+
 	private boolean txnSanityChecks(PlatformTxnAccessor accessor, Instant consensusTime, long submittingMember) {
 		var lastHandled = ctx.consensusTimeOfLastHandledTxn();
 		if (lastHandled != null && !consensusTime.isAfter(lastHandled)) {
@@ -153,7 +174,11 @@ public class AwareProcessLogic implements ProcessLogic {
 
 	private void addRecordToStream() {
 		var finalRecord = ctx.recordsHistorian().lastCreatedRecord().get();
-		addForStreaming(ctx.txnCtx().accessor().getBackwardCompatibleSignedTxn(), finalRecord,
+		var accessor = ctx.txnCtx().accessor();
+		addForStreaming(
+				accessor.getBackwardCompatibleSignedTxn(),
+				accessor.getBackwardCompatibleSignedTxnBytes(),
+				finalRecord,
 				ctx.txnCtx().consensusTime());
 	}
 
@@ -173,16 +198,21 @@ public class AwareProcessLogic implements ProcessLogic {
 
 	private void doProcess(TxnAccessor accessor, Instant consensusTime) {
 		ctx.networkCtxManager().advanceConsensusClockTo(consensusTime);
+		ctx.ledgerValidator().scheduleSpotCheckAt(consensusTime);
 		ctx.recordsHistorian().purgeExpiredRecords();
 		ctx.expiries().purgeExpiredEntitiesAt(consensusTime.getEpochSecond());
 
+		long start = System.nanoTime();
 		var sigStatus = rationalizeWithPreConsensusSigs(accessor);
+		ctx.opLatencies().record(SIG_RATIONALIZATION, accessor.getFunction(), System.nanoTime() - start);
 		if (hasActivePayerSig(accessor)) {
 			ctx.txnCtx().payerSigIsKnownActive();
 			ctx.networkCtxManager().prepareForIncorporating(accessor.getFunction());
 		}
 
+		start = System.nanoTime();
 		FeeObject fee = ctx.fees().computeFee(accessor, ctx.txnCtx().activePayerKey(), ctx.currentView());
+		ctx.opLatencies().record(FEE_COMPUTATION, accessor.getFunction(), System.nanoTime() - start);
 
 		var recentHistory = ctx.txnHistories().get(accessor.getTxnId());
 		var duplicity = (recentHistory == null)
@@ -234,7 +264,9 @@ public class AwareProcessLogic implements ProcessLogic {
 			ctx.txnCtx().setStatus(opValidity);
 			return;
 		}
+		long start = System.nanoTime();
 		logic.doStateTransition();
+		ctx.opLatencies().record(TRANSITION, accessor.getFunction(), System.nanoTime() - start);
 
 		ctx.networkCtxManager().finishIncorporating(accessor.getFunction());
 	}
@@ -268,10 +300,12 @@ public class AwareProcessLogic implements ProcessLogic {
 
 	void addForStreaming(
 			com.gramegrame.api.proto.java.Transaction grpcTransaction,
+			byte[] grpcTransactionBytes,
 			TransactionRecord transactionRecord,
 			Instant consensusTimeStamp
 	) {
-		var recordStreamObject = new RecordStreamObject(transactionRecord, grpcTransaction, consensusTimeStamp);
+		var recordStreamObject = new RecordStreamObject(
+				transactionRecord, grpcTransaction, grpcTransactionBytes, consensusTimeStamp);
 		ctx.updateRecordRunningHash(recordStreamObject.getRunningHash());
 		ctx.recordStreamManager().addRecordStreamObject(recordStreamObject);
 	}
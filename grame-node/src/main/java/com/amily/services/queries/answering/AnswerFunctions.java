@@ -23,12 +23,10 @@ package com.grame.services.queries.answering;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.context.primitives.StateView;
 import com.grame.services.records.RecordCache;
-import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.CryptoGetAccountRecordsQuery;
 import com.gramegrame.api.proto.java.Query;
 import com.gramegrame.api.proto.java.TransactionRecord;
 import com.grame.services.state.merkle.MerkleEntityId;
-import com.grame.services.state.submerkle.TxnId;
 import com.grame.services.state.submerkle.ExpirableTxnRecord;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,27 +41,27 @@ public class AnswerFunctions {
 		CryptoGetAccountRecordsQuery op = query.getCryptoGetAccountRecords();
 		MerkleEntityId key = MerkleEntityId.fromAccountId(op.getAccountID());
 		MerkleAccount account = view.accounts().get(key);
-		return ExpirableTxnRecord.allToGrpc(account.recordList());
+		return ExpirableTxnRecord.allToGrpc(account.records());
 	}
 
+	/**
+	 * Returns the priority record of the queried transaction, if it is still known.
+	 *
+	 * Every payer record in state is indexed by its transaction id in the
+	 * {@link RecordCache} histories (staged when the node starts tracking existing
+	 * records, observed as each new record is created, and forgotten as each record
+	 * expires); so there is no need to fall back to scanning the payer's records.
+	 *
+	 * @param recordCache
+	 * 		the index of recent records by transaction id
+	 * @param view
+	 * 		the state view for the query
+	 * @param query
+	 * 		the record query
+	 * @return the priority record, if known
+	 */
 	public Optional<TransactionRecord> txnRecord(RecordCache recordCache, StateView view, Query query) {
 		var txnId = query.getTransactionGetRecord().getTransactionID();
-		var record = recordCache.getPriorityRecord(txnId);
-		if (record != null) {
-			return Optional.of(record);
-		} else {
-			try {
-				AccountID id = txnId.getAccountID();
-				MerkleAccount account = view.accounts().get(MerkleEntityId.fromAccountId(id));
-				TxnId searchableId = TxnId.fromGrpc(txnId);
-				return account.recordList()
-						.stream()
-						.filter(r -> r.getTxnId().equals(searchableId))
-						.findAny()
-						.map(ExpirableTxnRecord::asGrpc);
-			} catch (Exception ignore) {
-				return Optional.empty();
-			}
-		}
+		return Optional.ofNullable(recordCache.getPriorityRecord(txnId));
 	}
 }
@@ -0,0 +1,262 @@
+package com.grame.services.queries.contract;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.legacy.proto.utils.CommonUtils;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.ContractCallLocalQuery;
+import com.gramegrame.api.proto.java.ContractCallLocalResponse;
+import com.gramegrame.api.proto.java.ContractID;
+import com.gramegrame.api.proto.java.ResponseHeader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
+import static com.gramegrame.api.proto.java.ResponseType.ANSWER_ONLY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Runs local contract calls on a small, dedicated pool of workers, so that a burst of
+ * expensive calls cannot tie up the threads that answer every other query. A call is
+ * answered {@code BUSY} if it does not finish within its time budget, or if the pool
+ * already has as many calls in flight as it has workers and queue slots.
+ *
+ * The EVM does not respond to interrupts, so a call over its budget cannot be cancelled
+ * once it is running; it keeps its worker until it finishes, and so keeps counting as in
+ * flight. (A call still queued when its budget runs out is skipped when it is dequeued.)
+ *
+ * Successful results are memoized by contract, sender, gas, max result size, call data,
+ * and the consensus second the call ran at (which fixes its block timestamp and gas
+ * prices); but only for as long as the state snapshot they were computed against is the
+ * latest one. So repeated view calls against the same snapshot skip the EVM entirely.
+ */
+public class PooledLocalCaller implements ContractCallLocalAnswer.LegacyLocalCaller {
+	private static final Logger log = LogManager.getLogger(PooledLocalCaller.class);
+
+	static final ContractCallLocalResponse BUSY_RESPONSE = ContractCallLocalResponse.newBuilder()
+			.setHeader(ResponseHeader.newBuilder()
+					.setNodeTransactionPrecheckCode(BUSY)
+					.setResponseType(ANSWER_ONLY))
+			.build();
+
+	private final int capacity;
+	private final long timeoutMs;
+	private final Semaphore inFlight;
+	private final ExecutorService workers;
+	private final Supplier<Object> snapshots;
+	private final ContractCallLocalAnswer.LegacyLocalCaller delegate;
+	private final Cache<CallKey, ContractCallLocalResponse> results;
+
+	private Object resultsSnapshot = null;
+
+	public PooledLocalCaller(
+			ContractCallLocalAnswer.LegacyLocalCaller delegate,
+			Supplier<Object> snapshots,
+			NodeLocalProperties properties
+	) {
+		this(delegate, snapshots, properties, poolOf(properties), capacityOf(properties));
+	}
+
+	PooledLocalCaller(
+			ContractCallLocalAnswer.LegacyLocalCaller delegate,
+			Supplier<Object> snapshots,
+			NodeLocalProperties properties,
+			ExecutorService workers,
+			int capacity
+	) {
+		this.delegate = delegate;
+		this.snapshots = snapshots;
+		this.workers = workers;
+		this.capacity = capacity;
+		this.inFlight = new Semaphore(capacity);
+		this.timeoutMs = properties.localCallTimeoutMs();
+		this.results = CacheBuilder.newBuilder()
+				.maximumSize(properties.localCallMemoMaxSize())
+				.build();
+	}
+
+	private static ExecutorService poolOf(NodeLocalProperties properties) {
+		return new ThreadPoolExecutor(
+				Math.max(1, properties.localCallPoolSize()),
+				Math.max(1, properties.localCallPoolSize()),
+				0L,
+				TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(1, properties.localCallQueueSize())),
+				runnable -> {
+					var worker = new Thread(runnable, "LocalCallWorker");
+					worker.setDaemon(true);
+					return worker;
+				});
+	}
+
+	private static int capacityOf(NodeLocalProperties properties) {
+		return Math.max(1, properties.localCallPoolSize()) + Math.max(1, properties.localCallQueueSize());
+	}
+
+	@Override
+	public ContractCallLocalResponse perform(ContractCallLocalQuery query, long now) throws Exception {
+		var snapshot = snapshots.get();
+		var key = CallKey.from(query, now);
+		if (key != null) {
+			var memoized = memoizedFor(snapshot, key);
+			if (memoized != null) {
+				return memoized;
+			}
+		}
+
+		if (!inFlight.tryAcquire()) {
+			return BUSY_RESPONSE;
+		}
+		var abandoned = new AtomicBoolean(false);
+		Future<ContractCallLocalResponse> call;
+		try {
+			call = workers.submit(() -> {
+				try {
+					return abandoned.get() ? BUSY_RESPONSE : delegate.perform(query, now);
+				} finally {
+					inFlight.release();
+				}
+			});
+		} catch (RejectedExecutionException ignore) {
+			inFlight.release();
+			return BUSY_RESPONSE;
+		}
+		ContractCallLocalResponse response;
+		try {
+			response = call.get(timeoutMs, MILLISECONDS);
+		} catch (TimeoutException ignore) {
+			abandoned.set(true);
+			log.warn("Local call to {} exceeded its {}ms budget", query.getContractID(), timeoutMs);
+			return BUSY_RESPONSE;
+		} catch (ExecutionException e) {
+			throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+		}
+
+		if (key != null && response.getHeader().getNodeTransactionPrecheckCode() == OK) {
+			memoize(snapshot, key, response);
+		}
+		return response;
+	}
+
+	private synchronized ContractCallLocalResponse memoizedFor(Object snapshot, CallKey key) {
+		if (snapshot != resultsSnapshot) {
+			results.invalidateAll();
+			resultsSnapshot = snapshot;
+			return null;
+		}
+		return results.getIfPresent(key);
+	}
+
+	private synchronized void memoize(Object snapshot, CallKey key, ContractCallLocalResponse response) {
+		if (snapshot == resultsSnapshot) {
+			results.put(key, response);
+		}
+	}
+
+	long numMemoized() {
+		return results.size();
+	}
+
+	int numInFlight() {
+		return capacity - inFlight.availablePermits();
+	}
+
+	static final class CallKey {
+		private final long gas;
+		private final long nowSecs;
+		private final long maxResultSize;
+		private final ContractID target;
+		private final AccountID sender;
+		private final ByteString callData;
+
+		private CallKey(
+				long gas,
+				long nowSecs,
+				long maxResultSize,
+				ContractID target,
+				AccountID sender,
+				ByteString callData
+		) {
+			this.gas = gas;
+			this.nowSecs = nowSecs;
+			this.maxResultSize = maxResultSize;
+			this.target = target;
+			this.sender = sender;
+			this.callData = callData;
+		}
+
+		static CallKey from(ContractCallLocalQuery query, long now) {
+			try {
+				var payment = CommonUtils.extractTransactionBody(query.getHeader().getPayment());
+				return new CallKey(
+						query.getGas(),
+						now / 1_000L,
+						query.getMaxResultSize(),
+						query.getContractID(),
+						payment.getTransactionID().getAccountID(),
+						query.getFunctionParameters());
+			} catch (InvalidProtocolBufferException ignore) {
+				return null;
+			}
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || CallKey.class != o.getClass()) {
+				return false;
+			}
+			var that = (CallKey) o;
+			return this.gas == that.gas &&
+					this.nowSecs == that.nowSecs &&
+					this.maxResultSize == that.maxResultSize &&
+					this.target.equals(that.target) &&
+					this.sender.equals(that.sender) &&
+					this.callData.equals(that.callData);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(gas, nowSecs, maxResultSize, target, sender, callData);
+		}
+	}
+}
@@ -76,12 +76,6 @@ public interface AccountRecordsHistorian {
 	 */
 	void purgeExpiredRecords();
 
-	/**
-	 * Invites the historian to build any auxiliary data structures
-	 * needed to purge expired records.
-	 */
-	void reviewExistingRecords();
-
 	/**
 	 * Returns the last record created, if it exists.
 	 *
@@ -41,9 +41,6 @@ public enum NoopRecordsHistorian implements AccountRecordsHistorian {
   @Override
   public void purgeExpiredRecords() { }
 
-  @Override
-  public void reviewExistingRecords() { }
-
   @Override
   public Optional<TransactionRecord> lastCreatedRecord() { return Optional.empty(); }
 
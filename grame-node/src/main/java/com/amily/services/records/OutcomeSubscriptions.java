@@ -0,0 +1,160 @@
+package com.grame.services.records;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.TransactionID;
+import com.gramegrame.api.proto.java.TransactionRecord;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.grame.services.records.TxnIdRecentHistory.UNCLASSIFIABLE_STATUSES;
+
+/**
+ * Tracks which open client streams are waiting on the consensus outcome of which
+ * transactions, so that {@link com.grame.services.state.logic.ServicesTxnManager} can push
+ * each outcome to its subscribers as soon as it is committed, instead of clients polling for
+ * receipts.
+ *
+ * A stream may subscribe to a single {@link TransactionID}, in which case it is notified
+ * once of the first outcome that would be the priority record for that id (that is, whose
+ * status is not one of {@link TxnIdRecentHistory#UNCLASSIFIABLE_STATUSES}); or to a payer
+ * account, in which case it is notified of every outcome for a transaction id with that
+ * payer, until it cancels.
+ *
+ * Outcomes are published from the handle thread, so {@link OutcomeSubscriptions#publish(TransactionRecord)}
+ * is a single empty-map check when no stream is subscribed, and otherwise only hands the
+ * outcome to each subscriber's bounded buffer.
+ */
+public class OutcomeSubscriptions {
+	public interface Subscriber {
+		/**
+		 * Called (at most once per subscription) with the outcome of a transaction id this
+		 * subscriber is waiting on.
+		 */
+		void resolve(TransactionRecord outcome);
+
+		/**
+		 * Called with the outcome of each transaction paid for by an account this subscriber
+		 * is watching.
+		 */
+		void observe(TransactionRecord outcome);
+	}
+
+	private final RecordCache recordCache;
+	private final ConcurrentHashMap<AccountID, Set<Subscriber>> byPayer = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<TxnIdRecentHistories.CompactTxnId, Set<Subscriber>> byTxnId =
+			new ConcurrentHashMap<>();
+
+	public OutcomeSubscriptions(RecordCache recordCache) {
+		this.recordCache = recordCache;
+	}
+
+	public void subscribe(TransactionID txnId, Subscriber subscriber) {
+		var key = TxnIdRecentHistories.CompactTxnId.from(txnId);
+		byTxnId.compute(key, (ignore, subscribers) -> withAdded(subscribers, subscriber));
+
+		/* The outcome may have been finalized before we subscribed. */
+		var priorityRecord = recordCache.getPriorityRecord(txnId);
+		if (priorityRecord != null && isClassifiable(priorityRecord)) {
+			subscriber.resolve(outcomeFrom(priorityRecord));
+			cancel(txnId, subscriber);
+		}
+	}
+
+	public void subscribe(AccountID payer, Subscriber subscriber) {
+		byPayer.compute(payer, (ignore, subscribers) -> withAdded(subscribers, subscriber));
+	}
+
+	public void cancel(TransactionID txnId, Subscriber subscriber) {
+		byTxnId.computeIfPresent(
+				TxnIdRecentHistories.CompactTxnId.from(txnId),
+				(ignore, subscribers) -> withRemoved(subscribers, subscriber));
+	}
+
+	public void cancel(AccountID payer, Subscriber subscriber) {
+		byPayer.computeIfPresent(payer, (ignore, subscribers) -> withRemoved(subscribers, subscriber));
+	}
+
+	public void publish(TransactionRecord record) {
+		if (byTxnId.isEmpty() && byPayer.isEmpty()) {
+			return;
+		}
+
+		var txnId = record.getTransactionID();
+		TransactionRecord outcome = null;
+		if (isClassifiable(record)) {
+			var waiting = byTxnId.remove(TxnIdRecentHistories.CompactTxnId.from(txnId));
+			if (waiting != null) {
+				outcome = outcomeFrom(record);
+				for (var subscriber : waiting) {
+					subscriber.resolve(outcome);
+				}
+			}
+		}
+		var watching = byPayer.get(txnId.getAccountID());
+		if (watching != null) {
+			outcome = (outcome == null) ? outcomeFrom(record) : outcome;
+			for (var subscriber : watching) {
+				subscriber.observe(outcome);
+			}
+		}
+	}
+
+	int numSubscribedTxnIds() {
+		return byTxnId.size();
+	}
+
+	int numSubscribedPayers() {
+		return byPayer.size();
+	}
+
+	/**
+	 * Streamed outcomes carry only what a (free) receipt query would reveal, plus the
+	 * transaction id and consensus timestamp needed to match them up; clients wanting the
+	 * full record can still make a single paid record query.
+	 */
+	static TransactionRecord outcomeFrom(TransactionRecord record) {
+		return TransactionRecord.newBuilder()
+				.setTransactionID(record.getTransactionID())
+				.setReceipt(record.getReceipt())
+				.setConsensusTimestamp(record.getConsensusTimestamp())
+				.build();
+	}
+
+	private static boolean isClassifiable(TransactionRecord record) {
+		return !UNCLASSIFIABLE_STATUSES.contains(record.getReceipt().getStatus());
+	}
+
+	private static Set<Subscriber> withAdded(Set<Subscriber> subscribers, Subscriber subscriber) {
+		if (subscribers == null) {
+			subscribers = ConcurrentHashMap.newKeySet();
+		}
+		subscribers.add(subscriber);
+		return subscribers;
+	}
+
+	private static Set<Subscriber> withRemoved(Set<Subscriber> subscribers, Subscriber subscriber) {
+		subscribers.remove(subscriber);
+		return subscribers.isEmpty() ? null : subscribers;
+	}
+}
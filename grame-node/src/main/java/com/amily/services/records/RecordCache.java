@@ -79,7 +79,7 @@ public class RecordCache {
 		recentHistory.observe(record, status);
 	}
 
-	public void setFailInvalid(
+	public TransactionRecord setFailInvalid(
 			AccountID effectivePayer,
 			TxnAccessor accessor,
 			Instant consensusTimestamp,
@@ -103,6 +103,7 @@ public class RecordCache {
 				submittingMember);
 		var recentHistory = histories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory());
 		recentHistory.observe(record, FAIL_INVALID);
+		return grpc;
 	}
 
 	public boolean isReceiptPresent(TransactionID txnId) {
@@ -24,16 +24,12 @@ import com.grame.services.context.TransactionContext;
 import com.grame.services.ledger.grameLedger;
 import com.grame.services.state.EntityCreator;
 import com.grame.services.state.expiry.ExpiryManager;
-import com.grame.services.state.merkle.MerkleAccount;
-import com.grame.services.state.merkle.MerkleEntityId;
 import com.gramegrame.api.proto.java.TransactionRecord;
-import com.swirlds.fcmap.FCMap;
 import javafx.util.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.Optional;
-import java.util.function.Supplier;
 
 /**
  * Provides a {@link AccountRecordsHistorian} using the natural collaborators.
@@ -51,17 +47,14 @@ public class TxnAwareRecordsHistorian implements AccountRecordsHistorian {
 	private final RecordCache recordCache;
 	private final ExpiryManager expiries;
 	private final TransactionContext txnCtx;
-	private final Supplier<FCMap<MerkleEntityId, MerkleAccount>> accounts;
 
 	public TxnAwareRecordsHistorian(
 			RecordCache recordCache,
 			TransactionContext txnCtx,
-			Supplier<FCMap<MerkleEntityId, MerkleAccount>> accounts,
 			ExpiryManager expiries
 	) {
 		this.expiries = expiries;
 		this.txnCtx = txnCtx;
-		this.accounts = accounts;
 		this.recordCache = recordCache;
 	}
 
@@ -104,11 +97,6 @@ public class TxnAwareRecordsHistorian implements AccountRecordsHistorian {
 		expiries.purgeExpiredRecordsAt(txnCtx.consensusTime().getEpochSecond(), ledger);
 	}
 
-	@Override
-	public void reviewExistingRecords() {
-		expiries.restartTrackingFrom(accounts.get());
-	}
-
 	@Override
 	public void addNewEntities() {
 		for (var expiringEntity : txnCtx.expiringEntities()) {
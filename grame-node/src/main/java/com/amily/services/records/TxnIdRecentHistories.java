@@ -0,0 +1,182 @@
+package com.grame.services.records;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.Timestamp;
+import com.gramegrame.api.proto.java.TransactionID;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * The recent histories of transaction ids, used for duplicate detection and receipt/record
+ * queries. Since this map can hold millions of entries at high TPS, it does not retain the
+ * gRPC {@link TransactionID} keys (each a graph of several protobuf objects), but only a
+ * compact key with the primitive fields of the id.
+ *
+ * Lookups come from both the handle thread and the query threads, so the compact keys
+ * index a {@link ConcurrentHashMap}.
+ */
+public class TxnIdRecentHistories extends AbstractMap<TransactionID, TxnIdRecentHistory> {
+	/* Approximate bytes retained per entry: a compact key, a hash node, and a history with one record reference. */
+	static final long ESTIMATED_BYTES_PER_HISTORY = 48L + 32L + 32L + 48L;
+
+	private final ConcurrentHashMap<CompactTxnId, TxnIdRecentHistory> histories = new ConcurrentHashMap<>();
+
+	@Override
+	public TxnIdRecentHistory get(Object key) {
+		return histories.get(CompactTxnId.from((TransactionID) key));
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return histories.containsKey(CompactTxnId.from((TransactionID) key));
+	}
+
+	@Override
+	public TxnIdRecentHistory put(TransactionID txnId, TxnIdRecentHistory history) {
+		return histories.put(CompactTxnId.from(txnId), history);
+	}
+
+	@Override
+	public TxnIdRecentHistory remove(Object key) {
+		return histories.remove(CompactTxnId.from((TransactionID) key));
+	}
+
+	@Override
+	public TxnIdRecentHistory computeIfAbsent(
+			TransactionID txnId,
+			Function<? super TransactionID, ? extends TxnIdRecentHistory> historyFn
+	) {
+		return histories.computeIfAbsent(CompactTxnId.from(txnId), ignore -> historyFn.apply(txnId));
+	}
+
+	@Override
+	public int size() {
+		return histories.size();
+	}
+
+	@Override
+	public void clear() {
+		histories.clear();
+	}
+
+	@Override
+	public Collection<TxnIdRecentHistory> values() {
+		return histories.values();
+	}
+
+	@Override
+	public Set<Entry<TransactionID, TxnIdRecentHistory>> entrySet() {
+		return histories.entrySet()
+				.stream()
+				.map(entry -> new SimpleImmutableEntry<>(entry.getKey().toGrpc(), entry.getValue()))
+				.collect(toSet());
+	}
+
+	public long estimatedHeapBytes() {
+		return histories.size() * ESTIMATED_BYTES_PER_HISTORY;
+	}
+
+	static final class CompactTxnId {
+		private final long payerShard;
+		private final long payerRealm;
+		private final long payerNum;
+		private final long validStartSecs;
+		private final int validStartNanos;
+		private final boolean scheduled;
+
+		CompactTxnId(
+				long payerShard,
+				long payerRealm,
+				long payerNum,
+				long validStartSecs,
+				int validStartNanos,
+				boolean scheduled
+		) {
+			this.payerShard = payerShard;
+			this.payerRealm = payerRealm;
+			this.payerNum = payerNum;
+			this.validStartSecs = validStartSecs;
+			this.validStartNanos = validStartNanos;
+			this.scheduled = scheduled;
+		}
+
+		static CompactTxnId from(TransactionID txnId) {
+			var payer = txnId.getAccountID();
+			var validStart = txnId.getTransactionValidStart();
+			return new CompactTxnId(
+					payer.getShardNum(),
+					payer.getRealmNum(),
+					payer.getAccountNum(),
+					validStart.getSeconds(),
+					validStart.getNanos(),
+					txnId.getScheduled());
+		}
+
+		TransactionID toGrpc() {
+			return TransactionID.newBuilder()
+					.setAccountID(AccountID.newBuilder()
+							.setShardNum(payerShard)
+							.setRealmNum(payerRealm)
+							.setAccountNum(payerNum))
+					.setTransactionValidStart(Timestamp.newBuilder()
+							.setSeconds(validStartSecs)
+							.setNanos(validStartNanos))
+					.setScheduled(scheduled)
+					.build();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o == null || CompactTxnId.class != o.getClass()) {
+				return false;
+			}
+			var that = (CompactTxnId) o;
+			return this.payerNum == that.payerNum &&
+					this.validStartSecs == that.validStartSecs &&
+					this.validStartNanos == that.validStartNanos &&
+					this.scheduled == that.scheduled &&
+					this.payerRealm == that.payerRealm &&
+					this.payerShard == that.payerShard;
+		}
+
+		@Override
+		public int hashCode() {
+			long h = payerNum;
+			h = h * 31 + validStartSecs;
+			h = h * 31 + validStartNanos;
+			h = h * 31 + payerRealm;
+			h = h * 31 + payerShard;
+			h = h * 2 + (scheduled ? 1 : 0);
+			return Long.hashCode(h * 0x9E3779B97F4A7C15L);
+		}
+	}
+}
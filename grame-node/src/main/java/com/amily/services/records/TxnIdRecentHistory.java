@@ -24,18 +24,13 @@ import com.grame.services.state.submerkle.ExpirableTxnRecord;
 import com.grame.services.state.submerkle.RichInstant;
 import com.grame.services.txns.diligence.DuplicateClassification;
 import com.gramegrame.api.proto.java.ResponseCodeEnum;
-import org.ethereum.db.index.Index;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.ConcurrentModificationException;
 import java.util.EnumSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static com.grame.services.txns.diligence.DuplicateClassification.BELIEVED_UNIQUE;
 import static com.grame.services.txns.diligence.DuplicateClassification.DUPLICATE;
@@ -44,7 +39,6 @@ import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_NODE_ACCOUN
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_PAYER_SIGNATURE;
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.comparingLong;
-import static java.util.stream.Collectors.toList;
 
 public class TxnIdRecentHistory {
 	private static final Comparator<RichInstant> RI_CMP =
@@ -70,26 +64,27 @@ public class TxnIdRecentHistory {
 	}
 
 	public List<ExpirableTxnRecord> duplicateRecords() {
-		return Stream.concat(classifiableDuplicates(), unclassifiableDuplicates())
-				.sorted(CONSENSUS_TIME_COMPARATOR)
-				.collect(toList());
-	}
-
-	private Stream<ExpirableTxnRecord> classifiableDuplicates() {
-		if (areForgotten(classifiableRecords) || classifiableRecords.size() == 1) {
-			return Stream.empty();
-		} else {
-			return classifiableRecords.subList(1, classifiableRecords.size()).stream();
+		int numClassifiable = areForgotten(classifiableRecords) ? 0 : classifiableRecords.size();
+		int numUnclassifiable = areForgotten(unclassifiableRecords) ? 0 : unclassifiableRecords.size();
+		int classifiableStart = 1;
+		int unclassifiableStart = (numClassifiable == 0) ? 1 : 0;
+		int numDuplicates = Math.max(0, numClassifiable - classifiableStart)
+				+ Math.max(0, numUnclassifiable - unclassifiableStart);
+		if (numDuplicates == 0) {
+			return Collections.emptyList();
 		}
-	}
 
-	private Stream<ExpirableTxnRecord> unclassifiableDuplicates() {
-		int startIndex = areForgotten(classifiableRecords) ? 1 : 0;
-		if (areForgotten(unclassifiableRecords) || unclassifiableRecords.size() <= startIndex) {
-			return Stream.empty();
-		} else {
-			return unclassifiableRecords.subList(startIndex, unclassifiableRecords.size()).stream();
+		List<ExpirableTxnRecord> duplicates = new ArrayList<>(numDuplicates);
+		for (int i = classifiableStart; i < numClassifiable; i++) {
+			duplicates.add(classifiableRecords.get(i));
 		}
+		for (int i = unclassifiableStart; i < numUnclassifiable; i++) {
+			duplicates.add(unclassifiableRecords.get(i));
+		}
+		if (numDuplicates > 1) {
+			duplicates.sort(CONSENSUS_TIME_COMPARATOR);
+		}
+		return duplicates;
 	}
 
 	public boolean isStagePending() {
@@ -127,30 +122,19 @@ public class TxnIdRecentHistory {
 
 	private void addClassifiable(ExpirableTxnRecord record) {
 		if (classifiableRecords == null) {
-			classifiableRecords = new LinkedList<>();
-		}
-		int i = 0;
-		long submittingMember = record.getSubmittingMember();
-		var iter = classifiableRecords.listIterator();
-		boolean isNodeDuplicate = false;
-		while (i < numDuplicates) {
-			if (submittingMember == iter.next().getSubmittingMember()) {
-				isNodeDuplicate = true;
-				break;
-			}
-			i++;
+			classifiableRecords = new ArrayList<>(1);
 		}
-		if (isNodeDuplicate) {
+		if (isNodeDuplicate(record.getSubmittingMember())) {
 			classifiableRecords.add(record);
 		} else {
+			classifiableRecords.add(numDuplicates, record);
 			numDuplicates++;
-			iter.add(record);
 		}
 	}
 
 	private void addUnclassifiable(ExpirableTxnRecord record) {
 		if (unclassifiableRecords == null) {
-			unclassifiableRecords = new LinkedList<>();
+			unclassifiableRecords = new ArrayList<>(1);
 		}
 		unclassifiableRecords.add(record);
 	}
@@ -168,12 +152,16 @@ public class TxnIdRecentHistory {
 		if (numDuplicates == 0) {
 			return BELIEVED_UNIQUE;
 		}
-		var iter = classifiableRecords.listIterator();
-		for (int i = 0; i < numDuplicates; i++) {
-			if (iter.next().getSubmittingMember() == submittingMember) {
-				return NODE_DUPLICATE;
+		return isNodeDuplicate(submittingMember) ? NODE_DUPLICATE : DUPLICATE;
+	}
+
+	/* The first numDuplicates classifiable records were each submitted by a different member. */
+	private boolean isNodeDuplicate(long submittingMember) {
+		for (int i = 0, n = Math.min(numDuplicates, classifiableRecords.size()); i < n; i++) {
+			if (classifiableRecords.get(i).getSubmittingMember() == submittingMember) {
+				return true;
 			}
 		}
-		return DUPLICATE;
+		return false;
 	}
 }
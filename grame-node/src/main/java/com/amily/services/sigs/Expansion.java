@@ -29,8 +29,8 @@ import com.grame.services.sigs.sourcing.PubKeyToSigBytes;
 import com.grame.services.sigs.sourcing.PubKeyToSigBytesProvider;
 import com.grame.services.utils.PlatformTxnAccessor;
 import com.grame.services.utils.SignedTxnAccessor;
+import com.grame.services.utils.TxnAccessor;
 import com.gramegrame.api.proto.java.Transaction;
-import com.gramegrame.api.proto.java.TransactionBody;
 import com.swirlds.common.crypto.TransactionSignature;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -65,7 +65,8 @@ class Expansion {
 
 	public SignatureStatus execute() {
 		log.debug("Expanding crypto sigs from grame sigs for txn {}...", txnAccessor::getSignedTxn4Log);
-		var payerStatus = expand(sigsProvider::payerSigBytesFor, keyOrderer::keysForPayer);
+		keyOrderer.ensureMemoized(txnAccessor);
+		var payerStatus = expand(sigsProvider::payerSigBytesFor, keyOrderer::memoizedKeysForPayer);
 		if ( SUCCESS != payerStatus.getStatusCode() ) {
 			if (log.isDebugEnabled()) {
 				log.debug(
@@ -75,7 +76,7 @@ class Expansion {
 			}
 			return payerStatus;
 		}
-		var otherStatus = expand(sigsProvider::otherPartiesSigBytesFor, keyOrderer::keysForOtherParties);
+		var otherStatus = expand(sigsProvider::otherPartiesSigBytesFor, keyOrderer::memoizedKeysForOtherParties);
 		if ( SUCCESS != otherStatus.getStatusCode() ) {
 			if (log.isDebugEnabled()) {
 				log.debug(
@@ -89,9 +90,9 @@ class Expansion {
 
 	private SignatureStatus expand(
 			Function<Transaction, PubKeyToSigBytes> sigsFn,
-			BiFunction<TransactionBody, SigStatusOrderResultFactory, SigningOrderResult<SignatureStatus>> keysFn
+			BiFunction<TxnAccessor, SigStatusOrderResultFactory, SigningOrderResult<SignatureStatus>> keysFn
 	) {
-		var orderResult = keysFn.apply(txnAccessor.getTxn(), grameToPlatformSigOps.PRE_HANDLE_SUMMARY_FACTORY);
+		var orderResult = keysFn.apply(txnAccessor, grameToPlatformSigOps.PRE_HANDLE_SUMMARY_FACTORY);
 		if (orderResult.hasErrorReport()) {
 			return orderResult.getErrorReport();
 		}
@@ -32,7 +32,6 @@ import com.grame.services.sigs.verification.SyncVerifier;
 import com.grame.services.utils.TxnAccessor;
 import com.gramegrame.api.proto.java.ResponseCodeEnum;
 import com.gramegrame.api.proto.java.Transaction;
-import com.gramegrame.api.proto.java.TransactionBody;
 import com.swirlds.common.crypto.TransactionSignature;
 import com.swirlds.common.crypto.VerificationStatus;
 import org.apache.logging.log4j.LogManager;
@@ -79,10 +78,12 @@ public class Rationalization {
 
 	public SignatureStatus execute() {
 		log.debug("Rationalizing crypto sigs with grame sigs for txn {}...", txnAccessor::getSignedTxn4Log);
+		/* Re-memoizes the signing orders if they were invalidated since expansion, for re-use in this handle. */
+		keyOrderer.ensureMemoized(txnAccessor);
 		List<TransactionSignature> realPayerSigs = new ArrayList<>(), realOtherPartySigs = new ArrayList<>();
 
 		var payerStatus = expandIn(
-				realPayerSigs, sigsProvider::payerSigBytesFor, keyOrderer::keysForPayer);
+				realPayerSigs, sigsProvider::payerSigBytesFor, keyOrderer::memoizedKeysForPayer);
 		if (!SUCCESS.equals(payerStatus.getStatusCode())) {
 			if (log.isDebugEnabled()) {
 				log.debug("Failed rationalizing payer sigs, txn {}: {}", txnAccessor.getTxnId(), payerStatus);
@@ -90,7 +91,7 @@ public class Rationalization {
 			return payerStatus;
 		}
 		var otherPartiesStatus = expandIn(
-				realOtherPartySigs, sigsProvider::otherPartiesSigBytesFor, keyOrderer::keysForOtherParties);
+				realOtherPartySigs, sigsProvider::otherPartiesSigBytesFor, keyOrderer::memoizedKeysForOtherParties);
 		if (!SUCCESS.equals(otherPartiesStatus.getStatusCode())) {
 			if (log.isDebugEnabled()) {
 				log.debug("Failed rationalizing other sigs, txn {}: {}", txnAccessor.getTxnId(), otherPartiesStatus);
@@ -131,10 +132,10 @@ public class Rationalization {
 	private SignatureStatus expandIn(
 			List<TransactionSignature> target,
 			Function<Transaction, PubKeyToSigBytes> sigsFn,
-			BiFunction<TransactionBody, SigStatusOrderResultFactory, SigningOrderResult<SignatureStatus>> keysFn
+			BiFunction<TxnAccessor, SigStatusOrderResultFactory, SigningOrderResult<SignatureStatus>> keysFn
 	) {
 		SigningOrderResult<SignatureStatus> orderResult =
-				keysFn.apply(txnAccessor.getTxn(), IN_HANDLE_SUMMARY_FACTORY);
+				keysFn.apply(txnAccessor, IN_HANDLE_SUMMARY_FACTORY);
 		if (orderResult.hasErrorReport()) {
 			return orderResult.getErrorReport();
 		}
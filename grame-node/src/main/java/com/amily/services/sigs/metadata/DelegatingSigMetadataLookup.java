@@ -31,6 +31,7 @@ import com.grame.services.sigs.metadata.lookups.DefaultFCMapContractLookup;
 import com.grame.services.sigs.metadata.lookups.DefaultFCMapTopicLookup;
 import com.grame.services.sigs.metadata.lookups.FileSigMetaLookup;
 import com.grame.services.sigs.metadata.lookups.HfsSigMetaLookup;
+import com.grame.services.ledger.accounts.PendingAccountVisibility;
 import com.grame.services.sigs.metadata.lookups.RetryingFCMapAccountLookup;
 import com.grame.services.sigs.metadata.lookups.SafeLookupResult;
 import com.grame.services.sigs.metadata.lookups.TopicSigMetaLookup;
@@ -131,6 +132,7 @@ public class DelegatingSigMetadataLookup implements SigMetadataLookup {
 
 	public static DelegatingSigMetadataLookup defaultAccountRetryingLookupsFor(
 			grameFs hfs,
+			PendingAccountVisibility visibility,
 			NodeLocalProperties properties,
 			Supplier<FCMap<MerkleEntityId, MerkleAccount>> accounts,
 			Supplier<FCMap<MerkleEntityId, MerkleTopic>> topics,
@@ -139,7 +141,7 @@ public class DelegatingSigMetadataLookup implements SigMetadataLookup {
 			MiscRunningAvgs runningAvgs,
 			MiscSpeedometers speedometers
 	) {
-		var accountLookup = new RetryingFCMapAccountLookup(pause, properties, accounts, runningAvgs, speedometers);
+		var accountLookup = new RetryingFCMapAccountLookup(visibility, properties, accounts, runningAvgs, speedometers);
 		return new DelegatingSigMetadataLookup(
 				new HfsSigMetaLookup(hfs),
 				accountLookup,
@@ -0,0 +1,121 @@
+package com.grame.services.sigs.metadata;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.sigs.metadata.lookups.SafeLookupResult;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.ContractID;
+import com.gramegrame.api.proto.java.FileID;
+import com.gramegrame.api.proto.java.ScheduleID;
+import com.gramegrame.api.proto.java.TokenID;
+import com.gramegrame.api.proto.java.TopicID;
+
+import java.util.Arrays;
+
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.ACCOUNT;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.FILE;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.SCHEDULE;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.TOKEN;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.TOPIC;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.keyOf;
+
+/**
+ * A {@link SigMetadataLookup} that delegates every lookup, while recording (as
+ * {@link SigMetadataVersions} keys) the entities whose signing metadata was consulted,
+ * and whether any lookup failed.
+ *
+ * Contracts are recorded as accounts, since they share a number space and are
+ * versioned together.
+ *
+ * @author AmilyTech
+ */
+public class RecordingSigMetadataLookup implements SigMetadataLookup {
+	private static final int INITIAL_CAPACITY = 4;
+
+	private final SigMetadataLookup delegate;
+
+	private int numConsulted = 0;
+	private long[] consulted = new long[INITIAL_CAPACITY];
+	private boolean anyFailed = false;
+
+	public RecordingSigMetadataLookup(SigMetadataLookup delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Returns the keys of the entities consulted so far, in order of lookup (possibly with repeats).
+	 *
+	 * @return the consulted keys
+	 */
+	public long[] consulted() {
+		return Arrays.copyOf(consulted, numConsulted);
+	}
+
+	/**
+	 * Returns whether any lookup so far failed.
+	 *
+	 * @return whether a lookup failed
+	 */
+	public boolean anyFailed() {
+		return anyFailed;
+	}
+
+	@Override
+	public SafeLookupResult<FileSigningMetadata> fileSigningMetaFor(FileID id) {
+		return recorded(keyOf(FILE, id.getFileNum()), delegate.fileSigningMetaFor(id));
+	}
+
+	@Override
+	public SafeLookupResult<TopicSigningMetadata> topicSigningMetaFor(TopicID id) {
+		return recorded(keyOf(TOPIC, id.getTopicNum()), delegate.topicSigningMetaFor(id));
+	}
+
+	@Override
+	public SafeLookupResult<TokenSigningMetadata> tokenSigningMetaFor(TokenID id) {
+		return recorded(keyOf(TOKEN, id.getTokenNum()), delegate.tokenSigningMetaFor(id));
+	}
+
+	@Override
+	public SafeLookupResult<AccountSigningMetadata> accountSigningMetaFor(AccountID id) {
+		return recorded(keyOf(ACCOUNT, id.getAccountNum()), delegate.accountSigningMetaFor(id));
+	}
+
+	@Override
+	public SafeLookupResult<ScheduleSigningMetadata> scheduleSigningMetaFor(ScheduleID id) {
+		return recorded(keyOf(SCHEDULE, id.getScheduleNum()), delegate.scheduleSigningMetaFor(id));
+	}
+
+	@Override
+	public SafeLookupResult<ContractSigningMetadata> contractSigningMetaFor(ContractID id) {
+		return recorded(keyOf(ACCOUNT, id.getContractNum()), delegate.contractSigningMetaFor(id));
+	}
+
+	private <T> SafeLookupResult<T> recorded(long key, SafeLookupResult<T> result) {
+		if (!result.succeeded()) {
+			anyFailed = true;
+		}
+		if (numConsulted == consulted.length) {
+			consulted = Arrays.copyOf(consulted, 2 * numConsulted);
+		}
+		consulted[numConsulted++] = key;
+		return result;
+	}
+}
@@ -0,0 +1,245 @@
+package com.grame.services.sigs.metadata;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.stats.MiscSpeedometers;
+import com.grame.services.utils.TxnAccessor;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.ContractID;
+import com.gramegrame.api.proto.java.ScheduleID;
+import com.gramegrame.api.proto.java.TokenID;
+import com.gramegrame.api.proto.java.TopicID;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Versions the signing metadata (keys, receiver-sig-required flags, deletion status, and
+ * so on) of the grame entities in state, so that a signing order computed from this metadata
+ * can later be confirmed as still current without repeating any of its lookups.
+ *
+ * A clock advances each time a handled transaction may have changed the signing metadata of
+ * some entity, and the new clock value is stamped on the slot for that entity in a fixed-size
+ * table. A signing order computed at clock value {@code v} is then current iff no entity it
+ * consulted has a slot stamped after {@code v}. Distinct entities may share a slot, which can
+ * only cause a spurious invalidation; so the table never needs to grow or be pruned.
+ *
+ * When a handled transaction may have changed signing metadata that is not identified by its
+ * body (for example, a contract call might self-destruct other contracts; and a file update
+ * might change the dynamic properties consulted by signing orders), the clock is stamped on
+ * every entity of the affected type, or on all entities. The clock is likewise stamped on
+ * entities removed outside a handled transaction (such as expired schedules), and on all
+ * entities when the state is replaced by a reload or reconnect.
+ *
+ * Only the handle thread stamps the table, and always <i>after</i> committing the changes of
+ * the handled transaction; while a signing order must take its stamp <i>before</i> it starts
+ * its lookups. So a signing order that might have seen any metadata from before a change is
+ * stamped before that change, and will be found stale.
+ *
+ * @author AmilyTech
+ */
+public class SigMetadataVersions {
+	public enum EntityType {
+		ACCOUNT, FILE, TOPIC, TOKEN, SCHEDULE
+	}
+
+	static final int SLOT_BITS = 12;
+	static final int NUM_SLOTS = 1 << SLOT_BITS;
+
+	private static final int TYPE_BITS = 3;
+	private static final long TYPE_MASK = (1L << TYPE_BITS) - 1;
+	private static final EntityType[] ENTITY_TYPES = EntityType.values();
+
+	private final AtomicLong clock = new AtomicLong();
+	private final AtomicLongArray slots = new AtomicLongArray(NUM_SLOTS);
+	private final AtomicLongArray typeStamps = new AtomicLongArray(ENTITY_TYPES.length);
+	private final MiscSpeedometers speedometers;
+
+	private volatile long allStamp = 0L;
+
+	public SigMetadataVersions(MiscSpeedometers speedometers) {
+		this.speedometers = speedometers;
+	}
+
+	/**
+	 * Returns the stamp a signing order should take before starting its lookups.
+	 *
+	 * @return the current version of all signing metadata
+	 */
+	public long current() {
+		return clock.get();
+	}
+
+	/**
+	 * Returns the key under which to record a consulted entity of the given type and number.
+	 *
+	 * @param type the type of the consulted entity
+	 * @param num the number of the consulted entity
+	 * @return the key of the consulted entity
+	 */
+	public static long keyOf(EntityType type, long num) {
+		return (num << TYPE_BITS) | type.ordinal();
+	}
+
+	/**
+	 * Returns whether none of the entities with the given keys have had signing metadata
+	 * changed since the given stamp; counting the answer as a memo hit or invalidation.
+	 *
+	 * @param stamp the version at which the consulted entities were looked up
+	 * @param consulted the keys of the consulted entities
+	 * @return whether a signing order computed from these entities at this stamp is current
+	 */
+	public boolean isCurrent(long stamp, long[] consulted) {
+		if (unchangedSince(stamp, consulted)) {
+			speedometers.cycleSigningOrderMemoHits();
+			return true;
+		} else {
+			speedometers.cycleSigningOrderMemoInvalidations();
+			return false;
+		}
+	}
+
+	/**
+	 * Advances the version of the signing metadata of every entity whose metadata the given
+	 * (just handled and committed) transaction might have changed.
+	 *
+	 * @param accessor the handled transaction
+	 */
+	public void noteHandled(TxnAccessor accessor) {
+		var txn = accessor.getTxn();
+		switch (accessor.getFunction()) {
+			case CryptoUpdate:
+				changed(txn.getCryptoUpdateAccount().getAccountIDToUpdate());
+				break;
+			case CryptoDelete:
+				changed(txn.getCryptoDelete().getDeleteAccountID());
+				break;
+			case ContractUpdate:
+				changed(txn.getContractUpdateInstance().getContractID());
+				break;
+			case ContractDelete:
+				changed(txn.getContractDeleteInstance().getContractID());
+				break;
+			case ConsensusUpdateTopic:
+				changed(txn.getConsensusUpdateTopic().getTopicID());
+				break;
+			case ConsensusDeleteTopic:
+				changed(txn.getConsensusDeleteTopic().getTopicID());
+				break;
+			case TokenUpdate:
+				changed(txn.getTokenUpdate().getToken());
+				break;
+			case TokenDelete:
+				changed(txn.getTokenDeletion().getToken());
+				break;
+			case ScheduleSign:
+				changed(txn.getScheduleSign().getScheduleID());
+				break;
+			case ScheduleDelete:
+				changed(txn.getScheduleDelete().getScheduleID());
+				break;
+			case ScheduleCreate:
+				changedAllOf(EntityType.SCHEDULE);
+				break;
+			case ContractCall:
+			case ContractCreate:
+				changedAllOf(EntityType.ACCOUNT);
+				break;
+			case FileUpdate:
+			case FileAppend:
+			case FileDelete:
+			case SystemDelete:
+			case SystemUndelete:
+				changedAll();
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Advances the version of the signing metadata of an entity removed from state other than
+	 * by a handled transaction; as when an expired schedule is purged.
+	 *
+	 * @param type the type of the removed entity
+	 * @param num the number of the removed entity
+	 */
+	public void notePurged(EntityType type, long num) {
+		changed(type, num);
+	}
+
+	/**
+	 * Advances the version of all signing metadata; as needed when the state itself is
+	 * replaced, on a restart from a saved state or a reconnect.
+	 */
+	public void noteStateReplaced() {
+		changedAll();
+	}
+
+	void changed(EntityType type, long num) {
+		slots.set(slotOf(keyOf(type, num)), clock.incrementAndGet());
+	}
+
+	void changedAllOf(EntityType type) {
+		typeStamps.set(type.ordinal(), clock.incrementAndGet());
+	}
+
+	void changedAll() {
+		allStamp = clock.incrementAndGet();
+	}
+
+	boolean unchangedSince(long stamp, long[] consulted) {
+		if (allStamp > stamp) {
+			return false;
+		}
+		for (long key : consulted) {
+			if (typeStamps.get((int) (key & TYPE_MASK)) > stamp || slots.get(slotOf(key)) > stamp) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void changed(AccountID id) {
+		changed(EntityType.ACCOUNT, id.getAccountNum());
+	}
+
+	private void changed(ContractID id) {
+		changed(EntityType.ACCOUNT, id.getContractNum());
+	}
+
+	private void changed(TopicID id) {
+		changed(EntityType.TOPIC, id.getTopicNum());
+	}
+
+	private void changed(TokenID id) {
+		changed(EntityType.TOKEN, id.getTokenNum());
+	}
+
+	private void changed(ScheduleID id) {
+		changed(EntityType.SCHEDULE, id.getScheduleNum());
+	}
+
+	static int slotOf(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h >>> (Long.SIZE - SLOT_BITS));
+	}
+}
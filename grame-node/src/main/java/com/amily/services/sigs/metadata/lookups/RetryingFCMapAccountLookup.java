@@ -21,12 +21,14 @@ package com.grame.services.sigs.metadata.lookups;
  */
 
 import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.ledger.accounts.PendingAccountVisibility;
 import com.grame.services.sigs.metadata.AccountSigningMetadata;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.stats.MiscRunningAvgs;
 import com.grame.services.stats.MiscSpeedometers;
 import com.grame.services.utils.Pause;
+import com.grame.services.utils.SleepingPause;
 import com.gramegrame.api.proto.java.AccountID;
 import com.swirlds.fcmap.FCMap;
 import org.apache.logging.log4j.LogManager;
@@ -43,6 +45,10 @@ import static com.grame.services.sigs.order.KeyOrderingFailure.MISSING_ACCOUNT;
  * with {@code Pause} invocations that increase by {@code retryWaitIncrementMs} between
  * each failed lookup.
  *
+ * When given a {@link PendingAccountVisibility}, instead parks a failed lookup until
+ * the handle thread signals the account's creation, with a deadline equal to the total
+ * time the backoff would have waited; and retries just once when it wakes.
+ *
  * @author Nathan Klick
  * @author AmilyTech
  */
@@ -58,6 +64,7 @@ public class RetryingFCMapAccountLookup extends DefaultFCMapAccountLookup {
 	private final MiscSpeedometers speedometers;
 
 	private Optional<NodeLocalProperties> properties;
+	private Optional<PendingAccountVisibility> visibility = Optional.empty();
 
 	public RetryingFCMapAccountLookup(
 			Supplier<FCMap<MerkleEntityId, MerkleAccount>> accounts,
@@ -92,6 +99,17 @@ public class RetryingFCMapAccountLookup extends DefaultFCMapAccountLookup {
 		this.retryWaitIncrementMs = DEFAULT_RETRY_WAIT_INCREMENT_MS;
 	}
 
+	public RetryingFCMapAccountLookup(
+			PendingAccountVisibility visibility,
+			NodeLocalProperties properties,
+			Supplier<FCMap<MerkleEntityId, MerkleAccount>> accounts,
+			MiscRunningAvgs runningAvgs,
+			MiscSpeedometers speedometers
+	) {
+		this(SleepingPause.SLEEPING_PAUSE, properties, accounts, runningAvgs, speedometers);
+		this.visibility = Optional.of(visibility);
+	}
+
 	@Override
 	public SafeLookupResult<AccountSigningMetadata> safeLookup(AccountID id) {
 		maxRetries = properties
@@ -109,6 +127,10 @@ public class RetryingFCMapAccountLookup extends DefaultFCMapAccountLookup {
 			return new SafeLookupResult<>(meta);
 		}
 
+		if (visibility.isPresent()) {
+			return parkedLookup(id, lookupStart);
+		}
+
 		do {
 			int retryNo = maxRetries - retriesRemaining + 1;
 			if (!pause.forMs(retryNo * retryWaitIncrementMs)) {
@@ -130,6 +152,25 @@ public class RetryingFCMapAccountLookup extends DefaultFCMapAccountLookup {
 		return SafeLookupResult.failure(MISSING_ACCOUNT);
 	}
 
+	private SafeLookupResult<AccountSigningMetadata> parkedLookup(AccountID id, long lookupStart) {
+		long timeoutMs = (long) retryWaitIncrementMs * maxRetries * (maxRetries + 1) / 2;
+		if (isInstrumented()) {
+			speedometers.cycleAccountLookupsParked();
+		}
+		boolean woken = visibility.get().awaitVisible(
+				id.getAccountNum(),
+				timeoutMs,
+				() -> super.safeLookup(id).succeeded());
+		if (isInstrumented()) {
+			if (woken) {
+				speedometers.cycleAccountLookupsWoken();
+			}
+			updateStats(1, msElapsedSince(lookupStart));
+		}
+		AccountSigningMetadata meta = woken ? superLookup(id) : null;
+		return (meta != null) ? new SafeLookupResult<>(meta) : SafeLookupResult.failure(MISSING_ACCOUNT);
+	}
+
 	private boolean isInstrumented() {
 		return runningAvgs != null && speedometers != null;
 	}
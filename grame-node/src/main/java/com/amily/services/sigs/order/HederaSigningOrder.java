@@ -24,9 +24,12 @@ import com.grame.services.config.EntityNumbers;
 import com.grame.services.context.properties.GlobalDynamicProperties;
 import com.grame.services.exceptions.UnknowngrameFunctionality;
 import com.grame.services.legacy.core.jproto.JKey;
+import com.grame.services.sigs.metadata.RecordingSigMetadataLookup;
 import com.grame.services.sigs.metadata.SigMetadataLookup;
+import com.grame.services.sigs.metadata.SigMetadataVersions;
 import com.grame.services.sigs.metadata.TokenSigningMetadata;
 import com.grame.services.utils.MiscUtils;
+import com.grame.services.utils.TxnAccessor;
 import com.gramegrame.api.proto.java.AccountAmount;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.ConsensusCreateTopicTransactionBody;
@@ -95,6 +98,11 @@ import static java.util.Collections.EMPTY_LIST;
  * file targeted by the gRPC transaction must have an active signature; and one with logic to make an
  * equivalent decision for a crypto account.
  *
+ * When given {@link SigMetadataVersions}, this class can also memoize the signing orders of a
+ * transaction on its {@link TxnAccessor}; so that, for example, the signing orders computed
+ * during signature expansion can be reused at consensus (and by any later payer or other-party
+ * activation checks), as long as none of the entities they consulted have changed since.
+ *
  * @author AmilyTech
  */
 public class grameSigningOrder {
@@ -105,6 +113,9 @@ public class grameSigningOrder {
 	final GlobalDynamicProperties properties;
 	final Predicate<TransactionBody> updateAccountSigns;
 	final BiPredicate<TransactionBody, grameFunctionality> targetWaclSigns;
+	final SigMetadataVersions versions;
+
+	static final SigStatusOrderResultFactory MEMO_SUMMARY_FACTORY = new SigStatusOrderResultFactory(false);
 
 	public grameSigningOrder(
 			EntityNumbers entityNums,
@@ -113,6 +124,18 @@ public class grameSigningOrder {
 			BiPredicate<TransactionBody, grameFunctionality> targetWaclSigns,
 			GlobalDynamicProperties properties
 	) {
+		this(entityNums, sigMetaLookup, updateAccountSigns, targetWaclSigns, properties, null);
+	}
+
+	public grameSigningOrder(
+			EntityNumbers entityNums,
+			SigMetadataLookup sigMetaLookup,
+			Predicate<TransactionBody> updateAccountSigns,
+			BiPredicate<TransactionBody, grameFunctionality> targetWaclSigns,
+			GlobalDynamicProperties properties,
+			SigMetadataVersions versions
+	) {
+		this.versions = versions;
 		this.entityNums = entityNums;
 		this.properties = properties;
 		this.sigMetaLookup = sigMetaLookup;
@@ -120,6 +143,98 @@ public class grameSigningOrder {
 		this.updateAccountSigns = updateAccountSigns;
 	}
 
+	/**
+	 * Ensures the given accessor has a current {@link SigningOrderMemo}, if possible. That is,
+	 * unless the accessor's memo is still current, (re-)computes the signing orders for its
+	 * payer and other parties; and memoizes them if both succeed without any failed lookups.
+	 *
+	 * Does nothing if this instance has no {@link SigMetadataVersions}; or if the transaction
+	 * can trigger a scheduled transaction, since its signing orders are then not reusable.
+	 *
+	 * @param accessor
+	 * 		the transaction of interest.
+	 */
+	public void ensureMemoized(TxnAccessor accessor) {
+		if (versions == null || accessor.canTriggerTxn() || currentMemo(accessor) != null) {
+			return;
+		}
+
+		var stamp = versions.current();
+		var recordingLookup = new RecordingSigMetadataLookup(sigMetaLookup);
+		var recordingOrder = new grameSigningOrder(
+				entityNums, recordingLookup, updateAccountSigns, targetWaclSigns, properties);
+		var txn = accessor.getTxn();
+		var payerOrder = recordingOrder.keysForPayer(txn, MEMO_SUMMARY_FACTORY);
+		if (payerOrder.hasErrorReport()) {
+			return;
+		}
+		var otherPartiesOrder = recordingOrder.keysForOtherParties(txn, MEMO_SUMMARY_FACTORY);
+		if (otherPartiesOrder.hasErrorReport() || recordingLookup.anyFailed()) {
+			return;
+		}
+		accessor.setSigningOrderMemo(new SigningOrderMemo(
+				stamp,
+				recordingLookup.consulted(),
+				payerOrder.getOrderedKeys(),
+				otherPartiesOrder.getOrderedKeys()));
+	}
+
+	/**
+	 * Like {@link grameSigningOrder#keysForPayer(TransactionBody, SigningOrderResultFactory)}, but
+	 * reuses the payer signing order memoized on the given accessor if it is still current.
+	 *
+	 * @param accessor
+	 * 		the transaction of interest.
+	 * @param factory
+	 * 		the result factory to use to summarize the listing attempt.
+	 * @param <T>
+	 * 		the type of error report created by the factory.
+	 * @return a {@link SigningOrderResult} summarizing the listing attempt.
+	 */
+	public <T> SigningOrderResult<T> memoizedKeysForPayer(TxnAccessor accessor, SigningOrderResultFactory<T> factory) {
+		var memo = currentMemo(accessor);
+		return (memo != null)
+				? factory.forValidOrder(memo.payerKeys())
+				: keysForPayer(accessor.getTxn(), factory);
+	}
+
+	/**
+	 * Like {@link grameSigningOrder#keysForOtherParties(TransactionBody, SigningOrderResultFactory)},
+	 * but reuses the other-party signing order memoized on the given accessor if it is still current.
+	 *
+	 * @param accessor
+	 * 		the transaction of interest.
+	 * @param factory
+	 * 		the result factory to use to summarize the listing attempt.
+	 * @param <T>
+	 * 		the type of error report created by the factory.
+	 * @return a {@link SigningOrderResult} summarizing the listing attempt.
+	 */
+	public <T> SigningOrderResult<T> memoizedKeysForOtherParties(
+			TxnAccessor accessor,
+			SigningOrderResultFactory<T> factory
+	) {
+		var memo = currentMemo(accessor);
+		return (memo != null)
+				? factory.forValidOrder(memo.otherPartyKeys())
+				: keysForOtherParties(accessor.getTxn(), factory);
+	}
+
+	private SigningOrderMemo currentMemo(TxnAccessor accessor) {
+		if (versions == null) {
+			return null;
+		}
+		var memo = accessor.getSigningOrderMemo();
+		if (memo == null) {
+			return null;
+		}
+		if (versions.isCurrent(memo.stamp(), memo.consulted())) {
+			return memo;
+		}
+		accessor.setSigningOrderMemo(null);
+		return null;
+	}
+
 	/**
 	 * Uses the provided factory to summarize an attempt to compute the canonical signing order
 	 * of the grame key(s) that must be active for the payer of the given gRPC transaction.
@@ -0,0 +1,73 @@
+package com.grame.services.sigs.order;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.grame.services.legacy.core.jproto.JKey;
+
+import java.util.List;
+
+/**
+ * Remembers the successful signing orders for the payer and other parties of a transaction,
+ * along with the {@link com.grame.services.sigs.metadata.SigMetadataVersions} stamp taken
+ * before computing them, and the keys of the entities whose signing metadata they consulted.
+ *
+ * @author AmilyTech
+ */
+public class SigningOrderMemo {
+	private final long stamp;
+	private final long[] consulted;
+	private final List<JKey> payerKeys;
+	private final List<JKey> otherPartyKeys;
+
+	public SigningOrderMemo(long stamp, long[] consulted, List<JKey> payerKeys, List<JKey> otherPartyKeys) {
+		this.stamp = stamp;
+		this.consulted = consulted;
+		this.payerKeys = payerKeys;
+		this.otherPartyKeys = otherPartyKeys;
+	}
+
+	public long stamp() {
+		return stamp;
+	}
+
+	public long[] consulted() {
+		return consulted;
+	}
+
+	public List<JKey> payerKeys() {
+		return payerKeys;
+	}
+
+	public List<JKey> otherPartyKeys() {
+		return otherPartyKeys;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(SigningOrderMemo.class)
+				.add("stamp", stamp)
+				.add("numConsulted", consulted.length)
+				.add("payerKeys", payerKeys)
+				.add("otherPartyKeys", otherPartyKeys)
+				.toString();
+	}
+}
@@ -31,7 +31,7 @@ public class ScopedSigBytesProvider implements PubKeyToSigBytesProvider {
 	final PubKeyToSigBytes delegate;
 
 	public ScopedSigBytesProvider(TxnAccessor accessor) {
-		delegate = new SigMapPubKeyToSigBytes(accessor.getSigMap());
+		delegate = accessor.getPkToSigsFn();
 	}
 
 	@Override
@@ -25,8 +25,7 @@ import com.gramegrame.api.proto.java.SignatureMap;
 import com.gramegrame.api.proto.java.SignaturePair;
 import com.grame.services.legacy.exception.KeyPrefixMismatchException;
 import java.util.Arrays;
-import java.util.List;
-import static java.util.stream.Collectors.toList;
+import java.util.Comparator;
 
 /**
  * A source of cryptographic signatures backed by a {@link SignatureMap} instance.
@@ -40,26 +39,83 @@ import static java.util.stream.Collectors.toList;
  * possible for a grame key to be active even if some number of its constituent
  * simple keys lack a valid signature.
  *
+ * <p>The public key prefixes are indexed once, on construction, in a table sorted
+ * (as unsigned bytes) lexicographically. A lookup then binary searches the table for
+ * the leading bytes of the public key once per distinct prefix length, instead of
+ * testing every prefix; and only copies out the signature bytes of the (unique) match.
+ *
  * @author AmilyTech
  */
 public class SigMapPubKeyToSigBytes implements PubKeyToSigBytes {
-	private final SignatureMap sigMap;
+	private static final int NO_MATCH = -1;
+	private static final Comparator<byte[]> UNSIGNED_ORDER = Arrays::compareUnsigned;
+
+	private final byte[][] prefixes;
+	private final SignaturePair[] sigPairs;
+	private final int[] distinctPrefixLengths;
 
 	SigMapPubKeyToSigBytes(SignatureMap sigMap) {
-		this.sigMap = sigMap;
+		var pairs = sigMap.getSigPairList();
+		int n = pairs.size();
+		var pairPrefixes = new byte[n][];
+		var order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			pairPrefixes[i] = pairs.get(i).getPubKeyPrefix().toByteArray();
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> UNSIGNED_ORDER.compare(pairPrefixes[a], pairPrefixes[b]));
+
+		prefixes = new byte[n][];
+		sigPairs = new SignaturePair[n];
+		for (int i = 0; i < n; i++) {
+			prefixes[i] = pairPrefixes[order[i]];
+			sigPairs[i] = pairs.get(order[i]);
+		}
+		distinctPrefixLengths = Arrays.stream(prefixes)
+				.mapToInt(prefix -> prefix.length)
+				.distinct()
+				.sorted()
+				.toArray();
 	}
 
 	@Override
 	public byte[] sigBytesFor(byte[] pubKey) throws KeyPrefixMismatchException {
-		List<byte[]> matchingSigs = sigMap.getSigPairList()
-				.stream()
-				.filter(sp -> beginsWith(pubKey, sp.getPubKeyPrefix().toByteArray()))
-				.map(this::sigBytesFor)
-				.collect(toList());
-		if (matchingSigs.size() > 1) {
-			throw new KeyPrefixMismatchException("Source signature map is ambiguous for given public key!");
+		int match = NO_MATCH;
+		for (int length : distinctPrefixLengths) {
+			if (length > pubKey.length) {
+				break;
+			}
+			int i = indexOfPrefix(pubKey, length);
+			if (i == NO_MATCH) {
+				continue;
+			}
+			if (match != NO_MATCH || isRepeated(i)) {
+				throw new KeyPrefixMismatchException("Source signature map is ambiguous for given public key!");
+			}
+			match = i;
 		}
-		return matchingSigs.isEmpty() ? EMPTY_SIG : matchingSigs.get(0);
+		return (match == NO_MATCH) ? EMPTY_SIG : sigBytesFor(sigPairs[match]);
+	}
+
+	private int indexOfPrefix(byte[] pubKey, int length) {
+		int lo = 0, hi = prefixes.length - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int cmp = Arrays.compareUnsigned(prefixes[mid], 0, prefixes[mid].length, pubKey, 0, length);
+			if (cmp < 0) {
+				lo = mid + 1;
+			} else if (cmp > 0) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return NO_MATCH;
+	}
+
+	private boolean isRepeated(int i) {
+		return (i > 0 && Arrays.equals(prefixes[i - 1], prefixes[i]))
+				|| (i < prefixes.length - 1 && Arrays.equals(prefixes[i + 1], prefixes[i]));
 	}
 
 	private byte[] sigBytesFor(SignaturePair sp) {
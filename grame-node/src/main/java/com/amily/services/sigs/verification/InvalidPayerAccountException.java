@@ -21,7 +21,6 @@ package com.grame.services.sigs.verification;
  */
 
 import com.grame.services.legacy.handler.TransactionHandler;
-import com.gramegrame.api.proto.java.Transaction;
 
 /**
  * Defines a type of precheck validation failure in which the payer account
@@ -29,8 +28,7 @@ import com.gramegrame.api.proto.java.Transaction;
  * account involved in a query payment.)
  *
  * This allows control flow in the {@link PrecheckVerifier} to maintain the
- * behavior of the legacy {@link TransactionHandler#verifySignature(Transaction)}
- * implementation.
+ * signature precheck behavior of the legacy {@link TransactionHandler}.
  *
  * @author AmilyTech
  */
@@ -81,7 +81,12 @@ public class PrecheckVerifier {
 			syncVerifier.verifySync(availSigs);
 			Function<byte[], TransactionSignature> sigsFn = pkToSigMapFrom(availSigs);
 
-			return reqKeys.stream().allMatch(key -> isActive(key, sigsFn, ONLY_IF_SIG_IS_VALID));
+			for (JKey key : reqKeys) {
+				if (!isActive(key, sigsFn, ONLY_IF_SIG_IS_VALID)) {
+					return false;
+				}
+			}
+			return true;
 		} catch (InvalidPayerAccountException ignore) {
 			return false;
 		}
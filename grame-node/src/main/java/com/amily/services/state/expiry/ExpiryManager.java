@@ -20,9 +20,12 @@ package com.grame.services.state.expiry;
  * ‍
  */
 
+import com.grame.services.context.properties.GlobalDynamicProperties;
 import com.grame.services.ledger.grameLedger;
 import com.grame.services.records.RecordCache;
 import com.grame.services.records.TxnIdRecentHistory;
+import com.grame.services.sigs.metadata.SigMetadataVersions;
+import com.grame.services.state.initialization.DerivedView;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleSchedule;
@@ -31,7 +34,6 @@ import com.grame.services.state.submerkle.ExpirableTxnRecord;
 import com.grame.services.store.schedule.ScheduleStore;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.TransactionID;
-import com.swirlds.fcmap.FCMap;
 import com.swirlds.fcqueue.FCQueue;
 import javafx.util.Pair;
 
@@ -42,86 +44,144 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.SCHEDULE;
+import static com.grame.services.state.initialization.DerivedViewsRebuild.mergeSortedRuns;
+import static java.util.stream.Collectors.toList;
+
 public class ExpiryManager {
+	static final Comparator<Pair<Long, Consumer<EntityId>>> ENTITY_NUM_ORDER = Comparator.comparingLong(Pair::getKey);
+	static final Comparator<Map.Entry<Long, Long>> PAYER_EXPIRY_ORDER =
+			Comparator.comparing(Map.Entry<Long, Long>::getValue).thenComparing(Map.Entry::getKey);
+
 	private final RecordCache recordCache;
 	private final Map<TransactionID, TxnIdRecentHistory> txnHistories;
-	private final FCMap<MerkleEntityId, MerkleSchedule> schedules;
 
 	private final ScheduleStore scheduleStore;
+	private final GlobalDynamicProperties dynamicProperties;
+
+	private SigMetadataVersions sigMetaVersions = null;
 
 	long sharedNow;
 	MonotonicFullQueueExpiries<Long> payerExpiries = new MonotonicFullQueueExpiries<>();
-	MonotonicFullQueueExpiries<Pair<Long, Consumer<EntityId>>> entityExpiries = new MonotonicFullQueueExpiries<>();
+	PriorityQueueExpiries<Pair<Long, Consumer<EntityId>>> entityExpiries = new PriorityQueueExpiries<>(ENTITY_NUM_ORDER);
 
 	public ExpiryManager(
 			RecordCache recordCache,
 			Map<TransactionID, TxnIdRecentHistory> txnHistories,
 			ScheduleStore scheduleStore,
-			FCMap<MerkleEntityId, MerkleSchedule> schedules
+			GlobalDynamicProperties dynamicProperties
 	) {
 		this.recordCache = recordCache;
 		this.txnHistories = txnHistories;
 		this.scheduleStore = scheduleStore;
+		this.dynamicProperties = dynamicProperties;
+	}
 
-		this.schedules = schedules;
+	public void setSigMetaVersions(SigMetadataVersions sigMetaVersions) {
+		this.sigMetaVersions = sigMetaVersions;
 	}
 
 	public void trackRecord(AccountID owner, long expiry) {
 		payerExpiries.track(owner.getAccountNum(), expiry);
 	}
 
-	public void restartTrackingFrom(FCMap<MerkleEntityId, MerkleAccount> accounts) {
-		recordCache.reset();
-		txnHistories.clear();
-		payerExpiries.reset();
+	/**
+	 * Returns a view that restarts tracking of the payer records in the accounts map, along
+	 * with any other views derived from the same traversal of the map. Each partition of the
+	 * map is sorted separately, and the sorted runs are then merged.
+	 *
+	 * @return the view of payer record expiries
+	 */
+	public DerivedView<MerkleEntityId, MerkleAccount, PayerRecords> payerExpiriesView() {
+		return new DerivedView<>() {
+			@Override
+			public String name() {
+				return "payer record expiries";
+			}
+
+			@Override
+			public PayerRecords newPartition() {
+				return new PayerRecords();
+			}
 
-		var _payerExpiries = new ArrayList<Map.Entry<Long, Long>>();
-		accounts.forEach((id, account) -> {
-			addUniqueExpiries(id.getNum(), account.records(), _payerExpiries);
-		});
+			@Override
+			public void derive(MerkleEntityId id, MerkleAccount account, PayerRecords partition) {
+				addUniqueExpiries(id.getNum(), account.records(), partition);
+			}
 
-		var cmp = Comparator.comparing(Map.Entry<Long, Long>::getValue).thenComparing(Map.Entry::getKey);
-		_payerExpiries.sort(cmp);
-		_payerExpiries.forEach(entry -> payerExpiries.track(entry.getKey(), entry.getValue()));
+			@Override
+			public void seal(PayerRecords partition) {
+				partition.expiries.sort(PAYER_EXPIRY_ORDER);
+			}
 
-		txnHistories.values().forEach(TxnIdRecentHistory::observeStaged);
+			@Override
+			public void rebuildFrom(List<PayerRecords> partitions) {
+				restartPayerTrackingFrom(partitions);
+			}
+		};
 	}
 
 	/**
-	 * Invites the expiry manager to build any auxiliary data structures later needed to purge expired entities.
+	 * Returns a view that restarts tracking of the expiring entities in the schedules map, along
+	 * with any other views derived from the same traversal of the map. The index is heapified
+	 * in linear time, so no sort of the expiring entities is needed.
+	 *
+	 * @return the view of entity expiries
 	 */
-	public void restartEntitiesTracking() {
-		entityExpiries.reset();
-
-		var expiries = new ArrayList<Map.Entry<Pair<Long, Consumer<EntityId>>, Long>>();
-		schedules.forEach((id, schedule) -> {
-			var pair = new Pair<Long, Consumer<EntityId>>(id.getNum(), scheduleStore::expire);
-			expiries.add(new AbstractMap.SimpleImmutableEntry<>(pair, schedule.expiry()));
-		});
-
-		var cmp = Comparator
-				.comparing(Map.Entry<Pair<Long, Consumer<EntityId>>, Long>::getValue)
-				.thenComparing(entry -> entry.getKey().getKey());
-		expiries.sort(cmp);
-		expiries.forEach(entry -> entityExpiries.track(entry.getKey(), entry.getValue()));
+	public DerivedView<MerkleEntityId, MerkleSchedule, List<Map.Entry<Pair<Long, Consumer<EntityId>>, Long>>> entityExpiriesView() {
+		return DerivedView.listing(
+				"entity expiries",
+				(id, schedule) -> new AbstractMap.SimpleImmutableEntry<>(
+						new Pair<Long, Consumer<EntityId>>(id.getNum(), scheduleStore::expire),
+						schedule.expiry()),
+				partitions -> {
+					int n = 0;
+					for (var partition : partitions) {
+						n += partition.size();
+					}
+					var expiries = new ArrayList<Map.Entry<Pair<Long, Consumer<EntityId>>, Long>>(n);
+					partitions.forEach(expiries::addAll);
+					entityExpiries.resetTo(expiries);
+				});
 	}
 
-	private void addUniqueExpiries(
-			Long num,
-			FCQueue<ExpirableTxnRecord> records,
-			List<Map.Entry<Long, Long>> expiries
-	) {
+	private void restartPayerTrackingFrom(List<PayerRecords> partitions) {
+		recordCache.reset();
+		txnHistories.clear();
+		payerExpiries.reset();
+
+		for (var partition : partitions) {
+			partition.records.forEach(this::stage);
+		}
+		mergeSortedRuns(
+				partitions.stream().map(partition -> partition.expiries).collect(toList()),
+				PAYER_EXPIRY_ORDER,
+				entry -> payerExpiries.track(entry.getKey(), entry.getValue()));
+
+		txnHistories.values().forEach(TxnIdRecentHistory::observeStaged);
+	}
+
+	private void addUniqueExpiries(Long num, FCQueue<ExpirableTxnRecord> records, PayerRecords partition) {
 		long lastAdded = -1;
 		for (ExpirableTxnRecord record : records) {
-			stage(record);
+			partition.records.add(record);
 			var expiry = record.getExpiry();
 			if (expiry != lastAdded) {
-				expiries.add(new AbstractMap.SimpleImmutableEntry<>(num, expiry));
+				partition.expiries.add(new AbstractMap.SimpleImmutableEntry<>(num, expiry));
 				lastAdded = expiry;
 			}
 		}
 	}
 
+	/**
+	 * The records of the payers in one partition of the accounts map, with the
+	 * unique expiries of each payer's records.
+	 */
+	public static final class PayerRecords {
+		private final List<ExpirableTxnRecord> records = new ArrayList<>();
+		private final List<Map.Entry<Long, Long>> expiries = new ArrayList<>();
+	}
+
 	void stage(ExpirableTxnRecord record) {
 		var txnId = record.getTxnId().toGrpc();
 		txnHistories.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory()).stage(record);
@@ -138,13 +198,22 @@ public class ExpiryManager {
 	/**
 	 * Marks expired entities as deleted before given timestamp in seconds. Not that for
 	 * this to be done efficiently, the expiry manager will need the opportunity to scan
-	 * the ledger and build an auxiliary data structure of expiration times
+	 * the ledger and build an auxiliary data structure of expiration times.
+	 *
+	 * At most {@link GlobalDynamicProperties#maxEntityPurgesPerTxn()} entities are purged
+	 * per call; any others already expired remain queued for the next transaction, so no
+	 * single transaction pays for a burst of expirations.
 	 * @param now the time in seconds used to expire entities
 	 */
 	public void purgeExpiredEntitiesAt(long now) {
-		while (entityExpiries.hasExpiringAt(now)) {
+		int budget = dynamicProperties.maxEntityPurgesPerTxn();
+		while (budget-- > 0 && entityExpiries.hasExpiringAt(now)) {
 			var current = entityExpiries.expireNextAt(now);
 			current.getValue().accept(entityWith(current.getKey()));
+			/* Only schedules are tracked here, and a purged schedule must not stay in a memoized signing order */
+			if (sigMetaVersions != null) {
+				sigMetaVersions.notePurged(SCHEDULE, current.getKey());
+			}
 		}
 	}
 
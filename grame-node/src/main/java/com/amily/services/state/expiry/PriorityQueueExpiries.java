@@ -0,0 +1,125 @@
+package com.grame.services.state.expiry;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Orders ids by their expiration times using a binary heap; so unlike a
+ * {@link MonotonicFullQueueExpiries}, ids may be tracked with expirations in any
+ * order (as for entities whose expiry is chosen by the user, or extended by an
+ * auto-renewal).
+ *
+ * Ids with equal expiration times are expired in the order given by a tie-breaking
+ * comparator, so every node expires them in the same order no matter how or when
+ * they were tracked.
+ */
+public class PriorityQueueExpiries<K> implements KeyedExpirations<K> {
+	private final Comparator<K> tieBreaker;
+
+	PriorityQueue<ExpiryEvent> allExpiries = new PriorityQueue<>();
+
+	public PriorityQueueExpiries(Comparator<K> tieBreaker) {
+		this.tieBreaker = tieBreaker;
+	}
+
+	@Override
+	public void reset() {
+		allExpiries.clear();
+	}
+
+	/**
+	 * Replaces all tracked ids with the given ids and expiries. Builds the heap bottom-up
+	 * in linear time, so the given expiries need not be sorted.
+	 *
+	 * @param expiries the ids to track, with their expiration times
+	 */
+	public void resetTo(List<Map.Entry<K, Long>> expiries) {
+		var events = new ArrayList<ExpiryEvent>(expiries.size());
+		for (var expiry : expiries) {
+			events.add(new ExpiryEvent(expiry.getKey(), expiry.getValue()));
+		}
+		allExpiries = new PriorityQueue<>(events);
+	}
+
+	@Override
+	public void track(K id, long expiry) {
+		allExpiries.add(new ExpiryEvent(id, expiry));
+	}
+
+	@Override
+	public boolean hasExpiringAt(long now) {
+		return !allExpiries.isEmpty() && allExpiries.peek().isExpiredAt(now);
+	}
+
+	@Override
+	public K expireNextAt(long now) {
+		if (allExpiries.isEmpty()) {
+			throw new IllegalStateException("No ids are queued for expiration!");
+		}
+		if (!allExpiries.peek().isExpiredAt(now)) {
+			throw new IllegalArgumentException(String.format("Argument 'now=%d' is earlier than the next expiry!", now));
+		}
+		return allExpiries.poll().getId();
+	}
+
+	final class ExpiryEvent implements Comparable<ExpiryEvent> {
+		private final K id;
+		private final long expiry;
+
+		public ExpiryEvent(K id, long expiry) {
+			this.id = id;
+			this.expiry = expiry;
+		}
+
+		public boolean isExpiredAt(long now) {
+			return expiry <= now;
+		}
+
+		public K getId() {
+			return id;
+		}
+
+		public long getExpiry() {
+			return expiry;
+		}
+
+		@Override
+		public int compareTo(ExpiryEvent that) {
+			int byExpiry = Long.compare(this.expiry, that.expiry);
+			return (byExpiry != 0) ? byExpiry : tieBreaker.compare(this.id, that.id);
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(ExpiryEvent.class)
+					.add("id", id)
+					.add("expiry", expiry)
+					.toString();
+		}
+	}
+}
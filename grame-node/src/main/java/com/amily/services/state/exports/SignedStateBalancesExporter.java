@@ -20,6 +20,7 @@ package com.grame.services.state.exports;
  * ‍
  */
 
+import com.google.protobuf.CodedOutputStream;
 import com.gramegrame.api.proto.java.Timestamp;
 import com.grame.services.ServicesState;
 import com.grame.services.context.properties.GlobalDynamicProperties;
@@ -29,6 +30,7 @@ import com.grame.services.state.merkle.MerkleEntityAssociation;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleToken;
 import com.grame.services.state.merkle.MerkleTokenRelStatus;
+import com.grame.services.state.validation.LedgerValidator;
 import com.grame.services.utils.MiscUtils;
 import com.gramegrame.api.proto.java.AccountID;
 import com.grame.services.stream.proto.AllAccountBalances;
@@ -42,16 +44,20 @@ import org.apache.commons.lang3.time.StopWatch;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.Writer;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Comparator;
 import java.util.List;
@@ -62,6 +68,7 @@ import static com.grame.services.state.merkle.MerkleEntityAssociation.fromAccoun
 import static com.grame.services.state.merkle.MerkleEntityId.fromTokenId;
 import static com.grame.services.utils.EntityIdUtils.readableId;
 import static com.grame.services.ledger.grameLedger.ACCOUNT_ID_COMPARATOR;
+import static java.util.stream.Collectors.toList;
 
 public class SignedStateBalancesExporter implements BalancesExporter {
 	static Logger log = LogManager.getLogger(SignedStateBalancesExporter.class);
@@ -78,34 +85,44 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 	private static final String PROTO_FILE_EXTENSION = ".pb";
 	private static final String CSV_FILE_EXTENSION = ".csv";
 
+	/* The default number of accounts whose balances are built (in parallel) and held in memory at once. */
+	static final int DEFAULT_EXPORT_CHUNK_SIZE = 4096;
+
 	static final Instant NEVER = null;
 	private static final Base64.Encoder encoder = Base64.getEncoder();
 
 	final long expectedFloat;
 	private final UnaryOperator<byte[]> signer;
+	private final LedgerValidator ledgerValidator;
 	private final GlobalDynamicProperties dynamicProperties;
 
 	/* Used to toggle output for testing. */
 	boolean exportCsv = true, exportProto = true;
+	int exportChunkSize = DEFAULT_EXPORT_CHUNK_SIZE;
 	SigFileWriter sigFileWriter = new StandardSigFileWriter();
-	FileHashReader hashReader = new Sha384HashReader();
 	DirectoryAssurance directories = loc -> Files.createDirectories(Paths.get(loc));
 
 	private String lastUsedExportDir = UNKNOWN_EXPORT_DIR;
-	private BalancesSummary summary;
 
 	Instant periodBegin = NEVER;
 	private final int exportPeriod;
 
 	static final Comparator<SingleAccountBalances> SINGLE_ACCOUNT_BALANCES_COMPARATOR =
 			Comparator.comparing(SingleAccountBalances::getAccountID, ACCOUNT_ID_COMPARATOR);
+	/* Orders ids exactly as ACCOUNT_ID_COMPARATOR orders the corresponding AccountIDs. */
+	static final Comparator<MerkleEntityId> MERKLE_ENTITY_ID_COMPARATOR = Comparator
+			.comparingLong(MerkleEntityId::getNum)
+			.thenComparingLong(MerkleEntityId::getShard)
+			.thenComparingLong(MerkleEntityId::getRealm);
 
 	public SignedStateBalancesExporter(
 			PropertySource properties,
 			UnaryOperator<byte[]> signer,
-			GlobalDynamicProperties dynamicProperties
+			GlobalDynamicProperties dynamicProperties,
+			LedgerValidator ledgerValidator
 	) {
 		this.signer = signer;
+		this.ledgerValidator = ledgerValidator;
 		this.expectedFloat = properties.getLongProperty("ledger.totalTinyBarFloat");
 		this.dynamicProperties = dynamicProperties;
 		exportPeriod = dynamicProperties.balancesExportPeriodSecs();
@@ -128,11 +145,12 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 
 	@Override
 	public void exportBalancesFrom(ServicesState signedState, Instant when) {
+		ledgerValidator.spotCheckBalancesIn(signedState.accounts(), when);
 		if (!ensureExportDir(signedState.getNodeAccountId())) {
 			return;
 		}
 		var watch = StopWatch.createStarted();
-		summary = summarized(signedState);
+		var summary = summarized(signedState);
 		var expected = BigInteger.valueOf(expectedFloat);
 		if (!expected.equals(summary.getTotalFloat())) {
 			throw new IllegalStateException(String.format(
@@ -140,147 +158,147 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 					when, summary.getTotalFloat(), expectedFloat)); }
 		log.info("Took {}ms to summarize signed state balances", watch.getTime(TimeUnit.MILLISECONDS));
 
-		// .pb account balances file is our focus, process it first to let its timestamp to stay close to
-		// epoch export period boundary
+		watch = StopWatch.createStarted();
+		var files = new ArrayList<StreamingBalancesFile>();
+		var prefix = lastUsedExportDir + when.toString().replace(":", "_") + "_Balances";
 		if (exportProto) {
-			toProtoFile(when);
+			var protoLoc = prefix + PROTO_FILE_EXTENSION;
+			openOrLog(protoLoc, () -> new ProtoBalancesFile(protoLoc, when), files);
 		}
 		if (exportCsv) {
-			toCsvFile(when);
-		}
-	}
-
-	private void toCsvFile(Instant exportTimeStamp) {
-		var watch = StopWatch.createStarted();
-
-		var csvLoc = lastUsedExportDir
-				+ exportTimeStamp.toString().replace(":", "_") + "_Balances" + CSV_FILE_EXTENSION;
-		boolean exportSucceeded = exportBalancesFile(summary, csvLoc, exportTimeStamp);
-		if (exportSucceeded) {
-			tryToSign(csvLoc);
+			var csvLoc = prefix + CSV_FILE_EXTENSION;
+			var withTokens = dynamicProperties.shouldExportTokenBalances();
+			openOrLog(csvLoc, () -> new CsvBalancesFile(csvLoc, when, withTokens), files);
 		}
-
-		log.info(" -> Took {}ms to export and sign CSV balances file at {}", watch.getTime(TimeUnit.MILLISECONDS), exportTimeStamp);
-	}
-
-	private void toProtoFile(Instant exportTimeStamp) {
-		var watch = StopWatch.createStarted();
-
-		var builder = AllAccountBalances.newBuilder();
-		summarizeAsProto(exportTimeStamp, builder);
-		var protoLoc = lastUsedExportDir
-				+ exportTimeStamp.toString().replace(":", "_") + "_Balances" + PROTO_FILE_EXTENSION;
-		boolean exportSucceeded = exportBalancesProtoFile(builder, protoLoc);
-		if (exportSucceeded) {
-			tryToSign(protoLoc);
+		if (!files.isEmpty()) {
+			try {
+				streamTo(files, signedState, summary.getOrderedIds());
+				for (var file : files) {
+					finishAndSign(file);
+				}
+			} finally {
+				for (var file : files) {
+					file.closeQuietly();
+				}
+			}
 		}
-
-		log.info(" -> Took {}ms to export and sign proto balances file at {}", watch.getTime(TimeUnit.MILLISECONDS), exportTimeStamp);
+		log.info(" -> Took {}ms to export and sign balances files at {}", watch.getTime(TimeUnit.MILLISECONDS), when);
 	}
 
-	private void tryToSign(String csvLoc) {
+	private void openOrLog(String loc, BalancesFileFactory factory, List<StreamingBalancesFile> files) {
+		StreamingBalancesFile file = null;
 		try {
-			var hash = hashReader.readHash(csvLoc);
-			var sig = signer.apply(hash);
-			var sigFileLoc = sigFileWriter.writeSigFile(csvLoc, sig, hash);
-			if (log.isDebugEnabled()) {
-				log.debug(String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, sigFileLoc));
+			file = factory.open();
+			file.writeHeader();
+			files.add(file);
+		} catch (IOException e) {
+			if (file != null) {
+				file.closeQuietly();
 			}
-		} catch (Exception e) {
-			log.error(String.format(BAD_SIGNING_ATTEMPT_ERROR_MSG_TPL, csvLoc), e);
+			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, loc), e);
 		}
 	}
 
-	private boolean exportBalancesFile(BalancesSummary summary, String csvLoc, Instant when) {
-		try (BufferedWriter fout = Files.newBufferedWriter(Paths.get(csvLoc))) {
-			if (dynamicProperties.shouldExportTokenBalances()) {
-				addRelease090Header(fout, when);
-			} else {
-				addLegacyHeader(fout, when);
-			}
-			for (SingleAccountBalances singleAccountBalances : summary.getOrderedBalances()) {
-				fout.write(String.format(
-						"%d,%d,%d,%d",
-						singleAccountBalances.getAccountID().getShardNum(),
-						singleAccountBalances.getAccountID().getRealmNum(),
-						singleAccountBalances.getAccountID().getAccountNum(),
-						singleAccountBalances.getHbarBalance()));
-				if (dynamicProperties.shouldExportTokenBalances()) {
-					if (singleAccountBalances.getTokenUnitBalancesList().size() > 0) {
-						fout.write("," + b64Encode(singleAccountBalances));
-					} else {
-						fout.write(",");
-					}
-				}
-				fout.write(LINE_SEPARATOR);
+	/* Builds the balances for each chunk of ordered ids in parallel, then appends them in order to every open file. */
+	private void streamTo(
+			List<StreamingBalancesFile> files,
+			ServicesState signedState,
+			MerkleEntityId[] orderedIds
+	) {
+		var tokens = signedState.tokens();
+		var accounts = signedState.accounts();
+		var tokenAssociations = signedState.tokenAssociations();
+		var withTokens = dynamicProperties.shouldExportTokenBalances();
+
+		for (int from = 0, n = orderedIds.length; from < n; from += exportChunkSize) {
+			var chunk = Arrays.stream(orderedIds, from, Math.min(n, from + exportChunkSize))
+					.parallel()
+					.map(id -> balancesOf(id, accounts.get(id), withTokens, tokens, tokenAssociations))
+					.collect(toList());
+			for (var file : files) {
+				file.appendAll(chunk);
 			}
-		} catch (IOException e) {
-			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, csvLoc), e);
-			return false;
 		}
-		return true;
-	}
-
-	private void summarizeAsProto(Instant exportTimeStamp, AllAccountBalances.Builder builder) {
-		builder.setConsensusTimestamp(Timestamp.newBuilder()
-				.setSeconds(exportTimeStamp.getEpochSecond())
-				.setNanos(exportTimeStamp.getNano()));
-		builder.addAllAllAccounts(summary.getOrderedBalances());
 	}
 
-	private boolean exportBalancesProtoFile(AllAccountBalances.Builder allAccountsBuilder, String protoLoc) {
-		try (FileOutputStream fout = new FileOutputStream(protoLoc)) {
-			allAccountsBuilder.build().writeTo(fout);
+	private void finishAndSign(StreamingBalancesFile file) {
+		byte[] hash;
+		try {
+			hash = file.finish();
 		} catch (IOException e) {
-			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, protoLoc), e);
-			return false;
+			log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, file.loc), e);
+			return;
+		}
+		if (hash != null) {
+			tryToSign(file.loc, hash);
 		}
-		return true;
-	}
-
-	private void addLegacyHeader(Writer writer, Instant at) throws IOException {
-		writer.write(String.format("TimeStamp:%s%s", at, LINE_SEPARATOR));
-		writer.write("shardNum,realmNum,accountNum,balance" + LINE_SEPARATOR);
 	}
 
-	private void addRelease090Header(Writer writer, Instant at) throws IOException {
-		writer.write("# " + CURRENT_VERSION + LINE_SEPARATOR);
-		writer.write(String.format("# TimeStamp:%s%s", at, LINE_SEPARATOR));
-		writer.write("shardNum,realmNum,accountNum,balance,tokenBalances" + LINE_SEPARATOR);
+	private void tryToSign(String loc, byte[] hash) {
+		try {
+			var sig = signer.apply(hash);
+			var sigFileLoc = sigFileWriter.writeSigFile(loc, sig, hash);
+			if (log.isDebugEnabled()) {
+				log.debug(String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, sigFileLoc));
+			}
+		} catch (Exception e) {
+			log.error(String.format(BAD_SIGNING_ATTEMPT_ERROR_MSG_TPL, loc), e);
+		}
 	}
 
+	/**
+	 * Summarizes the given signed state by (in parallel) validating the total float and
+	 * ordering the ids of all non-deleted accounts. The summary holds only references to
+	 * the existing ids, so the per-account balances can be built and streamed chunk-by-chunk.
+	 *
+	 * @param signedState the state to summarize
+	 * @return the summary
+	 */
 	BalancesSummary summarized(ServicesState signedState) {
 		long nodeBalanceWarnThreshold = dynamicProperties.nodeBalanceWarningThreshold();
-		BigInteger totalFloat = BigInteger.valueOf(0L);
-		List<SingleAccountBalances> accountBalances = new ArrayList<>();
-
 		var nodeIds = MiscUtils.getNodeAccounts(signedState.addressBook());
-		var tokens = signedState.tokens();
 		var accounts = signedState.accounts();
-		var tokenAssociations = signedState.tokenAssociations();
-		for (MerkleEntityId id : accounts.keySet()) {
-			var account = accounts.get(id);
-			if (!account.isDeleted()) {
-				var accountId = id.toAccountId();
-				var balance = account.getBalance();
-				if (nodeIds.contains(accountId) && balance < nodeBalanceWarnThreshold) {
-					log.warn(String.format(
-							LOW_NODE_BALANCE_WARN_MSG_TPL,
-							readableId(accountId),
-							balance));
-				}
-				totalFloat = totalFloat.add(BigInteger.valueOf(account.getBalance()));
-				SingleAccountBalances.Builder sabBuilder = SingleAccountBalances.newBuilder();
-				sabBuilder.setHbarBalance(balance)
-						.setAccountID(accountId);
-				if (dynamicProperties.shouldExportTokenBalances()) {
-					addTokenBalances(accountId, account, sabBuilder, tokens, tokenAssociations);
-				}
-				accountBalances.add(sabBuilder.build());
-			}
+
+		var liveIds = accounts.keySet()
+				.parallelStream()
+				.filter(id -> !accounts.get(id).isDeleted())
+				.toArray(MerkleEntityId[]::new);
+		Arrays.parallelSort(liveIds, MERKLE_ENTITY_ID_COMPARATOR);
+
+		var totalFloat = Arrays.stream(liveIds)
+				.parallel()
+				.map(id -> {
+					var balance = accounts.get(id).getBalance();
+					if (balance < nodeBalanceWarnThreshold) {
+						var accountId = id.toAccountId();
+						if (nodeIds.contains(accountId)) {
+							log.warn(String.format(
+									LOW_NODE_BALANCE_WARN_MSG_TPL,
+									readableId(accountId),
+									balance));
+						}
+					}
+					return BigInteger.valueOf(balance);
+				})
+				.reduce(BigInteger.ZERO, BigInteger::add);
+		return new BalancesSummary(totalFloat, liveIds);
+	}
+
+	private SingleAccountBalances balancesOf(
+			MerkleEntityId id,
+			MerkleAccount account,
+			boolean withTokens,
+			FCMap<MerkleEntityId, MerkleToken> tokens,
+			FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> tokenAssociations
+	) {
+		var accountId = id.toAccountId();
+		var sabBuilder = SingleAccountBalances.newBuilder()
+				.setHbarBalance(account.getBalance())
+				.setAccountID(accountId);
+		if (withTokens) {
+			addTokenBalances(accountId, account, sabBuilder, tokens, tokenAssociations);
 		}
-		accountBalances.sort(SINGLE_ACCOUNT_BALANCES_COMPARATOR);
-		return new BalancesSummary(totalFloat, accountBalances);
+		return sabBuilder.build();
 	}
 
 	private void addTokenBalances(
@@ -336,23 +354,193 @@ public class SignedStateBalancesExporter implements BalancesExporter {
 
 	static class BalancesSummary {
 		private final BigInteger totalFloat;
-		private final List<SingleAccountBalances> orderedBalances;
+		private final MerkleEntityId[] orderedIds;
 
 		BalancesSummary(
 				BigInteger totalFloat,
-				List<SingleAccountBalances> orderedBalances
+				MerkleEntityId[] orderedIds
 		) {
 			this.totalFloat = totalFloat;
-			this.orderedBalances = orderedBalances;
+			this.orderedIds = orderedIds;
 		}
 
 		public BigInteger getTotalFloat() {
 			return totalFloat;
 		}
 
-		public List<SingleAccountBalances> getOrderedBalances() {
-			return orderedBalances;
+		public MerkleEntityId[] getOrderedIds() {
+			return orderedIds;
 		}
 	}
-}
 
+	@FunctionalInterface
+	interface BalancesFileFactory {
+		StreamingBalancesFile open() throws IOException;
+	}
+
+	/**
+	 * A balances file that is written incrementally, and whose SHA-384 hash is computed
+	 * from the bytes as they are written, so the file never needs to be re-read for signing.
+	 */
+	abstract static class StreamingBalancesFile {
+		final String loc;
+		final MessageDigest digest;
+		final OutputStream out;
+
+		private boolean failed = false;
+
+		StreamingBalancesFile(String loc) throws IOException {
+			this.loc = loc;
+			try {
+				digest = MessageDigest.getInstance("SHA-384");
+			} catch (NoSuchAlgorithmException impossible) {
+				throw new IllegalStateException("SHA-384 not supported by Java API!");
+			}
+			out = new BufferedOutputStream(new DigestOutputStream(new FileOutputStream(loc), digest));
+		}
+
+		void appendAll(List<SingleAccountBalances> chunk) {
+			if (failed) {
+				return;
+			}
+			try {
+				for (var balances : chunk) {
+					append(balances);
+				}
+			} catch (IOException e) {
+				failed = true;
+				log.error(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, loc), e);
+			}
+		}
+
+		/**
+		 * Flushes and closes the file.
+		 *
+		 * @return the SHA-384 hash of the file, or null if not all balances could be appended
+		 * @throws IOException if the file cannot be flushed or closed
+		 */
+		byte[] finish() throws IOException {
+			try {
+				if (failed) {
+					return null;
+				}
+				flushPending();
+				out.flush();
+			} finally {
+				out.close();
+			}
+			return digest.digest();
+		}
+
+		/**
+		 * Closes the file if it is still open; for example, because the export failed before
+		 * the file could be finished. Closing an already closed file has no effect.
+		 */
+		void closeQuietly() {
+			try {
+				out.close();
+			} catch (IOException e) {
+				log.warn(String.format(BAD_EXPORT_ATTEMPT_ERROR_MSG_TPL, loc), e);
+			}
+		}
+
+		abstract void writeHeader() throws IOException;
+
+		abstract void append(SingleAccountBalances balances) throws IOException;
+
+		void flushPending() throws IOException {
+		}
+	}
+
+	/**
+	 * Streams an {@link AllAccountBalances} message field-by-field, producing exactly the
+	 * bytes of the equivalent message built in memory.
+	 */
+	static class ProtoBalancesFile extends StreamingBalancesFile {
+		private final Instant when;
+		private final CodedOutputStream coded;
+
+		ProtoBalancesFile(String loc, Instant when) throws IOException {
+			super(loc);
+			this.when = when;
+			coded = CodedOutputStream.newInstance(out);
+		}
+
+		@Override
+		void writeHeader() throws IOException {
+			coded.writeMessage(
+					AllAccountBalances.CONSENSUSTIMESTAMP_FIELD_NUMBER,
+					Timestamp.newBuilder()
+							.setSeconds(when.getEpochSecond())
+							.setNanos(when.getNano())
+							.build());
+		}
+
+		@Override
+		void append(SingleAccountBalances balances) throws IOException {
+			coded.writeMessage(AllAccountBalances.ALLACCOUNTS_FIELD_NUMBER, balances);
+		}
+
+		@Override
+		void flushPending() throws IOException {
+			coded.flush();
+		}
+	}
+
+	static class CsvBalancesFile extends StreamingBalancesFile {
+		private final Instant when;
+		private final boolean withTokens;
+		private final StringBuilder line = new StringBuilder();
+
+		CsvBalancesFile(String loc, Instant when, boolean withTokens) throws IOException {
+			super(loc);
+			this.when = when;
+			this.withTokens = withTokens;
+		}
+
+		@Override
+		void writeHeader() throws IOException {
+			if (withTokens) {
+				addRelease090Header(when);
+			} else {
+				addLegacyHeader(when);
+			}
+		}
+
+		@Override
+		void append(SingleAccountBalances balances) throws IOException {
+			var id = balances.getAccountID();
+			line.setLength(0);
+			line.append(id.getShardNum()).append(',')
+					.append(id.getRealmNum()).append(',')
+					.append(id.getAccountNum()).append(',')
+					.append(balances.getHbarBalance());
+			if (withTokens) {
+				line.append(',');
+				if (balances.getTokenUnitBalancesCount() > 0) {
+					line.append(b64Encode(balances));
+				}
+			}
+			line.append(LINE_SEPARATOR);
+			write(line);
+		}
+
+		private void addLegacyHeader(Instant at) throws IOException {
+			write("TimeStamp:" + at + LINE_SEPARATOR);
+			write("shardNum,realmNum,accountNum,balance" + LINE_SEPARATOR);
+		}
+
+		private void addRelease090Header(Instant at) throws IOException {
+			write("# " + CURRENT_VERSION + LINE_SEPARATOR);
+			write("# TimeStamp:" + at + LINE_SEPARATOR);
+			write("shardNum,realmNum,accountNum,balance,tokenBalances" + LINE_SEPARATOR);
+		}
+
+		/* Every character of a balances CSV line is ASCII, so each char is one byte. */
+		private void write(CharSequence ascii) throws IOException {
+			for (int i = 0, n = ascii.length(); i < n; i++) {
+				out.write(ascii.charAt(i));
+			}
+		}
+	}
+}
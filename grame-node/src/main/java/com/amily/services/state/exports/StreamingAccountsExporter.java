@@ -0,0 +1,159 @@
+package com.grame.services.state.exports;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.CodedOutputStream;
+import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.state.merkle.MerkleEntityId;
+import com.grame.services.state.submerkle.EntityId;
+import com.gramegrame.api.proto.java.CryptoGetInfoResponse;
+import com.gramegrame.api.proto.java.Duration;
+import com.swirlds.fcmap.FCMap;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.time.StopWatch;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.zip.GZIPOutputStream;
+
+import static com.grame.services.state.exports.SignedStateBalancesExporter.MERKLE_ENTITY_ID_COMPARATOR;
+import static com.grame.services.utils.MiscUtils.asKeyUnchecked;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Exports the accounts in a state to a file, one account at a time, in order of account id.
+ *
+ * If the path ends in {@code .pb} (before any {@code .gz}), each account is written as a
+ * length-delimited {@link CryptoGetInfoResponse.AccountInfo}; otherwise as one line of JSON,
+ * with the same fields as the legacy export. Either way, the account key is encoded as its
+ * protobuf {@link com.gramegrame.api.proto.java.Key}. If the path ends in {@code .gz}, the
+ * output is gzipped.
+ *
+ * Accounts are rendered in parallel a chunk at a time, so at most one chunk of rendered
+ * accounts is held in memory.
+ *
+ * @author AmilyTech
+ */
+public class StreamingAccountsExporter implements AccountsExporter {
+	private static final Logger log = LogManager.getLogger(StreamingAccountsExporter.class);
+
+	static final String GZIP_EXTENSION = ".gz";
+	static final String PROTO_EXTENSION = ".pb";
+
+	/* The default number of accounts rendered (in parallel) and held in memory at once. */
+	static final int DEFAULT_EXPORT_CHUNK_SIZE = 4096;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/* Used to toggle chunking for testing. */
+	int exportChunkSize = DEFAULT_EXPORT_CHUNK_SIZE;
+
+	@Override
+	public void toFile(String path, FCMap<MerkleEntityId, MerkleAccount> accounts) throws IOException {
+		var watch = StopWatch.createStarted();
+		var compressed = path.endsWith(GZIP_EXTENSION);
+		var uncompressedPath = compressed ? path.substring(0, path.length() - GZIP_EXTENSION.length()) : path;
+		BiFunction<MerkleEntityId, MerkleAccount, byte[]> renderer = uncompressedPath.endsWith(PROTO_EXTENSION)
+				? StreamingAccountsExporter::delimitedProto
+				: StreamingAccountsExporter::jsonLine;
+
+		var ids = accounts.keySet().parallelStream().toArray(MerkleEntityId[]::new);
+		Arrays.parallelSort(ids, MERKLE_ENTITY_ID_COMPARATOR);
+		try (OutputStream out = outputStreamFor(path, compressed)) {
+			for (int from = 0, n = ids.length; from < n; from += exportChunkSize) {
+				var chunk = Arrays.stream(ids, from, Math.min(n, from + exportChunkSize))
+						.parallel()
+						.map(id -> renderer.apply(id, accounts.get(id)))
+						.collect(toList());
+				for (var rendered : chunk) {
+					out.write(rendered);
+				}
+			}
+		} catch (IOException e) {
+			log.error("Exception occurred while Exporting Accounts to File", e);
+			throw e;
+		}
+		log.info("Exported {} accounts to '{}' in {}ms", ids.length, path, watch.getTime(TimeUnit.MILLISECONDS));
+	}
+
+	static byte[] jsonLine(MerkleEntityId id, MerkleAccount account) {
+		var proxy = Optional.ofNullable(account.getProxy()).orElse(EntityId.MISSING_ENTITY_ID);
+		var key = asKeyUnchecked(account.getKey()).toByteArray();
+		return new StringBuilder(160 + 2 * key.length)
+				.append("{\"shardID\":").append(id.getShard())
+				.append(",\"realmID\":").append(id.getRealm())
+				.append(",\"accountNum\":").append(id.getNum())
+				.append(",\"initialBalance\":").append(account.getBalance())
+				.append(",\"proxyShardNum\":").append(proxy.shard())
+				.append(",\"proxyRealmNum\":").append(proxy.realm())
+				.append(",\"proxyAccountNum\":").append(proxy.num())
+				.append(",\"receiverSigRequired\":").append(account.isReceiverSigRequired())
+				.append(",\"autoRenewPeriod\":").append(account.getAutoRenewSecs())
+				.append(",\"key\":\"").append(Hex.encodeHex(key))
+				.append("\"}\n")
+				.toString()
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	static byte[] delimitedProto(MerkleEntityId id, MerkleAccount account) {
+		var info = CryptoGetInfoResponse.AccountInfo.newBuilder()
+				.setAccountID(id.toAccountId())
+				.setKey(asKeyUnchecked(account.getKey()))
+				.setBalance(account.getBalance())
+				.setReceiverSigRequired(account.isReceiverSigRequired())
+				.setAutoRenewPeriod(Duration.newBuilder().setSeconds(account.getAutoRenewSecs()));
+		Optional.ofNullable(account.getProxy())
+				.map(EntityId::toGrpcAccountId)
+				.ifPresent(info::setProxyAccountID);
+		var msg = info.build();
+
+		int size = msg.getSerializedSize();
+		var rendered = new byte[CodedOutputStream.computeUInt32SizeNoTag(size) + size];
+		var coded = CodedOutputStream.newInstance(rendered);
+		try {
+			coded.writeUInt32NoTag(size);
+			msg.writeTo(coded);
+			coded.checkNoSpaceLeft();
+		} catch (IOException impossible) {
+			throw new UncheckedIOException(impossible);
+		}
+		return rendered;
+	}
+
+	private static OutputStream outputStreamFor(String path, boolean compressed) throws IOException {
+		var file = new FileOutputStream(path);
+		try {
+			return new BufferedOutputStream(compressed ? new GZIPOutputStream(file, BUFFER_SIZE) : file, BUFFER_SIZE);
+		} catch (IOException e) {
+			file.close();
+			throw e;
+		}
+	}
+}
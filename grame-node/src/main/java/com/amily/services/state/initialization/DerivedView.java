@@ -0,0 +1,108 @@
+package com.grame.services.state.initialization;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Defines an in-memory index derived from the entries of a state map (for example, the set of
+ * existing account ids, or the known treasuries of tokens) that can be rebuilt by a
+ * {@link DerivedViewsRebuild} from disjoint partitions of the map, in parallel.
+ *
+ * The {@link DerivedView#derive(Object, Object, Object)} and {@link DerivedView#seal(Object)}
+ * methods may be called concurrently for <i>different</i> partitions, so must not touch any
+ * shared state; only {@link DerivedView#rebuildFrom(List)} may replace the view itself.
+ *
+ * @param <K> the type of key in the source map
+ * @param <V> the type of value in the source map
+ * @param <P> the type of partial result derived from one partition of the map
+ */
+public interface DerivedView<K, V, P> {
+	/**
+	 * Names the view, for reporting rebuild timings.
+	 */
+	String name();
+
+	/**
+	 * Creates an empty partial result for one partition of the source map.
+	 */
+	P newPartition();
+
+	/**
+	 * Adds to the given partial result whatever the view derives from the given map entry.
+	 */
+	void derive(K key, V value, P partition);
+
+	/**
+	 * Finishes the given partial result once all entries of its partition have been derived;
+	 * for example, by sorting it. Runs on the same thread as the partition's derivations.
+	 */
+	default void seal(P partition) {
+		/* No-op. */
+	}
+
+	/**
+	 * Replaces the view with one built from the given partial results of all partitions.
+	 */
+	void rebuildFrom(List<P> partitions);
+
+	/**
+	 * Returns a view whose partial results are lists of items, each derived from one map entry.
+	 *
+	 * @param name the name of the view
+	 * @param itemFn the function deriving an item from a map entry
+	 * @param rebuild the action replacing the view given the item lists of all partitions
+	 * @param <K> the type of key in the source map
+	 * @param <V> the type of value in the source map
+	 * @param <T> the type of item derived from each map entry
+	 * @return the listing view
+	 */
+	static <K, V, T> DerivedView<K, V, List<T>> listing(
+			String name,
+			BiFunction<K, V, T> itemFn,
+			Consumer<List<List<T>>> rebuild
+	) {
+		return new DerivedView<>() {
+			@Override
+			public String name() {
+				return name;
+			}
+
+			@Override
+			public List<T> newPartition() {
+				return new ArrayList<>();
+			}
+
+			@Override
+			public void derive(K key, V value, List<T> partition) {
+				partition.add(itemFn.apply(key, value));
+			}
+
+			@Override
+			public void rebuildFrom(List<List<T>> partitions) {
+				rebuild.accept(partitions);
+			}
+		};
+	}
+}
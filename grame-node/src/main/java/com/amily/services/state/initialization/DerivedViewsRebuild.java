@@ -0,0 +1,213 @@
+package com.grame.services.state.initialization;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Rebuilds the {@link DerivedView}s of a state map (for example, after loading a saved state or
+ * reconnecting) with a single traversal of the map, however many views derive from it.
+ *
+ * The traversal snapshots the map entries, which are then split into contiguous partitions
+ * handled by tasks in a {@link ForkJoinPool}; each task derives the partial results of every
+ * view from its partition. Finally, each view is rebuilt from its partial results on the calling
+ * thread. The time spent deriving and rebuilding each view is logged.
+ *
+ * @author AmilyTech
+ */
+public class DerivedViewsRebuild {
+	private static final Logger log = LogManager.getLogger(DerivedViewsRebuild.class);
+
+	/* Below this many entries per partition, forking costs more than it saves. */
+	static final int MIN_PARTITION_SIZE = 10_000;
+
+	private final ForkJoinPool pool;
+
+	public DerivedViewsRebuild(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Rebuilds the given views from one traversal of the given map.
+	 *
+	 * @param source the name of the map, for reporting
+	 * @param map the map the views derive from
+	 * @param views the views to rebuild
+	 * @param <K> the type of key in the map
+	 * @param <V> the type of value in the map
+	 */
+	public <K, V> void rebuild(String source, Map<K, V> map, List<DerivedView<K, V, ?>> views) {
+		if (views.isEmpty()) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		List<Map.Entry<K, V>> entries = new ArrayList<>(map.entrySet());
+		long traversalNanos = System.nanoTime() - start;
+
+		int n = entries.size();
+		int numPartitions = numPartitionsFor(n);
+		List<Rebuild<K, V, ?>> rebuilds = views.stream()
+				.map(view -> rebuildOf(view, numPartitions))
+				.collect(toList());
+		if (numPartitions == 1) {
+			deriveAll(rebuilds, 0, entries);
+		} else {
+			var tasks = new ArrayList<ForkJoinTask<?>>(numPartitions);
+			for (int i = 0; i < numPartitions; i++) {
+				int partition = i;
+				int from = (int) ((long) i * n / numPartitions);
+				int to = (int) ((long) (i + 1) * n / numPartitions);
+				var slice = entries.subList(from, to);
+				tasks.add(pool.submit(() -> deriveAll(rebuilds, partition, slice)));
+			}
+			tasks.forEach(ForkJoinTask::join);
+		}
+		rebuilds.forEach(Rebuild::finish);
+
+		log.info("Traversed {} {} in {}ms, with {} partition(s)", n, source, millis(traversalNanos), numPartitions);
+		for (var rebuild : rebuilds) {
+			log.info("  - Rebuilt {} in {}ms ({}ms deriving, {}ms merging)",
+					rebuild.view.name(),
+					millis(rebuild.totalDeriveNanos() + rebuild.finishNanos),
+					millis(rebuild.totalDeriveNanos()),
+					millis(rebuild.finishNanos));
+		}
+	}
+
+	/**
+	 * Feeds the given action the items of the given runs (each already sorted by the given
+	 * comparator) in sorted order, by a k-way merge.
+	 *
+	 * @param runs the sorted runs to merge
+	 * @param cmp the order of the runs
+	 * @param action the action to feed the merged items
+	 * @param <T> the type of item in the runs
+	 */
+	public static <T> void mergeSortedRuns(List<? extends List<T>> runs, Comparator<T> cmp, Consumer<T> action) {
+		var heads = new PriorityQueue<RunHead<T>>(Math.max(1, runs.size()), (a, b) -> cmp.compare(a.item, b.item));
+		for (var run : runs) {
+			if (!run.isEmpty()) {
+				heads.add(new RunHead<>(run));
+			}
+		}
+		while (!heads.isEmpty()) {
+			var head = heads.poll();
+			action.accept(head.item);
+			if (head.advance()) {
+				heads.add(head);
+			}
+		}
+	}
+
+	int numPartitionsFor(int n) {
+		int byParallelism = pool.getParallelism();
+		int bySize = (n + MIN_PARTITION_SIZE - 1) / MIN_PARTITION_SIZE;
+		return Math.max(1, Math.min(byParallelism, bySize));
+	}
+
+	private static <K, V> void deriveAll(List<Rebuild<K, V, ?>> rebuilds, int partition, List<Map.Entry<K, V>> slice) {
+		for (var rebuild : rebuilds) {
+			rebuild.derive(partition, slice);
+		}
+	}
+
+	private static <K, V, P> Rebuild<K, V, P> rebuildOf(DerivedView<K, V, P> view, int numPartitions) {
+		return new Rebuild<>(view, numPartitions);
+	}
+
+	private static long millis(long nanos) {
+		return nanos / 1_000_000L;
+	}
+
+	private static class Rebuild<K, V, P> {
+		private final DerivedView<K, V, P> view;
+		private final List<P> partitions;
+		private final long[] deriveNanos;
+
+		private long finishNanos;
+
+		private Rebuild(DerivedView<K, V, P> view, int numPartitions) {
+			this.view = view;
+			this.deriveNanos = new long[numPartitions];
+			this.partitions = new ArrayList<>(numPartitions);
+			for (int i = 0; i < numPartitions; i++) {
+				partitions.add(view.newPartition());
+			}
+		}
+
+		private void derive(int i, List<Map.Entry<K, V>> slice) {
+			long start = System.nanoTime();
+			var partition = partitions.get(i);
+			for (var entry : slice) {
+				view.derive(entry.getKey(), entry.getValue(), partition);
+			}
+			view.seal(partition);
+			deriveNanos[i] = System.nanoTime() - start;
+		}
+
+		private void finish() {
+			long start = System.nanoTime();
+			view.rebuildFrom(partitions);
+			finishNanos = System.nanoTime() - start;
+		}
+
+		private long totalDeriveNanos() {
+			long total = 0L;
+			for (long nanos : deriveNanos) {
+				total += nanos;
+			}
+			return total;
+		}
+	}
+
+	private static class RunHead<T> {
+		private final List<T> run;
+
+		private int i = 0;
+		private T item;
+
+		private RunHead(List<T> run) {
+			this.run = run;
+			this.item = run.get(0);
+		}
+
+		private boolean advance() {
+			if (++i < run.size()) {
+				item = run.get(i);
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -29,6 +29,8 @@ import org.apache.logging.log4j.Logger;
 import java.time.Instant;
 import java.util.function.BiConsumer;
 
+import static com.grame.services.stats.HapiOpLatencies.Stage.COMMIT;
+import static com.grame.services.stats.HapiOpLatencies.Stage.RECORD_STREAMING;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 
 public class ServicesTxnManager {
@@ -74,15 +76,18 @@ public class ServicesTxnManager {
 			ctx.txnCtx().setStatus(FAIL_INVALID);
 		} finally {
 			attemptCommit(accessor, consensusTime, submittingMember, ctx);
+			ctx.sigMetaVersions().noteHandled(accessor);
 			if (createdStreamableRecord) {
-				attemptRecordStreaming();
+				attemptRecordStreaming(accessor, ctx);
 			}
 		}
 	}
 
-	private void attemptRecordStreaming() {
+	private void attemptRecordStreaming(TxnAccessor accessor, ServicesContext ctx) {
 		try {
+			long start = System.nanoTime();
 			scopedRecordStreaming.run();
+			ctx.opLatencies().record(RECORD_STREAMING, accessor.getFunction(), System.nanoTime() - start);
 		} catch (Exception streamingFailure) {
 			warning.accept(streamingFailure, "record streaming");
 		}
@@ -95,13 +100,26 @@ public class ServicesTxnManager {
 			ServicesContext ctx
 	) {
 		try {
+			long start = System.nanoTime();
 			ctx.ledger().commit();
 			createdStreamableRecord = true;
+			ctx.opLatencies().record(COMMIT, accessor.getFunction(), System.nanoTime() - start);
 		} catch (Exception commitFailure) {
 			warning.accept(commitFailure, "txn commit");
 			log.error(commitFailure);
 			attemptRollback(accessor, consensusTime, submittingMember, ctx);
 		}
+		if (createdStreamableRecord) {
+			attemptOutcomePublishing(ctx);
+		}
+	}
+
+	private void attemptOutcomePublishing(ServicesContext ctx) {
+		try {
+			ctx.recordsHistorian().lastCreatedRecord().ifPresent(ctx.outcomeSubscriptions()::publish);
+		} catch (Exception publishingFailure) {
+			warning.accept(publishingFailure, "outcome publishing");
+		}
 	}
 
 	private void attemptRollback(
@@ -111,11 +129,12 @@ public class ServicesTxnManager {
 			ServicesContext ctx
 	) {
 		try {
-			ctx.recordCache().setFailInvalid(
+			var failureRecord = ctx.recordCache().setFailInvalid(
 					ctx.txnCtx().effectivePayer(),
 					accessor,
 					consensusTime,
 					submittingMember);
+			ctx.outcomeSubscriptions().publish(failureRecord);
 		} catch (Exception recordFailure) {
 			warning.accept(recordFailure, "creating failure record");
 		}
@@ -0,0 +1,156 @@
+package com.grame.services.state.merkle;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.swirlds.common.FCMKey;
+import com.swirlds.common.io.SerializableDataInputStream;
+import com.swirlds.common.io.SerializableDataOutputStream;
+import com.swirlds.common.merkle.utility.AbstractMerkleLeaf;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.io.IOException;
+
+/**
+ * Identifies one storage slot of a contract; or, with an empty slot key, the entry that
+ * counts the slots of the contract.
+ */
+public class MerkleContractStorageKey extends AbstractMerkleLeaf implements FCMKey {
+	static final int MERKLE_VERSION = 1;
+	static final long RUNTIME_CONSTRUCTABLE_ID = 0x3c2a6f1d8e9b7405L;
+
+	static final int MAX_SLOT_BYTES = 32;
+	static final byte[] NO_SLOT = new byte[0];
+
+	private long shard;
+	private long realm;
+	private long num;
+	private byte[] slot = NO_SLOT;
+
+	public MerkleContractStorageKey() {
+	}
+
+	public MerkleContractStorageKey(long shard, long realm, long num, byte[] slot) {
+		this.shard = shard;
+		this.realm = realm;
+		this.num = num;
+		this.slot = slot;
+	}
+
+	public static MerkleContractStorageKey slotCountOf(long shard, long realm, long num) {
+		return new MerkleContractStorageKey(shard, realm, num, NO_SLOT);
+	}
+
+	/* --- MerkleLeaf --- */
+	@Override
+	public long getClassId() {
+		return RUNTIME_CONSTRUCTABLE_ID;
+	}
+
+	@Override
+	public int getVersion() {
+		return MERKLE_VERSION;
+	}
+
+	@Override
+	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
+		shard = in.readLong();
+		realm = in.readLong();
+		num = in.readLong();
+		slot = in.readByteArray(MAX_SLOT_BYTES);
+	}
+
+	@Override
+	public void serialize(SerializableDataOutputStream out) throws IOException {
+		out.writeLong(shard);
+		out.writeLong(realm);
+		out.writeLong(num);
+		out.writeByteArray(slot);
+	}
+
+	/* --- Object --- */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || MerkleContractStorageKey.class != o.getClass()) {
+			return false;
+		}
+
+		var that = (MerkleContractStorageKey) o;
+		return new EqualsBuilder()
+				.append(shard, that.shard)
+				.append(realm, that.realm)
+				.append(num, that.num)
+				.append(slot, that.slot)
+				.isEquals();
+	}
+
+	@Override
+	public int hashCode() {
+		return new HashCodeBuilder(17, 37)
+				.append(shard)
+				.append(realm)
+				.append(num)
+				.append(slot)
+				.toHashCode();
+	}
+
+	/* --- FastCopyable --- */
+	@Override
+	public MerkleContractStorageKey copy() {
+		return new MerkleContractStorageKey(shard, realm, num, slot);
+	}
+
+	/* --- Bean --- */
+	public long getShard() {
+		return shard;
+	}
+
+	public long getRealm() {
+		return realm;
+	}
+
+	public long getNum() {
+		return num;
+	}
+
+	public byte[] getSlot() {
+		return slot;
+	}
+
+	public boolean isSlotCount() {
+		return slot.length == 0;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("shard", shard)
+				.add("realm", realm)
+				.add("num", num)
+				.add("slot", Hex.encodeHexString(slot))
+				.toString();
+	}
+}
@@ -0,0 +1,109 @@
+package com.grame.services.state.merkle;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.base.MoreObjects;
+import com.swirlds.common.FCMValue;
+import com.swirlds.common.io.SerializableDataInputStream;
+import com.swirlds.common.io.SerializableDataOutputStream;
+import com.swirlds.common.merkle.utility.AbstractMerkleLeaf;
+import org.apache.commons.codec.binary.Hex;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The 32-byte value of a contract storage slot; or, for the entry with an empty slot key,
+ * the number of slots of the contract.
+ */
+public class MerkleContractStorageValue extends AbstractMerkleLeaf implements FCMValue {
+	static final int MERKLE_VERSION = 1;
+	static final long RUNTIME_CONSTRUCTABLE_ID = 0x5b71e03a94cd2f68L;
+
+	static final int MAX_DATA_BYTES = 32;
+
+	private byte[] data;
+
+	public MerkleContractStorageValue() {
+	}
+
+	public MerkleContractStorageValue(byte[] data) {
+		this.data = data;
+	}
+
+	/* --- MerkleLeaf --- */
+	@Override
+	public long getClassId() {
+		return RUNTIME_CONSTRUCTABLE_ID;
+	}
+
+	@Override
+	public int getVersion() {
+		return MERKLE_VERSION;
+	}
+
+	@Override
+	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
+		data = in.readByteArray(MAX_DATA_BYTES);
+	}
+
+	@Override
+	public void serialize(SerializableDataOutputStream out) throws IOException {
+		out.writeByteArray(data);
+	}
+
+	/* --- Object --- */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || MerkleContractStorageValue.class != o.getClass()) {
+			return false;
+		}
+
+		var that = (MerkleContractStorageValue) o;
+		return Arrays.equals(data, that.data);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(data);
+	}
+
+	/* --- FastCopyable --- */
+	@Override
+	public MerkleContractStorageValue copy() {
+		return new MerkleContractStorageValue(data);
+	}
+
+	/* --- Bean --- */
+	public byte[] getData() {
+		return data;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+				.add("data", Hex.encodeHexString(data))
+				.toString();
+	}
+}
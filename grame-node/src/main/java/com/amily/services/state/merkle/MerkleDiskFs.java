@@ -21,6 +21,8 @@ package com.grame.services.state.merkle;
  */
 
 import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.gramegrame.api.proto.java.FileID;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.io.SerializableDataInputStream;
@@ -35,12 +37,18 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,11 +57,19 @@ import static com.grame.services.ledger.grameLedger.FILE_ID_COMPARATOR;
 import static com.grame.services.legacy.proto.utils.CommonUtils.noThrowSha384HashOf;
 import static com.grame.services.utils.EntityIdUtils.asLiteralString;
 import static com.swirlds.common.CommonUtils.hex;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
 
 /**
  * Save some special system files on the local file system instead of database to improve access efficiency.
  *
- * All that is kept in memory is a map from {@code FileID} to the SHA-384 hash of the current contents.
+ * All that is kept in memory is a map from {@code FileID} to the SHA-384 hash of the current contents,
+ * plus a small cache (shared by all copies of this leaf) from those hashes to read-only, memory-mapped
+ * views of the verified contents. Since new contents are written to a temporary file and then atomically
+ * moved into place, an existing mapping always keeps seeing the contents it was verified against; so
+ * repeated reads of even very large files cost neither disk I/O nor re-hashing, and need no lock.
  */
 public class MerkleDiskFs extends AbstractMerkleLeaf implements MerkleExternalLeaf {
 	static Logger log = LogManager.getLogger(MerkleDiskFs.class);
@@ -66,13 +82,15 @@ public class MerkleDiskFs extends AbstractMerkleLeaf implements MerkleExternalLe
 	static final int HASH_BYTES = 48;
 	static final int MAX_FILE_BYTES = 1_024 * 1_024 * 1_024;
 	static final int MERKLE_VERSION = 1;
+	static final int MAX_CACHED_CONTENTS = 32;
 
-	static ThrowingBytesWriter writeHelper = (p, c) -> FileUtils.writeByteArrayToFile(p.toFile(), c);
-	static ThrowingBytesGetter bytesHelper = p -> FileUtils.readFileToByteArray(p.toFile());
+	static ThrowingBytesWriter writeHelper = MerkleDiskFs::replaceAtomically;
+	static ThrowingBufferGetter bufferHelper = MerkleDiskFs::mapReadOnly;
 
 	private String fsBaseDir = UNKNOWN_PATH_SEGMENT;
 	private String fsNodeScopedDir = UNKNOWN_PATH_SEGMENT;
-	private Map<FileID, byte[]> fileHashes = new HashMap<>();
+	private Map<FileID, byte[]> fileHashes = new ConcurrentHashMap<>();
+	private Cache<String, ByteBuffer> contentsCache = newContentsCache();
 
 	/* --- RuntimeConstructable --- */
 	public MerkleDiskFs() {
@@ -87,16 +105,15 @@ public class MerkleDiskFs extends AbstractMerkleLeaf implements MerkleExternalLe
 
 	public MerkleDiskFs(Map<FileID, byte[]> fileHashes, String fsBaseDir, String fsNodeScopedDir) {
 		this.fsBaseDir = fsBaseDir;
-		this.fileHashes = fileHashes;
+		this.fileHashes = new ConcurrentHashMap<>(fileHashes);
 		this.fsNodeScopedDir = fsNodeScopedDir;
 		setHashFromContents();
 	}
 
 	public MerkleDiskFs copy() {
-		Map<FileID, byte[]> fileHashesCopy = fileHashes.entrySet()
-				.stream()
-				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, HashMap::new));
-		return new MerkleDiskFs(fileHashesCopy, fsBaseDir, fsNodeScopedDir);
+		var fsCopy = new MerkleDiskFs(fileHashes, fsBaseDir, fsNodeScopedDir);
+		fsCopy.contentsCache = contentsCache;
+		return fsCopy;
 	}
 
 	public void setFsBaseDir(String fsBaseDir) {
@@ -122,20 +139,50 @@ public class MerkleDiskFs extends AbstractMerkleLeaf implements MerkleExternalLe
 	}
 
 	public byte[] diskContentHash(FileID fid) {
-		return noThrowSha384HashOf(contentsOf(fid));
+		/* Never from the cache, since this must catch contents changed on disk since they were cached. */
+		ByteBuffer contents;
+		try {
+			contents = bufferHelper.bufferFrom(pathToContentsOf(fid)).asReadOnlyBuffer();
+		} catch (IOException e) {
+			logUnreadable(fid, e);
+			contents = ByteBuffer.wrap(MISSING_CONTENT);
+		}
+		return sha384HashOf(contents);
 	}
 
-	public synchronized byte[] contentsOf(FileID fid) {
+	public byte[] contentsOf(FileID fid) {
+		var contents = contentsBufferOf(fid);
+		if (!contents.hasRemaining()) {
+			return MISSING_CONTENT;
+		}
+		var copy = new byte[contents.remaining()];
+		contents.get(copy);
+		return copy;
+	}
+
+	/**
+	 * Returns a read-only view of the contents of the given file, which (unlike
+	 * {@link MerkleDiskFs#contentsOf(FileID)}) does not copy the contents onto the heap.
+	 *
+	 * @param fid
+	 * 		the file of interest
+	 * @return a read-only buffer with its contents, or an empty buffer if they are unreadable
+	 */
+	public ByteBuffer contentsBufferOf(FileID fid) {
 		try {
-			return bytesHelper.allBytesFrom(pathToContentsOf(fid));
+			return verifiedContentsOf(fid);
 		} catch (IOException e) {
-			if(log.isDebugEnabled()) {
-				log.warn("Not able to read '{}' @ {}!", asLiteralString(fid), pathToContentsOf(fid), e);
-			}
-			else {
-				log.warn("Not able to read '{}' @ {}!", asLiteralString(fid), pathToContentsOf(fid));
-			}
-			return MISSING_CONTENT;
+			logUnreadable(fid, e);
+			return ByteBuffer.wrap(MISSING_CONTENT);
+		}
+	}
+
+	private void logUnreadable(FileID fid, IOException e) {
+		if(log.isDebugEnabled()) {
+			log.warn("Not able to read '{}' @ {}!", asLiteralString(fid), pathToContentsOf(fid), e);
+		}
+		else {
+			log.warn("Not able to read '{}' @ {}!", asLiteralString(fid), pathToContentsOf(fid));
 		}
 	}
 
@@ -159,6 +206,24 @@ public class MerkleDiskFs extends AbstractMerkleLeaf implements MerkleExternalLe
 		return fileHashes.containsKey(fileID);
 	}
 
+	private ByteBuffer verifiedContentsOf(FileID fid) throws IOException {
+		var expectedHash = fileHashes.get(fid);
+		if (expectedHash == null) {
+			return bufferHelper.bufferFrom(pathToContentsOf(fid)).asReadOnlyBuffer();
+		}
+
+		var key = hex(expectedHash);
+		var cached = contentsCache.getIfPresent(key);
+		if (cached != null) {
+			return cached.duplicate();
+		}
+		var contents = bufferHelper.bufferFrom(pathToContentsOf(fid)).asReadOnlyBuffer();
+		if (Arrays.equals(expectedHash, sha384HashOf(contents.duplicate()))) {
+			contentsCache.put(key, contents);
+		}
+		return contents.duplicate();
+	}
+
 	/* --- MerkleExternalLeaf --- */
 	@Override
 	public void serializeAbbreviated(SerializableDataOutputStream out) throws IOException {
@@ -231,13 +296,23 @@ try {
 	@Override
 	public void serialize(SerializableDataOutputStream out) throws IOException {
 		out.writeInt(fileHashes.size());
-		serializeFidInfo(out, fid -> {
+		var channel = Channels.newChannel(out);
+		for (var fid : (Iterable<FileID>) orderedFids()::iterator) {
+			ByteBuffer contents;
 			try {
-				return bytesHelper.allBytesFrom(pathToContentsOf(fid));
+				contents = verifiedContentsOf(fid);
 			} catch (IOException e) {
 				throw new UncheckedIOException(e);
 			}
-		});
+			out.writeLong(fid.getShardNum());
+			out.writeLong(fid.getRealmNum());
+			out.writeLong(fid.getFileNum());
+			/* Same format as writeByteArray(), but streamed from the (possibly mapped) buffer. */
+			out.writeInt(contents.remaining());
+			while (contents.hasRemaining()) {
+				channel.write(contents);
+			}
+		}
 	}
 
 	/* --- MerkleNode --- */
@@ -332,9 +407,35 @@ try {
 		return fileHashes.keySet().stream().sorted(FILE_ID_COMPARATOR);
 	}
 
+	private static Cache<String, ByteBuffer> newContentsCache() {
+		return CacheBuilder.newBuilder().maximumSize(MAX_CACHED_CONTENTS).build();
+	}
+
+	static byte[] sha384HashOf(ByteBuffer contents) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-384");
+			digest.update(contents);
+			return digest.digest();
+		} catch (NoSuchAlgorithmException fatal) {
+			throw new IllegalStateException(fatal);
+		}
+	}
+
+	static ByteBuffer mapReadOnly(Path loc) throws IOException {
+		try (var channel = FileChannel.open(loc, READ)) {
+			return channel.map(READ_ONLY, 0, channel.size());
+		}
+	}
+
+	static void replaceAtomically(Path loc, byte[] contents) throws IOException {
+		var tmpLoc = loc.resolveSibling(loc.getFileName() + ".tmp");
+		FileUtils.writeByteArrayToFile(tmpLoc.toFile(), contents);
+		Files.move(tmpLoc, loc, REPLACE_EXISTING, ATOMIC_MOVE);
+	}
+
 	@FunctionalInterface
-	interface ThrowingBytesGetter {
-		byte[] allBytesFrom(Path loc) throws IOException;
+	interface ThrowingBufferGetter {
+		ByteBuffer bufferFrom(Path loc) throws IOException;
 	}
 
 	@FunctionalInterface
@@ -23,7 +23,7 @@ package com.grame.services.state.merkle;
 import com.google.common.base.MoreObjects;
 import com.grame.services.legacy.core.jproto.JKey;
 import com.grame.services.legacy.core.jproto.JKeyList;
-import com.grame.services.legacy.proto.utils.CommonUtils;
+import com.grame.services.state.merkle.internals.TopicRunningHasher;
 import com.grame.services.state.serdes.DomainSerdes;
 import com.grame.services.state.serdes.TopicSerde;
 import com.grame.services.state.submerkle.EntityId;
@@ -40,9 +40,7 @@ import org.apache.logging.log4j.Logger;
 import org.spongycastle.util.encoders.Hex;
 
 import javax.annotation.Nullable;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -80,6 +78,9 @@ public final class MerkleTopic extends AbstractMerkleLeaf implements FCMValue {
 	static final int MERKLE_VERSION = 1;
 	static final long RUNTIME_CONSTRUCTABLE_ID = 0xcfc535576b57baf0L;
 
+	private static final ThreadLocal<TopicRunningHasher> RUNNING_HASHERS =
+			ThreadLocal.withInitial(TopicRunningHasher::new);
+
 	static TopicSerde topicSerde = new TopicSerde();
 	static DomainSerdes serdes = new DomainSerdes();
 
@@ -267,24 +268,16 @@ try {
 			consensusTimestamp = Instant.ofEpochSecond(0);
 		}
 
-		var boas = new ByteArrayOutputStream();
-		try (var out = new ObjectOutputStream(boas)) {
-			out.writeObject(getRunningHash());
-			out.writeLong(RUNNING_HASH_VERSION);
-			out.writeLong(payer.getShardNum());
-			out.writeLong(payer.getRealmNum());
-			out.writeLong(payer.getAccountNum());
-			out.writeLong(topicId.getShardNum());
-			out.writeLong(topicId.getRealmNum());
-			out.writeLong(topicId.getTopicNum());
-			out.writeLong(consensusTimestamp.getEpochSecond());
-			out.writeInt(consensusTimestamp.getNano());
-			++sequenceNumber;
-			out.writeLong(sequenceNumber);
-			out.writeObject(CommonUtils.noThrowSha384HashOf(message));
-			out.flush();
-			runningHash = CommonUtils.noThrowSha384HashOf(boas.toByteArray());
-		}
+		var nextSequenceNumber = sequenceNumber + 1;
+		var nextRunningHash = RUNNING_HASHERS.get().nextRunningHash(
+				getRunningHash(),
+				payer,
+				topicId,
+				consensusTimestamp,
+				nextSequenceNumber,
+				message);
+		sequenceNumber = nextSequenceNumber;
+		runningHash = nextRunningHash;
 	}
 
 	public static class KeySerializationException extends RuntimeException {
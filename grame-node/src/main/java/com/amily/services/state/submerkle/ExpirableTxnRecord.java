@@ -37,13 +37,13 @@ import org.bouncycastle.util.encoders.Hex;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.IntStream;
 
 import static com.grame.services.state.submerkle.EntityId.ofNullableScheduleId;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toList;
 
 public class ExpirableTxnRecord implements FCQueueElement<ExpirableTxnRecord> {
 	public static final long UNKNOWN_SUBMITTING_MEMBER = -1;
@@ -85,6 +85,9 @@ public class ExpirableTxnRecord implements FCQueueElement<ExpirableTxnRecord> {
 	private List<CurrencyAdjustments> tokenAdjustments = NO_TOKEN_ADJUSTMENTS;
 	private EntityId scheduleRef = NO_SCHEDULE_REF;
 
+	/* Node-local memo of the gRPC form, which record queries would otherwise rebuild for every answer. */
+	private volatile TransactionRecord grpc;
+
 	@Override
 	public void release() {
 		/* No-op */
@@ -409,13 +412,30 @@ try {
 				record.hasScheduleRef() ? ofNullableScheduleId(record.getScheduleRef()) : null);
 	}
 
-	public static List<TransactionRecord> allToGrpc(List<ExpirableTxnRecord> records) {
-		return records.stream()
-				.map(ExpirableTxnRecord::asGrpc)
-				.collect(toList());
+	public static List<TransactionRecord> allToGrpc(Collection<ExpirableTxnRecord> records) {
+		List<TransactionRecord> grpc = new ArrayList<>(records.size());
+		for (ExpirableTxnRecord record : records) {
+			grpc.add(record.asGrpc());
+		}
+		return grpc;
 	}
 
+	/**
+	 * Returns the gRPC form of this record. Since the record is immutable once
+	 * created or deserialized, the result is built only once, and then shared by
+	 * every query that answers with this record.
+	 *
+	 * @return the gRPC form of the record
+	 */
 	public TransactionRecord asGrpc() {
+		var memo = grpc;
+		if (memo == null) {
+			memo = grpc = buildGrpc();
+		}
+		return memo;
+	}
+
+	private TransactionRecord buildGrpc() {
 		var grpc = TransactionRecord.newBuilder();
 
 		grpc.setTransactionFee(fee);
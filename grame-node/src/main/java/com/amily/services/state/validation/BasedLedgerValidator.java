@@ -22,26 +22,53 @@ package com.grame.services.state.validation;
 
 import com.grame.services.config.grameNumbers;
 import com.grame.services.context.properties.GlobalDynamicProperties;
+import com.grame.services.context.properties.NodeLocalProperties;
 import com.grame.services.context.properties.PropertySource;
+import com.grame.services.ledger.RunningBalanceTotals;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.swirlds.fcmap.FCMap;
 
+import java.time.Instant;
+
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.EMPTY;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.SEEDED;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.UNWATCHED;
+
+/**
+ * Validates the accounts in state. Unless a full scan is explicitly enabled, the
+ * total float is confirmed from the {@link RunningBalanceTotals} maintained by the
+ * ledger; and the balances in state are instead verified by a sampled spot-check of
+ * one segment of account numbers per period; starting over from the first segment
+ * after reaching a segment with no accounts.
+ *
+ * The thread handling consensus transactions only schedules each spot-check, in
+ * constant time; the segment is then checked against signed states, off that thread.
+ */
 public class BasedLedgerValidator implements LedgerValidator {
 	private final long expectedFloat;
 
 	private final grameNumbers grameNums;
+	private final NodeLocalProperties nodeLocalProperties;
+	private final RunningBalanceTotals balanceTotals;
 	private final GlobalDynamicProperties dynamicProperties;
 
+	volatile long nextSegment = 0;
+	long nextSpotCheckSecs = Long.MIN_VALUE;
+
 	public BasedLedgerValidator(
 			grameNumbers grameNums,
 			PropertySource properties,
-			GlobalDynamicProperties dynamicProperties
+			GlobalDynamicProperties dynamicProperties,
+			NodeLocalProperties nodeLocalProperties,
+			RunningBalanceTotals balanceTotals
 	) {
 		this.expectedFloat = properties.getLongProperty("ledger.totalTinyBarFloat");
 
 		this.grameNums = grameNums;
+		this.balanceTotals = balanceTotals;
 		this.dynamicProperties = dynamicProperties;
+		this.nodeLocalProperties = nodeLocalProperties;
 	}
 
 	@Override
@@ -61,6 +88,35 @@ public class BasedLedgerValidator implements LedgerValidator {
 
 	@Override
 	public boolean hasExpectedTotalBalance(FCMap<MerkleEntityId, MerkleAccount> accounts) {
-		return expectedFloat == accounts.values().stream().mapToLong(MerkleAccount::getBalance).sum();
+		if (nodeLocalProperties.fullFloatScanEnabled()) {
+			return expectedFloat == accounts.values().stream().mapToLong(MerkleAccount::getBalance).sum();
+		}
+		return balanceTotals.hasExpectedFloat();
+	}
+
+	@Override
+	public void scheduleSpotCheckAt(Instant consensusTime) {
+		int periodSecs = nodeLocalProperties.floatSpotCheckPeriodSecs();
+		long now = consensusTime.getEpochSecond();
+		if (periodSecs <= 0 || now < nextSpotCheckSecs) {
+			return;
+		}
+		if (balanceTotals.watch(nextSegment, consensusTime)) {
+			nextSpotCheckSecs = now + periodSecs;
+		}
+	}
+
+	@Override
+	public void spotCheckBalancesIn(FCMap<MerkleEntityId, MerkleAccount> signedAccounts, Instant signedAt) {
+		var outcome = balanceTotals.spotCheck(signedAccounts, signedAt, grameNums.shard(), grameNums.realm());
+		if (outcome == UNWATCHED || outcome == SEEDED) {
+			return;
+		}
+		long nextSegmentStart = (nextSegment + 1) * balanceTotals.getNumsPerSegment();
+		if (outcome == EMPTY || nextSegmentStart > dynamicProperties.maxAccountNum()) {
+			nextSegment = 0;
+		} else {
+			nextSegment++;
+		}
 	}
 }
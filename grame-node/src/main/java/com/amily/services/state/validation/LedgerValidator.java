@@ -24,7 +24,11 @@ import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.swirlds.fcmap.FCMap;
 
+import java.time.Instant;
+
 public interface LedgerValidator {
 	void assertIdsAreValid(FCMap<MerkleEntityId, MerkleAccount> accounts);
 	boolean hasExpectedTotalBalance(FCMap<MerkleEntityId, MerkleAccount> accounts);
+	void scheduleSpotCheckAt(Instant consensusTime);
+	void spotCheckBalancesIn(FCMap<MerkleEntityId, MerkleAccount> signedAccounts, Instant signedAt);
 }
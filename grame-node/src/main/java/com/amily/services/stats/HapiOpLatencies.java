@@ -0,0 +1,204 @@
+package com.grame.services.stats;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.gramegrame.api.proto.java.grameFunctionality;
+import com.swirlds.common.Platform;
+
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import static com.grame.services.stats.ServicesStatsConfig.IGNORED_FUNCTIONS;
+import static com.grame.services.stats.ServicesStatsConfig.LATENCY_P50_DESC_TPL;
+import static com.grame.services.stats.ServicesStatsConfig.LATENCY_P50_NAME_TPL;
+import static com.grame.services.stats.ServicesStatsConfig.LATENCY_P99_DESC_TPL;
+import static com.grame.services.stats.ServicesStatsConfig.LATENCY_P99_NAME_TPL;
+
+/**
+ * Keeps a {@link LatencyHistogram} for each stage a transaction passes through on its way
+ * from submission to the record stream, per {@link grameFunctionality}. The histogram for
+ * a functionality is only created the first time that functionality reaches a stage.
+ *
+ * The merged median and 99th percentile of each stage are registered as platform stats;
+ * the per-functionality detail is available in a text format via {@link HapiOpLatencies#asText()}.
+ *
+ * The histograms themselves only ever accumulate; but every reported percentile covers just
+ * the values recorded in the latest interval. For the platform stats, this is the interval
+ * between the last two calls to {@link HapiOpLatencies#rotateStats()}; for the text format,
+ * the interval since the previous call to {@link HapiOpLatencies#asText()}.
+ */
+public class HapiOpLatencies {
+	static final String TEXT_METRIC_NAME = "hapi_latency_micros";
+
+	public enum Stage {
+		RECEIPT("receipt"),
+		SUBMISSION("submission"),
+		CONSENSUS("consensus"),
+		SIG_RATIONALIZATION("sigRationalization"),
+		FEE_COMPUTATION("feeComputation"),
+		TRANSITION("transition"),
+		COMMIT("commit"),
+		RECORD_STREAMING("recordStreaming");
+
+		private final String statName;
+
+		Stage(String statName) {
+			this.statName = statName;
+		}
+
+		public String statName() {
+			return statName;
+		}
+	}
+
+	private final CounterFactory counter;
+	private final Function<grameFunctionality, String> statNameFn;
+	private final grameFunctionality[] functions;
+
+	EnumMap<Stage, AtomicReferenceArray<LatencyHistogram>> histograms = new EnumMap<>(Stage.class);
+
+	/* The merged counts of each stage as of the last rotation, and those recorded in the interval before it. */
+	private final EnumMap<Stage, long[]> mergedAtRotation = new EnumMap<>(Stage.class);
+	private final EnumMap<Stage, long[]> mergedInInterval = new EnumMap<>(Stage.class);
+	/* The counts of each histogram as of the last text rendering. */
+	private final EnumMap<Stage, long[][]> countsAtLastScrape = new EnumMap<>(Stage.class);
+
+	public HapiOpLatencies(CounterFactory counter, Function<grameFunctionality, String> statNameFn) {
+		this.counter = counter;
+		this.statNameFn = statNameFn;
+
+		functions = grameFunctionality.values();
+		for (var stage : Stage.values()) {
+			histograms.put(stage, new AtomicReferenceArray<>(functions.length));
+			mergedAtRotation.put(stage, LatencyHistogram.newCounts());
+			mergedInInterval.put(stage, LatencyHistogram.newCounts());
+			countsAtLastScrape.put(stage, new long[functions.length][]);
+		}
+	}
+
+	public void registerWith(Platform platform) {
+		for (var stage : Stage.values()) {
+			platform.addAppStatEntry(counter.from(
+					String.format(LATENCY_P50_NAME_TPL, stage.statName()),
+					String.format(LATENCY_P50_DESC_TPL, stage.statName()),
+					() -> mergedMicrosAt(stage, 50.0)));
+			platform.addAppStatEntry(counter.from(
+					String.format(LATENCY_P99_NAME_TPL, stage.statName()),
+					String.format(LATENCY_P99_DESC_TPL, stage.statName()),
+					() -> mergedMicrosAt(stage, 99.0)));
+		}
+	}
+
+	public void record(Stage stage, grameFunctionality function, long nanos) {
+		if (function == null || IGNORED_FUNCTIONS.contains(function)) {
+			return;
+		}
+		var stageHistograms = histograms.get(stage);
+		int i = function.ordinal();
+		var histogram = stageHistograms.get(i);
+		if (histogram == null) {
+			stageHistograms.compareAndSet(i, null, new LatencyHistogram());
+			histogram = stageHistograms.get(i);
+		}
+		histogram.record(nanos);
+	}
+
+	/**
+	 * Starts a new interval for the platform stats; which then report the percentiles of
+	 * the values recorded since the previous call.
+	 */
+	public synchronized void rotateStats() {
+		for (var stage : Stage.values()) {
+			var merged = LatencyHistogram.newCounts();
+			var stageHistograms = histograms.get(stage);
+			for (int i = 0, n = stageHistograms.length(); i < n; i++) {
+				var histogram = stageHistograms.get(i);
+				if (histogram != null) {
+					histogram.addCountsTo(merged);
+				}
+			}
+			var atRotation = mergedAtRotation.get(stage);
+			var inInterval = mergedInInterval.get(stage);
+			for (int i = 0; i < merged.length; i++) {
+				inInterval[i] = merged[i] - atRotation[i];
+			}
+			mergedAtRotation.put(stage, merged);
+		}
+	}
+
+	synchronized long mergedMicrosAt(Stage stage, double percentile) {
+		var counts = mergedInInterval.get(stage);
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		return LatencyHistogram.valueAtPercentile(counts, total, percentile) / 1_000L;
+	}
+
+	/**
+	 * Renders the median and 99th percentile latency of every stage and functionality with at
+	 * least one recorded value, in the Prometheus text exposition format. The quantiles cover
+	 * only the values recorded since the previous rendering; the sum and count are cumulative.
+	 *
+	 * @return the latencies as text
+	 */
+	public synchronized String asText() {
+		var sb = new StringBuilder();
+		sb.append("# TYPE ").append(TEXT_METRIC_NAME).append(" summary\n");
+		for (var stage : Stage.values()) {
+			var stageHistograms = histograms.get(stage);
+			var lastScraped = countsAtLastScrape.get(stage);
+			for (int i = 0, n = stageHistograms.length(); i < n; i++) {
+				var histogram = stageHistograms.get(i);
+				if (histogram == null) {
+					continue;
+				}
+				var counts = LatencyHistogram.newCounts();
+				long total = histogram.addCountsTo(counts);
+				var inInterval = counts.clone();
+				long totalInInterval = total;
+				if (lastScraped[i] != null) {
+					for (int j = 0; j < inInterval.length; j++) {
+						inInterval[j] -= lastScraped[i][j];
+						totalInInterval -= lastScraped[i][j];
+					}
+				}
+				lastScraped[i] = counts;
+
+				var labels = String.format("stage=\"%s\",function=\"%s\"", stage.statName(), statNameFn.apply(functions[i]));
+				appendQuantile(sb, labels, "0.5", LatencyHistogram.valueAtPercentile(inInterval, totalInInterval, 50.0));
+				appendQuantile(sb, labels, "0.99", LatencyHistogram.valueAtPercentile(inInterval, totalInInterval, 99.0));
+				sb.append(TEXT_METRIC_NAME).append("_sum{").append(labels).append("} ")
+						.append(histogram.totalNanos() / 1_000L).append('\n');
+				sb.append(TEXT_METRIC_NAME).append("_count{").append(labels).append("} ")
+						.append(total).append('\n');
+			}
+		}
+		return sb.toString();
+	}
+
+	private void appendQuantile(StringBuilder sb, String labels, String quantile, long nanos) {
+		sb.append(TEXT_METRIC_NAME).append('{').append(labels)
+				.append(",quantile=\"").append(quantile).append("\"} ")
+				.append(nanos / 1_000L).append('\n');
+	}
+}
@@ -0,0 +1,121 @@
+package com.grame.services.stats;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, with log-linear buckets in the
+ * style of an HDR histogram. Each power-of-two range of values is split into
+ * {@link LatencyHistogram#SUB_BUCKETS} equal-width buckets. Any recorded value is then
+ * reported to within about 6% of its true value, with a fixed footprint of a few KB.
+ *
+ * Recording a value costs two atomic increments and no allocation. So many threads
+ * can record into the same histogram concurrently without contending on a lock.
+ */
+public class LatencyHistogram {
+	static final int SUB_BUCKET_BITS = 4;
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	static final int NUM_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLong totalNanos = new AtomicLong();
+	private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		counts.incrementAndGet(indexOf(nanos));
+		totalNanos.addAndGet(nanos);
+	}
+
+	public long totalNanos() {
+		return totalNanos.get();
+	}
+
+	/**
+	 * Adds a snapshot of this histogram's bucket counts to the given array, which must have
+	 * length {@link LatencyHistogram#NUM_BUCKETS}.
+	 *
+	 * @param into the bucket counts to add to
+	 * @return the number of values added
+	 */
+	public long addCountsTo(long[] into) {
+		long n = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			long count = counts.get(i);
+			into[i] += count;
+			n += count;
+		}
+		return n;
+	}
+
+	public static long[] newCounts() {
+		return new long[NUM_BUCKETS];
+	}
+
+	/**
+	 * Returns the highest value equivalent to the given percentile of the values
+	 * counted in the given buckets; or zero if there are no values.
+	 *
+	 * @param counts the bucket counts
+	 * @param total the sum of the bucket counts
+	 * @param percentile the percentile in the range [0, 100]
+	 * @return the value at the percentile
+	 */
+	public static long valueAtPercentile(long[] counts, long total, double percentile) {
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+		long seen = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return highestEquivalent(i);
+			}
+		}
+		return highestEquivalent(NUM_BUCKETS - 1);
+	}
+
+	static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+		return (shift + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	static long lowestEquivalent(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		long subBucket = index % SUB_BUCKETS;
+		return (SUB_BUCKETS + subBucket) << shift;
+	}
+
+	static long highestEquivalent(int index) {
+		return (index == NUM_BUCKETS - 1) ? Long.MAX_VALUE : lowestEquivalent(index + 1) - 1;
+	}
+}
@@ -30,6 +30,12 @@ public class MiscRunningAvgs {
 	StatsRunningAverage accountRetryWaitMs;
 	StatsRunningAverage accountLookupRetries;
 	StatsRunningAverage handledSubmitMessageSize;
+	StatsRunningAverage accountsCopiedPerTxn;
+	StatsRunningAverage accountsMutatedPerTxn;
+	StatsRunningAverage recentTxnIdHistories;
+	StatsRunningAverage recentTxnIdHistoriesKb;
+	StatsRunningAverage bytecodeCacheHitRatio;
+	StatsRunningAverage bytecodeCacheEvictions;
 
 	StatsRunningAverage writeQueueSizeRecordStream;
 	StatsRunningAverage hashQueueSizeRecordStream;
@@ -42,6 +48,12 @@ public class MiscRunningAvgs {
 		accountRetryWaitMs = new StatsRunningAverage(halfLife);
 		accountLookupRetries = new StatsRunningAverage(halfLife);
 		handledSubmitMessageSize = new StatsRunningAverage(halfLife);
+		accountsCopiedPerTxn = new StatsRunningAverage(halfLife);
+		accountsMutatedPerTxn = new StatsRunningAverage(halfLife);
+		recentTxnIdHistories = new StatsRunningAverage(halfLife);
+		recentTxnIdHistoriesKb = new StatsRunningAverage(halfLife);
+		bytecodeCacheHitRatio = new StatsRunningAverage(halfLife);
+		bytecodeCacheEvictions = new StatsRunningAverage(halfLife);
 
 		writeQueueSizeRecordStream = new StatsRunningAverage(halfLife);
 		hashQueueSizeRecordStream = new StatsRunningAverage(halfLife);
@@ -63,6 +75,36 @@ public class MiscRunningAvgs {
 						Names.HANDLED_SUBMIT_MESSAGE_SIZE,
 						Descriptions.HANDLED_SUBMIT_MESSAGE_SIZE,
 						handledSubmitMessageSize));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.ACCOUNTS_COPIED_PER_TXN,
+						Descriptions.ACCOUNTS_COPIED_PER_TXN,
+						accountsCopiedPerTxn));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.ACCOUNTS_MUTATED_PER_TXN,
+						Descriptions.ACCOUNTS_MUTATED_PER_TXN,
+						accountsMutatedPerTxn));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.RECENT_TXN_ID_HISTORIES,
+						Descriptions.RECENT_TXN_ID_HISTORIES,
+						recentTxnIdHistories));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.RECENT_TXN_ID_HISTORIES_KB,
+						Descriptions.RECENT_TXN_ID_HISTORIES_KB,
+						recentTxnIdHistoriesKb));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BYTECODE_CACHE_HIT_RATIO,
+						Descriptions.BYTECODE_CACHE_HIT_RATIO,
+						bytecodeCacheHitRatio));
+		platform.addAppStatEntry(
+				runningAvg.from(
+						Names.BYTECODE_CACHE_EVICTIONS,
+						Descriptions.BYTECODE_CACHE_EVICTIONS,
+						bytecodeCacheEvictions));
 		platform.addAppStatEntry(
 				runningAvg.from(
 						Names.WRITE_QUEUE_SIZE_RECORD_STREAM,
@@ -89,6 +131,24 @@ public class MiscRunningAvgs {
 		handledSubmitMessageSize.recordValue(bytes);
 	}
 
+	public void recordAccountsCopiedPerTxn(int num) {
+		accountsCopiedPerTxn.recordValue(num);
+	}
+
+	public void recordAccountsMutatedPerTxn(int num) {
+		accountsMutatedPerTxn.recordValue(num);
+	}
+
+	public void recordRecentTxnIdHistories(int num, long estimatedBytes) {
+		recentTxnIdHistories.recordValue(num);
+		recentTxnIdHistoriesKb.recordValue(estimatedBytes / 1024.0);
+	}
+
+	public void recordBytecodeCacheLookup(boolean hit, int evictionsSinceLastLookup) {
+		bytecodeCacheHitRatio.recordValue(hit ? 1.0 : 0.0);
+		bytecodeCacheEvictions.recordValue(evictionsSinceLastLookup);
+	}
+
 	public void writeQueueSizeRecordStream(int num) {
 		writeQueueSizeRecordStream.recordValue(num);
 	}
@@ -101,6 +161,12 @@ public class MiscRunningAvgs {
 		public static final String ACCOUNT_RETRY_WAIT_MS = "avgAcctRetryWaitMs";
 		public static final String ACCOUNT_LOOKUP_RETRIES = "avgAcctLookupRetryAttempts";
 		public static final String HANDLED_SUBMIT_MESSAGE_SIZE = "avgHdlSubMsgSize";
+		public static final String ACCOUNTS_COPIED_PER_TXN = "avgAcctsCopiedPerTxn";
+		public static final String ACCOUNTS_MUTATED_PER_TXN = "avgAcctsMutatedPerTxn";
+		public static final String RECENT_TXN_ID_HISTORIES = "avgRecentTxnIdHistories";
+		public static final String RECENT_TXN_ID_HISTORIES_KB = "avgRecentTxnIdHistoriesKb";
+		public static final String BYTECODE_CACHE_HIT_RATIO = "bytecodeCacheHitRatio";
+		public static final String BYTECODE_CACHE_EVICTIONS = "avgBytecodeCacheEvictionsPerLookup";
 
 		public static final String WRITE_QUEUE_SIZE_RECORD_STREAM = "writeQueueSizeRecordStream";
 		public static final String HASH_QUEUE_SIZE_RECORD_STREAM = "hashQueueSizeRecordStream";
@@ -113,6 +179,18 @@ public class MiscRunningAvgs {
 				"average number of retry attempts made to lookup the account number";
 		public static final String HANDLED_SUBMIT_MESSAGE_SIZE =
 				"average size of the handled HCS submit message transaction";
+		public static final String ACCOUNTS_COPIED_PER_TXN =
+				"average number of accounts copied for modification per handled transaction";
+		public static final String ACCOUNTS_MUTATED_PER_TXN =
+				"average number of accounts actually mutated per handled transaction";
+		public static final String RECENT_TXN_ID_HISTORIES =
+				"average number of transaction ids with recent history used for duplicate detection";
+		public static final String RECENT_TXN_ID_HISTORIES_KB =
+				"average estimated heap size in KB of the recent transaction id histories";
+		public static final String BYTECODE_CACHE_HIT_RATIO =
+				"fraction of contract bytecode lookups served from the bytecode cache";
+		public static final String BYTECODE_CACHE_EVICTIONS =
+				"average number of entries evicted from the bytecode cache per lookup";
 
 		public static final String WRITE_QUEUE_SIZE_RECORD_STREAM =
 				"size of the queue from which we take records and write to RecordStream file";
@@ -30,7 +30,13 @@ public class MiscSpeedometers {
 	StatsSpeedometer syncVerifications;
 	StatsSpeedometer asyncVerifications;
 	StatsSpeedometer accountLookupRetries;
+	StatsSpeedometer accountLookupsParked;
+	StatsSpeedometer accountLookupsWoken;
 	StatsSpeedometer platformTxnRejections;
+	StatsSpeedometer txnParsesAvoided;
+	StatsSpeedometer txnHashesAvoided;
+	StatsSpeedometer signingOrderMemoHits;
+	StatsSpeedometer signingOrderMemoInvalidations;
 
 	public MiscSpeedometers(SpeedometerFactory speedometer, NodeLocalProperties properties) {
 		this.speedometer = speedometer;
@@ -38,7 +44,13 @@ public class MiscSpeedometers {
 		syncVerifications = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 		asyncVerifications = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 		accountLookupRetries = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		accountLookupsParked = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		accountLookupsWoken = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 		platformTxnRejections = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		txnParsesAvoided = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		txnHashesAvoided = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		signingOrderMemoHits = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
+		signingOrderMemoInvalidations = new StatsSpeedometer(properties.statsSpeedometerHalfLifeSecs());
 	}
 
 	public void registerWith(Platform platform) {
@@ -57,11 +69,41 @@ public class MiscSpeedometers {
 						Names.ACCOUNT_LOOKUP_RETRIES,
 						Descriptions.ACCOUNT_LOOKUP_RETRIES,
 						accountLookupRetries));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.ACCOUNT_LOOKUPS_PARKED,
+						Descriptions.ACCOUNT_LOOKUPS_PARKED,
+						accountLookupsParked));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.ACCOUNT_LOOKUPS_WOKEN,
+						Descriptions.ACCOUNT_LOOKUPS_WOKEN,
+						accountLookupsWoken));
 		platform.addAppStatEntry(
 				speedometer.from(
 						Names.PLATFORM_TXN_REJECTIONS,
 						Descriptions.PLATFORM_TXN_REJECTIONS,
 						platformTxnRejections));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.TXN_PARSES_AVOIDED,
+						Descriptions.TXN_PARSES_AVOIDED,
+						txnParsesAvoided));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.TXN_HASHES_AVOIDED,
+						Descriptions.TXN_HASHES_AVOIDED,
+						txnHashesAvoided));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.SIGNING_ORDER_MEMO_HITS,
+						Descriptions.SIGNING_ORDER_MEMO_HITS,
+						signingOrderMemoHits));
+		platform.addAppStatEntry(
+				speedometer.from(
+						Names.SIGNING_ORDER_MEMO_INVALIDATIONS,
+						Descriptions.SIGNING_ORDER_MEMO_INVALIDATIONS,
+						signingOrderMemoInvalidations));
 	}
 
 	public void cycleSyncVerifications() {
@@ -76,15 +118,45 @@ public class MiscSpeedometers {
 		accountLookupRetries.update(1);
 	}
 
+	public void cycleAccountLookupsParked() {
+		accountLookupsParked.update(1);
+	}
+
+	public void cycleAccountLookupsWoken() {
+		accountLookupsWoken.update(1);
+	}
+
 	public void cyclePlatformTxnRejections() {
 		platformTxnRejections.update(1);
 	}
 
+	public void cycleTxnParsesAvoided(int n) {
+		txnParsesAvoided.update(n);
+	}
+
+	public void cycleTxnHashesAvoided() {
+		txnHashesAvoided.update(1);
+	}
+
+	public void cycleSigningOrderMemoHits() {
+		signingOrderMemoHits.update(1);
+	}
+
+	public void cycleSigningOrderMemoInvalidations() {
+		signingOrderMemoInvalidations.update(1);
+	}
+
 	static class Names {
 		public static final String SYNC_VERIFICATIONS = "sigVerifySync/sec";
 		public static final String ASYNC_VERIFICATIONS = "sigVerifyAsync/sec";
 		public static final String ACCOUNT_LOOKUP_RETRIES = "acctLookupRetries/sec";
+		public static final String ACCOUNT_LOOKUPS_PARKED = "acctLookupsParked/sec";
+		public static final String ACCOUNT_LOOKUPS_WOKEN = "acctLookupsWoken/sec";
 		public static final String PLATFORM_TXN_REJECTIONS = "platformTxnNotCreated/sec";
+		public static final String TXN_PARSES_AVOIDED = "txnParsesAvoided/sec";
+		public static final String TXN_HASHES_AVOIDED = "txnHashesAvoided/sec";
+		public static final String SIGNING_ORDER_MEMO_HITS = "sigOrderMemoHits/sec";
+		public static final String SIGNING_ORDER_MEMO_INVALIDATIONS = "sigOrderMemoInvalidations/sec";
 	}
 
 	static class Descriptions {
@@ -94,7 +166,19 @@ public class MiscSpeedometers {
 				"number of transactions received per second that were verified asynchronously via expandSignatures";
 		public static final String ACCOUNT_LOOKUP_RETRIES =
 				"number of times per second that an account lookup must be retried";
+		public static final String ACCOUNT_LOOKUPS_PARKED =
+				"number of account lookups per second parked until the account's creation is committed";
+		public static final String ACCOUNT_LOOKUPS_WOKEN =
+				"number of parked account lookups per second that found the account before their deadline";
 		public static final String PLATFORM_TXN_REJECTIONS =
 				"number of platform transactions not created per second";
+		public static final String TXN_PARSES_AVOIDED =
+				"number of protobuf parses per second avoided by reusing accessors of submitted transactions";
+		public static final String TXN_HASHES_AVOIDED =
+				"number of SHA-384 hashes per second avoided by reusing accessors of submitted transactions";
+		public static final String SIGNING_ORDER_MEMO_HITS =
+				"number of signing orders per second reused from the memo of an earlier key ordering";
+		public static final String SIGNING_ORDER_MEMO_INVALIDATIONS =
+				"number of signing order memos per second discarded because an entity they consulted changed";
 	}
 }
@@ -53,6 +53,10 @@ public class ServicesStatsConfig {
 	static final String SPEEDOMETER_RECEIVED_DESC_TPL = "number of %s received per second";
 	static final String SPEEDOMETER_ANSWERED_DESC_TPL = "number of %s answered per second";
 	static final String SPEEDOMETER_SUBMITTED_DESC_TPL = "number of %s submitted per second";
+	static final String LATENCY_P50_NAME_TPL = "%sP50Us";
+	static final String LATENCY_P99_NAME_TPL = "%sP99Us";
+	static final String LATENCY_P50_DESC_TPL = "median %s latency of all transactions in microseconds";
+	static final String LATENCY_P99_DESC_TPL = "99th percentile %s latency of all transactions in microseconds";
 
 	public static final String SYSTEM_DELETE_METRIC = "systemDelete";
 	public static final String SYSTEM_UNDELETE_METRIC = "systemUndelete";
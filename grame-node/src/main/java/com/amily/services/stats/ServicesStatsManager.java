@@ -21,41 +21,54 @@ package com.grame.services.stats;
  */
 
 import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.records.TxnIdRecentHistories;
 import com.grame.services.utils.Pause;
 import com.swirlds.common.Platform;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.util.function.Function;
 
 import static com.grame.services.utils.SleepingPause.SLEEPING_PAUSE;
 
 public class ServicesStatsManager {
+	private static final Logger log = LogManager.getLogger(ServicesStatsManager.class);
+
 	static Pause pause = SLEEPING_PAUSE;
 	static Function<Runnable, Thread> loopFactory = loop -> new Thread(() -> {
 		while (true) {
 			loop.run();
 		}
 	});
+	static Function<HapiOpLatencies, LatencyScrapeEndpoint> endpointFactory = LatencyScrapeEndpoint::new;
 
 	static final String SPEEDOMETER_UPDATE_THREAD_NAME_TPL = "SpeedometerUpdateThread%d";
 
 	private final HapiOpCounters opCounters;
 	private final MiscRunningAvgs runningAvgs;
 	private final MiscSpeedometers speedometers;
+	private final HapiOpLatencies opLatencies;
 	private final HapiOpSpeedometers opSpeedometers;
 	private final NodeLocalProperties properties;
+	private final TxnIdRecentHistories txnHistories;
 
 	public ServicesStatsManager(
 			HapiOpCounters opCounters,
 			MiscRunningAvgs runningAvgs,
 			MiscSpeedometers speedometers,
 			HapiOpSpeedometers opSpeedometers,
-			NodeLocalProperties properties
+			NodeLocalProperties properties,
+			TxnIdRecentHistories txnHistories,
+			HapiOpLatencies opLatencies
 	) {
 		this.properties = properties;
+		this.txnHistories = txnHistories;
 		this.opCounters = opCounters;
 		this.runningAvgs = runningAvgs;
 		this.speedometers = speedometers;
 		this.opSpeedometers = opSpeedometers;
+		this.opLatencies = opLatencies;
 	}
 
 	public void initializeFor(Platform platform) {
@@ -63,14 +76,26 @@ public class ServicesStatsManager {
 		runningAvgs.registerWith(platform);
 		speedometers.registerWith(platform);
 		opSpeedometers.registerWith(platform);
+		opLatencies.registerWith(platform);
 
 		platform.appStatInit();
 
 		var updateThread = loopFactory.apply(() -> {
 			pause.forMs(properties.statsHapiOpsSpeedometerUpdateIntervalMs());
 			opSpeedometers.updateAll();
+			opLatencies.rotateStats();
+			runningAvgs.recordRecentTxnIdHistories(txnHistories.size(), txnHistories.estimatedHeapBytes());
 		});
 		updateThread.setName(String.format(SPEEDOMETER_UPDATE_THREAD_NAME_TPL, platform.getSelfId().getId()));
 		updateThread.start();
+
+		var scrapePort = properties.statsLatencyScrapePort();
+		if (scrapePort > 0) {
+			try {
+				endpointFactory.apply(opLatencies).startOn(scrapePort);
+			} catch (IOException e) {
+				log.warn("Could not serve latencies on port {}!", scrapePort, e);
+			}
+		}
 	}
 }
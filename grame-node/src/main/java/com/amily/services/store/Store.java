@@ -23,10 +23,14 @@ package com.grame.services.store;
 import com.grame.services.ledger.grameLedger;
 import com.grame.services.ledger.TransactionalLedger;
 import com.grame.services.ledger.properties.AccountProperty;
+import com.grame.services.state.initialization.DerivedView;
 import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.state.merkle.MerkleEntityId;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.ResponseCodeEnum;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -45,6 +49,12 @@ public interface Store<T, K> {
         /* No-op. */
     }
 
+    /* The same views rebuilt by rebuildViews(), for rebuilding along with any other
+     * views derived from one traversal of the store's backing map. */
+    default List<DerivedView<MerkleEntityId, K, ?>> derivedViews() {
+        return Collections.emptyList();
+    }
+
     void commitCreation();
     void rollbackCreation();
     boolean isCreationPending();
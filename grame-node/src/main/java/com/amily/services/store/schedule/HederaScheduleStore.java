@@ -23,6 +23,7 @@ package com.grame.services.store.schedule;
 import com.grame.services.context.TransactionContext;
 import com.grame.services.context.properties.GlobalDynamicProperties;
 import com.grame.services.ledger.ids.EntityIdSource;
+import com.grame.services.state.initialization.DerivedView;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleSchedule;
 import com.grame.services.state.submerkle.EntityId;
@@ -35,6 +36,7 @@ import com.swirlds.fcmap.FCMap;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -94,6 +96,19 @@ public class grameScheduleStore extends grameStore implements ScheduleStore {
 		return (isCreationPending() && pendingId.equals(id)) || schedules.get().containsKey(fromScheduleId(id));
 	}
 
+	/**
+	 * Resolves only schedules that have not yet expired. Up to a bounded number of expired
+	 * schedules are purged per transaction, so an expired schedule may stay in state for
+	 * a while; but it is never again treated as extant.
+	 */
+	@Override
+	public ScheduleID resolve(ScheduleID id) {
+		if (!exists(id)) {
+			return MISSING_SCHEDULE;
+		}
+		return (!pendingId.equals(id) && hasExpired(get(id))) ? MISSING_SCHEDULE : id;
+	}
+
 	@Override
 	public void apply(ScheduleID id, Consumer<MerkleSchedule> change) {
 		throwIfMissing(id);
@@ -187,6 +202,19 @@ public class grameScheduleStore extends grameStore implements ScheduleStore {
 		schedules.get().forEach((key, value) -> extantSchedules.put(value.toContentAddressableView(), key));
 	}
 
+	@Override
+	public List<DerivedView<MerkleEntityId, MerkleSchedule, ?>> derivedViews() {
+		return List.of(DerivedView.<MerkleEntityId, MerkleSchedule, Pair<MerkleSchedule, MerkleEntityId>>listing(
+				"extant schedules",
+				(id, schedule) -> Pair.of(schedule.toContentAddressableView(), id),
+				partitions -> {
+					extantSchedules.clear();
+					for (var partition : partitions) {
+						partition.forEach(extant -> extantSchedules.put(extant.getKey(), extant.getValue()));
+					}
+				}));
+	}
+
 	@Override
 	public void rebuildViews() {
 		extantSchedules.clear();
@@ -204,7 +232,10 @@ public class grameScheduleStore extends grameStore implements ScheduleStore {
 		}
 		if (extantSchedules.containsKey(schedule)) {
 			var extantId = extantSchedules.get(schedule);
-			return Pair.of(Optional.of(extantId.toScheduleId()), schedules.get().get(extantId));
+			var extant = schedules.get().get(extantId);
+			if (!hasExpired(extant)) {
+				return Pair.of(Optional.of(extantId.toScheduleId()), extant);
+			}
 		}
 
 		return Pair.of(Optional.empty(), schedule);
@@ -229,8 +260,10 @@ public class grameScheduleStore extends grameStore implements ScheduleStore {
 					readableId(id)));
 		}
 		var schedule = get(id);
-		schedules.get().remove(entityId.asMerkle());
-		extantSchedules.remove(schedule);
+		var key = entityId.asMerkle();
+		schedules.get().remove(key);
+		/* An identical schedule created after this one expired may now own the content-addressable entry */
+		extantSchedules.remove(schedule, key);
 	}
 
 	public Map<MerkleSchedule, MerkleEntityId> getExtantSchedules() {
@@ -262,6 +295,11 @@ public class grameScheduleStore extends grameStore implements ScheduleStore {
 		return OK;
 	}
 
+	private boolean hasExpired(MerkleSchedule schedule) {
+		var now = txnCtx.consensusTime();
+		return now != null && schedule.expiry() <= now.getEpochSecond();
+	}
+
 	private void throwIfMissing(ScheduleID id) {
 		if (!exists(id)) {
 			throw new IllegalArgumentException(String.format(
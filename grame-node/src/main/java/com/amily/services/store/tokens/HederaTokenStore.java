@@ -27,6 +27,7 @@ import com.grame.services.ledger.ids.EntityIdSource;
 import com.grame.services.ledger.properties.TokenRelProperty;
 import com.grame.services.legacy.core.jproto.JKey;
 import com.grame.services.sigs.utils.ImmutableKeyUtils;
+import com.grame.services.state.initialization.DerivedView;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleToken;
 import com.grame.services.state.merkle.MerkleTokenRelStatus;
@@ -141,6 +142,19 @@ public class grameTokenStore extends grameStore implements TokenStore {
 		rebuildViewOfKnownTreasuries();
 	}
 
+	@Override
+	public List<DerivedView<MerkleEntityId, MerkleToken, ?>> derivedViews() {
+		return List.of(DerivedView.<MerkleEntityId, MerkleToken, Pair<AccountID, TokenID>>listing(
+				"known treasuries",
+				(id, token) -> Pair.of(token.treasury().toGrpcAccountId(), id.toTokenId()),
+				partitions -> {
+					knownTreasuries.clear();
+					for (var partition : partitions) {
+						partition.forEach(treasury -> addKnownTreasury(treasury.getLeft(), treasury.getRight()));
+					}
+				}));
+	}
+
 	private void rebuildViewOfKnownTreasuries() {
 		tokens.get().forEach((key, value) ->
 				addKnownTreasury(value.treasury().toGrpcAccountId(), key.toTokenId()));
@@ -56,6 +56,14 @@ public class RecordStreamObject extends AbstractSerializableHashable implements
 	/** the {@link Transaction} object to be written to record stream file */
 	private Transaction transaction;
 
+	/**
+	 * the encodings of the {@link TransactionRecord} and {@link Transaction}, made at most once
+	 * (when first serialized, unless given at construction) and then shared by every serialization;
+	 * that is, both by the hash calculator and the record stream file writer
+	 */
+	private volatile byte[] transactionRecordBytes;
+	private volatile byte[] transactionBytes;
+
 	/**
 	 * the consensus timestamp of this {@link TransactionRecord} object,
 	 * this field is used for deciding wether to start a new record stream file,
@@ -82,17 +90,35 @@ public class RecordStreamObject extends AbstractSerializableHashable implements
 		runningHash = new RunningHash();
 	}
 
+	/**
+	 * Creates a {@link RecordStreamObject} whose {@link Transaction} is serialized as the given
+	 * bytes, which must be an encoding of the transaction; for example, the exact bytes it
+	 * was parsed from.
+	 *
+	 * @param transactionRecord the record of the transaction
+	 * @param transaction the transaction
+	 * @param transactionBytes an encoding of the transaction, or null to encode it when first serialized
+	 * @param consensusTimestamp the consensus time of the transaction
+	 */
+	public RecordStreamObject(final TransactionRecord transactionRecord,
+			final Transaction transaction, final byte[] transactionBytes, final Instant consensusTimestamp) {
+		this(transactionRecord, transaction, consensusTimestamp);
+		this.transactionBytes = transactionBytes;
+	}
+
 	@Override
 	public void serialize(SerializableDataOutputStream out) throws IOException {
-		out.writeByteArray(transactionRecord.toByteArray());
-		out.writeByteArray(transaction.toByteArray());
+		out.writeByteArray(getTransactionRecordBytes());
+		out.writeByteArray(getTransactionBytes());
 	}
 
 	@Override
 	public void deserialize(SerializableDataInputStream in, int version) throws IOException {
 try {
-		transactionRecord = TransactionRecord.parseFrom(in.readByteArray(MAX_RECORD_LENGTH));
-		transaction = Transaction.parseFrom(in.readByteArray(MAX_TRANSACTION_LENGTH));
+		transactionRecordBytes = in.readByteArray(MAX_RECORD_LENGTH);
+		transactionRecord = TransactionRecord.parseFrom(transactionRecordBytes);
+		transactionBytes = in.readByteArray(MAX_TRANSACTION_LENGTH);
+		transaction = Transaction.parseFrom(transactionBytes);
 		final Timestamp timestamp = transactionRecord.getConsensusTimestamp();
 		consensusTimestamp = Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
 } catch (Throwable t123) {
@@ -180,6 +206,24 @@ try {
 		return transaction;
 	}
 
+	byte[] getTransactionBytes() {
+		var bytes = transactionBytes;
+		if (bytes == null) {
+			bytes = transaction.toByteArray();
+			transactionBytes = bytes;
+		}
+		return bytes;
+	}
+
+	byte[] getTransactionRecordBytes() {
+		var bytes = transactionRecordBytes;
+		if (bytes == null) {
+			bytes = transactionRecord.toByteArray();
+			transactionRecordBytes = bytes;
+		}
+		return bytes;
+	}
+
 	TransactionRecord getTransactionRecord() {
 		return transactionRecord;
 	}
@@ -0,0 +1,134 @@
+package com.grame.services.throttling;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.throttles.BucketThrottle;
+import com.grame.services.throttles.DeterministicThrottle;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free leaky bucket for use on the many threads that admit HAPI requests. Each
+ * stripe of the bucket is a single {@code long} "theoretical arrival time" (in the style
+ * of the generic cell rate algorithm), so that admitting a request is one CAS loop on
+ * that stripe, with no lock and no shared scratch state.
+ *
+ * With more than one stripe, each stripe gets an equal share of the bucket's leak rate,
+ * and a thread always uses the stripe chosen by its id. This trades some precision (a
+ * request can be throttled on its stripe while another stripe has spare capacity) for
+ * less contention between threads; with one stripe the bucket is exact.
+ */
+public class ConcurrentBucketThrottle {
+	/* Pad stripes onto separate cache lines to avoid false sharing. */
+	static final int STRIPE_PADDING = 8;
+	/* Far enough in the past to treat a stripe as empty, but safe from overflow on reclaim. */
+	static final long EMPTY_STRIPE = Long.MIN_VALUE / 2;
+
+	private final String name;
+	private final int numStripes;
+	private final long toleranceNanos;
+	private final double nanosPerTxnPerStripe;
+	private final AtomicLongArray stripes;
+
+	ConcurrentBucketThrottle(String name, long mtps, long capacity, int numStripes) {
+		this.name = name;
+		this.numStripes = numStripes;
+		/* A bucket's capacity units leak at mtps units per nanosecond. */
+		this.toleranceNanos = capacity / mtps;
+		this.nanosPerTxnPerStripe = (double) numStripes * BucketThrottle.capacityUnitsPerTxn() / mtps;
+
+		stripes = new AtomicLongArray(numStripes * STRIPE_PADDING);
+		for (int i = 0; i < numStripes; i++) {
+			stripes.set(i * STRIPE_PADDING, EMPTY_STRIPE);
+		}
+	}
+
+	/**
+	 * Creates a concurrent bucket with the same leak rate and capacity as the given
+	 * deterministic throttle. Uses as many of the desired stripes as possible, while
+	 * leaving every stripe able to admit the largest requirement on the bucket.
+	 *
+	 * @param throttle the deterministic throttle to mirror
+	 * @param maxReq the largest number of logical txns required from the bucket at once
+	 * @param desiredStripes the desired number of stripes
+	 * @return the concurrent bucket
+	 */
+	public static ConcurrentBucketThrottle from(DeterministicThrottle throttle, int maxReq, int desiredStripes) {
+		long maxStripes = throttle.capacity() / ((long) maxReq * BucketThrottle.capacityUnitsPerTxn());
+		int numStripes = (int) Math.max(1, Math.min(desiredStripes, maxStripes));
+		return new ConcurrentBucketThrottle(throttle.name(), throttle.mtps(), throttle.capacity(), numStripes);
+	}
+
+	/**
+	 * Returns the cost, in nanoseconds of a stripe's capacity, of the given number of logical txns.
+	 *
+	 * @param logicalTxns the number of logical txns
+	 * @return their cost in stripe nanos
+	 */
+	public long costOf(int logicalTxns) {
+		return (long) (logicalTxns * nanosPerTxnPerStripe);
+	}
+
+	/**
+	 * Tries to use the given cost from the calling thread's stripe.
+	 *
+	 * @param cost the cost to use, as returned by {@link ConcurrentBucketThrottle#costOf(int)}
+	 * @param now the current value of a monotonic nanosecond clock
+	 * @return whether the stripe had capacity for the cost
+	 */
+	public boolean allow(long cost, long now) {
+		int i = stripeIndex();
+		for (;;) {
+			long tat = stripes.get(i);
+			long next = Math.max(tat, now) + cost;
+			if (next - now > toleranceNanos) {
+				return false;
+			}
+			if (stripes.compareAndSet(i, tat, next)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns the given cost, just allowed on this thread, to the calling thread's stripe.
+	 *
+	 * @param cost the cost to return
+	 */
+	public void reclaim(long cost) {
+		stripes.addAndGet(stripeIndex(), -cost);
+	}
+
+	public String name() {
+		return name;
+	}
+
+	public int numStripes() {
+		return numStripes;
+	}
+
+	private int stripeIndex() {
+		if (numStripes == 1) {
+			return 0;
+		}
+		return (int) (Thread.currentThread().getId() % numStripes) * STRIPE_PADDING;
+	}
+}
@@ -0,0 +1,134 @@
+package com.grame.services.throttling;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.sysfiles.domain.throttling.ThrottleDefinitions;
+import com.grame.services.throttles.DeterministicThrottle;
+import com.gramegrame.api.proto.java.grameFunctionality;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles HAPI ingress using the same {@link ThrottleDefinitions} as the deterministic
+ * throttles, but without serializing the gRPC threads on a single monitor. Each bucket is
+ * a {@link ConcurrentBucketThrottle}; and the per-function requirements are immutable once
+ * built, so concurrent calls to {@link ConcurrentHapiThrottling#shouldThrottle(grameFunctionality)}
+ * share no mutable state except the bucket stripes themselves.
+ */
+public class ConcurrentHapiThrottling implements FunctionalityThrottling {
+	private static final Logger log = LogManager.getLogger(ConcurrentHapiThrottling.class);
+
+	private final IntSupplier stripesSource;
+	private final IntSupplier capacitySplitSource;
+	private final LongSupplier nanoClock;
+
+	volatile EnumMap<grameFunctionality, ReqsManager> functionReqs = new EnumMap<>(grameFunctionality.class);
+
+	public ConcurrentHapiThrottling(IntSupplier capacitySplitSource, IntSupplier stripesSource) {
+		this(capacitySplitSource, stripesSource, System::nanoTime);
+	}
+
+	ConcurrentHapiThrottling(IntSupplier capacitySplitSource, IntSupplier stripesSource, LongSupplier nanoClock) {
+		this.nanoClock = nanoClock;
+		this.stripesSource = stripesSource;
+		this.capacitySplitSource = capacitySplitSource;
+	}
+
+	@Override
+	public boolean shouldThrottle(grameFunctionality function) {
+		ReqsManager manager;
+		if ((manager = functionReqs.get(function)) == null) {
+			return true;
+		}
+		return !manager.allReqsMetAt(nanoClock.getAsLong());
+	}
+
+	@Override
+	public List<DeterministicThrottle> allActiveThrottles() {
+		throw new UnsupportedOperationException("HAPI throttling should not be treated as a stable source of throttles!");
+	}
+
+	@Override
+	public List<DeterministicThrottle> activeThrottlesFor(grameFunctionality function) {
+		throw new UnsupportedOperationException("HAPI throttling should not be treated as a stable source of throttles!");
+	}
+
+	@Override
+	public void rebuildFor(ThrottleDefinitions defs) {
+		EnumMap<grameFunctionality, List<ConcurrentBucketThrottle>> throttleLists
+				= new EnumMap<>(grameFunctionality.class);
+		EnumMap<grameFunctionality, List<Integer>> reqLists = new EnumMap<>(grameFunctionality.class);
+
+		int n = capacitySplitSource.getAsInt();
+		int desiredStripes = stripesSource.getAsInt();
+		int numBuckets = 0;
+		for (var bucket : defs.getBuckets()) {
+			var mapping = bucket.asThrottleMapping(n);
+			var reqs = mapping.getRight();
+			int maxReq = reqs.stream().mapToInt(req -> req.getRight()).max().orElse(1);
+			var throttle = ConcurrentBucketThrottle.from(mapping.getLeft(), maxReq, desiredStripes);
+			for (var req : reqs) {
+				throttleLists.computeIfAbsent(req.getLeft(), ignore -> new ArrayList<>()).add(throttle);
+				reqLists.computeIfAbsent(req.getLeft(), ignore -> new ArrayList<>()).add(req.getRight());
+			}
+			numBuckets++;
+		}
+		EnumMap<grameFunctionality, ReqsManager> newFunctionReqs = new EnumMap<>(grameFunctionality.class);
+		throttleLists.forEach((function, throttles) ->
+				newFunctionReqs.put(function, new ReqsManager(throttles, reqLists.get(function))));
+
+		functionReqs = newFunctionReqs;
+
+		log.info("Rebuilt {} concurrent HAPI throttle buckets (after splitting capacity {} ways, with up to {} stripes)",
+				numBuckets, n, desiredStripes);
+	}
+
+	static class ReqsManager {
+		private final long[] costs;
+		private final ConcurrentBucketThrottle[] throttles;
+
+		ReqsManager(List<ConcurrentBucketThrottle> throttles, List<Integer> reqs) {
+			this.throttles = throttles.toArray(new ConcurrentBucketThrottle[0]);
+			costs = new long[reqs.size()];
+			for (int i = 0; i < costs.length; i++) {
+				costs[i] = this.throttles[i].costOf(reqs.get(i));
+			}
+		}
+
+		boolean allReqsMetAt(long now) {
+			for (int i = 0; i < costs.length; i++) {
+				if (!throttles[i].allow(costs[i], now)) {
+					for (int j = 0; j < i; j++) {
+						throttles[j].reclaim(costs[j]);
+					}
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
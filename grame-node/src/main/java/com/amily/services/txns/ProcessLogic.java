@@ -45,4 +45,12 @@ public interface ProcessLogic {
 	 * @param submittingMember the id of the member that submitted the txn
 	 */
 	void incorporateConsensusTxn(Transaction platformTxn, Instant consensusTime, long submittingMember);
+
+	/**
+	 * Expands the grame signatures on the given transaction, before it reaches consensus,
+	 * into the platform signatures that can then be verified asynchronously.
+	 *
+	 * @param platformTxn the pre-consensus transaction to expand.
+	 */
+	void expandSignatures(Transaction platformTxn);
 }
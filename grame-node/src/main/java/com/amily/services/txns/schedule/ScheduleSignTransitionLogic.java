@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import static com.grame.services.store.schedule.ScheduleStore.MISSING_SCHEDULE;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_SCHEDULE_ID;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
@@ -76,12 +77,18 @@ public class ScheduleSignTransitionLogic extends ScheduleReadyForExecution imple
 			SignatureMap sigMap,
 			ScheduleSignTransactionBody op
 	) throws InvalidProtocolBufferException {
+		var scheduleId = op.getScheduleID();
+		/* A memoized signing order may outlive the schedule's expiry, so check again here */
+		if (store.resolve(scheduleId) == MISSING_SCHEDULE) {
+			txnCtx.setStatus(INVALID_SCHEDULE_ID);
+			return;
+		}
+
 		var validScheduleKeys = classifier.validScheduleKeys(
 				List.of(txnCtx.activePayerKey()),
 				sigMap,
 				activationHelper.currentSigsFn(),
 				activationHelper::visitScheduledCryptoSigs);
-		var scheduleId = op.getScheduleID();
 		var signingOutcome = replSigningsWitness.observeInScope(scheduleId, store, validScheduleKeys, activationHelper);
 
 		var outcome = signingOutcome.getLeft();
@@ -22,7 +22,9 @@ package com.grame.services.txns.submission;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.grame.services.records.RecordCache;
+import com.grame.services.stats.HapiOpLatencies;
 import com.grame.services.stats.MiscSpeedometers;
+import com.grame.services.utils.ParsedTxnAccessorCache;
 import com.grame.services.utils.SignedTxnAccessor;
 import com.gramegrame.api.proto.java.ResponseCodeEnum;
 import com.swirlds.common.Platform;
@@ -30,6 +32,7 @@ import com.swirlds.common.Transaction;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import static com.grame.services.stats.HapiOpLatencies.Stage.SUBMISSION;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED;
 
@@ -39,22 +42,32 @@ public class PlatformSubmissionManager {
 	private final Platform platform;
 	private final RecordCache recordCache;
 	private final MiscSpeedometers speedometers;
+	private final HapiOpLatencies opLatencies;
+	private final ParsedTxnAccessorCache accessorCache;
 
 	public PlatformSubmissionManager(
 			Platform platform,
 			RecordCache recordCache,
-			MiscSpeedometers speedometers
+			MiscSpeedometers speedometers,
+			ParsedTxnAccessorCache accessorCache,
+			HapiOpLatencies opLatencies
 	) {
 		this.platform = platform;
 		this.recordCache = recordCache;
 		this.speedometers = speedometers;
+		this.accessorCache = accessorCache;
+		this.opLatencies = opLatencies;
 	}
 
 	public ResponseCodeEnum trySubmission(SignedTxnAccessor accessor) {
+		long start = System.nanoTime();
+		var function = accessor.getFunction();
 		accessor = effective(accessor);
 
 		var success = (accessor != null) && platform.createTransaction(new Transaction(accessor.getBackwardCompatibleSignedTxnBytes()));
+		opLatencies.record(SUBMISSION, function, System.nanoTime() - start);
 		if (success) {
+			accessorCache.cache(accessor);
 			recordCache.addPreConsensus(accessor.getTxnId());
 			return OK;
 		} else {
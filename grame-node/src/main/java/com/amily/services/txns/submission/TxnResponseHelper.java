@@ -22,6 +22,7 @@ package com.grame.services.txns.submission;
 
 import com.grame.services.queries.answering.QueryResponseHelper;
 import com.grame.services.stats.HapiOpCounters;
+import com.grame.services.stats.HapiOpLatencies;
 import com.grame.services.txns.SubmissionFlow;
 import com.grame.services.utils.SignedTxnAccessor;
 import com.gramegrame.api.proto.java.grameFunctionality;
@@ -31,6 +32,7 @@ import io.grpc.stub.StreamObserver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import static com.grame.services.stats.HapiOpLatencies.Stage.RECEIPT;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.FAIL_INVALID;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
 
@@ -43,9 +45,11 @@ public class TxnResponseHelper {
 
 	private final SubmissionFlow submissionFlow;
 	private final HapiOpCounters opCounters;
+	private final HapiOpLatencies opLatencies;
 
-	public TxnResponseHelper(SubmissionFlow submissionFlow, HapiOpCounters opCounters) {
+	public TxnResponseHelper(SubmissionFlow submissionFlow, HapiOpCounters opCounters, HapiOpLatencies opLatencies) {
 		this.opCounters = opCounters;
+		this.opLatencies = opLatencies;
 		this.submissionFlow = submissionFlow;
 	}
 
@@ -54,11 +58,13 @@ public class TxnResponseHelper {
 			StreamObserver<TransactionResponse> observer,
 			grameFunctionality statedFunction
 	) {
+		long start = System.nanoTime();
 		respondWithMetrics(
 				signedTxn,
 				observer,
 				() -> opCounters.countReceived(statedFunction),
 				() -> opCounters.countSubmitted(statedFunction));
+		opLatencies.record(RECEIPT, statedFunction, System.nanoTime() - start);
 	}
 
 	private void respondWithMetrics(
@@ -0,0 +1,157 @@
+package com.grame.services.utils;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.stats.HapiOpLatencies;
+import com.grame.services.stats.MiscSpeedometers;
+import com.swirlds.common.Transaction;
+
+import java.nio.ByteBuffer;
+
+import static com.grame.services.stats.HapiOpLatencies.Stage.CONSENSUS;
+
+/**
+ * A bounded, node-local cache of the {@link SignedTxnAccessor}s for transactions this node
+ * submitted to the platform. When such a transaction reaches consensus, the handle thread can
+ * reuse the already-parsed accessor (and its already-computed SHA-384 hash) instead of re-parsing
+ * the platform transaction contents from scratch.
+ *
+ * Entries are keyed by the exact signed bytes given to the platform, which determine the
+ * transaction's SHA-384 hash; so a lookup never needs to recompute the digest. Each entry is
+ * consumed by its first lookup, since a transaction reaches consensus at most once. The time
+ * between caching and this lookup is recorded as the transaction's consensus latency.
+ *
+ * Signature expansion also caches the {@link PlatformTxnAccessor} it creates for each platform
+ * transaction (whether or not this node submitted it); so the handle thread can reuse both the
+ * parsed accessor and any signing orders memoized on it during expansion.
+ *
+ * @author AmilyTech
+ */
+public class ParsedTxnAccessorCache {
+	/* A miss costs parsing a Transaction, a SignedTransaction, and a TransactionBody. */
+	static final int PARSES_PER_ACCESSOR = 3;
+	/* Marks an entry cached by signature expansion of a transaction this node did not submit. */
+	static final long NOT_SUBMITTED = Long.MIN_VALUE;
+
+	private final HapiOpLatencies opLatencies;
+	private final MiscSpeedometers speedometers;
+	private final Cache<ByteBuffer, Submitted> submitted;
+
+	public ParsedTxnAccessorCache(
+			NodeLocalProperties properties,
+			MiscSpeedometers speedometers,
+			HapiOpLatencies opLatencies
+	) {
+		this.opLatencies = opLatencies;
+		this.speedometers = speedometers;
+		this.submitted = CacheBuilder.newBuilder()
+				.maximumSize(properties.accessorCacheMaxSize())
+				.build();
+	}
+
+	/**
+	 * Remembers the given accessor for a transaction this node just submitted to the platform.
+	 *
+	 * @param accessor the accessor of the submitted transaction
+	 */
+	public void cache(SignedTxnAccessor accessor) {
+		submitted.put(
+				ByteBuffer.wrap(accessor.getBackwardCompatibleSignedTxnBytes()),
+				new Submitted(accessor, System.nanoTime()));
+	}
+
+	/**
+	 * Returns the accessor signature expansion should use for the given platform transaction,
+	 * reusing the parsed accessor from submission if this node submitted the transaction; and
+	 * caches it for reuse when the transaction reaches consensus.
+	 *
+	 * @param platformTxn the platform transaction whose signatures are being expanded
+	 * @return an accessor for the transaction
+	 * @throws InvalidProtocolBufferException if the contents were not cached, and are not a valid gRPC transaction
+	 */
+	public PlatformTxnAccessor expansionAccessorFor(Transaction platformTxn) throws InvalidProtocolBufferException {
+		var key = ByteBuffer.wrap(platformTxn.getContents());
+		var cached = submitted.getIfPresent(key);
+		if (cached != null && isExpandedFrom(cached, platformTxn)) {
+			return (PlatformTxnAccessor) cached.accessor;
+		}
+		PlatformTxnAccessor accessor;
+		long nanoTime;
+		if (cached == null) {
+			accessor = new PlatformTxnAccessor(platformTxn);
+			nanoTime = NOT_SUBMITTED;
+		} else {
+			accessor = new PlatformTxnAccessor(cached.accessor, platformTxn);
+			nanoTime = cached.nanoTime;
+		}
+		submitted.put(key, new Submitted(accessor, nanoTime));
+		return accessor;
+	}
+
+	/**
+	 * Returns an accessor for the given platform transaction, reusing the parsed accessor
+	 * from submission if this node submitted the transaction; or the accessor from signature
+	 * expansion, if available.
+	 *
+	 * @param platformTxn the platform transaction that reached consensus
+	 * @return an accessor for the transaction
+	 * @throws InvalidProtocolBufferException if the contents were not cached, and are not a valid gRPC transaction
+	 */
+	public PlatformTxnAccessor accessorFor(Transaction platformTxn) throws InvalidProtocolBufferException {
+		var key = ByteBuffer.wrap(platformTxn.getContents());
+		var cached = submitted.getIfPresent(key);
+		if (cached == null) {
+			return new PlatformTxnAccessor(platformTxn);
+		}
+		submitted.invalidate(key);
+		speedometers.cycleTxnParsesAvoided(PARSES_PER_ACCESSOR);
+		speedometers.cycleTxnHashesAvoided();
+		if (cached.nanoTime != NOT_SUBMITTED) {
+			opLatencies.record(CONSENSUS, cached.accessor.getFunction(), System.nanoTime() - cached.nanoTime);
+		}
+		return isExpandedFrom(cached, platformTxn)
+				? (PlatformTxnAccessor) cached.accessor
+				: new PlatformTxnAccessor(cached.accessor, platformTxn);
+	}
+
+	private boolean isExpandedFrom(Submitted cached, Transaction platformTxn) {
+		return cached.accessor instanceof PlatformTxnAccessor
+				&& ((PlatformTxnAccessor) cached.accessor).getPlatformTxn() == platformTxn;
+	}
+
+	long size() {
+		return submitted.size();
+	}
+
+	private static final class Submitted {
+		private final SignedTxnAccessor accessor;
+		private final long nanoTime;
+
+		private Submitted(SignedTxnAccessor accessor, long nanoTime) {
+			this.accessor = accessor;
+			this.nanoTime = nanoTime;
+		}
+	}
+}
@@ -21,6 +21,7 @@ package com.grame.services.utils;
  */
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.grame.services.sigs.order.SigningOrderMemo;
 import com.gramegrame.api.proto.java.Transaction;
 import com.gramegrame.api.proto.java.TransactionBody;
 import com.gramegrame.api.proto.java.TransactionID;
@@ -31,16 +32,37 @@ import com.gramegrame.api.proto.java.TransactionID;
  * class immediately tries to parse the {@code byte[]} contents of the txn, and propagates any protobuf
  * exceptions encountered.)
  *
+ * Unlike other accessors, can remember the {@link SigningOrderMemo} for its txn; so the signing orders
+ * computed during signature expansion may be reused at consensus.
+ *
  * @author AmilyTech
  */
 public class PlatformTxnAccessor extends SignedTxnAccessor {
 	private final com.swirlds.common.Transaction platformTxn;
 
+	private volatile SigningOrderMemo signingOrderMemo;
+
 	public PlatformTxnAccessor(com.swirlds.common.Transaction platformTxn) throws InvalidProtocolBufferException {
 		super(platformTxn.getContents());
 		this.platformTxn = platformTxn;
 	}
 
+	/**
+	 * Creates an accessor for a platform txn whose contents were already parsed into the given
+	 * accessor (for example, when this node submitted the txn). If the given accessor is itself
+	 * a {@link PlatformTxnAccessor}, also inherits its signing order memo.
+	 *
+	 * @param parsed the accessor already parsed from the txn contents
+	 * @param platformTxn the txn to provide accessors for
+	 */
+	public PlatformTxnAccessor(SignedTxnAccessor parsed, com.swirlds.common.Transaction platformTxn) {
+		super(parsed);
+		this.platformTxn = platformTxn;
+		if (parsed instanceof PlatformTxnAccessor) {
+			signingOrderMemo = ((PlatformTxnAccessor) parsed).getSigningOrderMemo();
+		}
+	}
+
 	/**
 	 * Convenience static factory for a txn whose {@code byte[]} contents are <i>certain</i>
 	 * to be a valid serialized gRPC txn.
@@ -59,4 +81,14 @@ public class PlatformTxnAccessor extends SignedTxnAccessor {
 	public com.swirlds.common.Transaction getPlatformTxn() {
 		return platformTxn;
 	}
+
+	@Override
+	public SigningOrderMemo getSigningOrderMemo() {
+		return signingOrderMemo;
+	}
+
+	@Override
+	public void setSigningOrderMemo(SigningOrderMemo signingOrderMemo) {
+		this.signingOrderMemo = signingOrderMemo;
+	}
 }
@@ -23,6 +23,7 @@ package com.grame.services.utils;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.grame.services.exceptions.UnknowngrameFunctionality;
+import com.grame.services.sigs.sourcing.PubKeyToSigBytes;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.grameFunctionality;
 import com.gramegrame.api.proto.java.ScheduleID;
@@ -52,6 +53,7 @@ public class SignedTxnAccessor implements TxnAccessor {
 	private TransactionBody txn;
 	private grameFunctionality function;
 	private ByteString hash;
+	private volatile PubKeyToSigBytes pkToSigsFn;
 
 	static Function<TransactionBody, grameFunctionality> functionExtractor = txn -> {
 		try {
@@ -90,10 +92,45 @@ public class SignedTxnAccessor implements TxnAccessor {
 		this(backwardCompatibleSignedTxn.toByteArray());
 	}
 
+	/**
+	 * Creates an accessor that shares the already-parsed parts (and hash) of the given accessor,
+	 * without re-parsing or re-hashing its bytes.
+	 *
+	 * @param parsed the accessor to share parsed parts with
+	 */
+	protected SignedTxnAccessor(SignedTxnAccessor parsed) {
+		this.txnBytes = parsed.txnBytes;
+		this.backwardCompatibleSignedTxnBytes = parsed.backwardCompatibleSignedTxnBytes;
+		this.backwardCompatibleSignedTxn = parsed.backwardCompatibleSignedTxn;
+		this.sigMap = parsed.sigMap;
+		this.txnId = parsed.txnId;
+		this.txn = parsed.txn;
+		this.function = parsed.function;
+		this.hash = parsed.hash;
+		this.pkToSigsFn = parsed.pkToSigsFn;
+	}
+
 	public SignatureMap getSigMap() {
 		return sigMap;
 	}
 
+	/**
+	 * Returns a source of the signatures in this transaction's {@link SignatureMap},
+	 * indexed by public key prefix on first use; so every expansion, rationalization,
+	 * or precheck of this transaction (or of an accessor sharing its parsed parts)
+	 * reuses the same index.
+	 *
+	 * @return the indexed signature source
+	 */
+	public PubKeyToSigBytes getPkToSigsFn() {
+		var fn = pkToSigsFn;
+		if (fn == null) {
+			fn = PubKeyToSigBytes.from(sigMap);
+			pkToSigsFn = fn;
+		}
+		return fn;
+	}
+
 	public grameFunctionality getFunction() {
 		if (function == null) {
 			function = functionExtractor.apply(getTxn());
@@ -21,6 +21,8 @@ package com.grame.services.utils;
  */
 
 import com.google.protobuf.ByteString;
+import com.grame.services.sigs.order.SigningOrderMemo;
+import com.grame.services.sigs.sourcing.PubKeyToSigBytes;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.grameFunctionality;
 import com.gramegrame.api.proto.java.ScheduleID;
@@ -36,6 +38,8 @@ import com.gramegrame.api.proto.java.TransactionID;
 public interface TxnAccessor {
     SignatureMap getSigMap();
 
+    PubKeyToSigBytes getPkToSigsFn();
+
     grameFunctionality getFunction();
 
     Transaction getSignedTxn4Log();
@@ -61,4 +65,8 @@ public interface TxnAccessor {
     ScheduleID getScheduleRef();
 
     default com.swirlds.common.Transaction getPlatformTxn() { throw new UnsupportedOperationException(); }
+
+    default SigningOrderMemo getSigningOrderMemo() { return null; }
+
+    default void setSigningOrderMemo(SigningOrderMemo memo) { }
 }
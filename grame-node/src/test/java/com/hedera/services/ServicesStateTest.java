@@ -29,7 +29,7 @@ import com.grame.services.legacy.core.jproto.JKey;
 import com.grame.services.legacy.crypto.SignatureStatus;
 import com.grame.services.legacy.stream.RecordStream;
 import com.grame.services.records.AccountRecordsHistorian;
-import com.grame.services.records.TxnIdRecentHistory;
+import com.grame.services.records.TxnIdRecentHistories;
 import com.grame.services.sigs.factories.SigFactoryCreator;
 import com.grame.services.sigs.order.grameSigningOrder;
 import com.grame.services.sigs.order.SigningOrderResult;
@@ -59,7 +59,6 @@ import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.SignatureMap;
 import com.gramegrame.api.proto.java.SignaturePair;
 import com.gramegrame.api.proto.java.SignedTransaction;
-import com.gramegrame.api.proto.java.TransactionID;
 import com.swirlds.blob.BinaryObjectStore;
 import com.swirlds.common.Address;
 import com.swirlds.common.AddressBook;
@@ -86,7 +85,6 @@ import org.mockito.InOrder;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -157,7 +155,7 @@ class ServicesStateTest {
 	SerializableDataOutputStream out;
 	SystemExits systemExits;
 	RecordStreamManager recordStreamManager;
-	Map<TransactionID, TxnIdRecentHistory> txnHistories;
+	TxnIdRecentHistories txnHistories;
 	NetworkCtxManager networkCtxManager;
 
 	ServicesState subject;
@@ -198,7 +196,7 @@ class ServicesStateTest {
 		given(ctx.logic()).willReturn(logic);
 
 		historian = mock(AccountRecordsHistorian.class);
-		txnHistories = mock(Map.class);
+		txnHistories = mock(TxnIdRecentHistories.class);
 		expiryManager = mock(ExpiryManager.class);
 		recordStreamManager = mock(RecordStreamManager.class);
 		networkCtxManager = mock(NetworkCtxManager.class);
@@ -373,10 +371,7 @@ class ServicesStateTest {
 		// during migration, if the records directory doesn't have old files, initialHash will be empty hash
 		inOrder.verify(ctx).setRecordsInitialHash(EMPTY_HASH);
 		inOrder.verify(ctx).update(subject);
-		inOrder.verify(ctx).rebuildBackingStoresIfPresent();
-		inOrder.verify(ctx).rebuildStoreViewsIfPresent();
-		inOrder.verify(historian).reviewExistingRecords();
-		inOrder.verify(expiryManager).restartEntitiesTracking();
+		inOrder.verify(ctx).rebuildDerivedViews();
 		inOrder.verify(networkCtxManager).setObservableFilesNotLoaded();
 		inOrder.verify(networkCtxManager).loadObservableSysFilesIfNeeded();
 	}
@@ -396,8 +391,7 @@ class ServicesStateTest {
 		// then:
 		inOrder.verify(ctx).nodeAccount();
 		inOrder.verify(ctx).update(subject);
-		inOrder.verify(ctx).rebuildBackingStoresIfPresent();
-		inOrder.verify(historian).reviewExistingRecords();
+		inOrder.verify(ctx).rebuildDerivedViews();
 		inOrder.verify(networkCtxManager, never()).loadObservableSysFilesIfNeeded();
 	}
 
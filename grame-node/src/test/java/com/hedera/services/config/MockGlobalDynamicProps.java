@@ -191,4 +191,9 @@ public class MockGlobalDynamicProps extends GlobalDynamicProperties {
 	public int feesMinCongestionPeriod() {
 		return minCongestionPeriod;
 	}
+
+	@Override
+	public int maxEntityPurgesPerTxn() {
+		return 100;
+	}
 }
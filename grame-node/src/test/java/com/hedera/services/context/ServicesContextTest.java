@@ -33,10 +33,12 @@ import com.grame.services.context.properties.NodeLocalProperties;
 import com.grame.services.context.properties.PropertySource;
 import com.grame.services.context.properties.SemanticVersions;
 import com.grame.services.context.properties.StandardizedPropertySources;
+import com.grame.services.contracts.execution.BytecodeCache;
 import com.grame.services.contracts.execution.SolidityLifecycle;
 import com.grame.services.contracts.execution.TxnAwareSoliditySigsVerifier;
-import com.grame.services.contracts.persistence.BlobStoragePersistence;
+import com.grame.services.contracts.persistence.SlotKeyedRepositoryRoot;
 import com.grame.services.contracts.sources.BlobStorageSource;
+import com.grame.services.contracts.sources.ContractStorageSlots;
 import com.grame.services.contracts.sources.LedgerAccountsSource;
 import com.grame.services.fees.AwareHbarCentExchange;
 import com.grame.services.fees.StandardExemptions;
@@ -60,20 +62,24 @@ import com.grame.services.grpc.controllers.CryptoController;
 import com.grame.services.grpc.controllers.FileController;
 import com.grame.services.grpc.controllers.FreezeController;
 import com.grame.services.grpc.controllers.NetworkController;
+import com.grame.services.grpc.controllers.OutcomeStreamController;
 import com.grame.services.grpc.controllers.ScheduleController;
 import com.grame.services.grpc.controllers.TokenController;
 import com.grame.services.keys.CharacteristicsFactory;
 import com.grame.services.keys.InHandleActivationHelper;
 import com.grame.services.keys.LegacyEd25519KeyReader;
+import com.grame.services.ledger.RunningBalanceTotals;
 import com.grame.services.ledger.grameLedger;
 import com.grame.services.ledger.accounts.BackingTokenRels;
 import com.grame.services.ledger.accounts.FCMapBackingAccounts;
+import com.grame.services.ledger.accounts.PendingAccountVisibility;
 import com.grame.services.ledger.ids.SeqNoEntityIdSource;
 import com.grame.services.legacy.handler.FreezeHandler;
 import com.grame.services.legacy.handler.SmartContractRequestHandler;
 import com.grame.services.legacy.handler.TransactionHandler;
 import com.grame.services.legacy.services.state.AwareProcessLogic;
 import com.grame.services.queries.answering.AnswerFunctions;
+import com.grame.services.queries.contract.PooledLocalCaller;
 import com.grame.services.queries.answering.QueryResponseHelper;
 import com.grame.services.queries.answering.StakedAnswerFlow;
 import com.grame.services.queries.answering.ZeroStakeAnswerFlow;
@@ -84,22 +90,29 @@ import com.grame.services.queries.meta.MetaAnswers;
 import com.grame.services.queries.schedule.ScheduleAnswers;
 import com.grame.services.queries.token.TokenAnswers;
 import com.grame.services.queries.validation.QueryFeeCheck;
+import com.grame.services.records.OutcomeSubscriptions;
 import com.grame.services.records.RecordCache;
 import com.grame.services.records.TxnAwareRecordsHistorian;
+import com.grame.services.records.TxnIdRecentHistories;
 import com.grame.services.security.ops.SystemOpPolicies;
 import com.grame.services.sigs.factories.SigFactoryCreator;
+import com.grame.services.sigs.metadata.SigMetadataVersions;
 import com.grame.services.sigs.order.grameSigningOrder;
 import com.grame.services.sigs.verification.PrecheckVerifier;
 import com.grame.services.sigs.verification.SyncVerifier;
 import com.grame.services.state.expiry.ExpiringCreations;
 import com.grame.services.state.expiry.ExpiryManager;
 import com.grame.services.state.exports.SignedStateBalancesExporter;
+import com.grame.services.state.exports.StreamingAccountsExporter;
 import com.grame.services.state.initialization.BackedSystemAccountsCreator;
+import com.grame.services.state.initialization.DerivedView;
 import com.grame.services.state.initialization.HfsSystemFilesManager;
 import com.grame.services.state.logic.AwareNodeDiligenceScreen;
 import com.grame.services.state.logic.NetworkCtxManager;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleBlobMeta;
+import com.grame.services.state.merkle.MerkleContractStorageKey;
+import com.grame.services.state.merkle.MerkleContractStorageValue;
 import com.grame.services.state.merkle.MerkleDiskFs;
 import com.grame.services.state.merkle.MerkleEntityAssociation;
 import com.grame.services.state.merkle.MerkleEntityId;
@@ -115,6 +128,7 @@ import com.grame.services.state.submerkle.RichInstant;
 import com.grame.services.state.submerkle.SequenceNumber;
 import com.grame.services.state.validation.BasedLedgerValidator;
 import com.grame.services.stats.HapiOpCounters;
+import com.grame.services.stats.HapiOpLatencies;
 import com.grame.services.stats.MiscRunningAvgs;
 import com.grame.services.stats.MiscSpeedometers;
 import com.grame.services.stats.ServicesStatsManager;
@@ -123,7 +137,7 @@ import com.grame.services.store.tokens.grameTokenStore;
 import com.grame.services.store.tokens.TokenStore;
 import com.grame.services.stream.RecordStreamManager;
 import com.grame.services.stream.RecordsRunningHashLeaf;
-import com.grame.services.throttling.HapiThrottling;
+import com.grame.services.throttling.ConcurrentHapiThrottling;
 import com.grame.services.throttling.TransactionThrottling;
 import com.grame.services.throttling.TxnAwareHandleThrottling;
 import com.grame.services.txns.TransitionLogicLookup;
@@ -143,12 +157,12 @@ import com.swirlds.common.crypto.Cryptography;
 import com.swirlds.common.crypto.Hash;
 import com.swirlds.common.crypto.RunningHash;
 import com.swirlds.fcmap.FCMap;
-import org.ethereum.db.ServicesRepositoryRoot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -168,6 +182,7 @@ import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.spy;
 import static org.mockito.BDDMockito.verify;
 import static org.mockito.BDDMockito.when;
+import static org.mockito.Mockito.times;
 
 public class ServicesContextTest {
 	private final long id = 1L;
@@ -187,6 +202,7 @@ public class ServicesContextTest {
 	FCMap<MerkleEntityId, MerkleToken> tokens;
 	FCMap<MerkleEntityId, MerkleAccount> accounts;
 	FCMap<MerkleBlobMeta, MerkleOptionalBlob> storage;
+	FCMap<MerkleContractStorageKey, MerkleContractStorageValue> contractStorage;
 	FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> tokenAssociations;
 	FCMap<MerkleEntityId, MerkleSchedule> schedules;
 
@@ -197,6 +213,7 @@ public class ServicesContextTest {
 		tokenAssociations = mock(FCMap.class);
 		schedules = mock(FCMap.class);
 		storage = mock(FCMap.class);
+		contractStorage = mock(FCMap.class);
 		accounts = mock(FCMap.class);
 		seqNo = mock(SequenceNumber.class);
 		midnightRates = mock(ExchangeRates.class);
@@ -205,6 +222,7 @@ public class ServicesContextTest {
 		given(state.networkCtx()).willReturn(networkCtx);
 		given(state.accounts()).willReturn(accounts);
 		given(state.storage()).willReturn(storage);
+		given(state.contractStorage()).willReturn(contractStorage);
 		given(state.topics()).willReturn(topics);
 		given(state.tokens()).willReturn(tokens);
 		given(state.tokenAssociations()).willReturn(tokenAssociations);
@@ -224,6 +242,7 @@ public class ServicesContextTest {
 		var newAccounts = mock(FCMap.class);
 		var newTopics = mock(FCMap.class);
 		var newStorage = mock(FCMap.class);
+		var newContractStorage = mock(FCMap.class);
 		var newTokens = mock(FCMap.class);
 		var newTokenRels = mock(FCMap.class);
 		var newSchedules = mock(FCMap.class);
@@ -232,6 +251,7 @@ public class ServicesContextTest {
 		given(newState.topics()).willReturn(newTopics);
 		given(newState.tokens()).willReturn(newTokens);
 		given(newState.storage()).willReturn(newStorage);
+		given(newState.contractStorage()).willReturn(newContractStorage);
 		given(newState.tokenAssociations()).willReturn(newTokenRels);
 		given(newState.scheduleTxs()).willReturn(newSchedules);
 		// given:
@@ -240,6 +260,7 @@ public class ServicesContextTest {
 		var accountsRef = subject.queryableAccounts();
 		var topicsRef = subject.queryableTopics();
 		var storageRef = subject.queryableStorage();
+		var contractStorageRef = subject.queryableContractStorage();
 		var tokensRef = subject.queryableTokens();
 		var tokenRelsRef = subject.queryableTokenAssociations();
 		var schedulesRef = subject.queryableSchedules();
@@ -252,6 +273,7 @@ public class ServicesContextTest {
 		assertSame(accountsRef, subject.queryableAccounts());
 		assertSame(topicsRef, subject.queryableTopics());
 		assertSame(storageRef, subject.queryableStorage());
+		assertSame(contractStorageRef, subject.queryableContractStorage());
 		assertSame(tokensRef, subject.queryableTokens());
 		assertSame(tokenRelsRef, subject.queryableTokenAssociations());
 		assertSame(schedulesRef, subject.queryableSchedules());
@@ -259,6 +281,7 @@ public class ServicesContextTest {
 		assertSame(newAccounts, subject.queryableAccounts().get());
 		assertSame(newTopics, subject.queryableTopics().get());
 		assertSame(newStorage, subject.queryableStorage().get());
+		assertSame(newContractStorage, subject.queryableContractStorage().get());
 		assertSame(newTokens, subject.queryableTokens().get());
 		assertSame(newTokenRels, subject.queryableTokenAssociations().get());
 		assertSame(newSchedules, subject.queryableSchedules().get());
@@ -279,6 +302,7 @@ public class ServicesContextTest {
 		var actualLastHandleTime = subject.consensusTimeOfLastHandledTxn();
 		subject.topics();
 		subject.storage();
+		subject.contractStorage();
 		subject.accounts();
 
 		// then:
@@ -288,6 +312,7 @@ public class ServicesContextTest {
 		assertEquals(consensusTimeOfLastHandledTxn.toJava(), actualLastHandleTime);
 		inOrder.verify(state).topics();
 		inOrder.verify(state).storage();
+		inOrder.verify(state).contractStorage();
 		inOrder.verify(state).accounts();
 	}
 
@@ -361,51 +386,63 @@ public class ServicesContextTest {
 	}
 
 	@Test
-	public void rebuildsStoreViewsIfNonNull() {
-		// setup:
-		ScheduleStore scheduleStore = mock(ScheduleStore.class);
-		TokenStore tokenStore = mock(TokenStore.class);
-
-		// given:
-		ServicesContext ctx = new ServicesContext(nodeId, platform, state, propertySources);
-
-		// expect:
-		assertDoesNotThrow(ctx::rebuildStoreViewsIfPresent);
-
-		// and given:
-		ctx.setTokenStore(tokenStore);
-		ctx.setScheduleStore(scheduleStore);
-
-		// when:
-		ctx.rebuildStoreViewsIfPresent();
-
-		// then:
-		verify(tokenStore).rebuildViews();
-		verify(scheduleStore).rebuildViews();
-	}
-
-	@Test
-	public void rebuildsBackingAccountsIfNonNull() {
+	public void rebuildsDerivedViewsFromOneTraversalPerMap() {
 		// setup:
 		BackingTokenRels tokenRels = mock(BackingTokenRels.class);
 		FCMapBackingAccounts backingAccounts = mock(FCMapBackingAccounts.class);
+		RunningBalanceTotals balanceTotals = mock(RunningBalanceTotals.class);
+		ExpiryManager expiries = mock(ExpiryManager.class);
+		ScheduleStore scheduleStore = mock(ScheduleStore.class);
+		TokenStore tokenStore = mock(TokenStore.class);
+		DerivedView existingAccounts = mock(DerivedView.class);
+		DerivedView payerExpiries = mock(DerivedView.class);
+		DerivedView existingRels = mock(DerivedView.class);
+		DerivedView knownTreasuries = mock(DerivedView.class);
+		DerivedView extantSchedules = mock(DerivedView.class);
+		DerivedView entityExpiries = mock(DerivedView.class);
+		DerivedView ledgerFloat = mock(DerivedView.class);
+		SigMetadataVersions sigMetaVersions = mock(SigMetadataVersions.class);
+		BytecodeCache bytecodeCache = mock(BytecodeCache.class);
+
+		given(backingAccounts.existingAccountsView()).willReturn(existingAccounts);
+		given(expiries.payerExpiriesView()).willReturn(payerExpiries);
+		given(tokenRels.existingRelsView()).willReturn(existingRels);
+		given(tokenStore.derivedViews()).willReturn(List.of(knownTreasuries));
+		given(scheduleStore.derivedViews()).willReturn(List.of(extantSchedules));
+		given(expiries.entityExpiriesView()).willReturn(entityExpiries);
+		given(balanceTotals.floatView()).willReturn(ledgerFloat);
+		given(state.accounts()).willReturn(new FCMap<>());
+		given(state.tokenAssociations()).willReturn(new FCMap<>());
+		given(state.tokens()).willReturn(new FCMap<>());
+		given(state.scheduleTxs()).willReturn(new FCMap<>());
 
 		// given:
 		ServicesContext ctx = new ServicesContext(nodeId, platform, state, propertySources);
+		ctx.setExpiries(expiries);
 
 		// expect:
-		assertDoesNotThrow(ctx::rebuildBackingStoresIfPresent);
+		assertDoesNotThrow(ctx::rebuildDerivedViews);
 
 		// and given:
 		ctx.setBackingAccounts(backingAccounts);
 		ctx.setBackingTokenRels(tokenRels);
+		ctx.setBalanceTotals(balanceTotals);
+		ctx.setTokenStore(tokenStore);
+		ctx.setScheduleStore(scheduleStore);
+		ctx.setSigMetaVersions(sigMetaVersions);
+		ctx.setBytecodeCache(bytecodeCache);
 
 		// when:
-		ctx.rebuildBackingStoresIfPresent();
+		ctx.rebuildDerivedViews();
 
 		// then:
-		verify(tokenRels).rebuildFromSources();
-		verify(backingAccounts).rebuildFromSources();
+		for (var view : List.of(existingAccounts, existingRels, knownTreasuries, extantSchedules, ledgerFloat)) {
+			verify(view).rebuildFrom(any());
+		}
+		verify(payerExpiries, times(2)).rebuildFrom(any());
+		verify(entityExpiries, times(2)).rebuildFrom(any());
+		verify(sigMetaVersions).noteStateReplaced();
+		verify(bytecodeCache).invalidateAll();
 	}
 
 	@Test
@@ -457,11 +494,13 @@ public class ServicesContextTest {
 		assertThat(ctx.txnThrottling(), instanceOf(TransactionThrottling.class));
 		assertThat(ctx.accountSource(), instanceOf(LedgerAccountsSource.class));
 		assertThat(ctx.bytecodeDb(), instanceOf(BlobStorageSource.class));
+		assertThat(ctx.bytecodeCache(), instanceOf(BytecodeCache.class));
+		assertThat(ctx.localCaller(), instanceOf(PooledLocalCaller.class));
 		assertThat(ctx.cryptoAnswers(), instanceOf(CryptoAnswers.class));
 		assertThat(ctx.tokenAnswers(), instanceOf(TokenAnswers.class));
 		assertThat(ctx.scheduleAnswers(), instanceOf(ScheduleAnswers.class));
 		assertThat(ctx.consensusGrpc(), instanceOf(ConsensusController.class));
-		assertThat(ctx.storagePersistence(), instanceOf(BlobStoragePersistence.class));
+		assertThat(ctx.contractStorageSlots(), instanceOf(ContractStorageSlots.class));
 		assertThat(ctx.filesGrpc(), instanceOf(FileController.class));
 		assertThat(ctx.networkGrpc(), instanceOf(NetworkController.class));
 		assertThat(ctx.entityNums(), instanceOf(EntityNumbers.class));
@@ -480,23 +519,26 @@ public class ServicesContextTest {
 		assertThat(ctx.txnResponseHelper(), instanceOf(TxnResponseHelper.class));
 		assertThat(ctx.statusCounts(), instanceOf(ConsensusStatusCounts.class));
 		assertThat(ctx.queryableStorage(), instanceOf(AtomicReference.class));
+		assertThat(ctx.queryableContractStorage(), instanceOf(AtomicReference.class));
 		assertThat(ctx.systemFilesManager(), instanceOf(HfsSystemFilesManager.class));
 		assertThat(ctx.queryResponseHelper(), instanceOf(QueryResponseHelper.class));
 		assertThat(ctx.solidityLifecycle(), instanceOf(SolidityLifecycle.class));
 		assertThat(ctx.charging(), instanceOf(ItemizableFeeCharging.class));
-		assertThat(ctx.repository(), instanceOf(ServicesRepositoryRoot.class));
+		assertThat(ctx.repository(), instanceOf(SlotKeyedRepositoryRoot.class));
 		assertThat(ctx.newPureRepo(), instanceOf(Supplier.class));
 		assertThat(ctx.exchangeRatesManager(), instanceOf(TxnAwareRatesManager.class));
 		assertThat(ctx.lookupRetryingKeyOrder(), instanceOf(grameSigningOrder.class));
 		assertThat(ctx.soliditySigsVerifier(), instanceOf(TxnAwareSoliditySigsVerifier.class));
 		assertThat(ctx.expiries(), instanceOf(ExpiryManager.class));
 		assertThat(ctx.creator(), instanceOf(ExpiringCreations.class));
-		assertThat(ctx.txnHistories(), instanceOf(Map.class));
+		assertThat(ctx.txnHistories(), instanceOf(TxnIdRecentHistories.class));
 		assertThat(ctx.backingAccounts(), instanceOf(FCMapBackingAccounts.class));
+		assertThat(ctx.pendingAccountVisibility(), instanceOf(PendingAccountVisibility.class));
 		assertThat(ctx.backingTokenRels(), instanceOf(BackingTokenRels.class));
 		assertThat(ctx.systemAccountsCreator(), instanceOf(BackedSystemAccountsCreator.class));
 		assertThat(ctx.b64KeyReader(), instanceOf(LegacyEd25519KeyReader.class));
 		assertThat(ctx.ledgerValidator(), instanceOf(BasedLedgerValidator.class));
+		assertThat(ctx.balanceTotals(), instanceOf(RunningBalanceTotals.class));
 		assertThat(ctx.systemOpPolicies(), instanceOf(SystemOpPolicies.class));
 		assertThat(ctx.exemptions(), instanceOf(StandardExemptions.class));
 		assertThat(ctx.submissionManager(), instanceOf(PlatformSubmissionManager.class));
@@ -511,18 +553,22 @@ public class ServicesContextTest {
 		assertThat(ctx.exchange(), instanceOf(AwareHbarCentExchange.class));
 		assertThat(ctx.stateMigrations(), instanceOf(StdStateMigrations.class));
 		assertThat(ctx.opCounters(), instanceOf(HapiOpCounters.class));
+		assertThat(ctx.opLatencies(), instanceOf(HapiOpLatencies.class));
 		assertThat(ctx.runningAvgs(), instanceOf(MiscRunningAvgs.class));
 		assertThat(ctx.speedometers(), instanceOf(MiscSpeedometers.class));
+		assertThat(ctx.sigMetaVersions(), instanceOf(SigMetadataVersions.class));
 		assertThat(ctx.statsManager(), instanceOf(ServicesStatsManager.class));
 		assertThat(ctx.semVers(), instanceOf(SemanticVersions.class));
 		assertThat(ctx.freezeGrpc(), instanceOf(FreezeController.class));
 		assertThat(ctx.contractsGrpc(), instanceOf(ContractController.class));
+		assertThat(ctx.outcomeStreamGrpc(), instanceOf(OutcomeStreamController.class));
+		assertThat(ctx.outcomeSubscriptions(), instanceOf(OutcomeSubscriptions.class));
 		assertThat(ctx.sigFactoryCreator(), instanceOf(SigFactoryCreator.class));
 		assertThat(ctx.activationHelper(), instanceOf(InHandleActivationHelper.class));
 		assertThat(ctx.characteristics(), instanceOf(CharacteristicsFactory.class));
 		assertThat(ctx.nodeDiligenceScreen(), instanceOf(AwareNodeDiligenceScreen.class));
 		assertThat(ctx.feeMultiplierSource(), instanceOf(TxnRateFeeMultiplierSource.class));
-		assertThat(ctx.hapiThrottling(), instanceOf(HapiThrottling.class));
+		assertThat(ctx.hapiThrottling(), instanceOf(ConcurrentHapiThrottling.class));
 		assertThat(ctx.handleThrottling(), instanceOf(TxnAwareHandleThrottling.class));
 		assertThat(ctx.throttleDefsManager(), instanceOf(ThrottleDefsManager.class));
 		assertThat(ctx.sysFileCallbacks(), instanceOf(SysFileCallbacks.class));
@@ -535,7 +581,7 @@ public class ServicesContextTest {
 		assertThat(ctx.contracts(), instanceOf(SmartContractRequestHandler.class));
 		assertThat(ctx.freeze(), instanceOf(FreezeHandler.class));
 		assertThat(ctx.logic(), instanceOf(AwareProcessLogic.class));
-		assertNotNull(ctx.accountsExporter());
+		assertThat(ctx.accountsExporter(), instanceOf(StreamingAccountsExporter.class));
 	}
 
 	@Test
@@ -22,6 +22,7 @@ package com.grame.services.context.primitives;
 
 import com.google.protobuf.ByteString;
 import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.contracts.sources.ContractStorageSlots;
 import com.grame.services.files.HFileMeta;
 import com.grame.services.legacy.core.jproto.JKey;
 import com.grame.services.state.merkle.MerkleAccount;
@@ -116,6 +117,7 @@ class StateViewTest {
 	FileGetInfoResponse.FileInfo expectedImmutable;
 
 	Map<byte[], byte[]> storage;
+	ContractStorageSlots storageSlots;
 	Map<byte[], byte[]> bytecode;
 	Map<FileID, byte[]> contents;
 	Map<FileID, HFileMeta> attrs;
@@ -221,6 +223,9 @@ class StateViewTest {
 		bytecode = mock(Map.class);
 		given(storage.get(argThat((byte[] bytes) -> Arrays.equals(cidAddress, bytes)))).willReturn(expectedStorage);
 		given(bytecode.get(argThat((byte[] bytes) -> Arrays.equals(cidAddress, bytes)))).willReturn(expectedBytecode);
+		storageSlots = mock(ContractStorageSlots.class);
+		given(storageSlots.sizeInBytes(argThat((byte[] bytes) -> Arrays.equals(cidAddress, bytes))))
+				.willReturn((long) expectedStorage.length);
 		nodeProps = mock(NodeLocalProperties.class);
 		diskFs = mock(MerkleDiskFs.class);
 
@@ -240,6 +245,7 @@ class StateViewTest {
 		subject.fileContents = contents;
 		subject.contractBytecode = bytecode;
 		subject.contractStorage = storage;
+		subject.contractStorageSlots = storageSlots;
 	}
 
 	@AfterEach
@@ -146,7 +146,22 @@ class BootstrapPropertiesTest {
 			entry("stats.runningAvgHalfLifeSecs", 10.0),
 			entry("stats.hapiOps.speedometerUpdateIntervalMs", 3_000L),
 			entry("stats.speedometerHalfLifeSecs", 10.0),
-			entry("consensus.message.maxBytesAllowed", 1024)
+			entry("consensus.message.maxBytesAllowed", 1024),
+			entry("cache.accessors.maxSize", 10000),
+			entry("throttling.hapi.stripes", 4),
+			entry("validation.fullFloatScan.enabled", false),
+			entry("validation.floatSpotCheck.numsPerSegment", 1024),
+			entry("validation.floatSpotCheck.periodSecs", 1),
+			entry("expiries.maxEntityPurgesPerTxn", 100),
+			entry("stats.latencies.scrapePort", 0),
+			entry("cache.bytecode.maxSize", 1000),
+			entry("contracts.localCall.poolSize", 2),
+			entry("contracts.localCall.queueSize", 64),
+			entry("contracts.localCall.timeoutMs", 5000),
+			entry("cache.localCalls.maxSize", 1000),
+			entry("grpc.outcomeStream.bufferSize", 256),
+			entry("grpc.outcomeStream.maxSubscriptions", 1000),
+			entry("fees.quoteCache.maxSize", 10000)
 	);
 
 	@BeforeEach
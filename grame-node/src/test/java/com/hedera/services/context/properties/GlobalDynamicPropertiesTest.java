@@ -96,6 +96,7 @@ class GlobalDynamicPropertiesTest {
 		assertEquals(Set.of(grameFunctionality.CryptoTransfer), subject.schedulingWhitelist());
 		assertEquals(oddCongestion, subject.congestionMultipliers());
 		assertEquals(29, subject.feesMinCongestionPeriod());
+		assertEquals(30, subject.maxEntityPurgesPerTxn());
 	}
 
 	@Test
@@ -137,6 +138,7 @@ class GlobalDynamicPropertiesTest {
 		assertEquals(Set.of(grameFunctionality.CryptoCreate), subject.schedulingWhitelist());
 		assertEquals(evenCongestion, subject.congestionMultipliers());
 		assertEquals(30, subject.feesMinCongestionPeriod());
+		assertEquals(31, subject.maxEntityPurgesPerTxn());
 	}
 
 	private void givenPropsWithSeed(int i) {
@@ -174,6 +176,7 @@ class GlobalDynamicPropertiesTest {
 		given(properties.getCongestionMultiplierProperty("fees.percentCongestionMultipliers"))
 				.willReturn(i % 2 == 0 ? evenCongestion : oddCongestion);
 		given(properties.getIntProperty("fees.minCongestionPeriod")).willReturn(i + 28);
+		given(properties.getIntProperty("expiries.maxEntityPurgesPerTxn")).willReturn(i + 29);
 	}
 
 	private AccountID accountWith(long shard, long realm, long num) {
@@ -79,6 +79,20 @@ class NodeLocalPropertiesTest {
 		assertEquals("B", subject.accountsExportPath());
 		assertFalse(subject.exportAccountsOnStartup());
 		assertEquals(Profile.PROD, subject.nettyMode());
+		assertEquals(22, subject.accessorCacheMaxSize());
+		assertEquals(23, subject.hapiThrottlingStripes());
+		assertFalse(subject.fullFloatScanEnabled());
+		assertEquals(24, subject.floatSpotCheckNumsPerSegment());
+		assertEquals(25, subject.floatSpotCheckPeriodSecs());
+		assertEquals(26, subject.statsLatencyScrapePort());
+		assertEquals(27, subject.bytecodeCacheMaxSize());
+		assertEquals(28, subject.localCallPoolSize());
+		assertEquals(29, subject.localCallQueueSize());
+		assertEquals(30, subject.localCallTimeoutMs());
+		assertEquals(31, subject.localCallMemoMaxSize());
+		assertEquals(32, subject.outcomeStreamBufferSize());
+		assertEquals(33, subject.outcomeStreamMaxSubscriptions());
+		assertEquals(34, subject.feeQuoteCacheMaxSize());
 	}
 
 	@Test
@@ -116,6 +130,20 @@ class NodeLocalPropertiesTest {
 		assertEquals("A", subject.accountsExportPath());
 		assertTrue(subject.exportAccountsOnStartup());
 		assertEquals(Profile.TEST, subject.nettyMode());
+		assertEquals(23, subject.accessorCacheMaxSize());
+		assertEquals(24, subject.hapiThrottlingStripes());
+		assertTrue(subject.fullFloatScanEnabled());
+		assertEquals(25, subject.floatSpotCheckNumsPerSegment());
+		assertEquals(26, subject.floatSpotCheckPeriodSecs());
+		assertEquals(27, subject.statsLatencyScrapePort());
+		assertEquals(28, subject.bytecodeCacheMaxSize());
+		assertEquals(29, subject.localCallPoolSize());
+		assertEquals(30, subject.localCallQueueSize());
+		assertEquals(31, subject.localCallTimeoutMs());
+		assertEquals(32, subject.localCallMemoMaxSize());
+		assertEquals(33, subject.outcomeStreamBufferSize());
+		assertEquals(34, subject.outcomeStreamMaxSubscriptions());
+		assertEquals(35, subject.feeQuoteCacheMaxSize());
 	}
 
 	private void givenPropsWithSeed(int i) {
@@ -147,6 +175,20 @@ class NodeLocalPropertiesTest {
 		given(properties.getStringProperty("grame.accountsExportPath")).willReturn(i % 2 == 0 ? "A" : "B");
 		given(properties.getBooleanProperty("grame.exportAccountsOnStartup")).willReturn(i % 2 == 0);
 		given(properties.getProfileProperty("netty.mode")).willReturn(LEGACY_ENV_ORDER[(i + 21) % 3]);
+		given(properties.getIntProperty("cache.accessors.maxSize")).willReturn(i + 21);
+		given(properties.getIntProperty("throttling.hapi.stripes")).willReturn(i + 22);
+		given(properties.getBooleanProperty("validation.fullFloatScan.enabled")).willReturn(i % 2 == 0);
+		given(properties.getIntProperty("validation.floatSpotCheck.numsPerSegment")).willReturn(i + 23);
+		given(properties.getIntProperty("validation.floatSpotCheck.periodSecs")).willReturn(i + 24);
+		given(properties.getIntProperty("stats.latencies.scrapePort")).willReturn(i + 25);
+		given(properties.getIntProperty("cache.bytecode.maxSize")).willReturn(i + 26);
+		given(properties.getIntProperty("contracts.localCall.poolSize")).willReturn(i + 27);
+		given(properties.getIntProperty("contracts.localCall.queueSize")).willReturn(i + 28);
+		given(properties.getIntProperty("contracts.localCall.timeoutMs")).willReturn(i + 29);
+		given(properties.getIntProperty("cache.localCalls.maxSize")).willReturn(i + 30);
+		given(properties.getIntProperty("grpc.outcomeStream.bufferSize")).willReturn(i + 31);
+		given(properties.getIntProperty("grpc.outcomeStream.maxSubscriptions")).willReturn(i + 32);
+		given(properties.getIntProperty("fees.quoteCache.maxSize")).willReturn(i + 33);
 	}
 
 	static String logDir(int num) {
@@ -0,0 +1,162 @@
+package com.grame.services.contracts.execution;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.stats.MiscRunningAvgs;
+import org.ethereum.db.ServicesRepositoryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.grame.services.utils.EntityIdUtils.asSolidityAddress;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+class BytecodeCacheTest {
+	int maxSize = 1;
+	byte[] address = asSolidityAddress(0, 0, 1234);
+	byte[] otherAddress = asSolidityAddress(0, 0, 5678);
+	byte[] code = "CODE".getBytes();
+	byte[] codeHash = "HASH".getBytes();
+
+	NodeLocalProperties properties;
+	MiscRunningAvgs runningAvgs;
+	ServicesRepositoryImpl repository;
+
+	BytecodeCache subject;
+
+	@BeforeEach
+	void setUp() {
+		properties = mock(NodeLocalProperties.class);
+		given(properties.bytecodeCacheMaxSize()).willReturn(maxSize);
+		runningAvgs = mock(MiscRunningAvgs.class);
+		repository = mock(ServicesRepositoryImpl.class);
+		given(repository.getCode(any())).willReturn(code);
+		given(repository.getCodeHash(any())).willReturn(codeHash);
+
+		subject = new BytecodeCache(properties, runningAvgs);
+	}
+
+	@Test
+	void loadsOnceThenHits() {
+		// when:
+		var first = subject.getOrLoad(address, repository);
+		var second = subject.getOrLoad(address.clone(), repository);
+
+		// then:
+		assertSame(first, second);
+		assertArrayEquals(code, second.getCode());
+		assertArrayEquals(codeHash, second.getCodeHash());
+		// and:
+		verify(repository, times(1)).getCode(any());
+		verify(repository, times(1)).getCodeHash(any());
+		verify(runningAvgs).recordBytecodeCacheLookup(false, 0);
+		verify(runningAvgs).recordBytecodeCacheLookup(true, 0);
+	}
+
+	@Test
+	void doesNotCacheMissingCode() {
+		given(repository.getCode(any())).willReturn(new byte[0]);
+
+		// when:
+		subject.getOrLoad(address, repository);
+
+		// then:
+		assertEquals(0, subject.size());
+	}
+
+	@Test
+	void reloadsAfterInvalidation() {
+		// given:
+		subject.getOrLoad(address, repository);
+
+		// when:
+		subject.invalidate(address.clone());
+		subject.getOrLoad(address, repository);
+
+		// then:
+		verify(repository, times(2)).getCode(any());
+		verify(runningAvgs, times(2)).recordBytecodeCacheLookup(false, 0);
+	}
+
+	@Test
+	void invalidatesAllEntries() {
+		// setup:
+		given(properties.bytecodeCacheMaxSize()).willReturn(2);
+		subject = new BytecodeCache(properties, runningAvgs);
+
+		// given:
+		subject.getOrLoad(address, repository);
+		subject.getOrLoad(otherAddress, repository);
+
+		// when:
+		subject.invalidateAll();
+
+		// then:
+		assertEquals(0, subject.size());
+	}
+
+	@Test
+	void localLoadAfterInvalidationDoesNotReinsertStaleCode() {
+		// setup:
+		byte[] freshCode = "FRESH".getBytes();
+		byte[] freshHash = "FRESH_HASH".getBytes();
+		ServicesRepositoryImpl signedRepository = mock(ServicesRepositoryImpl.class);
+		given(signedRepository.getCode(any())).willReturn(code);
+		given(signedRepository.getCodeHash(any())).willReturn(codeHash);
+
+		// given:
+		subject.getOrLoad(address, repository);
+		// and:
+		given(repository.getCode(any())).willReturn(freshCode);
+		given(repository.getCodeHash(any())).willReturn(freshHash);
+		subject.invalidate(address);
+
+		// when:
+		var local = BytecodeCache.load(address, signedRepository);
+		var handled = subject.getOrLoad(address, repository);
+
+		// then:
+		assertArrayEquals(code, local.getCode());
+		assertArrayEquals(freshCode, handled.getCode());
+		assertArrayEquals(freshHash, handled.getCodeHash());
+		verify(runningAvgs, times(2)).recordBytecodeCacheLookup(false, 0);
+	}
+
+	@Test
+	void reportsEvictions() {
+		// given:
+		subject.getOrLoad(address, repository);
+
+		// when:
+		subject.getOrLoad(otherAddress, repository);
+
+		// then:
+		assertEquals(1, subject.size());
+		verify(runningAvgs).recordBytecodeCacheLookup(false, 1);
+	}
+}
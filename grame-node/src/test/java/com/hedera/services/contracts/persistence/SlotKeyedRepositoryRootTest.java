@@ -0,0 +1,204 @@
+package com.grame.services.contracts.persistence;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.contracts.sources.ContractStorageSlots;
+import com.grame.services.state.merkle.MerkleContractStorageKey;
+import com.grame.services.state.merkle.MerkleContractStorageValue;
+import com.grame.services.utils.EntityIdUtils;
+import com.swirlds.fcmap.FCMap;
+import org.ethereum.core.AccountState;
+import org.ethereum.datasource.Source;
+import org.ethereum.vm.DataWord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.grame.services.contracts.sources.ContractStorageSlots.BYTES_PER_SLOT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+class SlotKeyedRepositoryRootTest {
+	byte[] address = EntityIdUtils.asSolidityAddress(0, 0, 1001);
+
+	DataWord aKey = DataWord.of(1);
+	DataWord bKey = DataWord.of(2);
+	DataWord aValue = DataWord.of(11);
+	DataWord bValue = DataWord.of(22);
+
+	Map<String, byte[]> store;
+	FCMap<MerkleContractStorageKey, MerkleContractStorageValue> storage;
+	Source<byte[], AccountState> accountSource;
+	Source<byte[], byte[]> bytecodeSource;
+	ContractStorageSlots slots;
+
+	SlotKeyedRepositoryRoot subject;
+
+	@BeforeEach
+	private void setup() {
+		store = new HashMap<>();
+		storage = new FCMap<>();
+		accountSource = mock(Source.class);
+		bytecodeSource = mock(Source.class);
+		slots = spy(new ContractStorageSlots(store, () -> storage));
+
+		subject = new SlotKeyedRepositoryRoot(accountSource, bytecodeSource, slots);
+	}
+
+	@Test
+	public void flushesOnlyChangedSlots() {
+		// given:
+		slots.put(address, aKey, aValue);
+		slots.put(address, bKey, bValue);
+		// and:
+		clearInvocations(slots);
+
+		// when:
+		var track = subject.startTracking();
+		track.addStorageRow(address, aKey, bValue);
+		track.getStorageValue(address, bKey);
+		track.commit();
+		// and:
+		var flushed = subject.flushStorageCacheIfTotalSizeLessThan(1);
+
+		// then:
+		assertTrue(flushed);
+		verify(slots).put(address, aKey, bValue);
+		verify(slots, never()).put(eq(address), eq(bKey), any());
+		verify(slots, never()).delete(any(), any());
+		// and:
+		assertEquals(bValue, subject.getStorageValue(address, aKey));
+	}
+
+	@Test
+	public void flushesZeroedSlotAsDelete() {
+		// given:
+		slots.put(address, aKey, aValue);
+
+		// when:
+		var track = subject.startTracking();
+		track.addStorageRow(address, aKey, DataWord.ZERO);
+		track.commit();
+		subject.flushStorageCacheIfTotalSizeLessThan(1);
+
+		// then:
+		verify(slots).delete(address, aKey);
+		assertEquals(0, slots.numSlots(address));
+	}
+
+	@Test
+	public void doesntFlushIfContractWouldExceedLimit() {
+		// setup:
+		int maxKb = 1;
+		int slotsPerKb = 1024 / BYTES_PER_SLOT;
+
+		// given:
+		var track = subject.startTracking();
+		for (int i = 0; i <= slotsPerKb; i++) {
+			track.addStorageRow(address, DataWord.of(i + 1), aValue);
+		}
+		track.commit();
+
+		// when:
+		var flushed = subject.flushStorageCacheIfTotalSizeLessThan(maxKb);
+
+		// then:
+		assertFalse(flushed);
+		assertTrue(storage.isEmpty());
+	}
+
+	@Test
+	public void ignoresUnchangedContractsWhenCheckingLimit() {
+		// setup:
+		var otherAddress = EntityIdUtils.asSolidityAddress(0, 0, 1002);
+		int slotsPerKb = 1024 / BYTES_PER_SLOT;
+
+		// given:
+		for (int i = 0; i <= slotsPerKb; i++) {
+			slots.put(otherAddress, DataWord.of(i + 1), aValue);
+		}
+		// and:
+		var track = subject.startTracking();
+		track.getStorageValue(otherAddress, aKey);
+		track.addStorageRow(address, aKey, aValue);
+		track.commit();
+
+		// when:
+		var flushed = subject.flushStorageCacheIfTotalSizeLessThan(1);
+
+		// then:
+		assertTrue(flushed);
+		assertEquals(aValue, slots.get(address, aKey));
+	}
+
+	@Test
+	public void committingRootDoesntFlushStorage() {
+		// given:
+		var track = subject.startTracking();
+		track.addStorageRow(address, aKey, aValue);
+		track.commit();
+
+		// when:
+		subject.commit();
+
+		// then:
+		verify(slots, never()).put(any(), any(), any());
+
+		// and when:
+		subject.flushStorageCacheIfTotalSizeLessThan(1);
+
+		// then:
+		verify(slots).put(address, aKey, aValue);
+	}
+
+	@Test
+	public void emptyingDiscardsChangedSlots() {
+		// given:
+		var track = subject.startTracking();
+		track.addStorageRow(address, aKey, aValue);
+		track.commit();
+
+		// when:
+		subject.emptyStorageCache();
+		subject.flushStorageCacheIfTotalSizeLessThan(1);
+
+		// then:
+		assertTrue(storage.isEmpty());
+		assertNull(subject.getStorageValue(address, aKey));
+	}
+
+	@Test
+	public void projectsSizeFromChangedSlots() {
+		// given:
+		slots.put(address, aKey, aValue);
+
+		// when:
+		var track = subject.startTracking();
+		track.addStorageRow(address, aKey, DataWord.ZERO);
+		track.addStorageRow(address, bKey, bValue);
+		track.commit();
+
+		// then:
+		assertEquals(BYTES_PER_SLOT, subject.projectedSizeInBytes(address));
+	}
+}
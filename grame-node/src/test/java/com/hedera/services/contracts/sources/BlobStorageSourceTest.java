@@ -26,6 +26,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.mockito.BDDMockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -115,4 +116,21 @@ class BlobStorageSourceTest {
 		// then:
 		verify(blobDelegate).remove(argThat((byte[] bytes) -> Arrays.equals(address, bytes)));
 	}
+
+	@Test
+	public void notifiesOfChanges() {
+		// setup:
+		Consumer<byte[]> onChange = mock(Consumer.class);
+
+		// given:
+		subject = new BlobStorageSource(blobDelegate, onChange);
+
+		// when:
+		subject.get(address);
+		subject.put(address, storage);
+		subject.delete(address);
+
+		// then:
+		verify(onChange, times(2)).accept(argThat((byte[] bytes) -> Arrays.equals(address, bytes)));
+	}
 }
@@ -0,0 +1,225 @@
+package com.grame.services.contracts.sources;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.primitives.Longs;
+import com.grame.services.state.merkle.MerkleContractStorageKey;
+import com.grame.services.state.merkle.MerkleContractStorageValue;
+import com.grame.services.utils.EntityIdUtils;
+import com.swirlds.fcmap.FCMap;
+import org.ethereum.vm.DataWord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.grame.services.contracts.sources.ContractStorageSlots.BYTES_PER_SLOT;
+import static com.grame.services.contracts.sources.ContractStorageSlots.MAX_CACHED_LEGACY_BLOBS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+class ContractStorageSlotsTest {
+	byte[] address = EntityIdUtils.asSolidityAddress(0, 2, 7);
+	String legacyPath = "/2/d7";
+
+	DataWord aKey = DataWord.of(1);
+	DataWord bKey = DataWord.of(2);
+	DataWord cKey = DataWord.of(3);
+	DataWord aValue = DataWord.of(11);
+	DataWord bValue = DataWord.of(22);
+	DataWord cValue = DataWord.of(33);
+
+	MerkleContractStorageKey aSlot = new MerkleContractStorageKey(0, 2, 7, aKey.getData());
+	MerkleContractStorageKey bSlot = new MerkleContractStorageKey(0, 2, 7, bKey.getData());
+	MerkleContractStorageKey count = MerkleContractStorageKey.slotCountOf(0, 2, 7);
+
+	Map<String, byte[]> blobs;
+	FCMap<MerkleContractStorageKey, MerkleContractStorageValue> storage;
+
+	ContractStorageSlots subject;
+
+	@BeforeEach
+	private void setup() {
+		blobs = spy(new HashMap<>());
+		storage = new FCMap<>();
+
+		subject = new ContractStorageSlots(blobs, () -> storage);
+	}
+
+	@Test
+	public void putsEachSlotInItsOwnEntry() {
+		// when:
+		subject.put(address, aKey, aValue);
+		subject.put(address, bKey, bValue);
+
+		// then:
+		assertArrayEquals(aValue.getData(), storage.get(aSlot).getData());
+		assertArrayEquals(bValue.getData(), storage.get(bSlot).getData());
+		assertEquals(2, Longs.fromByteArray(storage.get(count).getData()));
+		// and:
+		assertEquals(aValue, subject.get(address, aKey));
+		assertEquals(2 * BYTES_PER_SLOT, subject.sizeInBytes(address));
+		// and:
+		verify(blobs, never()).put(any(), any());
+	}
+
+	@Test
+	public void replacesOnlyTheChangedSlot() {
+		// given:
+		subject.put(address, aKey, aValue);
+		subject.put(address, bKey, bValue);
+		// and:
+		var bSlotValue = storage.get(bSlot);
+		var countValue = storage.get(count);
+
+		// when:
+		subject.put(address, aKey, bValue);
+
+		// then:
+		assertEquals(new MerkleContractStorageValue(bValue.getData()), storage.get(aSlot));
+		assertSame(bSlotValue, storage.get(bSlot));
+		assertSame(countValue, storage.get(count));
+		assertEquals(3, storage.size());
+		// and:
+		assertEquals(2, subject.numSlots(address));
+	}
+
+	@Test
+	public void deletesSlotAndCount() {
+		// given:
+		subject.put(address, aKey, aValue);
+
+		// when:
+		subject.sourceFor(address).put(aKey, null);
+
+		// then:
+		assertTrue(storage.isEmpty());
+		assertNull(subject.get(address, aKey));
+		assertEquals(0, subject.numSlots(address));
+	}
+
+	@Test
+	public void deleteOfMissingSlotIsNoop() {
+		// when:
+		subject.sourceFor(address).delete(aKey);
+
+		// then:
+		assertTrue(storage.isEmpty());
+	}
+
+	@Test
+	public void readsLegacyBlobWithoutMigrating() {
+		// given:
+		blobs.put(legacyPath, legacyBlobOf(aKey, aValue, cKey, cValue));
+
+		// expect:
+		assertEquals(aValue, subject.get(address, aKey));
+		assertEquals(cValue, subject.sourceFor(address).get(cKey));
+		assertNull(subject.get(address, bKey));
+		assertEquals(2 * BYTES_PER_SLOT, subject.sizeInBytes(address));
+		// and:
+		assertTrue(storage.isEmpty());
+		assertTrue(blobs.containsKey(legacyPath));
+	}
+
+	@Test
+	public void migratesLegacyBlobOnFirstWrite() {
+		// given:
+		blobs.put(legacyPath, legacyBlobOf(aKey, aValue, cKey, cValue));
+
+		// when:
+		subject.put(address, bKey, bValue);
+
+		// then:
+		assertFalse(blobs.containsKey(legacyPath));
+		assertEquals(aValue, subject.get(address, aKey));
+		assertEquals(bValue, subject.get(address, bKey));
+		assertEquals(cValue, subject.get(address, cKey));
+		assertEquals(3, Longs.fromByteArray(storage.get(count).getData()));
+		assertEquals(3 * BYTES_PER_SLOT, subject.sizeInBytes(address));
+	}
+
+	@Test
+	public void migratesLegacyBlobOnFirstDelete() {
+		// given:
+		blobs.put(legacyPath, legacyBlobOf(aKey, aValue, cKey, cValue));
+		// and:
+		subject.get(address, aKey);
+
+		// when:
+		subject.delete(address, aKey);
+
+		// then:
+		assertFalse(blobs.containsKey(legacyPath));
+		assertNull(subject.get(address, aKey));
+		assertEquals(cValue, subject.get(address, cKey));
+		assertEquals(1, subject.numSlots(address));
+	}
+
+	@Test
+	public void cachesOnlyTheMostRecentLegacyBlobs() {
+		// given:
+		for (int i = 0; i <= MAX_CACHED_LEGACY_BLOBS; i++) {
+			blobs.put("/2/d" + (100 + i), legacyBlobOf(aKey, aValue));
+		}
+
+		// when:
+		for (int i = 0; i <= MAX_CACHED_LEGACY_BLOBS; i++) {
+			subject.get(EntityIdUtils.asSolidityAddress(0, 2, 100 + i), aKey);
+		}
+		subject.get(EntityIdUtils.asSolidityAddress(0, 2, 100), aKey);
+
+		// then:
+		verify(blobs, times(2)).get("/2/d100");
+		verify(blobs, times(1)).get("/2/d" + (100 + MAX_CACHED_LEGACY_BLOBS));
+	}
+
+	@Test
+	public void legacyValueSearchesUnsignedOrder() {
+		// setup:
+		var highKey = DataWord.of(new byte[] { (byte) 0xff });
+		var legacy = legacyBlobOf(aKey, aValue, highKey, bValue);
+
+		// expect:
+		assertEquals(aValue, ContractStorageSlots.legacyValue(legacy, aKey));
+		assertEquals(bValue, ContractStorageSlots.legacyValue(legacy, highKey));
+		assertNull(ContractStorageSlots.legacyValue(legacy, cKey));
+		assertNull(ContractStorageSlots.legacyValue(new byte[0], cKey));
+	}
+
+	@Test
+	public void sourceDoesNotFlush() {
+		// expect:
+		assertFalse(subject.sourceFor(address).flush());
+	}
+
+	private byte[] legacyBlobOf(DataWord... keysAndValues) {
+		var blob = new byte[keysAndValues.length * DataWord.DATA_WORD_BYTES];
+		for (int i = 0; i < keysAndValues.length; i++) {
+			System.arraycopy(
+					keysAndValues[i].getData(), 0,
+					blob, i * DataWord.DATA_WORD_BYTES,
+					DataWord.DATA_WORD_BYTES);
+		}
+		return blob;
+	}
+}
@@ -243,6 +243,29 @@ class AwareFcfsUsagePricesTest {
 		assertEquals(expectedFeeSchedules, subject.feeSchedules);
 	}
 
+	@Test
+	public void rejectsDuplicateFunctionPrices() {
+		// setup:
+		var transferPrices = TransactionFeeSchedule.newBuilder()
+				.setgrameFunctionality(CryptoTransfer)
+				.setFeeData(DEFAULT_USAGE_PRICES);
+		var schedule = FeeSchedule.newBuilder()
+				.addTransactionFeeSchedule(transferPrices)
+				.addTransactionFeeSchedule(transferPrices);
+
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.setFeeSchedules(CurrentAndNextFeeSchedule.newBuilder()
+				.setCurrentFeeSchedule(schedule)
+				.setNextFeeSchedule(schedule)
+				.build()));
+	}
+
+	@Test
+	public void usesDefaultPricesBeforeSchedulesAreLoaded() {
+		// expect:
+		assertEquals(DEFAULT_USAGE_PRICES, subject.pricesGiven(CryptoTransfer, Timestamp.getDefaultInstance()));
+	}
+
 	@Test
 	public void throwsNfseOnMissingScheduleInFcfs() {
 		given(hfs.exists(schedules)).willReturn(false);
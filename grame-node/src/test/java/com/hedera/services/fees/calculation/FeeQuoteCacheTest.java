@@ -0,0 +1,129 @@
+package com.grame.services.fees.calculation;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.gramegrame.api.proto.java.ExchangeRate;
+import com.gramegrame.api.proto.java.FeeComponents;
+import com.gramegrame.api.proto.java.FeeData;
+import com.gramegrame.fee.FeeBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.grame.services.fees.calculation.AwareFcfsUsagePrices.DEFAULT_USAGE_PRICES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+class FeeQuoteCacheTest {
+	FeeComponents usageComponents = FeeComponents.newBuilder()
+			.setConstant(1)
+			.setBpt(256)
+			.setVpt(2)
+			.setRbh(3)
+			.build();
+	FeeData usage = FeeData.newBuilder()
+			.setNetworkdata(usageComponents)
+			.setNodedata(usageComponents)
+			.setServicedata(usageComponents)
+			.build();
+	ExchangeRate rate = ExchangeRate.newBuilder().setCentEquiv(12).setHbarEquiv(1).build();
+
+	NodeLocalProperties properties;
+
+	FeeQuoteCache subject;
+
+	@BeforeEach
+	void setup() {
+		properties = mock(NodeLocalProperties.class);
+		given(properties.feeQuoteCacheMaxSize()).willReturn(2);
+
+		subject = new FeeQuoteCache(properties);
+	}
+
+	@Test
+	void quotesSameAsFeeBuilder() {
+		// given:
+		var expected = FeeBuilder.getFeeObject(DEFAULT_USAGE_PRICES, usage, rate, 3L);
+
+		// when:
+		var actual = subject.quote(DEFAULT_USAGE_PRICES, usage, rate, 3L);
+
+		// then:
+		assertEquals(expected.getNodeFee(), actual.getNodeFee());
+		assertEquals(expected.getNetworkFee(), actual.getNetworkFee());
+		assertEquals(expected.getServiceFee(), actual.getServiceFee());
+	}
+
+	@Test
+	void reusesQuoteForEqualInputs() {
+		// given:
+		var first = subject.quote(DEFAULT_USAGE_PRICES, usage, rate, 1L);
+
+		// when:
+		var second = subject.quote(DEFAULT_USAGE_PRICES, usage.toBuilder().build(), rate.toBuilder().build(), 1L);
+
+		// then:
+		assertSame(first, second);
+		assertEquals(1L, subject.size());
+	}
+
+	@Test
+	void distinguishesRatesAndMultipliers() {
+		// given:
+		var base = subject.quote(DEFAULT_USAGE_PRICES, usage, rate, 1L);
+
+		// expect:
+		assertNotSame(base, subject.quote(DEFAULT_USAGE_PRICES, usage, rate, 2L));
+		assertNotSame(base, subject.quote(DEFAULT_USAGE_PRICES, usage, rate.toBuilder().setCentEquiv(13).build(), 1L));
+	}
+
+	@Test
+	void forgetsQuotesWhenInvalidated() {
+		// given:
+		subject.quote(DEFAULT_USAGE_PRICES, usage, rate, 1L);
+
+		// when:
+		subject.invalidateAll();
+
+		// then:
+		assertEquals(0L, subject.size());
+	}
+
+	@Test
+	void keysAreValueBased() {
+		// given:
+		var a = new FeeQuoteCache.QuoteKey(DEFAULT_USAGE_PRICES, usage, rate, 1L);
+		var b = new FeeQuoteCache.QuoteKey(DEFAULT_USAGE_PRICES, usage.toBuilder().build(), rate, 1L);
+		var c = new FeeQuoteCache.QuoteKey(usage, usage, rate, 1L);
+
+		// expect:
+		assertEquals(a, a);
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertNotEquals(a, c);
+		assertNotEquals(a, null);
+		assertNotEquals(a, new Object());
+	}
+}
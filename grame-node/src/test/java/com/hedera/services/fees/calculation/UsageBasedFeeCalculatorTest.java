@@ -29,6 +29,7 @@ import com.grame.test.factories.keys.KeyTree;
 import com.grame.test.factories.scenarios.TxnHandlingScenario;
 import com.grame.test.utils.IdUtils;
 import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.CryptoGetInfoQuery;
 import com.gramegrame.api.proto.java.ExchangeRate;
 import com.gramegrame.api.proto.java.FeeComponents;
 import com.gramegrame.api.proto.java.FeeData;
@@ -67,12 +68,14 @@ import static com.gramegrame.fee.FeeBuilder.FEE_DIVISOR_FACTOR;
 import static com.gramegrame.fee.FeeBuilder.getTinybarsFromTinyCents;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
 import static org.mockito.BDDMockito.verify;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
 
 class UsageBasedFeeCalculatorTest {
 	FeeComponents mockFees = FeeComponents.newBuilder()
@@ -97,6 +100,7 @@ class UsageBasedFeeCalculatorTest {
 	QueryResourceUsageEstimator correctQueryEstimator;
 	QueryResourceUsageEstimator incorrectQueryEstimator;
 	Function<grameFunctionality, List<TxnResourceUsageEstimator>> txnUsageEstimators;
+	FeeQuoteCache quotes;
 
 	long balance = 1_234_567L;
 	AccountID payer = IdUtils.asAccount("0.0.75231");
@@ -113,7 +117,7 @@ class UsageBasedFeeCalculatorTest {
 	@BeforeEach
 	private void setup() throws Throwable {
 		view = mock(StateView.class);
-		query = mock(Query.class);
+		query = Query.newBuilder().setCryptoGetInfo(CryptoGetInfoQuery.getDefaultInstance()).build();
 		payerKey = complexKey.asJKey();
 		exchange = mock(HbarCentExchange.class);
 		signedTxn = newSignedCryptoCreate()
@@ -130,13 +134,20 @@ class UsageBasedFeeCalculatorTest {
 		incorrectQueryEstimator = mock(QueryResourceUsageEstimator.class);
 
 		txnUsageEstimators = (Function<grameFunctionality, List<TxnResourceUsageEstimator>>)mock(Function.class);
+		quotes = mock(FeeQuoteCache.class);
+		given(quotes.quote(any(), any(), any(), anyLong())).willAnswer(invocation -> FeeBuilder.getFeeObject(
+				invocation.getArgument(0),
+				invocation.getArgument(1),
+				invocation.getArgument(2),
+				(long) invocation.<Long>getArgument(3)));
 
 		subject = new UsageBasedFeeCalculator(
 				exchange,
 				usagePrices,
 				new NestedMultiplierSource(),
 				List.of(incorrectQueryEstimator, correctQueryEstimator),
-				txnUsageEstimators);
+				txnUsageEstimators,
+				quotes);
 	}
 
 	@Test
@@ -253,6 +264,45 @@ class UsageBasedFeeCalculatorTest {
 		verify(usagePrices).loadPriceSchedules();
 	}
 
+	@Test
+	public void invalidatesQuotesOnInit() {
+		// when:
+		subject.init();
+
+		// expect:
+		verify(quotes).invalidateAll();
+	}
+
+	@Test
+	public void looksUpEstimatorsOnlyOncePerFunctionOrQueryCase() throws Exception {
+		given(correctOpEstimator.applicableTo(accessor.getTxn())).willReturn(true);
+		given(incorrectOpEstimator.applicableTo(accessor.getTxn())).willReturn(false);
+		given(txnUsageEstimators.apply(CryptoCreate)).willReturn(List.of(incorrectOpEstimator, correctOpEstimator));
+		given(correctOpEstimator.usageGiven(any(), any(), any())).willReturn(resourceUsage);
+		given(exchange.activeRate()).willReturn(currentRate);
+		// and:
+		given(correctQueryEstimator.applicableTo(query)).willReturn(true);
+		given(incorrectQueryEstimator.applicableTo(query)).willReturn(false);
+		given(correctQueryEstimator.usageGivenType(query, view, ANSWER_ONLY)).willReturn(resourceUsage);
+		given(exchange.rate(at)).willReturn(currentRate);
+
+		// when:
+		subject.computeFee(accessor, payerKey, view);
+		subject.computeFee(accessor, payerKey, view);
+		// and:
+		subject.estimatePayment(query, currentPrices, view, at, ANSWER_ONLY);
+		subject.estimatePayment(query, currentPrices, view, at, ANSWER_ONLY);
+
+		// then:
+		verify(txnUsageEstimators, times(1)).apply(CryptoCreate);
+		verify(incorrectOpEstimator, times(1)).applicableTo(accessor.getTxn());
+		verify(correctOpEstimator, times(2)).usageGiven(any(), any(), any());
+		verify(quotes, times(2)).quote(currentPrices, resourceUsage, currentRate, 1L);
+		// and:
+		verify(incorrectQueryEstimator, times(1)).applicableTo(query);
+		verify(correctQueryEstimator, times(2)).usageGivenType(query, view, ANSWER_ONLY);
+	}
+
 	@Test
 	public void throwsIseOnBadScheduleInFcfs() {
 		willThrow(IllegalStateException.class).given(usagePrices).loadPriceSchedules();
@@ -0,0 +1,294 @@
+package com.grame.services.files;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.common.primitives.Longs;
+import com.grame.test.utils.IdUtils;
+import com.gramegrame.api.proto.java.FileID;
+import org.apache.commons.lang3.ArrayUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.grame.services.files.ChunkedDataMap.CHUNK_SIZE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+class ChunkedDataMapTest {
+	FileID fid = IdUtils.asFile("0.2.7");
+	String manifestPath = "/2/c7";
+	String legacyPath = "/2/f7";
+
+	Map<String, byte[]> delegate;
+
+	ChunkedDataMap subject;
+
+	@BeforeEach
+	private void setup() {
+		delegate = spy(new HashMap<>());
+
+		subject = new ChunkedDataMap(delegate);
+	}
+
+	@Test
+	public void chunksNewContents() {
+		// given:
+		var contents = contentsOfLength(2 * CHUNK_SIZE + 3);
+
+		// when:
+		subject.put(fid, contents);
+
+		// then:
+		assertEquals(2 * CHUNK_SIZE + 3, Longs.fromByteArray(delegate.get(manifestPath)));
+		assertEquals(CHUNK_SIZE, delegate.get(manifestPath + "/0").length);
+		assertEquals(CHUNK_SIZE, delegate.get(manifestPath + "/1").length);
+		assertEquals(3, delegate.get(manifestPath + "/2").length);
+		// and:
+		assertTrue(subject.containsKey(fid));
+		assertArrayEquals(contents, subject.get(fid));
+		assertEquals(2 * CHUNK_SIZE + 3, subject.sizeOf(fid));
+	}
+
+	@Test
+	public void appendOnlyTouchesTailChunk() {
+		// setup:
+		var contents = contentsOfLength(2 * CHUNK_SIZE + 3);
+		var moreContents = contentsOfLength(CHUNK_SIZE);
+		subject.put(fid, contents);
+
+		// when:
+		subject.append(fid, moreContents);
+
+		// then:
+		verify(delegate, times(1)).put(argThat((manifestPath + "/0")::equals), any());
+		verify(delegate, times(1)).put(argThat((manifestPath + "/1")::equals), any());
+		verify(delegate, times(2)).put(argThat((manifestPath + "/2")::equals), any());
+		verify(delegate, times(1)).put(argThat((manifestPath + "/3")::equals), any());
+		verify(delegate, never()).get(manifestPath + "/0");
+		verify(delegate, never()).get(manifestPath + "/1");
+		// and:
+		assertEquals(CHUNK_SIZE, delegate.get(manifestPath + "/2").length);
+		assertEquals(3, delegate.get(manifestPath + "/3").length);
+		assertArrayEquals(ArrayUtils.addAll(contents, moreContents), subject.get(fid));
+	}
+
+	@Test
+	public void appendToFullTailStartsNewChunk() {
+		// setup:
+		var contents = contentsOfLength(CHUNK_SIZE);
+		subject.put(fid, contents);
+
+		// when:
+		subject.append(fid, "MORE".getBytes());
+		subject.append(fid, new byte[0]);
+
+		// then:
+		verify(delegate, times(1)).put(argThat((manifestPath + "/0")::equals), any());
+		assertEquals(4, delegate.get(manifestPath + "/1").length);
+		assertEquals(CHUNK_SIZE + 4, subject.sizeOf(fid));
+	}
+
+	@Test
+	public void appendMigratesLegacyContents() {
+		// setup:
+		var legacy = "LEGACY".getBytes();
+		delegate.put(legacyPath, legacy);
+
+		// when:
+		subject.append(fid, "MORE".getBytes());
+
+		// then:
+		assertFalse(delegate.containsKey(legacyPath));
+		assertEquals("LEGACYMORE", new String(subject.get(fid)));
+	}
+
+	@Test
+	public void appendCreatesMissingContents() {
+		// when:
+		subject.append(fid, "MORE".getBytes());
+
+		// then:
+		assertEquals("MORE", new String(subject.get(fid)));
+	}
+
+	@Test
+	public void onlyRewritesChangedChunks() {
+		// setup:
+		var contents = contentsOfLength(3 * CHUNK_SIZE);
+		subject.put(fid, contents);
+		// and:
+		var updated = contents.clone();
+		updated[CHUNK_SIZE + 1] ^= 0xff;
+
+		// when:
+		subject.put(fid, updated);
+
+		// then:
+		verify(delegate, times(1)).put(argThat((manifestPath + "/0")::equals), any());
+		verify(delegate, times(2)).put(argThat((manifestPath + "/1")::equals), any());
+		verify(delegate, times(1)).put(argThat((manifestPath + "/2")::equals), any());
+		verify(delegate, times(1)).put(argThat(manifestPath::equals), any());
+		// and:
+		assertArrayEquals(updated, subject.get(fid));
+	}
+
+	@Test
+	public void dropsTrailingChunksOnShrink() {
+		// setup:
+		subject.put(fid, contentsOfLength(3 * CHUNK_SIZE));
+		// and:
+		var shrunk = contentsOfLength(CHUNK_SIZE + 1);
+
+		// when:
+		subject.put(fid, shrunk);
+
+		// then:
+		assertFalse(delegate.containsKey(manifestPath + "/2"));
+		assertEquals(1, delegate.get(manifestPath + "/1").length);
+		assertArrayEquals(shrunk, subject.get(fid));
+	}
+
+	@Test
+	public void readsRangesAcrossChunks() {
+		// setup:
+		var contents = contentsOfLength(3 * CHUNK_SIZE + 5);
+		subject.put(fid, contents);
+
+		// expect:
+		assertArrayEquals(
+				Arrays.copyOfRange(contents, CHUNK_SIZE - 2, 2 * CHUNK_SIZE + 2),
+				subject.read(fid, CHUNK_SIZE - 2, CHUNK_SIZE + 4));
+		assertArrayEquals(
+				Arrays.copyOfRange(contents, 3 * CHUNK_SIZE, 3 * CHUNK_SIZE + 5),
+				subject.read(fid, 3 * CHUNK_SIZE, 100));
+		assertEquals(0, subject.read(fid, 4 * CHUNK_SIZE, 1).length);
+		assertNull(subject.read(IdUtils.asFile("0.2.8"), 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> subject.read(fid, -1, 1));
+		assertThrows(IllegalArgumentException.class, () -> subject.read(fid, 0, -1));
+	}
+
+	@Test
+	public void readsRangesOfLegacyContents() {
+		// setup:
+		delegate.put(legacyPath, "LEGACY".getBytes());
+
+		// expect:
+		assertEquals("GAC", new String(subject.read(fid, 2, 3)));
+		assertEquals("CY", new String(subject.read(fid, 4, 100)));
+		assertEquals(6, subject.sizeOf(fid));
+	}
+
+	@Test
+	public void streamsChunksLazily() throws IOException {
+		// setup:
+		var contents = contentsOfLength(2 * CHUNK_SIZE + 3);
+		subject.put(fid, contents);
+
+		// when:
+		var in = subject.stream(fid);
+		var firstChunk = in.readNBytes(CHUNK_SIZE);
+
+		// then:
+		assertArrayEquals(Arrays.copyOf(contents, CHUNK_SIZE), firstChunk);
+		verify(delegate, never()).get(manifestPath + "/2");
+		// and:
+		assertArrayEquals(Arrays.copyOfRange(contents, CHUNK_SIZE, contents.length), in.readAllBytes());
+	}
+
+	@Test
+	public void streamsLegacyOrMissingContents() throws IOException {
+		// setup:
+		delegate.put(legacyPath, "LEGACY".getBytes());
+
+		// expect:
+		assertEquals("LEGACY", new String(subject.stream(fid).readAllBytes()));
+		assertNull(subject.stream(IdUtils.asFile("0.2.8")));
+		assertEquals(-1, subject.sizeOf(IdUtils.asFile("0.2.8")));
+	}
+
+	@Test
+	public void readsAndMigratesLegacyContents() {
+		// setup:
+		var legacy = "LEGACY".getBytes();
+		delegate.put(legacyPath, legacy);
+
+		// expect:
+		assertTrue(subject.containsKey(fid));
+		assertArrayEquals(legacy, subject.get(fid));
+
+		// when:
+		subject.put(fid, legacy);
+
+		// then:
+		assertFalse(delegate.containsKey(legacyPath));
+		assertArrayEquals(legacy, subject.get(fid));
+	}
+
+	@Test
+	public void removesAllChunks() {
+		// setup:
+		subject.put(fid, contentsOfLength(2 * CHUNK_SIZE));
+
+		// when:
+		subject.remove(fid);
+
+		// then:
+		assertTrue(delegate.isEmpty());
+		assertFalse(subject.containsKey(fid));
+		assertNull(subject.get(fid));
+	}
+
+	@Test
+	public void entrySetIncludesBothLayouts() {
+		// setup:
+		delegate.put("/3/f4", "LEGACY".getBytes());
+		delegate.put("/3/k4", "NOT-CONTENTS".getBytes());
+		subject.put(fid, contentsOfLength(CHUNK_SIZE + 1));
+
+		// when:
+		var entries = subject.entrySet();
+
+		// then:
+		assertEquals(2, entries.size());
+	}
+
+	@Test
+	public void persistsEmptyContents() {
+		// when:
+		subject.put(fid, new byte[0]);
+
+		// then:
+		assertTrue(subject.containsKey(fid));
+		assertEquals(0, subject.get(fid).length);
+	}
+
+	private byte[] contentsOfLength(int n) {
+		var contents = new byte[n];
+		for (int i = 0; i < n; i++) {
+			contents[i] = (byte) i;
+		}
+		return contents;
+	}
+}
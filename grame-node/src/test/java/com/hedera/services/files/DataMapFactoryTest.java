@@ -112,6 +112,24 @@ class DataMapFactoryTest {
 		assertTrue(dataMap.isEmpty());
 	}
 
+	@Test
+	public void chunkedProductUsesChunkedLayout() {
+		// setup:
+		Map<String, byte[]> delegate = new HashMap<>();
+		var fid = IdUtils.asFile("0.2.3");
+
+		// given:
+		var dataMap = chunkedDataMapFrom(delegate);
+
+		// when:
+		dataMap.put(fid, "SOME".getBytes());
+
+		// then:
+		assertTrue(delegate.containsKey("/2/c3"));
+		assertTrue(delegate.containsKey("/2/c3/0"));
+		assertEquals("SOME", new String(dataMap.get(fid)));
+	}
+
 	@Test
 	public void cannotBeConstructed() {
 		// expect:
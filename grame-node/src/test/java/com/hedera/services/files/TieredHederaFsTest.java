@@ -34,8 +34,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.function.Supplier;
@@ -46,6 +50,7 @@ import static com.gramegrame.api.proto.java.ResponseCodeEnum.SUCCESS;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.argThat;
@@ -77,7 +82,7 @@ class TieredgrameFsTest {
 	EntityIdSource ids;
 	GlobalDynamicProperties properties;
 	Supplier<Instant> clock;
-	Map<FileID, byte[]> data;
+	ChunkedDataMap data;
 	Map<FileID, HFileMeta> metadata;
 	MerkleDiskFs diskFs;
 	TieredgrameFs subject;
@@ -98,7 +103,7 @@ class TieredgrameFsTest {
 		given(highInterceptor.priorityForCandidate(any())).willReturn(OptionalInt.of(Integer.MIN_VALUE));
 
 		ids = mock(EntityIdSource.class);
-		data = mock(Map.class);
+		data = mock(ChunkedDataMap.class);
 		metadata = mock(Map.class);
 		diskFs = mock(MerkleDiskFs.class);
 
@@ -128,7 +133,7 @@ class TieredgrameFsTest {
 		given(metadata.containsKey(fid)).willReturn(true);
 		given(metadata.get(fid)).willReturn(livingAttr);
 		// and:
-		given(data.get(fid)).willReturn(origContents);
+		given(data.sizeOf(fid)).willReturn((long) origContents.length);
 
 		// when:
 		var result = subject.append(fid, moreContents);
@@ -137,11 +142,34 @@ class TieredgrameFsTest {
 		assertEquals(SUCCESS, result.outcome());
 		assertTrue(result.fileReplaced());
 		// and:
-		verify(data).put(
-				argThat(fid::equals),
-				argThat(bytes -> new String(bytes).equals(
-						new String(origContents) + new String(moreContents)
-				)));
+		verify(data).append(fid, moreContents);
+		verify(data, never()).get(fid);
+		verify(data, never()).put(any(), any());
+	}
+
+	@Test
+	public void appendsFullContentsWithInterception() {
+		// setup:
+		var appendedContents = (new String(origContents) + new String(moreContents)).getBytes();
+
+		given(highInterceptor.preUpdate(argThat(fid::equals), argThat(bytes -> Arrays.equals(appendedContents, bytes))))
+				.willReturn(new AbstractMap.SimpleEntry<>(ResponseCodeEnum.OK, true));
+		subject.register(highInterceptor);
+		// and:
+		given(metadata.containsKey(fid)).willReturn(true);
+		given(metadata.get(fid)).willReturn(livingAttr);
+		given(data.get(fid)).willReturn(origContents);
+
+		// when:
+		var result = subject.append(fid, moreContents);
+
+		// then:
+		assertEquals(ResponseCodeEnum.OK, result.outcome());
+		assertTrue(result.fileReplaced());
+		// and:
+		verify(data).put(argThat(fid::equals), argThat(bytes -> Arrays.equals(appendedContents, bytes)));
+		verify(data, never()).append(any(), any());
+		verify(highInterceptor).postUpdate(argThat(fid::equals), argThat(bytes -> Arrays.equals(appendedContents, bytes)));
 	}
 
 	@Test
@@ -245,7 +273,7 @@ class TieredgrameFsTest {
 
 		given(metadata.containsKey(fid)).willReturn(true);
 		given(metadata.get(fid)).willReturn(livingAttr);
-		given(data.get(fid)).willReturn(stretchContents);
+		given(data.sizeOf(fid)).willReturn((long) stretchContents.length);
 		// and:
 		given(properties.maxFileSizeKb()).willReturn(1);
 
@@ -260,6 +288,8 @@ class TieredgrameFsTest {
 		assertEquals(
 				IllegalArgumentType.OVERSIZE_CONTENTS,
 				IllegalArgumentType.valueOf(iae.getMessage()));
+		// and:
+		verify(data, never()).append(any(), any());
 	}
 
 	@Test
@@ -627,6 +657,50 @@ class TieredgrameFsTest {
 				new String(contents));
 	}
 
+	@Test
+	public void catsRangeFromChunks() {
+		given(metadata.containsKey(fid)).willReturn(true);
+		given(metadata.get(fid)).willReturn(livingAttr);
+		given(data.read(fid, 7, 6)).willReturn("like a".getBytes());
+
+		// when:
+		var contents = subject.cat(fid, 7, 6);
+
+		// then:
+		assertEquals("like a", new String(contents));
+	}
+
+	@Test
+	public void catsRangeFromDiskFs() {
+		given(metadata.containsKey(fid)).willReturn(true);
+		given(metadata.get(fid)).willReturn(livingAttr);
+		given(diskFs.contains(fid)).willReturn(true);
+		given(diskFs.contentsBufferOf(fid)).willAnswer(invocation -> ByteBuffer.wrap(origContents).asReadOnlyBuffer());
+
+		// expect:
+		assertEquals("like a", new String(subject.cat(fid, 7, 6)));
+		assertEquals("bed /", new String(subject.cat(fid, origContents.length - 5, 100)));
+		assertEquals(0, subject.cat(fid, 100, 1).length);
+		// and:
+		assertThrows(IllegalArgumentException.class, () -> subject.cat(fid, -1, 1));
+	}
+
+	@Test
+	public void catStreamsFromChunksOrDiskFs() throws IOException {
+		// setup:
+		var otherFid = IdUtils.asFile("0.0.150");
+
+		given(metadata.containsKey(any())).willReturn(true);
+		given(metadata.get(any())).willReturn(livingAttr);
+		given(data.stream(fid)).willReturn(new ByteArrayInputStream(origContents));
+		given(diskFs.contains(otherFid)).willReturn(true);
+		given(diskFs.contentsOf(otherFid)).willReturn(newContents);
+
+		// expect:
+		assertArrayEquals(origContents, subject.catStream(fid).readAllBytes());
+		assertArrayEquals(newContents, subject.catStream(otherFid).readAllBytes());
+	}
+
 	@Test
 	public void usesMetadataToCheckExistence() {
 		given(metadata.containsKey(fid)).willReturn(true);
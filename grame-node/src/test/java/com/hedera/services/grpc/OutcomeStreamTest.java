@@ -0,0 +1,257 @@
+package com.grame.services.grpc;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.records.OutcomeSubscriptions;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.CryptoGetAccountRecordsQuery;
+import com.gramegrame.api.proto.java.Query;
+import com.gramegrame.api.proto.java.Response;
+import com.gramegrame.api.proto.java.ResponseCodeEnum;
+import com.gramegrame.api.proto.java.ResponseHeader;
+import com.gramegrame.api.proto.java.Timestamp;
+import com.gramegrame.api.proto.java.TransactionGetReceiptQuery;
+import com.gramegrame.api.proto.java.TransactionGetRecordResponse;
+import com.gramegrame.api.proto.java.TransactionID;
+import com.gramegrame.api.proto.java.TransactionReceipt;
+import com.gramegrame.api.proto.java.TransactionRecord;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static com.grame.test.utils.IdUtils.asAccount;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.NOT_SUPPORTED;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static com.gramegrame.api.proto.java.ResponseType.ANSWER_ONLY;
+import static io.grpc.Status.Code.RESOURCE_EXHAUSTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OutcomeStreamTest {
+	int bufferSize = 2;
+	int maxSubscriptions = 2;
+	AccountID payer = asAccount("0.0.1001");
+	TransactionID txnId = TransactionID.newBuilder()
+			.setAccountID(payer)
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_567L))
+			.build();
+	TransactionID otherTxnId = txnId.toBuilder()
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(7_654_321L))
+			.build();
+	TransactionRecord outcome = TransactionRecord.newBuilder()
+			.setTransactionID(txnId)
+			.setReceipt(TransactionReceipt.newBuilder().setStatus(SUCCESS))
+			.build();
+
+	OutcomeSubscriptions subscriptions;
+	ServerCallStreamObserver<Response> observer;
+
+	OutcomeStream subject;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setup() {
+		subscriptions = mock(OutcomeSubscriptions.class);
+		observer = mock(ServerCallStreamObserver.class);
+		given(observer.isReady()).willReturn(true);
+
+		subject = new OutcomeStream(subscriptions, observer, Runnable::run, bufferSize, maxSubscriptions);
+	}
+
+	@Test
+	void registersHandlers() {
+		// expect:
+		verify(observer).setOnReadyHandler(any());
+		verify(observer).setOnCancelHandler(any());
+	}
+
+	@Test
+	void subscribesToTxnIdAndStreamsItsOutcome() {
+		// when:
+		subject.onNext(receiptQuery(txnId));
+		// and:
+		subject.resolve(outcome);
+		subject.resolve(outcome);
+
+		// then:
+		verify(subscriptions).subscribe(txnId, subject);
+		verify(observer, times(1)).onNext(responseWith(outcome));
+		assertEquals(0, subject.numPending());
+	}
+
+	@Test
+	void subscribesToPayerAndStreamsEachOutcome() {
+		// when:
+		subject.onNext(payerQuery());
+		// and:
+		subject.observe(outcome);
+		subject.observe(outcome);
+
+		// then:
+		verify(subscriptions).subscribe(payer, subject);
+		verify(observer, times(2)).onNext(responseWith(outcome));
+	}
+
+	@Test
+	void rejectsUnsupportedQueries() {
+		// when:
+		subject.onNext(Query.getDefaultInstance());
+
+		// then:
+		verify(observer).onNext(argThatHasStatus(NOT_SUPPORTED));
+	}
+
+	@Test
+	void rejectsSubscriptionsBeyondMax() {
+		// given:
+		subject.onNext(receiptQuery(txnId));
+		subject.onNext(payerQuery());
+
+		// when:
+		subject.onNext(receiptQuery(otherTxnId));
+
+		// then:
+		verify(subscriptions, never()).subscribe(otherTxnId, subject);
+		verify(observer).onNext(argThatHasStatus(BUSY));
+	}
+
+	@Test
+	void holdsOutcomesUntilReady() {
+		given(observer.isReady()).willReturn(false);
+
+		// when:
+		subject.onNext(receiptQuery(txnId));
+		subject.resolve(outcome);
+
+		// then:
+		verify(observer, never()).onNext(any());
+
+		// and when:
+		given(observer.isReady()).willReturn(true);
+		subject.drain();
+
+		// then:
+		verify(observer).onNext(responseWith(outcome));
+	}
+
+	@Test
+	void failsAndCancelsOnOverflow() {
+		// setup:
+		var captor = ArgumentCaptor.forClass(Throwable.class);
+
+		given(observer.isReady()).willReturn(false);
+
+		// given:
+		subject.onNext(receiptQuery(txnId));
+		subject.onNext(payerQuery());
+
+		// when:
+		subject.observe(outcome);
+		subject.observe(outcome);
+		subject.observe(outcome);
+
+		// then:
+		verify(observer).onError(captor.capture());
+		assertEquals(RESOURCE_EXHAUSTED, ((StatusRuntimeException) captor.getValue()).getStatus().getCode());
+		verify(subscriptions).cancel(txnId, subject);
+		verify(subscriptions).cancel(payer, subject);
+		assertTrue(subject.isTerminated());
+	}
+
+	@Test
+	void completesOnceHalfClosedAndAllTxnIdsResolved() {
+		// given:
+		subject.onNext(receiptQuery(txnId));
+		subject.onNext(payerQuery());
+
+		// when:
+		subject.onCompleted();
+
+		// then:
+		verify(subscriptions).cancel(payer, subject);
+		verify(observer, never()).onCompleted();
+		assertFalse(subject.isTerminated());
+
+		// and when:
+		subject.resolve(outcome);
+
+		// then:
+		verify(observer).onNext(responseWith(outcome));
+		verify(observer).onCompleted();
+		assertTrue(subject.isTerminated());
+	}
+
+	@Test
+	void cancelsAllOnClientError() {
+		// given:
+		subject.onNext(receiptQuery(txnId));
+		subject.onNext(payerQuery());
+
+		// when:
+		subject.onError(new IllegalStateException());
+		subject.onNext(receiptQuery(otherTxnId));
+
+		// then:
+		verify(subscriptions).cancel(txnId, subject);
+		verify(subscriptions).cancel(payer, subject);
+		verify(subscriptions, never()).subscribe(otherTxnId, subject);
+		assertEquals(0, subject.numPending());
+	}
+
+	private Response argThatHasStatus(ResponseCodeEnum status) {
+		return argThat(response ->
+				response.getTransactionGetRecord().getHeader().getNodeTransactionPrecheckCode() == status);
+	}
+
+	private Response responseWith(TransactionRecord outcome) {
+		return Response.newBuilder()
+				.setTransactionGetRecord(TransactionGetRecordResponse.newBuilder()
+						.setHeader(ResponseHeader.newBuilder()
+								.setNodeTransactionPrecheckCode(OK)
+								.setResponseType(ANSWER_ONLY))
+						.setTransactionRecord(outcome))
+				.build();
+	}
+
+	private Query receiptQuery(TransactionID txnId) {
+		return Query.newBuilder()
+				.setTransactionGetReceipt(TransactionGetReceiptQuery.newBuilder().setTransactionID(txnId))
+				.build();
+	}
+
+	private Query payerQuery() {
+		return Query.newBuilder()
+				.setCryptoGetAccountRecords(CryptoGetAccountRecordsQuery.newBuilder().setAccountID(payer))
+				.build();
+	}
+}
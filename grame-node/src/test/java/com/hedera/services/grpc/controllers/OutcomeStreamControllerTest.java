@@ -0,0 +1,86 @@
+package com.grame.services.grpc.controllers;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.grpc.OutcomeStream;
+import com.grame.services.records.OutcomeSubscriptions;
+import com.gramegrame.api.proto.java.Response;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.grame.services.grpc.controllers.OutcomeStreamController.SERVICE_NAME;
+import static com.grame.services.grpc.controllers.OutcomeStreamController.SUBSCRIBE_METHOD;
+import static io.grpc.MethodDescriptor.MethodType.BIDI_STREAMING;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.Mockito.verify;
+
+class OutcomeStreamControllerTest {
+	NodeLocalProperties properties;
+	OutcomeSubscriptions subscriptions;
+
+	OutcomeStreamController subject;
+
+	@BeforeEach
+	void setup() {
+		properties = mock(NodeLocalProperties.class);
+		subscriptions = mock(OutcomeSubscriptions.class);
+
+		subject = new OutcomeStreamController(subscriptions, properties, Runnable::run);
+	}
+
+	@Test
+	void definesBidiSubscribeMethod() {
+		// when:
+		var definition = subject.definition();
+
+		// then:
+		assertEquals(SERVICE_NAME, definition.getServiceDescriptor().getName());
+		assertEquals(BIDI_STREAMING, SUBSCRIBE_METHOD.getType());
+		assertNotNull(definition.getMethod(SUBSCRIBE_METHOD.getFullMethodName()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void subscribesWithConfiguredLimits() {
+		// setup:
+		ServerCallStreamObserver<Response> observer = mock(ServerCallStreamObserver.class);
+
+		// when:
+		var stream = subject.subscribe(observer);
+
+		// then:
+		assertThat(stream, instanceOf(OutcomeStream.class));
+		verify(properties).outcomeStreamBufferSize();
+		verify(properties).outcomeStreamMaxSubscriptions();
+	}
+
+	@Test
+	void defaultConstructorWorks() {
+		// expect:
+		assertNotNull(new OutcomeStreamController(subscriptions, properties).definition());
+	}
+}
@@ -29,6 +29,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -42,10 +43,13 @@ import static com.grame.test.factories.keys.NodeFactory.list;
 import static com.grame.test.factories.keys.NodeFactory.threshold;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
 
 public class grameKeyActivationTest {
 	static JKey complexKey;
@@ -154,4 +158,49 @@ public class grameKeyActivationTest {
 		// when:
 		assertTrue(isActive(complexKey, sigsFn, ONLY_IF_SIG_IS_VALID));
 	}
+
+	@Test
+	public void mapSupplierIndexesManySigsAndPrefersFirstDuplicate() {
+		// setup:
+		List<TransactionSignature> presentSigs = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			presentSigs.add(mockSigFn.apply(i));
+		}
+		TransactionSignature duplicate = createEd25519(
+				"PK42".getBytes(), "OTHER-SIG".getBytes(), "OTHER-DATA".getBytes());
+		presentSigs.add(duplicate);
+
+		// given:
+		Function<byte[], TransactionSignature> sigsFn = pkToSigMapFrom(presentSigs);
+
+		// expect:
+		for (int i = 0; i < 100; i++) {
+			assertSame(presentSigs.get(i), sigsFn.apply(String.format("PK%d", i).getBytes()));
+		}
+		assertSame(grameKeyActivation.INVALID_MISSING_SIG, sigsFn.apply("PK100".getBytes()));
+		assertSame(grameKeyActivation.INVALID_MISSING_SIG, sigsFn.apply(null));
+	}
+
+	@Test
+	public void mapSupplierHandlesNoSigs() {
+		// given:
+		Function<byte[], TransactionSignature> sigsFn = pkToSigMapFrom(List.of());
+
+		// expect:
+		assertSame(grameKeyActivation.INVALID_MISSING_SIG, sigsFn.apply(pk));
+	}
+
+	@Test
+	public void thresholdStopsTestingOnceMet() throws Throwable {
+		// setup:
+		JKey oneOfThree = KeyTree.withRoot(threshold(1, ed25519(), ed25519(), ed25519())).asJKey();
+
+		given(sigsFn.apply(any())).willReturn(VALID_SIG);
+
+		// when:
+		assertTrue(isActive(oneOfThree, sigsFn, ONLY_IF_SIG_IS_VALID));
+
+		// then:
+		verify(sigsFn, times(1)).apply(any());
+	}
 }
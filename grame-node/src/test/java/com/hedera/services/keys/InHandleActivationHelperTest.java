@@ -89,7 +89,7 @@ class InHandleActivationHelperTest {
 		scheduled.setForScheduledTxn(true);
 
 		keyOrderer = mock(grameSigningOrder.class);
-		given(keyOrderer.<SignatureStatus>keysForOtherParties(any(), any())).willReturn(successful);
+		given(keyOrderer.<SignatureStatus>memoizedKeysForOtherParties(any(), any())).willReturn(successful);
 
 		characteristicsFactory = mock(CharacteristicsFactory.class);
 		given(characteristicsFactory.inferredFor(any())).willReturn(DEFAULT_ACTIVATION_CHARACTERISTICS);
@@ -120,7 +120,7 @@ class InHandleActivationHelperTest {
 		// setup:
 		BiPredicate<JKey, TransactionSignature> tests = (BiPredicate<JKey, TransactionSignature>) mock(BiPredicate.class);
 
-		given(keyOrderer.<SignatureStatus>keysForOtherParties(any(), any())).willReturn(impermissible);
+		given(keyOrderer.<SignatureStatus>memoizedKeysForOtherParties(any(), any())).willReturn(impermissible);
 
 		// when:
 		boolean ans = subject.areOtherPartiesActive(tests);
@@ -166,7 +166,7 @@ class InHandleActivationHelperTest {
 		assertTrue(ans);
 		assertTrue(ansAgain);
 		// and:
-		verify(keyOrderer, times(1)).keysForOtherParties(any(), any());
+		verify(keyOrderer, times(1)).memoizedKeysForOtherParties(any(), any());
 	}
 
 	@Test
@@ -47,6 +47,7 @@ import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
 import java.util.List;
 
 import static com.grame.test.utils.IdUtils.asAccount;
@@ -147,6 +148,48 @@ public class grameLedgerLiveTest extends BasegrameLedgerTest {
 		assertEquals(GENESIS_BALANCE, subject.getBalance(genesis));
 	}
 
+	@Test
+	public void tracksDestroyedBalanceAgainstRunningFloat() {
+		// setup:
+		var totals = new RunningBalanceTotals(1_000L, 1_000L, Instant::now);
+		totals.reseed(1_000L);
+		subject.setBalanceTotals(totals);
+		AccountID a = asAccount("1.2.3");
+
+		// given:
+		accountsLedger.begin();
+		accountsLedger.create(a);
+		accountsLedger.set(a, AccountProperty.BALANCE, 1_000L);
+		accountsLedger.commit();
+
+		// when:
+		subject.begin();
+		subject.destroy(a);
+		subject.commit();
+
+		// then:
+		assertFalse(subject.exists(a));
+		assertFalse(totals.hasExpectedFloat());
+	}
+
+	@Test
+	public void destructionOfEphemeralCurrencyConservesRunningFloat() {
+		// setup:
+		var totals = new RunningBalanceTotals(1_000L, 1_000L, Instant::now);
+		totals.reseed(1_000L);
+		subject.setBalanceTotals(totals);
+
+		// when:
+		subject.begin();
+		AccountID a = asAccount("1.2.3");
+		subject.spawn(a, 1_000L, new grameAccountCustomizer().memo("a"));
+		subject.destroy(a);
+		subject.commit();
+
+		// then:
+		assertTrue(totals.hasExpectedFloat());
+	}
+
 	@Test
 	public void recordsCreationOfAccountDeletedInSameTxn() {
 		// when:
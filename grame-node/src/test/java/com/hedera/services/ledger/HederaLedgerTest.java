@@ -306,4 +306,21 @@ public class grameLedgerTest extends BasegrameLedgerTest {
 		inOrder.verify(accountsLedger).begin();
 		inOrder.verify(accountsLedger).rollback();
 	}
+
+	@Test
+	public void tracksOnlyCommittedNetTransfersInBalanceTotals() {
+		// setup:
+		var totals = mock(RunningBalanceTotals.class);
+		subject.setTokenRelsLedger(grameLedger.UNUSABLE_TOKEN_RELS_LEDGER);
+		subject.setBalanceTotals(totals);
+
+		// when:
+		subject.begin();
+		subject.rollback();
+		subject.begin();
+		subject.commit();
+
+		// then:
+		verify(totals, times(1)).track(any(), any());
+	}
 }
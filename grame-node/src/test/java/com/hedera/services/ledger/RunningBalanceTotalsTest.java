@@ -0,0 +1,277 @@
+package com.grame.services.ledger;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.exceptions.NegativeAccountBalanceException;
+import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.state.merkle.MerkleEntityId;
+import com.grame.test.factories.accounts.MerkleAccountFactory;
+import com.gramegrame.api.proto.java.AccountAmount;
+import com.gramegrame.api.proto.java.TransferList;
+import com.swirlds.fcmap.FCMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.EMPTY;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.MATCHED;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.MISMATCHED;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.SEEDED;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.UNWATCHED;
+import static com.grame.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunningBalanceTotalsTest {
+	long shard = 0, realm = 0;
+	long expectedFloat = 1_000L;
+	long numsPerSegment = 10L;
+	Instant start = Instant.ofEpochSecond(1_234_567L);
+	Instant now = start;
+
+	FCMap<MerkleEntityId, MerkleAccount> accounts;
+
+	RunningBalanceTotals subject;
+
+	@BeforeEach
+	void setUp() {
+		accounts = new FCMap<>();
+		accounts.put(new MerkleEntityId(shard, realm, 2), MerkleAccountFactory.newAccount().balance(900L).get());
+		accounts.put(new MerkleEntityId(shard, realm, 11), MerkleAccountFactory.newAccount().balance(100L).get());
+
+		subject = new RunningBalanceTotals(expectedFloat, numsPerSegment, () -> now);
+		subject.reseedFrom(accounts);
+	}
+
+	@Test
+	void seedsExpectedFloatFromState() {
+		// expect:
+		assertTrue(subject.hasExpectedFloat());
+		assertEquals(numsPerSegment, subject.getNumsPerSegment());
+	}
+
+	@Test
+	void doesNotConfirmFloatUntilSeeded() {
+		// given:
+		subject = new RunningBalanceTotals(expectedFloat, numsPerSegment, () -> now);
+
+		// expect:
+		assertFalse(subject.hasExpectedFloat());
+	}
+
+	@Test
+	void corruptedLoadedStateFailsCheck() throws NegativeAccountBalanceException {
+		// given:
+		accounts.getForModify(new MerkleEntityId(shard, realm, 11)).setBalance(101L);
+
+		// when:
+		subject.reseedFrom(accounts);
+		subject.track(transfers("0.0.2", -50L, "0.0.11", 50L), TransferList.getDefaultInstance());
+
+		// then:
+		assertFalse(subject.hasExpectedFloat());
+	}
+
+	@Test
+	void reseedingRecoversFromEarlierDrift() {
+		// given:
+		subject.watch(0, now);
+		subject.track(transfers("0.0.2", -50L, "0.0.11", 51L), TransferList.getDefaultInstance());
+
+		// when:
+		subject.reseedFrom(accounts);
+
+		// then:
+		assertTrue(subject.hasExpectedFloat());
+		assertNull(subject.watchedSegment());
+	}
+
+	@Test
+	void floatViewReseedsFromAllPartitions() throws NegativeAccountBalanceException {
+		// setup:
+		var view = subject.floatView();
+		var first = view.newPartition();
+		var second = view.newPartition();
+
+		// given:
+		accounts.getForModify(new MerkleEntityId(shard, realm, 2)).setBalance(899L);
+
+		// when:
+		view.derive(new MerkleEntityId(shard, realm, 2), accounts.get(new MerkleEntityId(shard, realm, 2)), first);
+		view.derive(new MerkleEntityId(shard, realm, 11), accounts.get(new MerkleEntityId(shard, realm, 11)), second);
+		view.rebuildFrom(List.of(first, second));
+
+		// then:
+		assertEquals("ledger float", view.name());
+		assertFalse(subject.hasExpectedFloat());
+	}
+
+	@Test
+	void destroyedBalancesCountAgainstFloat() {
+		// when:
+		subject.track(transfers("0.0.2", -50L, "0.0.11", 50L), transfers("0.0.11", -150L, "0.0.12", 0L));
+
+		// then:
+		assertFalse(subject.hasExpectedFloat());
+	}
+
+	@Test
+	void destroyedBalancesCanOffsetNetTransfers() {
+		// when:
+		subject.track(
+				TransferList.newBuilder()
+						.addAccountAmounts(AccountAmount.newBuilder().setAccountID(asAccount("0.0.2")).setAmount(100L))
+						.build(),
+				TransferList.newBuilder()
+						.addAccountAmounts(AccountAmount.newBuilder().setAccountID(asAccount("0.0.11")).setAmount(-100L))
+						.build());
+
+		// then:
+		assertTrue(subject.hasExpectedFloat());
+	}
+
+	@Test
+	void usesAtLeastOneNumPerSegment() {
+		// given:
+		subject = new RunningBalanceTotals(expectedFloat, 0, () -> now);
+
+		// expect:
+		assertEquals(1L, subject.getNumsPerSegment());
+	}
+
+	@Test
+	void netZeroTransfersConserveFloat() {
+		// when:
+		subject.track(transfers("0.0.2", -50L, "0.0.11", 50L), TransferList.getDefaultInstance());
+
+		// then:
+		assertTrue(subject.hasExpectedFloat());
+	}
+
+	@Test
+	void nonZeroNetTransfersAreNeverForgotten() {
+		// when:
+		subject.track(transfers("0.0.2", -50L, "0.0.11", 51L), TransferList.getDefaultInstance());
+		subject.track(transfers("0.0.2", -1L, "0.0.11", 0L), TransferList.getDefaultInstance());
+
+		// then:
+		assertFalse(subject.hasExpectedFloat());
+	}
+
+	@Test
+	void watchesOneSegmentAtATime() {
+		// expect:
+		assertTrue(subject.watch(0, now));
+		assertFalse(subject.watch(1, now));
+		assertTrue(subject.isWatching());
+		assertEquals(0L, (long) subject.watchedSegment());
+	}
+
+	@Test
+	void ignoresSignedStatesWithoutWatchOrFromBeforeIt() {
+		// expect:
+		assertEquals(UNWATCHED, subject.spotCheck(accounts, now, shard, realm));
+
+		// and when:
+		subject.watch(0, now);
+
+		// then:
+		assertEquals(UNWATCHED, subject.spotCheck(accounts, now.minusNanos(1), shard, realm));
+	}
+
+	@Test
+	void seedsThenMatchesSegmentAcrossSignedStates() throws NegativeAccountBalanceException {
+		// setup:
+		var firstSigned = copyOf(accounts);
+
+		// given:
+		subject.watch(0, start);
+		// and:
+		now = start.plusSeconds(1);
+		subject.track(transfers("0.0.2", -50L, "0.0.11", 50L), TransferList.getDefaultInstance());
+		accounts.getForModify(new MerkleEntityId(shard, realm, 2)).setBalance(850L);
+		accounts.getForModify(new MerkleEntityId(shard, realm, 11)).setBalance(150L);
+		var secondSigned = copyOf(accounts);
+		// and:
+		now = start.plusSeconds(2);
+		subject.track(transfers("0.0.2", -25L, "0.0.11", 25L), TransferList.getDefaultInstance());
+
+		// expect:
+		assertEquals(SEEDED, subject.spotCheck(firstSigned, start, shard, realm));
+		assertEquals(MATCHED, subject.spotCheck(secondSigned, start.plusSeconds(1), shard, realm));
+		assertFalse(subject.isWatching());
+	}
+
+	@Test
+	void detectsBalanceChangesNotTracked() throws NegativeAccountBalanceException {
+		// setup:
+		var firstSigned = copyOf(accounts);
+
+		// given:
+		subject.watch(0, start);
+		// and:
+		accounts.getForModify(new MerkleEntityId(shard, realm, 2)).setBalance(901L);
+
+		// expect:
+		assertEquals(SEEDED, subject.spotCheck(firstSigned, start, shard, realm));
+		assertEquals(MISMATCHED, subject.spotCheck(accounts, start.plusSeconds(1), shard, realm));
+		assertFalse(subject.isWatching());
+	}
+
+	@Test
+	void recognizesEmptySegments() {
+		// given:
+		subject.watch(2, now);
+
+		// expect:
+		assertEquals(EMPTY, subject.spotCheck(accounts, now, shard, realm));
+		assertFalse(subject.isWatching());
+	}
+
+	@Test
+	void reseedingEndsWatch() {
+		// given:
+		subject.watch(0, now);
+
+		// when:
+		subject.reseedFrom(accounts);
+
+		// then:
+		assertFalse(subject.isWatching());
+	}
+
+	private FCMap<MerkleEntityId, MerkleAccount> copyOf(FCMap<MerkleEntityId, MerkleAccount> accounts) {
+		var copy = new FCMap<MerkleEntityId, MerkleAccount>();
+		accounts.forEach((id, account) -> copy.put(id, MerkleAccountFactory.newAccount().balance(account.getBalance()).get()));
+		return copy;
+	}
+
+	private TransferList transfers(String a, long aAmount, String b, long bAmount) {
+		return TransferList.newBuilder()
+				.addAccountAmounts(AccountAmount.newBuilder().setAccountID(asAccount(a)).setAmount(aAmount))
+				.addAccountAmounts(AccountAmount.newBuilder().setAccountID(asAccount(b)).setAmount(bAmount))
+				.build();
+	}
+}
@@ -22,12 +22,17 @@ package com.grame.services.ledger;
 
 import com.grame.services.exceptions.MissingAccountException;
 import com.grame.services.ledger.accounts.BackingStore;
+import com.grame.services.ledger.accounts.BackingTokenRels;
 import com.grame.services.ledger.accounts.TestAccount;
 import com.grame.services.ledger.properties.ChangeSummaryManager;
 import com.grame.services.ledger.properties.TestAccountProperty;
+import com.grame.services.ledger.properties.TokenRelProperty;
+import com.grame.services.state.merkle.MerkleEntityAssociation;
 import com.grame.services.state.merkle.MerkleToken;
+import com.grame.services.state.merkle.MerkleTokenRelStatus;
 import com.grame.test.utils.IdUtils;
 import com.gramegrame.api.proto.java.TokenID;
+import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
@@ -74,6 +79,7 @@ public class TransactionalLedgerTest {
 
 		backingAccounts = mock(BackingStore.class);
 		given(backingAccounts.getRef(1L)).willReturn(account1);
+		given(backingAccounts.getUnsafeRef(1L)).willReturn(account1);
 		given(backingAccounts.contains(1L)).willReturn(true);
 		newAccountFactory = () -> new TestAccount();
 
@@ -286,6 +292,53 @@ public class TransactionalLedgerTest {
 		assertEquals(3L, value);
 	}
 
+	@Test
+	public void readsUnchangedPropertiesFromUnsafeRef() {
+		// given:
+		subject.begin();
+
+		// when:
+		var thing = subject.get(1L, OBJ);
+
+		// then:
+		assertEquals(account1.thing, thing);
+		verify(backingAccounts).getUnsafeRef(1L);
+		verify(backingAccounts, never()).getRef(1L);
+	}
+
+	@Test
+	public void readsAndCommitsTokenRelsThroughRealBackingStore() {
+		// setup:
+		var account = IdUtils.asAccount("0.0.1234");
+		var rel = BackingTokenRels.asTokenRel(account, tid);
+		FCMap<MerkleEntityAssociation, MerkleTokenRelStatus> rels = new FCMap<>();
+		rels.put(MerkleEntityAssociation.fromAccountTokenRel(rel), new MerkleTokenRelStatus(123L, false, true));
+		// and:
+		var tokenRelsLedger = new TransactionalLedger<>(
+				TokenRelProperty.class,
+				MerkleTokenRelStatus::new,
+				new BackingTokenRels(() -> rels),
+				new ChangeSummaryManager<>());
+
+		// given:
+		tokenRelsLedger.begin();
+
+		// when:
+		var balance = tokenRelsLedger.get(rel, TokenRelProperty.TOKEN_BALANCE);
+		tokenRelsLedger.set(rel, TokenRelProperty.IS_FROZEN, true);
+		var frozen = tokenRelsLedger.get(rel, TokenRelProperty.IS_FROZEN);
+		// and:
+		tokenRelsLedger.commit();
+
+		// then:
+		assertEquals(123L, balance);
+		assertEquals(true, frozen);
+		// and:
+		assertEquals(
+				new MerkleTokenRelStatus(123L, true, true),
+				rels.get(MerkleEntityAssociation.fromAccountTokenRel(rel)));
+	}
+
 	@Test
 	public void incorporatesMutationToPendingNewAccount() {
 		// given:
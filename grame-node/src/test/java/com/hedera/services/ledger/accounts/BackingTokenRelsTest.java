@@ -188,10 +188,20 @@ class BackingTokenRelsTest {
 		verify(rels, times(1)).getForModify(any());
 	}
 
+	@Test
+	public void getUnsafeRefReadsFromDelegate() {
+		// when:
+		var status = subject.getUnsafeRef(asTokenRel(a, at));
+
+		// then:
+		assertSame(aValue, status);
+		// and:
+		assertTrue(subject.cache.isEmpty());
+	}
+
 	@Test
 	public void irrelevantMethodsNotSupported() {
 		// expect:
-		assertThrows(UnsupportedOperationException.class, () -> subject.getUnsafeRef(null));
 		assertThrows(UnsupportedOperationException.class, subject::idSet);
 	}
 
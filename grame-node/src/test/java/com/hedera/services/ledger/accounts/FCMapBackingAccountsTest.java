@@ -26,6 +26,7 @@ import com.grame.test.factories.accounts.MerkleAccountFactory;
 import com.gramegrame.api.proto.java.AccountID;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.stats.MiscRunningAvgs;
 import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -171,6 +172,30 @@ class FCMapBackingAccountsTest {
 		assertSame(aValue, v);
 	}
 
+	@Test
+	public void recordsCopiedAndMutatedRefsOnFlush() {
+		// setup:
+		var runningAvgs = mock(MiscRunningAvgs.class);
+		subject = new FCMapBackingAccounts(() -> map, runningAvgs);
+		subject.existingAccounts.add(a);
+		subject.existingAccounts.add(b);
+
+		given(map.getForModify(aKey)).willReturn(aValue);
+		given(map.getForModify(bKey)).willReturn(bValue);
+
+		// when:
+		subject.getRef(a);
+		subject.getRef(b);
+		subject.put(a, aValue);
+		// and:
+		subject.flushMutableRefs();
+
+		// then:
+		verify(runningAvgs).recordAccountsCopiedPerTxn(2);
+		verify(runningAvgs).recordAccountsMutatedPerTxn(1);
+		assertEquals(0, subject.numMutatedRefs);
+	}
+
 	@Test
 	public void usesPutForMissing() {
 		// given:
@@ -180,6 +205,20 @@ class FCMapBackingAccountsTest {
 		verify(map).put(aKey, bValue);
 	}
 
+	@Test
+	public void signalsVisibilityOfNewAccounts() {
+		// setup:
+		var visibility = mock(PendingAccountVisibility.class);
+		subject = new FCMapBackingAccounts(() -> map, null, visibility);
+
+		// when:
+		subject.put(a, bValue);
+
+		// then:
+		verify(map).put(aKey, bValue);
+		verify(visibility).signalCreated(a.getAccountNum());
+	}
+
 	@Test
 	public void putDoesNothingIfPresent() {
 		// setup:
@@ -0,0 +1,116 @@
+package com.grame.services.ledger.accounts;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingAccountVisibilityTest {
+	long num = 1234L;
+
+	PendingAccountVisibility subject;
+
+	@BeforeEach
+	private void setup() {
+		subject = new PendingAccountVisibility();
+	}
+
+	@Test
+	public void returnsImmediatelyIfAlreadyVisible() {
+		// expect:
+		assertTrue(subject.awaitVisible(num, 60_000L, () -> true));
+		// and:
+		assertEquals(0, subject.numWaitedOn());
+	}
+
+	@Test
+	public void returnsVisibilityAfterTimeout() {
+		// expect:
+		assertFalse(subject.awaitVisible(num, 1L, () -> false));
+		// and:
+		assertEquals(0, subject.numWaitedOn());
+	}
+
+	@Test
+	public void wakesWaitersOnSignal() throws Exception {
+		// setup:
+		var visible = new AtomicBoolean();
+
+		// given:
+		var first = CompletableFuture.supplyAsync(() -> subject.awaitVisible(num, 60_000L, visible::get));
+		var second = CompletableFuture.supplyAsync(() -> subject.awaitVisible(num, 60_000L, visible::get));
+		while (subject.numWaitedOn() == 0) {
+			Thread.onSpinWait();
+		}
+
+		// when:
+		visible.set(true);
+		subject.signalCreated(num);
+
+		// then:
+		assertTrue(first.get(10, TimeUnit.SECONDS));
+		assertTrue(second.get(10, TimeUnit.SECONDS));
+		assertEquals(0, subject.numWaitedOn());
+	}
+
+	@Test
+	public void signalingWithoutWaitersIsNoop() {
+		// when:
+		subject.signalCreated(num);
+
+		// then:
+		assertEquals(0, subject.numWaitedOn());
+	}
+
+	@Test
+	public void signalOnlyWakesWaitersForSameAccount() throws Exception {
+		// given:
+		var waiter = CompletableFuture.supplyAsync(() -> subject.awaitVisible(num, 200L, () -> false));
+		while (subject.numWaitedOn() == 0) {
+			Thread.onSpinWait();
+		}
+
+		// when:
+		subject.signalCreated(num + 1);
+
+		// then:
+		assertEquals(1, subject.numWaitedOn());
+		assertFalse(waiter.get(10, TimeUnit.SECONDS));
+		assertEquals(0, subject.numWaitedOn());
+	}
+
+	@Test
+	public void interruptedWaiterGivesUp() {
+		// setup:
+		Thread.currentThread().interrupt();
+
+		// expect:
+		assertFalse(subject.awaitVisible(num, 60_000L, () -> false));
+		assertTrue(Thread.interrupted());
+		assertEquals(0, subject.numWaitedOn());
+	}
+}
@@ -55,6 +55,8 @@ import static com.grame.services.ledger.properties.AccountProperty.RECORDS;
 import static com.grame.services.ledger.properties.AccountProperty.TOKENS;
 import static com.grame.test.factories.scenarios.TxnHandlingScenario.TOKEN_ADMIN_KT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class MerkleAccountPropertyTest {
@@ -179,4 +181,15 @@ public class MerkleAccountPropertyTest {
 						.build()
 		);
 	}
+
+	@Test
+	public void onlyMutableChildrenNeedMutableRefs() {
+		// expect:
+		assertTrue(TOKENS.needsMutableRef());
+		assertTrue(RECORDS.needsMutableRef());
+		// and:
+		assertFalse(BALANCE.needsMutableRef());
+		assertFalse(KEY.needsMutableRef());
+		assertFalse(EXPIRY.needsMutableRef());
+	}
 }
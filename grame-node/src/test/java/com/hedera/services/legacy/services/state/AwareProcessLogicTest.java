@@ -21,7 +21,10 @@ package com.grame.services.legacy.services.state;
  */
 
 import com.google.protobuf.ByteString;
+import com.grame.services.config.MockEntityNumbers;
+import com.grame.services.config.MockGlobalDynamicProps;
 import com.grame.services.context.ServicesContext;
+import com.grame.services.context.properties.NodeLocalProperties;
 import com.grame.services.context.TransactionContext;
 import com.grame.services.fees.FeeCalculator;
 import com.grame.services.fees.charging.TxnFeeChargingPolicy;
@@ -33,16 +36,24 @@ import com.grame.services.records.AccountRecordsHistorian;
 import com.grame.services.records.TxnIdRecentHistory;
 import com.grame.services.security.ops.SystemOpAuthorization;
 import com.grame.services.security.ops.SystemOpPolicies;
+import com.grame.services.sigs.factories.SigFactoryCreator;
+import com.grame.services.sigs.metadata.SigMetadataLookup;
+import com.grame.services.sigs.metadata.SigMetadataVersions;
 import com.grame.services.sigs.order.grameSigningOrder;
 import com.grame.services.sigs.order.SigningOrderResult;
+import com.grame.services.sigs.sourcing.ScopedSigBytesProvider;
+import com.grame.services.sigs.verification.SyncVerifier;
 import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.stats.HapiOpLatencies;
 import com.grame.services.stats.MiscRunningAvgs;
 import com.grame.services.stats.MiscSpeedometers;
 import com.grame.services.stream.RecordStreamManager;
 import com.grame.services.stream.RecordStreamObject;
 import com.grame.services.txns.TransitionLogicLookup;
 import com.grame.services.txns.validation.OptionValidator;
+import com.grame.services.utils.ParsedTxnAccessorCache;
 import com.grame.services.utils.PlatformTxnAccessor;
+import com.grame.test.factories.scenarios.TxnHandlingScenario;
 import com.grame.test.utils.IdUtils;
 import com.gramegrame.api.proto.java.SignedTransaction;
 import com.gramegrame.api.proto.java.AccountID;
@@ -66,7 +77,14 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 
+import static com.grame.services.sigs.grameToPlatformSigOps.rationalizeIn;
+import static com.grame.services.sigs.metadata.DelegatingSigMetadataLookup.defaultLookupsFor;
 import static com.grame.services.txns.diligence.DuplicateClassification.BELIEVED_UNIQUE;
+import static com.grame.test.factories.scenarios.CryptoTransferScenarios.CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.BDDMockito.*;
 
 class AwareProcessLogicTest {
@@ -101,6 +119,8 @@ class AwareProcessLogicTest {
 		final TxnFeeChargingPolicy policy = mock(TxnFeeChargingPolicy.class);
 		final SystemOpPolicies policies = mock(SystemOpPolicies.class);
 		final TransitionLogicLookup lookup = mock(TransitionLogicLookup.class);
+		final NodeLocalProperties nodeLocalProperties = mock(NodeLocalProperties.class);
+		final HapiOpLatencies opLatencies = mock(HapiOpLatencies.class);
 		hfs = mock(grameFs.class);
 
 		given(histories.get(any())).willReturn(recentHistory);
@@ -142,6 +162,8 @@ class AwareProcessLogicTest {
 		given(ctx.transitionLogic()).willReturn(lookup);
 		given(ctx.hfs()).willReturn(hfs);
 		given(ctx.contracts()).willReturn(contracts);
+		given(ctx.opLatencies()).willReturn(opLatencies);
+		given(ctx.accessorCache()).willReturn(new ParsedTxnAccessorCache(nodeLocalProperties, speedometers, opLatencies));
 
 		given(txnCtx.accessor()).willReturn(txnAccessor);
 		given(txnCtx.submittingNodeAccount()).willReturn(accountID);
@@ -149,8 +171,8 @@ class AwareProcessLogicTest {
 		given(txnAccessor.getPlatformTxn()).willReturn(txn);
 
 		given(txn.getSignatures()).willReturn(Collections.emptyList());
-		given(keyOrder.keysForPayer(any(), any())).willReturn(orderResult);
-		given(keyOrder.keysForOtherParties(any(), any())).willReturn(orderResult);
+		given(keyOrder.memoizedKeysForPayer(any(), any())).willReturn(orderResult);
+		given(keyOrder.memoizedKeysForOtherParties(any(), any())).willReturn(orderResult);
 
 		final com.gramegrame.api.proto.java.Transaction signedTxn = mock(com.gramegrame.api.proto.java.Transaction.class);
 		final TransactionID txnId = mock(TransactionID.class);
@@ -177,6 +199,23 @@ class AwareProcessLogicTest {
 		subject = new AwareProcessLogic(ctx);
 	}
 
+	private grameSigningOrder keyOrderFor(TxnHandlingScenario scenario, SigMetadataVersions versions) throws Exception {
+		var accounts = scenario.accounts();
+		var topics = scenario.topics();
+		return new grameSigningOrder(
+				new MockEntityNumbers(),
+				defaultLookupsFor(
+						scenario.hfs(),
+						() -> accounts,
+						() -> topics,
+						SigMetadataLookup.REF_LOOKUP_FACTORY.apply(scenario.tokenStore()),
+						SigMetadataLookup.SCHEDULE_REF_LOOKUP_FACTORY.apply(scenario.scheduleStore())),
+				txn -> true,
+				(txn, function) -> true,
+				new MockGlobalDynamicProps(),
+				versions);
+	}
+
 	@AfterEach
 	public void cleanup() {
 		AwareProcessLogic.log = LogManager.getLogger(AwareProcessLogic.class);
@@ -229,6 +268,61 @@ class AwareProcessLogicTest {
 		verify(mockLog).warn(argThat((String s) -> s.startsWith("Ignoring a transaction submitted by zero-stake")));
 	}
 
+	@Test
+	public void handleReusesSigningOrdersMemoizedDuringExpansion() throws Throwable {
+		// setup:
+		var scenario = CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO;
+		var speedometers = mock(MiscSpeedometers.class);
+		var properties = mock(NodeLocalProperties.class);
+		var syncVerifier = mock(SyncVerifier.class);
+		var versions = new SigMetadataVersions(speedometers);
+		var expansionKeyOrder = keyOrderFor(scenario, versions);
+		var handleKeyOrder = keyOrderFor(scenario, versions);
+		var consensusTxn = scenario.platformTxn().getPlatformTxn();
+
+		given(properties.accessorCacheMaxSize()).willReturn(10);
+		var accessorCache = new ParsedTxnAccessorCache(properties, speedometers, mock(HapiOpLatencies.class));
+		given(ctx.accessorCache()).willReturn(accessorCache);
+		given(ctx.lookupRetryingKeyOrder()).willReturn(expansionKeyOrder);
+		given(ctx.sigFactoryCreator()).willReturn(new SigFactoryCreator());
+
+		// given:
+		subject.expandSignatures(consensusTxn);
+		// and:
+		var accessor = accessorCache.accessorFor(consensusTxn);
+		var memo = accessor.getSigningOrderMemo();
+		clearInvocations(speedometers);
+
+		// when:
+		var status = rationalizeIn(
+				accessor,
+				syncVerifier,
+				handleKeyOrder,
+				new ScopedSigBytesProvider(accessor),
+				new SigFactoryCreator()::createScopedFactory);
+
+		// then:
+		assertNotNull(memo);
+		assertSame(memo, accessor.getSigningOrderMemo());
+		assertFalse(consensusTxn.getSignatures().isEmpty());
+		assertEquals(ResponseCodeEnum.OK, status.getResponseCode());
+		// and:
+		verify(speedometers, atLeastOnce()).cycleSigningOrderMemoHits();
+		verify(speedometers, never()).cycleSigningOrderMemoInvalidations();
+	}
+
+	@Test
+	public void warnsOnExpandingNonGrpcTxn() {
+		// given:
+		var nonsense = new Transaction("NONSENSE".getBytes());
+
+		// when:
+		subject.expandSignatures(nonsense);
+
+		// then:
+		verify(mockLog).warn(argThat((String s) -> s.startsWith("expandSignatures called with non-gRPC txn")), any(Exception.class));
+	}
+
 	@Test
 	public void addForStreamingTest() {
 		//setup:
@@ -237,7 +331,7 @@ class AwareProcessLogicTest {
 
 		//when:
 		subject.addForStreaming(mock(com.gramegrame.api.proto.java.Transaction.class),
-				mock(TransactionRecord.class), Instant.now());
+				new byte[] { 1, 2, 3 }, mock(TransactionRecord.class), Instant.now());
 		//then:
 		verify(ctx).updateRecordRunningHash(any(RunningHash.class));
 		verify(recordStreamManager).addRecordStreamObject(any(RecordStreamObject.class));
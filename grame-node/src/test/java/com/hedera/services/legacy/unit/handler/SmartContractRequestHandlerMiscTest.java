@@ -23,6 +23,8 @@ package com.grame.services.legacy.unit.handler;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.grame.services.config.MockGlobalDynamicProps;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.contracts.execution.BytecodeCache;
 import com.grame.services.contracts.sources.LedgerAccountsSource;
 import com.grame.services.exceptions.NegativeAccountBalanceException;
 import com.grame.services.fees.HbarCentExchange;
@@ -46,6 +48,7 @@ import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleOptionalBlob;
 import com.grame.services.state.submerkle.ExchangeRates;
 import com.grame.services.state.submerkle.SequenceNumber;
+import com.grame.services.stats.MiscRunningAvgs;
 import com.grame.services.store.tokens.TokenStore;
 import com.grame.services.utils.EntityIdUtils;
 import com.grame.services.utils.MiscUtils;
@@ -92,6 +95,7 @@ import java.io.InputStream;
 import java.math.BigInteger;
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 
@@ -99,7 +103,12 @@ import static com.grame.services.utils.EntityIdUtils.accountParsedFromSolidityAd
 import static com.grame.services.utils.EntityIdUtils.asContract;
 import static com.grame.test.mocks.TestUsagePricesProvider.TEST_USAGE_PRICES;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.clearInvocations;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.never;
+import static org.mockito.BDDMockito.spy;
+import static org.mockito.BDDMockito.verify;
 import static org.mockito.Mockito.mock;
 
 /**
@@ -114,6 +123,8 @@ public class SmartContractRequestHandlerMiscTest {
   public static final String CREATE_TRIVIAL_BIN = "/testfiles/CreateTrivial.bin";
   public static final String NEW_OPCODES_BIN = "/testfiles/NewOpcodes.bin";
   public static final String CREATE_IN_CONSTRUCTOR_BIN = "/testfiles/createInConstructor.bin";
+  /* Runtime code is CALLER SELFDESTRUCT; so any call destroys the contract, refunding the caller. */
+  public static final String SELF_DESTRUCT_BIN = "/testfiles/SelfDestruct.bin";
   private static final int CREATED_TRIVIAL_CONTRACT_RETURNS = 7;
   private static final long INITIAL_BALANCE_OFFERED = 20_000L;
 
@@ -125,6 +136,7 @@ public class SmartContractRequestHandlerMiscTest {
   private static final long contractSequenceNumber = 334L;
   private static final long secondContractSequenceNumber = 668L;
   SmartContractRequestHandler smartHandler;
+  BytecodeCache bytecodeCache;
   FileServiceHandler fsHandler;
   FCMap<MerkleEntityId, MerkleAccount> fcMap = null;
   private FCMap<MerkleBlobMeta, MerkleOptionalBlob> storageMap;
@@ -203,6 +215,7 @@ public class SmartContractRequestHandlerMiscTest {
                     expiryTime);
     given(exchange.activeRates()).willReturn(rates);
     given(exchange.rate(any())).willReturn(rates.getCurrentRate());
+    bytecodeCache = spy(new BytecodeCache(mock(NodeLocalProperties.class), mock(MiscRunningAvgs.class)));
     smartHandler = new SmartContractRequestHandler(
             repository,
             ledger,
@@ -214,7 +227,8 @@ public class SmartContractRequestHandlerMiscTest {
             SolidityLifecycleFactory.newTestInstance(),
             ignore -> true,
             null,
-            new MockGlobalDynamicProps());
+            new MockGlobalDynamicProps(),
+            bytecodeCache);
     storageWrapper = new FCStorageWrapper(storageMap);
     FeeScheduleInterceptor feeScheduleInterceptor = mock(FeeScheduleInterceptor.class);
     fsHandler = new FileServiceHandler(storageWrapper, feeScheduleInterceptor, new ExchangeRates());
@@ -459,6 +473,7 @@ public class SmartContractRequestHandlerMiscTest {
     ByteString dataToGet = ByteString.copyFrom(SCEncoding.encodeMapGet(2));
     ContractCallLocalQuery cCLQuery = getCallLocalQuery(newContractId, dataToGet, 250000L, 0)
         .getContractCallLocal();
+    clearInvocations(bytecodeCache);
     ContractCallLocalResponse response = smartHandler.contractCallLocal(cCLQuery, System.currentTimeMillis());
     Assert.assertNotNull(response);
     Assert.assertNotNull(response.getFunctionResult().getContractCallResult());
@@ -468,6 +483,8 @@ public class SmartContractRequestHandlerMiscTest {
     Assert.assertTrue(callResults.length > 0);
     int retVal = SCEncoding.decodeGetValueResult(callResults);
     Assert.assertEquals(200, retVal);
+    // The local call must neither read nor fill the shared bytecode cache
+    verify(bytecodeCache, never()).getOrLoad(any(), any());
   }
 
   @Test
@@ -1091,4 +1108,42 @@ public class SmartContractRequestHandlerMiscTest {
     Assert.assertEquals(ResponseCodeEnum.SUCCESS, record.getReceipt().getStatus());
     Assert.assertNotEquals(0, record.getContractCreateResult().getContractID().getContractNum());
   }
+
+  @Test
+  @DisplayName("cs Call after self-destruct: contract deleted, cached bytecode invalidated")
+  public void cs_CallAfterSelfDestruct() {
+    // Create the contract
+    byte[] contractBytes = createFile(SELF_DESTRUCT_BIN, contractFileId);
+    TransactionBody body = getCreateTransactionBody();
+    Instant consensusTime = new Date().toInstant();
+    SequenceNumber seqNumber = new SequenceNumber(contractSequenceNumber);
+    ledger.begin();
+    TransactionRecord record = smartHandler.createContract(body, consensusTime, contractBytes, seqNumber);
+    ledger.commit();
+    Assert.assertEquals(ResponseCodeEnum.SUCCESS, record.getReceipt().getStatus());
+    ContractID newContractId = record.getReceipt().getContractID();
+    byte[] contractAddress = EntityIdUtils.asSolidityAddress(newContractId);
+
+    // Call the contract, which loads its bytecode through the cache and then self-destructs
+    body = getCallTransactionBody(newContractId, ByteString.EMPTY, 250000L, 0L);
+    consensusTime = new Date().toInstant();
+    seqNumber.getAndIncrement();
+    ledger.begin();
+    record = smartHandler.contractCall(body, consensusTime, seqNumber);
+    ledger.commit();
+    Assert.assertEquals(ResponseCodeEnum.SUCCESS, record.getReceipt().getStatus());
+    verify(bytecodeCache).getOrLoad(argThat(address -> Arrays.equals(contractAddress, address)), any());
+    verify(bytecodeCache).invalidate(argThat(address -> Arrays.equals(contractAddress, address)));
+
+    // Call the contract again, which must not run the cached bytecode
+    clearInvocations(bytecodeCache);
+    body = getCallTransactionBody(newContractId, ByteString.EMPTY, 250000L, 0L);
+    consensusTime = new Date().toInstant();
+    seqNumber.getAndIncrement();
+    ledger.begin();
+    record = smartHandler.contractCall(body, consensusTime, seqNumber);
+    ledger.commit();
+    Assert.assertEquals(ResponseCodeEnum.CONTRACT_DELETED, record.getReceipt().getStatus());
+    verify(bytecodeCache, never()).getOrLoad(any(), any());
+  }
 }
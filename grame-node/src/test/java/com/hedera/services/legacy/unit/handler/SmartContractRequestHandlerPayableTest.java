@@ -23,6 +23,8 @@ package com.grame.services.legacy.unit.handler;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.grame.services.config.MockGlobalDynamicProps;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.contracts.execution.BytecodeCache;
 import com.grame.services.contracts.sources.LedgerAccountsSource;
 import com.grame.services.exceptions.NegativeAccountBalanceException;
 import com.grame.services.fees.HbarCentExchange;
@@ -44,6 +46,7 @@ import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleOptionalBlob;
 import com.grame.services.state.submerkle.ExchangeRates;
 import com.grame.services.state.submerkle.SequenceNumber;
+import com.grame.services.stats.MiscRunningAvgs;
 import com.grame.services.store.tokens.TokenStore;
 import com.grame.services.utils.EntityIdUtils;
 import com.grame.services.utils.MiscUtils;
@@ -193,7 +196,8 @@ public class SmartContractRequestHandlerPayableTest {
             SolidityLifecycleFactory.newTestInstance(),
             ignore -> true,
             null,
-            new MockGlobalDynamicProps());
+            new MockGlobalDynamicProps(),
+            new BytecodeCache(mock(NodeLocalProperties.class), mock(MiscRunningAvgs.class)));
     storageWrapper = new FCStorageWrapper(storageMap);
     FeeScheduleInterceptor feeScheduleInterceptor = mock(FeeScheduleInterceptor.class);
     fsHandler = new FileServiceHandler(
@@ -110,7 +110,7 @@ class AnswerFunctionsTest {
 	}
 
 	@Test
-	public void findsInPayerAccountIfPresentThere() {
+	public void neverScansPayerAccountRecords() {
 		// setup:
 		Query validQuery = getRecordQuery(targetTxnId);
 
@@ -120,7 +120,8 @@ class AnswerFunctionsTest {
 		Optional<TransactionRecord> record = subject.txnRecord(recordCache, view, validQuery);
 
 		// then:
-		assertEquals(cachedTargetRecord, record.get());
+		assertFalse(record.isPresent());
+		verify(accounts, never()).get(any());
 	}
 
 	@Test
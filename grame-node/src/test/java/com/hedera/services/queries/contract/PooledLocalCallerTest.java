@@ -0,0 +1,351 @@
+package com.grame.services.queries.contract;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.test.utils.IdUtils;
+import com.gramegrame.api.proto.java.ContractCallLocalQuery;
+import com.gramegrame.api.proto.java.ContractCallLocalResponse;
+import com.gramegrame.api.proto.java.ContractFunctionResult;
+import com.gramegrame.api.proto.java.ContractID;
+import com.gramegrame.api.proto.java.QueryHeader;
+import com.gramegrame.api.proto.java.ResponseCodeEnum;
+import com.gramegrame.api.proto.java.ResponseHeader;
+import com.gramegrame.api.proto.java.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static com.grame.services.queries.contract.PooledLocalCaller.BUSY_RESPONSE;
+import static com.grame.test.factories.scenarios.TxnHandlingScenario.COMPLEX_KEY_ACCOUNT_KT;
+import static com.grame.test.utils.TxnUtils.payerSponsoredTransfer;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.BUSY;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.CONTRACT_EXECUTION_EXCEPTION;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PooledLocalCallerTest {
+	long now = 1_234_567L;
+	int capacity = 2;
+	int timeoutMs = 5_000;
+	Object snapshot = new Object();
+	ContractID target = IdUtils.asContract("0.0.75231");
+	ByteString callData = ByteString.copyFromUtf8("balanceOf()");
+
+	ExecutorService workers;
+	NodeLocalProperties properties;
+	ContractCallLocalAnswer.LegacyLocalCaller delegate;
+
+	PooledLocalCaller subject;
+
+	@BeforeEach
+	void setup() {
+		delegate = mock(ContractCallLocalAnswer.LegacyLocalCaller.class);
+		properties = mock(NodeLocalProperties.class);
+		given(properties.localCallTimeoutMs()).willReturn(timeoutMs);
+		given(properties.localCallMemoMaxSize()).willReturn(10);
+		workers = Executors.newSingleThreadExecutor();
+
+		subject = new PooledLocalCaller(delegate, () -> snapshot, properties, workers, capacity);
+	}
+
+	@AfterEach
+	void cleanup() {
+		workers.shutdownNow();
+	}
+
+	@Test
+	void memoizesSuccessfulCallsAgainstSameSnapshot() throws Throwable {
+		// setup:
+		var query = queryWith(callData);
+		var response = response(OK);
+
+		given(delegate.perform(query, now)).willReturn(response);
+
+		// when:
+		var first = subject.perform(query, now);
+		var second = subject.perform(queryWith(callData), now + 1);
+
+		// then:
+		assertSame(response, first);
+		assertSame(response, second);
+		verify(delegate, times(1)).perform(any(), anyLong());
+		assertEquals(1L, subject.numMemoized());
+	}
+
+	@Test
+	void distinguishesCallData() throws Throwable {
+		// setup:
+		var query = queryWith(callData);
+		var otherQuery = queryWith(ByteString.copyFromUtf8("totalSupply()"));
+
+		given(delegate.perform(any(), anyLong())).willReturn(response(OK));
+
+		// when:
+		subject.perform(query, now);
+		subject.perform(otherQuery, now);
+
+		// then:
+		verify(delegate, times(2)).perform(any(), anyLong());
+		assertEquals(2L, subject.numMemoized());
+	}
+
+	@Test
+	void distinguishesConsensusSecond() throws Throwable {
+		// setup:
+		var query = queryWith(callData);
+		var nextSecond = now + 1_000L;
+
+		given(delegate.perform(any(), anyLong())).willReturn(response(OK));
+
+		// when:
+		subject.perform(query, now);
+		subject.perform(query, nextSecond);
+
+		// then:
+		verify(delegate).perform(query, now);
+		verify(delegate).perform(query, nextSecond);
+		assertEquals(2L, subject.numMemoized());
+	}
+
+	@Test
+	void forgetsMemoizedCallsOnNewSnapshot() throws Throwable {
+		// setup:
+		var query = queryWith(callData);
+
+		given(delegate.perform(query, now)).willReturn(response(OK));
+
+		// given:
+		subject.perform(query, now);
+
+		// when:
+		snapshot = new Object();
+		subject.perform(query, now);
+
+		// then:
+		verify(delegate, times(2)).perform(query, now);
+		assertEquals(1L, subject.numMemoized());
+	}
+
+	@Test
+	void doesntMemoizeFailures() throws Throwable {
+		// setup:
+		var query = queryWith(callData);
+
+		given(delegate.perform(query, now)).willReturn(response(CONTRACT_EXECUTION_EXCEPTION));
+
+		// when:
+		subject.perform(query, now);
+
+		// then:
+		assertEquals(0L, subject.numMemoized());
+	}
+
+	@Test
+	void doesntMemoizeWithoutParseablePayment() throws Throwable {
+		// setup:
+		var query = ContractCallLocalQuery.newBuilder()
+				.setHeader(QueryHeader.newBuilder()
+						.setPayment(Transaction.newBuilder()
+								.setBodyBytes(ByteString.copyFromUtf8("NONSENSE"))))
+				.setContractID(target)
+				.build();
+
+		given(delegate.perform(query, now)).willReturn(response(OK));
+
+		// when:
+		subject.perform(query, now);
+
+		// then:
+		assertEquals(0L, subject.numMemoized());
+	}
+
+	@Test
+	void propagatesDelegateException() throws Throwable {
+		// setup:
+		var query = queryWith(callData);
+
+		given(delegate.perform(query, now)).willThrow(new IllegalStateException());
+
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.perform(query, now));
+	}
+
+	@Test
+	void isBusyWhenQueueIsFull() throws Throwable {
+		// setup:
+		workers = mock(ExecutorService.class);
+		subject = new PooledLocalCaller(delegate, () -> snapshot, properties, workers, capacity);
+
+		given(workers.submit(any(Callable.class))).willThrow(RejectedExecutionException.class);
+
+		// when:
+		var response = subject.perform(queryWith(callData), now);
+
+		// then:
+		assertEquals(BUSY, response.getHeader().getNodeTransactionPrecheckCode());
+	}
+
+	@Test
+	void releasesCapacityWhenSubmitIsRejected() throws Throwable {
+		// setup:
+		workers = mock(ExecutorService.class);
+		subject = new PooledLocalCaller(delegate, () -> snapshot, properties, workers, capacity);
+
+		given(workers.submit(any(Callable.class))).willThrow(RejectedExecutionException.class);
+
+		// when:
+		subject.perform(queryWith(callData), now);
+
+		// then:
+		assertEquals(0, subject.numInFlight());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void isBusyWhenOverTimeBudget() throws Throwable {
+		// setup:
+		var call = (Future<ContractCallLocalResponse>) mock(Future.class);
+		workers = mock(ExecutorService.class);
+		subject = new PooledLocalCaller(delegate, () -> snapshot, properties, workers, capacity);
+
+		given(workers.submit(any(Callable.class))).willReturn(call);
+		given(call.get(eq((long) timeoutMs), eq(MILLISECONDS))).willThrow(TimeoutException.class);
+
+		// when:
+		var response = subject.perform(queryWith(callData), now);
+
+		// then:
+		assertSame(BUSY_RESPONSE, response);
+		assertEquals(0L, subject.numMemoized());
+	}
+
+	@Test
+	void timedOutCallHoldsCapacityUntilItFinishes() throws Throwable {
+		// setup:
+		var started = new CountDownLatch(1);
+		var finish = new CountDownLatch(1);
+		var query = queryWith(callData);
+		given(properties.localCallTimeoutMs()).willReturn(10);
+		subject = new PooledLocalCaller(delegate, () -> snapshot, properties, workers, 1);
+
+		given(delegate.perform(query, now)).willAnswer(invocation -> {
+			started.countDown();
+			finish.await();
+			return response(OK);
+		});
+
+		// given:
+		var first = subject.perform(query, now);
+		started.await();
+
+		// when:
+		var second = subject.perform(queryWith(ByteString.copyFromUtf8("totalSupply()")), now);
+
+		// then:
+		assertSame(BUSY_RESPONSE, first);
+		assertSame(BUSY_RESPONSE, second);
+		assertEquals(1, subject.numInFlight());
+		verify(delegate, times(1)).perform(any(), anyLong());
+
+		// and when:
+		finish.countDown();
+		workers.shutdown();
+		workers.awaitTermination(timeoutMs, MILLISECONDS);
+
+		// then:
+		assertEquals(0, subject.numInFlight());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void skipsTimedOutCallStillInQueue() throws Throwable {
+		// setup:
+		var call = (Future<ContractCallLocalResponse>) mock(Future.class);
+		var queued = ArgumentCaptor.forClass(Callable.class);
+		workers = mock(ExecutorService.class);
+		subject = new PooledLocalCaller(delegate, () -> snapshot, properties, workers, capacity);
+
+		given(workers.submit(queued.capture())).willReturn(call);
+		given(call.get(eq((long) timeoutMs), eq(MILLISECONDS))).willThrow(TimeoutException.class);
+
+		// given:
+		subject.perform(queryWith(callData), now);
+		assertEquals(1, subject.numInFlight());
+
+		// when:
+		var response = queued.getValue().call();
+
+		// then:
+		assertSame(BUSY_RESPONSE, response);
+		verify(delegate, never()).perform(any(), anyLong());
+		assertEquals(0, subject.numInFlight());
+	}
+
+	@Test
+	void poolConstructorUsesProperties() {
+		// given:
+		given(properties.localCallPoolSize()).willReturn(2);
+		given(properties.localCallQueueSize()).willReturn(4);
+
+		// expect:
+		new PooledLocalCaller(delegate, () -> snapshot, properties);
+	}
+
+	private ContractCallLocalQuery queryWith(ByteString callData) throws Throwable {
+		Transaction payment = payerSponsoredTransfer("0.0.12345", COMPLEX_KEY_ACCOUNT_KT, "0.0.3", 1_234L);
+		return ContractCallLocalQuery.newBuilder()
+				.setHeader(QueryHeader.newBuilder().setPayment(payment))
+				.setContractID(target)
+				.setGas(123L)
+				.setFunctionParameters(callData)
+				.build();
+	}
+
+	private ContractCallLocalResponse response(ResponseCodeEnum status) {
+		return ContractCallLocalResponse.newBuilder()
+				.setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(status))
+				.setFunctionResult(ContractFunctionResult.newBuilder()
+						.setContractCallResult(ByteString.copyFromUtf8("42")))
+				.build();
+	}
+}
@@ -142,6 +142,7 @@ public class GetAccountBalanceAnswerTest {
 				StateView.EMPTY_TOPICS_SUPPLIER,
 				() -> accounts,
 				StateView.EMPTY_STORAGE_SUPPLIER,
+				StateView.EMPTY_CONTRACT_STORAGE_SUPPLIER,
 				() -> tokenRels,
 				null,
 				nodeProps);
@@ -173,6 +173,7 @@ class GetAccountInfoAnswerTest {
 				StateView.EMPTY_TOPICS_SUPPLIER,
 				() -> accounts,
 				StateView.EMPTY_STORAGE_SUPPLIER,
+				StateView.EMPTY_CONTRACT_STORAGE_SUPPLIER,
 				() -> tokenRels,
 				null,
 				nodeProps);
@@ -35,7 +35,6 @@ class NoopRecordsHistorianTest {
 		assertDoesNotThrow(NOOP_RECORDS_HISTORIAN::addNewEntities);
 		assertDoesNotThrow(() -> NOOP_RECORDS_HISTORIAN.setLedger(null));
 		assertDoesNotThrow(() -> NOOP_RECORDS_HISTORIAN.setCreator(null));
-		assertDoesNotThrow(() -> NOOP_RECORDS_HISTORIAN.reviewExistingRecords());
 		assertTrue(NOOP_RECORDS_HISTORIAN.lastCreatedRecord().isEmpty());
 	}
 }
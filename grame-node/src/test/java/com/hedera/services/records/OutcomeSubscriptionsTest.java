@@ -0,0 +1,171 @@
+package com.grame.services.records;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.Timestamp;
+import com.gramegrame.api.proto.java.TransactionID;
+import com.gramegrame.api.proto.java.TransactionReceipt;
+import com.gramegrame.api.proto.java.TransactionRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.grame.test.utils.IdUtils.asAccount;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_PAYER_SIGNATURE;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class OutcomeSubscriptionsTest {
+	AccountID payer = asAccount("0.0.1001");
+	TransactionID txnId = TransactionID.newBuilder()
+			.setAccountID(payer)
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_567L))
+			.build();
+	TransactionRecord record = TransactionRecord.newBuilder()
+			.setTransactionID(txnId)
+			.setReceipt(TransactionReceipt.newBuilder().setStatus(SUCCESS))
+			.setConsensusTimestamp(Timestamp.newBuilder().setSeconds(1_234_568L))
+			.setTransactionHash(ByteString.copyFromUtf8("NOT-A-HASH"))
+			.setMemo("Hi!")
+			.build();
+	TransactionRecord outcome = OutcomeSubscriptions.outcomeFrom(record);
+
+	RecordCache recordCache;
+	OutcomeSubscriptions.Subscriber subscriber;
+
+	OutcomeSubscriptions subject;
+
+	@BeforeEach
+	void setup() {
+		recordCache = mock(RecordCache.class);
+		subscriber = mock(OutcomeSubscriptions.Subscriber.class);
+
+		subject = new OutcomeSubscriptions(recordCache);
+	}
+
+	@Test
+	void outcomesHaveOnlyReceiptLevelDetail() {
+		// expect:
+		assertEquals(TransactionRecord.newBuilder()
+				.setTransactionID(txnId)
+				.setReceipt(record.getReceipt())
+				.setConsensusTimestamp(record.getConsensusTimestamp())
+				.build(), outcome);
+	}
+
+	@Test
+	void publishingWithoutSubscribersIsNoop() {
+		// when:
+		subject.publish(record);
+
+		// then:
+		verifyNoInteractions(subscriber);
+	}
+
+	@Test
+	void resolvesTxnIdSubscriptionOnce() {
+		// given:
+		subject.subscribe(txnId, subscriber);
+
+		// when:
+		subject.publish(record);
+		subject.publish(record);
+
+		// then:
+		verify(subscriber).resolve(outcome);
+		assertEquals(0, subject.numSubscribedTxnIds());
+	}
+
+	@Test
+	void unclassifiableOutcomesDontResolve() {
+		// given:
+		subject.subscribe(txnId, subscriber);
+
+		// when:
+		subject.publish(record.toBuilder()
+				.setReceipt(TransactionReceipt.newBuilder().setStatus(INVALID_PAYER_SIGNATURE))
+				.build());
+
+		// then:
+		verify(subscriber, never()).resolve(any());
+		assertEquals(1, subject.numSubscribedTxnIds());
+	}
+
+	@Test
+	void resolvesImmediatelyIfAlreadyFinalized() {
+		given(recordCache.getPriorityRecord(txnId)).willReturn(record);
+
+		// when:
+		subject.subscribe(txnId, subscriber);
+
+		// then:
+		verify(subscriber).resolve(outcome);
+		assertEquals(0, subject.numSubscribedTxnIds());
+	}
+
+	@Test
+	void payerSubscribersObserveEveryOutcomeUntilCanceled() {
+		// setup:
+		var unclassifiable = record.toBuilder()
+				.setReceipt(TransactionReceipt.newBuilder().setStatus(INVALID_PAYER_SIGNATURE))
+				.build();
+
+		// given:
+		subject.subscribe(payer, subscriber);
+
+		// when:
+		subject.publish(unclassifiable);
+		subject.publish(record);
+		subject.cancel(payer, subscriber);
+		subject.publish(record);
+
+		// then:
+		verify(subscriber).observe(OutcomeSubscriptions.outcomeFrom(unclassifiable));
+		verify(subscriber).observe(outcome);
+		assertEquals(0, subject.numSubscribedPayers());
+	}
+
+	@Test
+	void canceledTxnIdSubscriptionsAreForgotten() {
+		// setup:
+		var otherSubscriber = mock(OutcomeSubscriptions.Subscriber.class);
+
+		// given:
+		subject.subscribe(txnId, subscriber);
+		subject.subscribe(txnId, otherSubscriber);
+
+		// when:
+		subject.cancel(txnId, subscriber);
+		// and:
+		subject.publish(record);
+
+		// then:
+		verify(subscriber, never()).resolve(any());
+		verify(otherSubscriber).resolve(outcome);
+	}
+}
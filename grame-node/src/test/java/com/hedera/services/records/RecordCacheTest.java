@@ -342,7 +342,7 @@ class RecordCacheTest {
 		given(creator.createExpiringRecord(any(), any(), anyLong(), anyLong())).willReturn(expectedRecord);
 
 		// when:
-		subject.setFailInvalid(
+		var actual = subject.setFailInvalid(
 				effectivePayer,
 				accessor,
 				consensusTime,
@@ -352,6 +352,7 @@ class RecordCacheTest {
 		verify(history).observe(
 				argThat(expectedRecord::equals),
 				argThat(FAIL_INVALID::equals));
+		assertEquals(grpc, actual);
 	}
 
 	@Test
@@ -389,7 +390,7 @@ class RecordCacheTest {
 		given(creator.createExpiringRecord(any(), any(), anyLong(), anyLong())).willReturn(expectedRecord);
 
 		// when:
-		subject.setFailInvalid(
+		var actual = subject.setFailInvalid(
 				effectivePayer,
 				accessor,
 				consensusTime,
@@ -399,6 +400,7 @@ class RecordCacheTest {
 		verify(history).observe(
 				argThat(expectedRecord::equals),
 				argThat(FAIL_INVALID::equals));
+		assertEquals(grpc, actual);
 	}
 
 
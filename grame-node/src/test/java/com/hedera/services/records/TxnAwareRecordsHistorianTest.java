@@ -26,8 +26,6 @@ import com.grame.services.ledger.grameLedger;
 import com.grame.services.state.expiry.ExpiringCreations;
 import com.grame.services.state.expiry.ExpiringEntity;
 import com.grame.services.state.expiry.ExpiryManager;
-import com.grame.services.state.merkle.MerkleAccount;
-import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleSchedule;
 import com.grame.services.state.submerkle.EntityId;
 import com.grame.services.state.submerkle.ExpirableTxnRecord;
@@ -37,7 +35,6 @@ import com.gramegrame.api.proto.java.TransactionBody;
 import com.gramegrame.api.proto.java.TransactionID;
 import com.gramegrame.api.proto.java.TransactionRecord;
 import com.gramegrame.api.proto.java.TransferList;
-import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
@@ -95,7 +92,6 @@ public class TxnAwareRecordsHistorianTest {
 	private ExpiringCreations creator;
 	private ExpiringEntity expiringEntity;
 	private TransactionContext txnCtx;
-	private FCMap<MerkleEntityId, MerkleAccount> accounts;
 
 	private TxnAwareRecordsHistorian subject;
 
@@ -159,17 +155,6 @@ public class TxnAwareRecordsHistorianTest {
 		verify(expiries, never()).trackEntity(any(), eq(nows));
 	}
 
-	@Test
-	public void managesReviewRecordsCorrectly() {
-		setupForReview();
-
-		// when:
-		subject.reviewExistingRecords();
-
-		// then:
-		verify(expiries).restartTrackingFrom(accounts);
-	}
-
 	@Test
 	public void managesExpiredRecordsCorrectly() {
 		setupForPurge();
@@ -181,10 +166,6 @@ public class TxnAwareRecordsHistorianTest {
 		verify(expiries).purgeExpiredRecordsAt(nows, ledger);
 	}
 
-	private void setupForReview() {
-		setupForAdd();
-	}
-
 	private void setupForAdd() {
 		expiries = mock(ExpiryManager.class);
 
@@ -217,14 +198,11 @@ public class TxnAwareRecordsHistorianTest {
 		given(txnCtx.effectivePayer()).willReturn(effPayer);
 		given(txnCtx.expiringEntities()).willReturn(Collections.singletonList(expiringEntity));
 
-		accounts = mock(FCMap.class);
-
 		recordCache = mock(RecordCache.class);
 
 		subject = new TxnAwareRecordsHistorian(
 				recordCache,
 				txnCtx,
-				() -> accounts,
 				expiries);
 		subject.setLedger(ledger);
 		subject.setCreator(creator);
@@ -241,7 +219,6 @@ public class TxnAwareRecordsHistorianTest {
 		subject = new TxnAwareRecordsHistorian(
 				recordCache,
 				txnCtx,
-				() -> accounts,
 				expiries);
 		subject.setLedger(ledger);
 	}
@@ -0,0 +1,153 @@
+package com.grame.services.records;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.gramegrame.api.proto.java.Timestamp;
+import com.gramegrame.api.proto.java.TransactionID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.grame.services.records.TxnIdRecentHistories.ESTIMATED_BYTES_PER_HISTORY;
+import static com.grame.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TxnIdRecentHistoriesTest {
+	TransactionID txnId = TransactionID.newBuilder()
+			.setAccountID(asAccount("0.0.1001"))
+			.setTransactionValidStart(Timestamp.newBuilder().setSeconds(1_234_567L).setNanos(890))
+			.build();
+	TransactionID scheduledTxnId = txnId.toBuilder().setScheduled(true).build();
+	TransactionID otherRealmTxnId = txnId.toBuilder().setAccountID(asAccount("0.1.1001")).build();
+
+	TxnIdRecentHistories subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new TxnIdRecentHistories();
+	}
+
+	@Test
+	void findsHistoryByEqualButDistinctId() {
+		// setup:
+		var history = new TxnIdRecentHistory();
+
+		// given:
+		subject.put(txnId, history);
+
+		// expect:
+		assertSame(history, subject.get(txnId.toBuilder().build()));
+		assertTrue(subject.containsKey(txnId.toBuilder().build()));
+	}
+
+	@Test
+	void distinguishesEveryField() {
+		// given:
+		subject.put(txnId, new TxnIdRecentHistory());
+
+		// expect:
+		assertNull(subject.get(scheduledTxnId));
+		assertNull(subject.get(otherRealmTxnId));
+		assertNull(subject.get(txnId.toBuilder()
+				.setTransactionValidStart(txnId.getTransactionValidStart().toBuilder().setNanos(891))
+				.build()));
+	}
+
+	@Test
+	void computesOnlyIfAbsent() {
+		// given:
+		var history = subject.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory());
+
+		// when:
+		var sameHistory = subject.computeIfAbsent(txnId, ignore -> new TxnIdRecentHistory());
+
+		// then:
+		assertSame(history, sameHistory);
+		assertEquals(1, subject.size());
+	}
+
+	@Test
+	void removesAndClears() {
+		// given:
+		subject.put(txnId, new TxnIdRecentHistory());
+		subject.put(scheduledTxnId, new TxnIdRecentHistory());
+
+		// when:
+		subject.remove(txnId);
+
+		// then:
+		assertFalse(subject.containsKey(txnId));
+		assertEquals(1, subject.values().size());
+
+		// and when:
+		subject.clear();
+
+		// then:
+		assertTrue(subject.isEmpty());
+	}
+
+	@Test
+	void reconstructsGrpcKeysForEntries() {
+		// setup:
+		var history = new TxnIdRecentHistory();
+
+		// given:
+		subject.put(scheduledTxnId, history);
+
+		// when:
+		var entries = subject.entrySet();
+
+		// then:
+		assertEquals(Map.of(scheduledTxnId, history).entrySet(), entries);
+	}
+
+	@Test
+	void estimatesHeapBytesFromSize() {
+		// given:
+		subject.put(txnId, new TxnIdRecentHistory());
+		subject.put(otherRealmTxnId, new TxnIdRecentHistory());
+
+		// expect:
+		assertEquals(2 * ESTIMATED_BYTES_PER_HISTORY, subject.estimatedHeapBytes());
+	}
+
+	@Test
+	void compactKeysHashByValue() {
+		// given:
+		var a = TxnIdRecentHistories.CompactTxnId.from(txnId);
+		var b = TxnIdRecentHistories.CompactTxnId.from(txnId.toBuilder().build());
+		var c = TxnIdRecentHistories.CompactTxnId.from(scheduledTxnId);
+
+		// expect:
+		assertEquals(a, a);
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertNotEquals(a, c);
+		assertNotEquals(a, null);
+		assertNotEquals(a, new Object());
+	}
+}
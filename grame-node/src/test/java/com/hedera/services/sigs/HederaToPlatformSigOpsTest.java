@@ -122,9 +122,9 @@ public class grameToPlatformSigOpsTest {
 		wellBehavedOrdersAndSigSources(IN_HANDLE_SUMMARY_FACTORY);
 	}
 	private void wellBehavedOrdersAndSigSources(SigStatusOrderResultFactory factory) throws Exception {
-		given(keyOrdering.keysForPayer(platformTxn.getTxn(), factory))
+		given(keyOrdering.memoizedKeysForPayer(platformTxn, factory))
 				.willReturn(new SigningOrderResult<>(payerKey));
-		given(keyOrdering.keysForOtherParties(platformTxn.getTxn(), factory))
+		given(keyOrdering.memoizedKeysForOtherParties(platformTxn, factory))
 				.willReturn(new SigningOrderResult<>(otherKeys));
 		// and:
 		given(payerSigBytes.sigBytesFor(any())).willReturn("1".getBytes());
@@ -146,7 +146,7 @@ public class grameToPlatformSigOpsTest {
 
 	@Test
 	public void returnsImmediatelyOnPayerKeyOrderFailure() {
-		given(keyOrdering.keysForPayer(platformTxn.getTxn(), PRE_HANDLE_SUMMARY_FACTORY))
+		given(keyOrdering.memoizedKeysForPayer(platformTxn, PRE_HANDLE_SUMMARY_FACTORY))
 				.willReturn(new SigningOrderResult<>(failureStatus));
 
 		// when:
@@ -158,9 +158,9 @@ public class grameToPlatformSigOpsTest {
 
 	@Test
 	public void doesntAddSigsIfCreationResultIsNotSuccess() throws Exception {
-		given(keyOrdering.keysForPayer(platformTxn.getTxn(), PRE_HANDLE_SUMMARY_FACTORY))
+		given(keyOrdering.memoizedKeysForPayer(platformTxn, PRE_HANDLE_SUMMARY_FACTORY))
 				.willReturn(new SigningOrderResult<>(payerKey));
-		given(keyOrdering.keysForOtherParties(platformTxn.getTxn(), PRE_HANDLE_SUMMARY_FACTORY))
+		given(keyOrdering.memoizedKeysForOtherParties(platformTxn, PRE_HANDLE_SUMMARY_FACTORY))
 				.willReturn(new SigningOrderResult<>(otherKeys));
 		// and:
 		given(payerSigBytes.sigBytesFor(any())).willReturn("1".getBytes());
@@ -197,7 +197,7 @@ public class grameToPlatformSigOpsTest {
 
 	@Test
 	public void stopImmediatelyOnPayerKeyOrderFailure() {
-		given(keyOrdering.keysForPayer(platformTxn.getTxn(), IN_HANDLE_SUMMARY_FACTORY))
+		given(keyOrdering.memoizedKeysForPayer(platformTxn, IN_HANDLE_SUMMARY_FACTORY))
 				.willReturn(new SigningOrderResult<>(rationalizingFailureStatus));
 
 		// when:
@@ -216,7 +216,7 @@ public class grameToPlatformSigOpsTest {
 	public void stopImmediatelyOnOtherPartiesKeyOrderFailure() throws Exception {
 		// given:
 		wellBehavedOrdersAndSigSourcesInHandle();
-		given(keyOrdering.keysForOtherParties(platformTxn.getTxn(), IN_HANDLE_SUMMARY_FACTORY))
+		given(keyOrdering.memoizedKeysForOtherParties(platformTxn, IN_HANDLE_SUMMARY_FACTORY))
 				.willReturn(new SigningOrderResult<>(rationalizingFailureStatus));
 
 		// when:
@@ -233,9 +233,9 @@ public class grameToPlatformSigOpsTest {
 
 	@Test
 	public void stopImmediatelyOnOtherPartiesSigCreationFailure() throws Exception {
-		given(keyOrdering.keysForPayer(platformTxn.getTxn(), IN_HANDLE_SUMMARY_FACTORY))
+		given(keyOrdering.memoizedKeysForPayer(platformTxn, IN_HANDLE_SUMMARY_FACTORY))
 				.willReturn(new SigningOrderResult<>(payerKey));
-		given(keyOrdering.keysForOtherParties(platformTxn.getTxn(), IN_HANDLE_SUMMARY_FACTORY))
+		given(keyOrdering.memoizedKeysForOtherParties(platformTxn, IN_HANDLE_SUMMARY_FACTORY))
 				.willReturn(new SigningOrderResult<>(otherKeys));
 		// and:
 		given(payerSigBytes.sigBytesFor(any())).willReturn("1".getBytes());
@@ -27,14 +27,14 @@ import com.grame.services.config.MockGlobalDynamicProps;
 import com.grame.services.context.ContextPlatformStatus;
 import com.grame.services.context.primitives.StateView;
 import com.grame.services.context.properties.NodeLocalProperties;
-import com.grame.services.context.properties.PropertySource;
+import com.grame.services.fees.FeeCalculator;
 import com.grame.services.fees.StandardExemptions;
 import com.grame.services.legacy.exception.InvalidAccountIDException;
 import com.grame.services.legacy.exception.KeyPrefixMismatchException;
 import com.grame.services.legacy.handler.TransactionHandler;
-import com.grame.services.legacy.unit.utils.DummyFunctionalityThrottling;
 import com.grame.services.legacy.unit.utils.DummyHapiPermissions;
 import com.grame.services.queries.validation.QueryFeeCheck;
+import com.grame.services.records.RecordCache;
 import com.grame.services.security.ops.SystemOpPolicies;
 import com.grame.services.sigs.order.grameSigningOrder;
 import com.grame.services.sigs.sourcing.DefaultSigBytesProvider;
@@ -46,11 +46,12 @@ import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.stats.MiscRunningAvgs;
 import com.grame.services.stats.MiscSpeedometers;
+import com.grame.services.throttling.TransactionThrottling;
 import com.grame.services.txns.validation.BasicPrecheck;
 import com.grame.services.utils.PlatformTxnAccessor;
+import com.grame.services.utils.SignedTxnAccessor;
 import com.grame.test.factories.scenarios.TxnHandlingScenario;
-import com.grame.test.mocks.TestContextValidator;
-import com.grame.test.mocks.TestFeesFactory;
+import com.gramegrame.api.proto.java.ResponseCodeEnum;
 import com.gramegrame.api.proto.java.grameFunctionality;
 import com.gramegrame.api.proto.java.Transaction;
 import com.gramegrame.api.proto.java.TransactionBody;
@@ -59,6 +60,7 @@ import com.swirlds.common.crypto.engine.CryptoEngine;
 import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumSet;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 
@@ -76,16 +78,41 @@ import static com.grame.test.factories.scenarios.SystemDeleteScenarios.FULL_PAYE
 import static com.grame.test.factories.scenarios.SystemDeleteScenarios.INVALID_PAYER_SIGS_VIA_MAP_SCENARIO;
 import static com.grame.test.factories.scenarios.SystemDeleteScenarios.MISSING_PAYER_SIGS_VIA_MAP_SCENARIO;
 import static com.grame.test.factories.txns.SignedTxnFactory.DEFAULT_NODE;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_ACCOUNT_ID;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_SIGNATURE;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_SIGNATURE_COUNT_MISMATCHING_KEY;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_SIGNATURE_TYPE_MISMATCHING_KEY;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.INVALID_TRANSACTION_BODY;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.KEY_PREFIX_MISMATCH;
+import static com.gramegrame.api.proto.java.ResponseCodeEnum.PAYER_ACCOUNT_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.anyDouble;
 import static org.mockito.BDDMockito.anyInt;
+import static org.mockito.BDDMockito.atLeastOnce;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.spy;
 import static org.mockito.BDDMockito.verify;
 
+/**
+ * Runs the signature scenarios that once covered {@code TransactionHandler.verifySignature}
+ * against both the {@link PrecheckVerifier} it delegated to, and the
+ * {@link TransactionHandler#validateAccessorPreConsensus(SignedTxnAccessor, boolean)} precheck
+ * that now verifies signatures in its place.
+ */
 public class TxnHandlerVerifySigRegressionTest {
+	private static final EnumSet<ResponseCodeEnum> SIG_FAILURES = EnumSet.of(
+			INVALID_SIGNATURE,
+			INVALID_SIGNATURE_TYPE_MISMATCHING_KEY,
+			INVALID_SIGNATURE_COUNT_MISMATCHING_KEY,
+			INVALID_ACCOUNT_ID,
+			KEY_PREFIX_MISMATCH);
+
 	private PrecheckKeyReqs precheckKeyReqs;
 	private PrecheckVerifier precheckVerifier;
 	private grameSigningOrder keyOrder;
@@ -110,27 +137,13 @@ public class TxnHandlerVerifySigRegressionTest {
 		// given:
 		Transaction invalidSignedTxn = Transaction.newBuilder()
 				.setBodyBytes(ByteString.copyFrom("NONSENSE".getBytes())).build();
-		var policies = new SystemOpPolicies(new MockEntityNumbers());
-		var platformStatus = new ContextPlatformStatus();
-		platformStatus.set(PlatformStatus.ACTIVE);
-		subject = new TransactionHandler(
-				null,
-				() -> accounts,
-				DEFAULT_NODE,
-				null,
-				TestFeesFactory.FEES_FACTORY.get(),
-				() -> new StateView(StateView.EMPTY_TOPICS_SUPPLIER, () -> accounts, mock(NodeLocalProperties.class), null),
-				new BasicPrecheck(TestContextValidator.TEST_VALIDATOR, new MockGlobalDynamicProps()),
-				new QueryFeeCheck(() -> accounts),
-				new MockAccountNumbers(),
-				policies,
-				new StandardExemptions(new MockAccountNumbers(), policies),
-				platformStatus,
-				DummyFunctionalityThrottling.throttlingAlways(false),
-				new DummyHapiPermissions());
+		subject = handlerWith(mock(PrecheckVerifier.class));
 
-		// expect:
-		assertFalse(subject.verifySignature(invalidSignedTxn));
+		// when:
+		var validity = subject.validateTransactionPreConsensus(invalidSignedTxn, false);
+
+		// then:
+		assertEquals(INVALID_TRANSACTION_BODY, validity.getValidity());
 	}
 
 	@Test
@@ -141,7 +154,8 @@ public class TxnHandlerVerifySigRegressionTest {
 		setupFor(FULL_PAYER_SIGS_VIA_MAP_SCENARIO);
 
 		// expect:
-		assertTrue(subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
+		assertTrue(precheckVerifier.hasNecessarySignatures(accessor()));
+		assertSigsAccepted();
 	}
 
 	@Test
@@ -152,7 +166,8 @@ public class TxnHandlerVerifySigRegressionTest {
 		setupFor(MISSING_PAYER_SIGS_VIA_MAP_SCENARIO);
 
 		// expect:
-		assertFalse(subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
+		assertFalse(precheckVerifier.hasNecessarySignatures(accessor()));
+		assertPrecheckStatus(INVALID_SIGNATURE);
 	}
 
 	@Test
@@ -163,7 +178,8 @@ public class TxnHandlerVerifySigRegressionTest {
 		setupFor(INVALID_PAYER_SIGS_VIA_MAP_SCENARIO);
 
 		// expect:
-		assertFalse(subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
+		assertFalse(precheckVerifier.hasNecessarySignatures(accessor()));
+		assertPrecheckStatus(INVALID_SIGNATURE);
 	}
 
 	@Test
@@ -174,7 +190,8 @@ public class TxnHandlerVerifySigRegressionTest {
 		setupFor(CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO);
 
 		// expect:
-		assertTrue(subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
+		assertTrue(precheckVerifier.hasNecessarySignatures(accessor()));
+		assertSigsAccepted();
 	}
 
 	@Test
@@ -185,7 +202,8 @@ public class TxnHandlerVerifySigRegressionTest {
 		setupFor(VALID_QUERY_PAYMENT_SCENARIO);
 
 		// expect:
-		assertTrue(subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
+		assertTrue(precheckVerifier.hasNecessarySignatures(accessor()));
+		assertSigsAccepted();
 	}
 
 	@Test
@@ -196,7 +214,8 @@ public class TxnHandlerVerifySigRegressionTest {
 		setupFor(INVALID_PAYER_ID_SCENARIO);
 
 		// expect:
-		assertFalse(subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
+		assertFalse(precheckVerifier.hasNecessarySignatures(accessor()));
+		assertPrecheckStatus(PAYER_ACCOUNT_NOT_FOUND);
 	}
 
 	@Test
@@ -208,10 +227,11 @@ public class TxnHandlerVerifySigRegressionTest {
 
 		// expect:
 		assertThrows(InvalidAccountIDException.class,
-				() -> subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
-		verify(runningAvgs).recordAccountLookupRetries(anyInt());
-		verify(runningAvgs).recordAccountRetryWaitMs(anyDouble());
-		verify(speedometers).cycleAccountLookupRetries();
+				() -> precheckVerifier.hasNecessarySignatures(accessor()));
+		assertPrecheckStatus(INVALID_ACCOUNT_ID);
+		verify(runningAvgs, atLeastOnce()).recordAccountLookupRetries(anyInt());
+		verify(runningAvgs, atLeastOnce()).recordAccountRetryWaitMs(anyDouble());
+		verify(speedometers, atLeastOnce()).cycleAccountLookupRetries();
 	}
 
 	@Test
@@ -223,7 +243,8 @@ public class TxnHandlerVerifySigRegressionTest {
 
 		// expect:
 		assertThrows(KeyPrefixMismatchException.class,
-				() -> subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
+				() -> precheckVerifier.hasNecessarySignatures(accessor()));
+		assertPrecheckStatus(KEY_PREFIX_MISMATCH);
 	}
 
 	@Test
@@ -234,7 +255,58 @@ public class TxnHandlerVerifySigRegressionTest {
 		setupFor(QUERY_PAYMENT_MISSING_SIGS_SCENARIO);
 
 		// expect:
-		assertFalse(subject.verifySignature(platformTxn.getBackwardCompatibleSignedTxn()));
+		assertFalse(precheckVerifier.hasNecessarySignatures(accessor()));
+		assertPrecheckStatus(INVALID_SIGNATURE);
+	}
+
+	private void assertPrecheckStatus(ResponseCodeEnum expected) throws Throwable {
+		// when:
+		var validity = subject.validateAccessorPreConsensus(accessor(), false);
+
+		// then:
+		assertEquals(expected, validity.getValidity());
+	}
+
+	private void assertSigsAccepted() throws Throwable {
+		// setup:
+		var verifier = spy(precheckVerifier);
+		subject = handlerWith(verifier);
+
+		// when:
+		var validity = subject.validateAccessorPreConsensus(accessor(), false);
+
+		// then:
+		verify(verifier).hasNecessarySignatures(any());
+		assertFalse(SIG_FAILURES.contains(validity.getValidity()));
+	}
+
+	private SignedTxnAccessor accessor() throws Throwable {
+		return new SignedTxnAccessor(platformTxn.getBackwardCompatibleSignedTxn());
+	}
+
+	private TransactionHandler handlerWith(PrecheckVerifier verifier) {
+		var recordCache = mock(RecordCache.class);
+		var basicPrecheck = mock(BasicPrecheck.class);
+		given(basicPrecheck.validate(any())).willReturn(ResponseCodeEnum.OK);
+		var policies = new SystemOpPolicies(new MockEntityNumbers());
+		var platformStatus = new ContextPlatformStatus();
+		platformStatus.set(PlatformStatus.ACTIVE);
+
+		return new TransactionHandler(
+				recordCache,
+				verifier,
+				() -> accounts,
+				DEFAULT_NODE,
+				mock(TransactionThrottling.class),
+				mock(FeeCalculator.class),
+				() -> new StateView(StateView.EMPTY_TOPICS_SUPPLIER, () -> accounts, mock(NodeLocalProperties.class), null),
+				basicPrecheck,
+				new QueryFeeCheck(() -> accounts),
+				new MockAccountNumbers(),
+				policies,
+				new StandardExemptions(new MockAccountNumbers(), policies),
+				platformStatus,
+				new DummyHapiPermissions());
 	}
 
 	private void setupFor(TxnHandlingScenario scenario)	throws Throwable {
@@ -263,19 +335,6 @@ public class TxnHandlerVerifySigRegressionTest {
 		precheckKeyReqs = new PrecheckKeyReqs(keyOrder, retryingKeyOrder, isQueryPayment);
 		precheckVerifier = new PrecheckVerifier(syncVerifier, precheckKeyReqs, DefaultSigBytesProvider.DEFAULT_SIG_BYTES);
 
-		var policies = new SystemOpPolicies(new MockEntityNumbers());
-		var platformStatus = new ContextPlatformStatus();
-		platformStatus.set(PlatformStatus.ACTIVE);
-		subject = new TransactionHandler(
-				null,
-				precheckVerifier,
-				() -> accounts,
-				DEFAULT_NODE,
-				new MockAccountNumbers(),
-				policies,
-				new StandardExemptions(new MockAccountNumbers(), policies),
-				platformStatus,
-				new DummyHapiPermissions());
+		subject = handlerWith(precheckVerifier);
 	}
 }
-
@@ -0,0 +1,123 @@
+package com.grame.services.sigs.metadata;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.sigs.metadata.lookups.SafeLookupResult;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.ContractID;
+import com.gramegrame.api.proto.java.FileID;
+import com.gramegrame.api.proto.java.ScheduleID;
+import com.gramegrame.api.proto.java.TokenID;
+import com.gramegrame.api.proto.java.TopicID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.ACCOUNT;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.FILE;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.SCHEDULE;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.TOKEN;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.TOPIC;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.keyOf;
+import static com.grame.services.sigs.order.KeyOrderingFailure.MISSING_FILE;
+import static com.grame.test.utils.IdUtils.asAccount;
+import static com.grame.test.utils.IdUtils.asContract;
+import static com.grame.test.utils.IdUtils.asFile;
+import static com.grame.test.utils.IdUtils.asSchedule;
+import static com.grame.test.utils.IdUtils.asToken;
+import static com.grame.test.utils.IdUtils.asTopic;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+class RecordingSigMetadataLookupTest {
+	AccountID account = asAccount("0.0.1001");
+	ContractID contract = asContract("0.0.1002");
+	FileID file = asFile("0.0.1003");
+	TopicID topic = asTopic("0.0.1004");
+	TokenID token = asToken("0.0.1005");
+	ScheduleID schedule = asSchedule("0.0.1006");
+
+	SafeLookupResult<AccountSigningMetadata> accountResult;
+	SafeLookupResult<ContractSigningMetadata> contractResult;
+	SafeLookupResult<TopicSigningMetadata> topicResult;
+	SafeLookupResult<TokenSigningMetadata> tokenResult;
+	SafeLookupResult<ScheduleSigningMetadata> scheduleResult;
+
+	SigMetadataLookup delegate;
+
+	RecordingSigMetadataLookup subject;
+
+	@BeforeEach
+	public void setup() {
+		accountResult = new SafeLookupResult<>(mock(AccountSigningMetadata.class));
+		contractResult = new SafeLookupResult<>(mock(ContractSigningMetadata.class));
+		topicResult = new SafeLookupResult<>(mock(TopicSigningMetadata.class));
+		tokenResult = new SafeLookupResult<>(mock(TokenSigningMetadata.class));
+		scheduleResult = new SafeLookupResult<>(mock(ScheduleSigningMetadata.class));
+
+		delegate = mock(SigMetadataLookup.class);
+		given(delegate.accountSigningMetaFor(account)).willReturn(accountResult);
+		given(delegate.contractSigningMetaFor(contract)).willReturn(contractResult);
+		given(delegate.fileSigningMetaFor(file)).willReturn(SafeLookupResult.failure(MISSING_FILE));
+		given(delegate.topicSigningMetaFor(topic)).willReturn(topicResult);
+		given(delegate.tokenSigningMetaFor(token)).willReturn(tokenResult);
+		given(delegate.scheduleSigningMetaFor(schedule)).willReturn(scheduleResult);
+
+		subject = new RecordingSigMetadataLookup(delegate);
+	}
+
+	@Test
+	public void recordsSuccessfulLookupsInOrder() {
+		// when:
+		assertSame(accountResult, subject.accountSigningMetaFor(account));
+		assertSame(contractResult, subject.contractSigningMetaFor(contract));
+		assertSame(topicResult, subject.topicSigningMetaFor(topic));
+		assertSame(tokenResult, subject.tokenSigningMetaFor(token));
+		assertSame(scheduleResult, subject.scheduleSigningMetaFor(schedule));
+		assertSame(accountResult, subject.accountSigningMetaFor(account));
+
+		// then:
+		assertFalse(subject.anyFailed());
+		assertArrayEquals(
+				new long[] {
+						keyOf(ACCOUNT, 1001),
+						keyOf(ACCOUNT, 1002),
+						keyOf(TOPIC, 1004),
+						keyOf(TOKEN, 1005),
+						keyOf(SCHEDULE, 1006),
+						keyOf(ACCOUNT, 1001)
+				},
+				subject.consulted());
+	}
+
+	@Test
+	public void recordsFailedLookups() {
+		// when:
+		subject.fileSigningMetaFor(file);
+
+		// then:
+		assertTrue(subject.anyFailed());
+		assertArrayEquals(new long[] { keyOf(FILE, 1003) }, subject.consulted());
+	}
+}
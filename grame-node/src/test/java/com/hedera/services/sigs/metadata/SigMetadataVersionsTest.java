@@ -0,0 +1,265 @@
+package com.grame.services.sigs.metadata;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.stats.MiscSpeedometers;
+import com.grame.services.utils.TxnAccessor;
+import com.gramegrame.api.proto.java.ConsensusUpdateTopicTransactionBody;
+import com.gramegrame.api.proto.java.ContractDeleteTransactionBody;
+import com.gramegrame.api.proto.java.CryptoDeleteTransactionBody;
+import com.gramegrame.api.proto.java.CryptoTransferTransactionBody;
+import com.gramegrame.api.proto.java.FileUpdateTransactionBody;
+import com.gramegrame.api.proto.java.grameFunctionality;
+import com.gramegrame.api.proto.java.ScheduleDeleteTransactionBody;
+import com.gramegrame.api.proto.java.TokenUpdateTransactionBody;
+import com.gramegrame.api.proto.java.TransactionBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.ACCOUNT;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.FILE;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.SCHEDULE;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.TOKEN;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.TOPIC;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.keyOf;
+import static com.grame.test.utils.IdUtils.asAccount;
+import static com.grame.test.utils.IdUtils.asContract;
+import static com.grame.test.utils.IdUtils.asSchedule;
+import static com.grame.test.utils.IdUtils.asToken;
+import static com.grame.test.utils.IdUtils.asTopic;
+import static com.gramegrame.api.proto.java.grameFunctionality.ConsensusUpdateTopic;
+import static com.gramegrame.api.proto.java.grameFunctionality.ContractCall;
+import static com.gramegrame.api.proto.java.grameFunctionality.ContractDelete;
+import static com.gramegrame.api.proto.java.grameFunctionality.CryptoDelete;
+import static com.gramegrame.api.proto.java.grameFunctionality.CryptoTransfer;
+import static com.gramegrame.api.proto.java.grameFunctionality.FileUpdate;
+import static com.gramegrame.api.proto.java.grameFunctionality.ScheduleCreate;
+import static com.gramegrame.api.proto.java.grameFunctionality.ScheduleDelete;
+import static com.gramegrame.api.proto.java.grameFunctionality.TokenUpdate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+
+class SigMetadataVersionsTest {
+	long num = 1234L;
+	long otherNum = 4321L;
+
+	MiscSpeedometers speedometers;
+
+	SigMetadataVersions subject;
+
+	@BeforeEach
+	public void setup() {
+		speedometers = mock(MiscSpeedometers.class);
+
+		subject = new SigMetadataVersions(speedometers);
+	}
+
+	@Test
+	public void keysDistinguishTypes() {
+		// expect:
+		assertNotEquals(keyOf(ACCOUNT, num), keyOf(FILE, num));
+		assertNotEquals(keyOf(TOPIC, num), keyOf(TOKEN, num));
+		assertNotEquals(keyOf(SCHEDULE, num), keyOf(ACCOUNT, num));
+	}
+
+	@Test
+	public void slotsAreInRange() {
+		for (long i = 0; i < 10_000; i++) {
+			// given:
+			var slot = SigMetadataVersions.slotOf(keyOf(ACCOUNT, i));
+
+			// expect:
+			assertTrue(slot >= 0 && slot < SigMetadataVersions.NUM_SLOTS);
+		}
+	}
+
+	@Test
+	public void changeOnlyInvalidatesLaterStampsOfSameEntity() {
+		// setup:
+		long[] consulted = { keyOf(ACCOUNT, num) };
+		long[] otherConsulted = { keyOf(TOPIC, num) };
+
+		// given:
+		var stamp = subject.current();
+
+		// when:
+		subject.changed(ACCOUNT, num);
+
+		// then:
+		assertEquals(stamp + 1, subject.current());
+		assertFalse(subject.unchangedSince(stamp, consulted));
+		assertTrue(subject.unchangedSince(subject.current(), consulted));
+		assertTrue(subject.unchangedSince(stamp, otherConsulted));
+	}
+
+	@Test
+	public void typeChangeInvalidatesAllOfType() {
+		// setup:
+		long[] consulted = { keyOf(SCHEDULE, num) };
+		long[] otherConsulted = { keyOf(ACCOUNT, num) };
+
+		// given:
+		var stamp = subject.current();
+
+		// when:
+		subject.changedAllOf(SCHEDULE);
+
+		// then:
+		assertFalse(subject.unchangedSince(stamp, consulted));
+		assertTrue(subject.unchangedSince(stamp, otherConsulted));
+	}
+
+	@Test
+	public void allChangeInvalidatesEverything() {
+		// setup:
+		long[] nothingConsulted = { };
+
+		// given:
+		var stamp = subject.current();
+
+		// when:
+		subject.changedAll();
+
+		// then:
+		assertFalse(subject.unchangedSince(stamp, nothingConsulted));
+		assertTrue(subject.unchangedSince(subject.current(), nothingConsulted));
+	}
+
+	@Test
+	public void countsHitsAndInvalidations() {
+		// setup:
+		long[] consulted = { keyOf(ACCOUNT, num) };
+
+		// given:
+		var stamp = subject.current();
+
+		// when:
+		assertTrue(subject.isCurrent(stamp, consulted));
+		subject.changed(ACCOUNT, num);
+		assertFalse(subject.isCurrent(stamp, consulted));
+
+		// then:
+		verify(speedometers).cycleSigningOrderMemoHits();
+		verify(speedometers).cycleSigningOrderMemoInvalidations();
+	}
+
+	@Test
+	public void notesTargetsOfHandledTxns() {
+		// expect:
+		assertInvalidates(keyOf(ACCOUNT, num), CryptoDelete, TransactionBody.newBuilder()
+				.setCryptoDelete(CryptoDeleteTransactionBody.newBuilder()
+						.setDeleteAccountID(asAccount("0.0." + num))));
+		assertInvalidates(keyOf(ACCOUNT, num), ContractDelete, TransactionBody.newBuilder()
+				.setContractDeleteInstance(ContractDeleteTransactionBody.newBuilder()
+						.setContractID(asContract("0.0." + num))));
+		assertInvalidates(keyOf(TOPIC, num), ConsensusUpdateTopic, TransactionBody.newBuilder()
+				.setConsensusUpdateTopic(ConsensusUpdateTopicTransactionBody.newBuilder()
+						.setTopicID(asTopic("0.0." + num))));
+		assertInvalidates(keyOf(TOKEN, num), TokenUpdate, TransactionBody.newBuilder()
+				.setTokenUpdate(TokenUpdateTransactionBody.newBuilder()
+						.setToken(asToken("0.0." + num))));
+		assertInvalidates(keyOf(SCHEDULE, num), ScheduleDelete, TransactionBody.newBuilder()
+				.setScheduleDelete(ScheduleDeleteTransactionBody.newBuilder()
+						.setScheduleID(asSchedule("0.0." + num))));
+	}
+
+	@Test
+	public void notesUnknownTargetsOfHandledTxns() {
+		// expect:
+		assertInvalidates(keyOf(ACCOUNT, otherNum), ContractCall, TransactionBody.newBuilder());
+		assertInvalidates(keyOf(SCHEDULE, otherNum), ScheduleCreate, TransactionBody.newBuilder());
+		assertInvalidates(keyOf(TOPIC, otherNum), FileUpdate, TransactionBody.newBuilder()
+				.setFileUpdate(FileUpdateTransactionBody.getDefaultInstance()));
+	}
+
+	@Test
+	public void ignoresTxnsThatCannotChangeSigningMetadata() {
+		// setup:
+		long[] consulted = { keyOf(ACCOUNT, num) };
+
+		// given:
+		var stamp = subject.current();
+
+		// when:
+		subject.noteHandled(accessorOf(CryptoTransfer, TransactionBody.newBuilder()
+				.setCryptoTransfer(CryptoTransferTransactionBody.getDefaultInstance())));
+
+		// then:
+		assertEquals(stamp, subject.current());
+		assertTrue(subject.unchangedSince(stamp, consulted));
+	}
+
+	@Test
+	public void notesPurgedEntities() {
+		// setup:
+		long[] consulted = { keyOf(SCHEDULE, num) };
+		long[] otherConsulted = { keyOf(SCHEDULE, otherNum) };
+
+		// given:
+		var stamp = subject.current();
+
+		// when:
+		subject.notePurged(SCHEDULE, num);
+
+		// then:
+		assertFalse(subject.unchangedSince(stamp, consulted));
+		assertTrue(subject.unchangedSince(stamp, otherConsulted));
+	}
+
+	@Test
+	public void replacedStateInvalidatesEverything() {
+		// setup:
+		long[] consulted = { keyOf(ACCOUNT, num) };
+
+		// given:
+		var stamp = subject.current();
+
+		// when:
+		subject.noteStateReplaced();
+
+		// then:
+		assertFalse(subject.unchangedSince(stamp, consulted));
+		assertTrue(subject.unchangedSince(subject.current(), consulted));
+	}
+
+	private void assertInvalidates(long key, grameFunctionality function, TransactionBody.Builder txn) {
+		// given:
+		var stamp = subject.current();
+
+		// when:
+		subject.noteHandled(accessorOf(function, txn));
+
+		// then:
+		assertFalse(subject.unchangedSince(stamp, new long[] { key }));
+	}
+
+	private TxnAccessor accessorOf(grameFunctionality function, TransactionBody.Builder txn) {
+		var accessor = mock(TxnAccessor.class);
+		given(accessor.getFunction()).willReturn(function);
+		given(accessor.getTxn()).willReturn(txn.build());
+		return accessor;
+	}
+}
@@ -21,6 +21,7 @@ package com.grame.services.sigs.metadata.lookups;
  */
 
 import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.ledger.accounts.PendingAccountVisibility;
 import com.grame.services.sigs.metadata.AccountSigningMetadata;
 import com.grame.services.sigs.order.KeyOrderingFailure;
 import com.grame.services.stats.MiscRunningAvgs;
@@ -42,6 +43,8 @@ import static com.grame.test.factories.keys.NodeFactory.ed25519;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.BDDMockito.*;
@@ -175,4 +178,80 @@ public class RetryingFCMapAccountLookupTest {
 		inOrder.verify(pause).forMs(RETRY_WAIT_MS);
 		inOrder.verify(pause).forMs(RETRY_WAIT_MS * 2);
 	}
+
+	@Test
+	public void parksUntilCreationIsSignaledWithStats() {
+		// setup:
+		var visibility = mock(PendingAccountVisibility.class);
+		given(visibility.awaitVisible(anyLong(), anyLong(), any())).willReturn(true);
+		given(accounts.get(accountKey)).willReturn(null).willReturn(accountValue);
+		// and:
+		subject = new RetryingFCMapAccountLookup(visibility, properties, () -> accounts, runningAvgs, speedometers);
+		// and:
+		InOrder inOrder = inOrder(visibility, runningAvgs, speedometers);
+
+		// when:
+		AccountSigningMetadata meta = subject.safeLookup(account).metadata();
+
+		// then:
+		inOrder.verify(speedometers).cycleAccountLookupsParked();
+		inOrder.verify(visibility).awaitVisible(eq(1337L), eq(3L * RETRY_WAIT_MS), any());
+		inOrder.verify(speedometers).cycleAccountLookupsWoken();
+		inOrder.verify(speedometers).cycleAccountLookupRetries();
+		inOrder.verify(runningAvgs).recordAccountLookupRetries(1);
+		inOrder.verify(runningAvgs).recordAccountRetryWaitMs(anyDouble());
+		assertTrue(meta.isReceiverSigRequired());
+	}
+
+	@Test
+	public void failsIfParkedLookupTimesOut() {
+		// setup:
+		var visibility = mock(PendingAccountVisibility.class);
+		given(accounts.get(accountKey)).willReturn(null);
+		// and:
+		subject = new RetryingFCMapAccountLookup(visibility, properties, () -> accounts, runningAvgs, speedometers);
+
+		// when:
+		var result = subject.safeLookup(account);
+
+		// then:
+		assertEquals(KeyOrderingFailure.MISSING_ACCOUNT, result.failureIfAny());
+		verify(speedometers).cycleAccountLookupsParked();
+		verify(speedometers, never()).cycleAccountLookupsWoken();
+		verify(runningAvgs).recordAccountLookupRetries(1);
+	}
+
+	@Test
+	public void wakesParkedLookupOnSignaledCreation() throws Exception {
+		// setup:
+		var visibility = new PendingAccountVisibility();
+		var created = new AtomicBoolean();
+		given(accounts.get(accountKey)).willAnswer(invocation -> created.get() ? accountValue : null);
+		given(properties.precheckLookupRetryBackoffMs()).willReturn(60_000);
+		// and:
+		subject = new RetryingFCMapAccountLookup(visibility, properties, () -> accounts, runningAvgs, speedometers);
+
+		// when:
+		var creator = new Thread(() -> {
+			pause(50);
+			created.set(true);
+			visibility.signalCreated(account.getAccountNum());
+		});
+		creator.start();
+		var start = System.nanoTime();
+		AccountSigningMetadata meta = subject.safeLookup(account).metadata();
+		creator.join();
+
+		// then:
+		assertTrue(meta.isReceiverSigRequired());
+		assertTrue(System.nanoTime() - start < 60_000_000_000L);
+	}
+
+	private static void pause(long ms) {
+		try {
+			Thread.sleep(ms);
+		} catch (InterruptedException ignore) {
+			Thread.currentThread().interrupt();
+		}
+	}
 }
@@ -36,11 +36,15 @@ import com.grame.services.sigs.metadata.TopicSigningMetadata;
 import com.grame.services.sigs.metadata.lookups.ContractSigMetaLookup;
 import com.grame.services.sigs.metadata.DelegatingSigMetadataLookup;
 import com.grame.services.sigs.metadata.SigMetadataLookup;
+import com.grame.services.sigs.metadata.SigMetadataVersions;
+import com.grame.services.stats.MiscSpeedometers;
+import com.grame.services.utils.TxnAccessor;
 import com.grame.services.store.schedule.ScheduleStore;
 import com.grame.services.store.tokens.TokenStore;
 import com.grame.test.factories.scenarios.TxnHandlingScenario;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.ContractID;
+import com.gramegrame.api.proto.java.CryptoUpdateTransactionBody;
 import com.gramegrame.api.proto.java.FileID;
 import com.gramegrame.api.proto.java.grameFunctionality;
 import com.gramegrame.api.proto.java.Key;
@@ -74,10 +78,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static com.grame.test.utils.IdUtils.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static com.grame.test.factories.scenarios.BadPayerScenarios.*;
 import static com.grame.test.factories.scenarios.CryptoCreateScenarios.*;
@@ -235,6 +244,8 @@ public class grameSigningOrderTest {
 	private FCMap<MerkleEntityId, MerkleTopic> topics;
 	private SigStatusOrderResultFactory summaryFactory = new SigStatusOrderResultFactory(IN_HANDLE_TXN_DYNAMIC_CTX);
 	private SigningOrderResultFactory<SignatureStatus> mockSummaryFactory;
+	private MiscSpeedometers speedometers;
+	private SigMetadataVersions versions;
 
 	@Test
 	public void reportsInvalidPayerId() throws Throwable {
@@ -1889,6 +1900,127 @@ public class grameSigningOrderTest {
 				contains(SCHEDULE_ADMIN_KT.asKey()));
 	}
 
+	@Test
+	public void memoizesSigningOrdersUntilAConsultedAccountChanges() throws Throwable {
+		// given:
+		setupWithVersionsFor(CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO);
+		// and:
+		var accessor = CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO.platformTxn();
+
+		// when:
+		subject.ensureMemoized(accessor);
+		// and:
+		var memo = accessor.getSigningOrderMemo();
+		var payerSummary = subject.memoizedKeysForPayer(accessor, summaryFactory);
+		var otherPartiesSummary = subject.memoizedKeysForOtherParties(accessor, summaryFactory);
+
+		// then:
+		assertNotNull(memo);
+		assertSame(memo.payerKeys(), payerSummary.getOrderedKeys());
+		assertSame(memo.otherPartyKeys(), otherPartiesSummary.getOrderedKeys());
+		assertThat(
+				sanityRestored(otherPartiesSummary.getOrderedKeys()),
+				contains(DEFAULT_PAYER_KT.asKey(), RECEIVER_SIG_KT.asKey()));
+		verify(speedometers, times(2)).cycleSigningOrderMemoHits();
+
+		// and when:
+		versions.noteHandled(cryptoUpdateOf(asAccount(RECEIVER_SIG_ID)));
+		otherPartiesSummary = subject.memoizedKeysForOtherParties(accessor, summaryFactory);
+
+		// then:
+		assertNull(accessor.getSigningOrderMemo());
+		assertNotSame(memo.otherPartyKeys(), otherPartiesSummary.getOrderedKeys());
+		assertThat(
+				sanityRestored(otherPartiesSummary.getOrderedKeys()),
+				contains(DEFAULT_PAYER_KT.asKey(), RECEIVER_SIG_KT.asKey()));
+		verify(speedometers).cycleSigningOrderMemoInvalidations();
+	}
+
+	@Test
+	public void keepsMemoWhenUnconsultedAccountChanges() throws Throwable {
+		// given:
+		setupWithVersionsFor(CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO);
+		// and:
+		var accessor = CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO.platformTxn();
+
+		// when:
+		subject.ensureMemoized(accessor);
+		var memo = accessor.getSigningOrderMemo();
+		versions.noteHandled(cryptoUpdateOf(asAccount(MISC_ACCOUNT_ID)));
+		subject.ensureMemoized(accessor);
+
+		// then:
+		assertSame(memo, accessor.getSigningOrderMemo());
+	}
+
+	@Test
+	public void doesNotMemoizeOrdersWithFailedLookups() throws Throwable {
+		// given:
+		setupWithVersionsFor(CRYPTO_TRANSFER_MISSING_ACCOUNT_SCENARIO);
+		// and:
+		var accessor = CRYPTO_TRANSFER_MISSING_ACCOUNT_SCENARIO.platformTxn();
+
+		// when:
+		subject.ensureMemoized(accessor);
+
+		// then:
+		assertNull(accessor.getSigningOrderMemo());
+		assertTrue(subject.memoizedKeysForOtherParties(accessor, summaryFactory).hasErrorReport());
+	}
+
+	@Test
+	public void doesNotMemoizeTxnsThatCanTriggerScheduledTxns() throws Throwable {
+		// given:
+		setupWithVersionsFor(SCHEDULE_CREATE_XFER_NO_ADMIN);
+		// and:
+		var accessor = SCHEDULE_CREATE_XFER_NO_ADMIN.platformTxn();
+
+		// when:
+		subject.ensureMemoized(accessor);
+
+		// then:
+		assertNull(accessor.getSigningOrderMemo());
+	}
+
+	@Test
+	public void doesNotMemoizeWithoutVersions() throws Throwable {
+		// given:
+		setupFor(CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO);
+		// and:
+		var accessor = CRYPTO_TRANSFER_RECEIVER_SIG_SCENARIO.platformTxn();
+
+		// when:
+		subject.ensureMemoized(accessor);
+		var summary = subject.memoizedKeysForPayer(accessor, summaryFactory);
+
+		// then:
+		assertNull(accessor.getSigningOrderMemo());
+		assertThat(sanityRestored(summary.getOrderedKeys()), contains(DEFAULT_PAYER_KT.asKey()));
+	}
+
+	private TxnAccessor cryptoUpdateOf(AccountID target) {
+		var accessor = mock(TxnAccessor.class);
+		given(accessor.getFunction()).willReturn(grameFunctionality.CryptoUpdate);
+		given(accessor.getTxn()).willReturn(TransactionBody.newBuilder()
+				.setCryptoUpdateAccount(CryptoUpdateTransactionBody.newBuilder()
+						.setAccountIDToUpdate(target))
+				.build());
+		return accessor;
+	}
+
+	private void setupWithVersionsFor(TxnHandlingScenario scenario) throws Throwable {
+		setupFor(scenario);
+		speedometers = mock(MiscSpeedometers.class);
+		versions = new SigMetadataVersions(speedometers);
+		subject = new grameSigningOrder(
+				subject.entityNums,
+				subject.sigMetaLookup,
+				subject.updateAccountSigns,
+				subject.targetWaclSigns,
+				subject.properties,
+				versions);
+	}
+
 	private void setupFor(TxnHandlingScenario scenario) throws Throwable {
 		setupFor(scenario, WACL_ALWAYS_SIGNS);
 	}
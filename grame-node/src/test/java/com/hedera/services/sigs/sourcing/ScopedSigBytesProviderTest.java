@@ -50,6 +50,7 @@ class ScopedSigBytesProviderTest {
 
 		// expect:
 		assertThat(subject.delegate, instanceOf(SigMapPubKeyToSigBytes.class));
+		assertSame(accessor.getPkToSigsFn(), subject.delegate);
 		// and:
 		assertSame(subject.payerSigBytesFor(null), subject.otherPartiesSigBytesFor(null));
 		assertSame(subject.otherPartiesSigBytesFor(null), subject.allPartiesSigBytesFor(null));
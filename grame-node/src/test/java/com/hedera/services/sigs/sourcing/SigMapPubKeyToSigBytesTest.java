@@ -29,6 +29,8 @@ import com.grame.test.factories.keys.OverlappingKeyGenerator;
 import com.grame.test.factories.sigs.SigFactory;
 import com.grame.test.factories.sigs.SigMapGenerator;
 import com.gramegrame.api.proto.java.Key;
+import com.gramegrame.api.proto.java.SignatureMap;
+import com.gramegrame.api.proto.java.SignaturePair;
 import com.gramegrame.api.proto.java.Transaction;
 import com.grame.services.legacy.exception.KeyPrefixMismatchException;
 import com.swirlds.common.crypto.SignatureType;
@@ -41,6 +43,7 @@ import static com.grame.test.factories.keys.NodeFactory.*;
 import static com.grame.test.factories.txns.SystemDeleteFactory.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class SigMapPubKeyToSigBytesTest {
@@ -106,6 +109,67 @@ public class SigMapPubKeyToSigBytesTest {
 		});
 	}
 
+	@Test
+	public void rejectsNestedPrefixes() {
+		// given:
+		PubKeyToSigBytes subject = PubKeyToSigBytes.from(sigMapWith(
+				pair(new byte[] { 0x01 }, "short"),
+				pair(new byte[] { 0x01, 0x02 }, "long")));
+
+		// expect:
+		assertThrows(KeyPrefixMismatchException.class, () -> subject.sigBytesFor(new byte[] { 0x01, 0x02, 0x03 }));
+	}
+
+	@Test
+	public void rejectsRepeatedPrefixes() {
+		// given:
+		PubKeyToSigBytes subject = PubKeyToSigBytes.from(sigMapWith(
+				pair(new byte[] { 0x01, 0x02 }, "first"),
+				pair(new byte[] { 0x01, 0x02 }, "second")));
+
+		// expect:
+		assertThrows(KeyPrefixMismatchException.class, () -> subject.sigBytesFor(new byte[] { 0x01, 0x02, 0x03 }));
+	}
+
+	@Test
+	public void findsUniqueMatchAmongUnsignedPrefixes() throws Exception {
+		// given:
+		PubKeyToSigBytes subject = PubKeyToSigBytes.from(sigMapWith(
+				pair(new byte[] { (byte) 0xff }, "ff"),
+				pair(new byte[] { 0x7f, 0x01 }, "7f01"),
+				pair(new byte[] { (byte) 0x80, 0x01 }, "8001"),
+				pair(new byte[] { 0x00 }, "00"),
+				pair(new byte[] { 0x01, 0x02, 0x03, 0x04 }, "longerThanKey")));
+
+		// expect:
+		assertArrayEquals("8001".getBytes(), subject.sigBytesFor(new byte[] { (byte) 0x80, 0x01, 0x02 }));
+		assertArrayEquals("ff".getBytes(), subject.sigBytesFor(new byte[] { (byte) 0xff, 0x01, 0x02 }));
+		assertArrayEquals("00".getBytes(), subject.sigBytesFor(new byte[] { 0x00, 0x01, 0x02 }));
+		// and:
+		assertArrayEquals(EMPTY_SIG, subject.sigBytesFor(new byte[] { 0x01, 0x02, 0x03 }));
+		assertArrayEquals(EMPTY_SIG, subject.sigBytesFor(new byte[] { (byte) 0x80, 0x02, 0x03 }));
+	}
+
+	@Test
+	public void emptyMapHasNoSigs() throws Exception {
+		// given:
+		PubKeyToSigBytes subject = PubKeyToSigBytes.from(SignatureMap.getDefaultInstance());
+
+		// expect:
+		assertArrayEquals(EMPTY_SIG, subject.sigBytesFor(new byte[] { 0x01 }));
+	}
+
+	private SignatureMap sigMapWith(SignaturePair... pairs) {
+		return SignatureMap.newBuilder().addAllSigPair(List.of(pairs)).build();
+	}
+
+	private SignaturePair pair(byte[] prefix, String sig) {
+		return SignaturePair.newBuilder()
+				.setPubKeyPrefix(ByteString.copyFrom(prefix))
+				.setEd25519(ByteString.copyFromUtf8(sig))
+				.build();
+	}
+
 	private void lookupsMatch(KeyTree kt, KeyFactory factory, byte[] data, PubKeyToSigBytes subject) throws Exception {
 		AtomicReference<Exception> thrown = new AtomicReference<>();
 		kt.traverseLeaves(leaf -> {
@@ -20,10 +20,14 @@ package com.grame.services.state.expiry;
  * ‍
  */
 
+import com.grame.services.config.MockGlobalDynamicProps;
+import com.grame.services.context.properties.GlobalDynamicProperties;
 import com.grame.services.ledger.grameLedger;
 import com.grame.services.legacy.core.jproto.TxnReceipt;
 import com.grame.services.records.RecordCache;
 import com.grame.services.records.TxnIdRecentHistory;
+import com.grame.services.sigs.metadata.SigMetadataVersions;
+import com.grame.services.state.initialization.DerivedViewsRebuild;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleSchedule;
@@ -31,6 +35,7 @@ import com.grame.services.state.submerkle.EntityId;
 import com.grame.services.state.submerkle.ExpirableTxnRecord;
 import com.grame.services.state.submerkle.RichInstant;
 import com.grame.services.state.submerkle.TxnId;
+import com.grame.services.stats.MiscSpeedometers;
 import com.grame.services.store.schedule.ScheduleStore;
 import com.grame.test.utils.IdUtils;
 import com.gramegrame.api.proto.java.AccountID;
@@ -46,10 +51,15 @@ import org.mockito.InOrder;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import static com.grame.services.sigs.metadata.SigMetadataVersions.EntityType.SCHEDULE;
+import static com.grame.services.sigs.metadata.SigMetadataVersions.keyOf;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.SUCCESS;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -83,6 +93,7 @@ class ExpiryManagerTest {
 	Map<TransactionID, TxnIdRecentHistory> txnHistories;
 
 	ScheduleStore scheduleStore;
+	GlobalDynamicProperties dynamicProperties = new MockGlobalDynamicProps();
 
 	ExpiryManager subject;
 
@@ -102,7 +113,7 @@ class ExpiryManagerTest {
 		given(expiringEntity.getKey()).willReturn(schedule.getScheduleNum());
 		given(expiringEntity.getValue()).willReturn(entityIdConsumer);
 
-		subject = new ExpiryManager(recordCache, txnHistories, scheduleStore, schedules);
+		subject = new ExpiryManager(recordCache, txnHistories, scheduleStore, dynamicProperties);
 	}
 
 	@Test
@@ -113,7 +124,7 @@ class ExpiryManagerTest {
 		givenAccount(a, aPayer);
 		givenAccount(b, bPayer);
 		// given:
-		subject.restartTrackingFrom(accounts);
+		rebuildPayerTracking();
 
 		// when:
 		subject.purgeExpiredRecordsAt(33, ledger);
@@ -132,7 +143,7 @@ class ExpiryManagerTest {
 		// given:
 		givenSchedule(schedule.getScheduleNum());
 		// and:
-		subject.restartEntitiesTracking();
+		rebuildEntitiesTracking();
 
 		// when:
 		subject.purgeExpiredEntitiesAt(expiry);
@@ -143,6 +154,69 @@ class ExpiryManagerTest {
 		assertTrue(subject.entityExpiries.allExpiries.isEmpty());
 	}
 
+	@Test
+	public void purgedEntitiesInvalidateMemoizedSigningOrders() {
+		// setup:
+		var sigMetaVersions = new SigMetadataVersions(mock(MiscSpeedometers.class));
+		long[] consulted = { keyOf(SCHEDULE, schedule.getScheduleNum()) };
+
+		givenSchedule(schedule.getScheduleNum());
+		rebuildEntitiesTracking();
+		subject.setSigMetaVersions(sigMetaVersions);
+		// and:
+		var stamp = sigMetaVersions.current();
+
+		// when:
+		subject.purgeExpiredEntitiesAt(expiry);
+
+		// then:
+		verify(scheduleStore).expire(entityId);
+		assertFalse(sigMetaVersions.isCurrent(stamp, consulted));
+	}
+
+	@Test
+	public void purgesEntitiesInExpiryThenNumOrderWithinBudget() {
+		// setup:
+		dynamicProperties = new MockGlobalDynamicProps() {
+			@Override
+			public int maxEntityPurgesPerTxn() {
+				return 2;
+			}
+		};
+		subject = new ExpiryManager(recordCache, txnHistories, scheduleStore, dynamicProperties);
+		InOrder inOrder = inOrder(entityIdConsumer);
+
+		// given:
+		subject.trackEntity(new Pair<>(3L, entityIdConsumer), expiry);
+		subject.trackEntity(new Pair<>(2L, entityIdConsumer), expiry + 1);
+		subject.trackEntity(new Pair<>(1L, entityIdConsumer), expiry);
+
+		// when:
+		subject.purgeExpiredEntitiesAt(expiry + 1);
+
+		// then:
+		inOrder.verify(entityIdConsumer).accept(new EntityId(0, 0, 1));
+		inOrder.verify(entityIdConsumer).accept(new EntityId(0, 0, 3));
+		assertTrue(subject.entityExpiries.hasExpiringAt(expiry + 1));
+
+		// and when:
+		subject.purgeExpiredEntitiesAt(expiry + 1);
+
+		// then:
+		inOrder.verify(entityIdConsumer).accept(new EntityId(0, 0, 2));
+		assertFalse(subject.entityExpiries.hasExpiringAt(expiry + 1));
+	}
+
+	private void rebuildPayerTracking() {
+		new DerivedViewsRebuild(ForkJoinPool.commonPool())
+				.rebuild("accounts", accounts, List.of(subject.payerExpiriesView()));
+	}
+
+	private void rebuildEntitiesTracking() {
+		new DerivedViewsRebuild(ForkJoinPool.commonPool())
+				.rebuild("schedules", schedules, List.of(subject.entityExpiriesView()));
+	}
+
 	private AccountID asAccount(long num) {
 		return IdUtils.asAccount(String.format("0.0.%d", num));
 	}
@@ -155,7 +229,7 @@ class ExpiryManagerTest {
 		txnHistories = mock(Map.class);
 
 		// given:
-		subject = new ExpiryManager(recordCache, txnHistories, scheduleStore, schedules);
+		subject = new ExpiryManager(recordCache, txnHistories, scheduleStore, dynamicProperties);
 		// and:
 		subject.trackRecord(payer, oldExpiry);
 		// and:
@@ -164,7 +238,7 @@ class ExpiryManagerTest {
 		given(txnHistories.computeIfAbsent(any(), any())).willReturn(new TxnIdRecentHistory());
 
 		// when:
-		subject.restartTrackingFrom(accounts);
+		rebuildPayerTracking();
 
 		// then:
 		verify(recordCache).reset();
@@ -182,7 +256,7 @@ class ExpiryManagerTest {
 		givenAccount(b, bPayer);
 
 		// when:
-		subject.restartTrackingFrom(accounts);
+		rebuildPayerTracking();
 
 		// then:
 		var e1 = subject.payerExpiries.allExpiries.poll();
@@ -208,7 +282,7 @@ class ExpiryManagerTest {
 		givenSchedule(schedule.getScheduleNum());
 
 		// when:
-		subject.restartEntitiesTracking();
+		rebuildEntitiesTracking();
 
 		// then:
 		var e = subject.entityExpiries.allExpiries.poll();
@@ -218,6 +292,65 @@ class ExpiryManagerTest {
 		assertTrue(subject.entityExpiries.allExpiries.isEmpty());
 	}
 
+	@Test
+	public void restartsTrackingFromSeparatelySortedPartitions() {
+		// setup:
+		var view = subject.payerExpiriesView();
+		var aPartition = view.newPartition();
+		var bPartition = view.newPartition();
+
+		givenAccount(a, new long[] { 55, 55, 77 });
+		givenAccount(b, new long[] { 33, 66 });
+
+		// given:
+		view.derive(new MerkleEntityId(0, 0, a), accounts.get(new MerkleEntityId(0, 0, a)), aPartition);
+		view.seal(aPartition);
+		view.derive(new MerkleEntityId(0, 0, b), accounts.get(new MerkleEntityId(0, 0, b)), bPartition);
+		view.seal(bPartition);
+
+		// when:
+		view.rebuildFrom(List.of(aPartition, bPartition));
+
+		// then:
+		assertNextPayerExpiry(b, 33);
+		assertNextPayerExpiry(a, 55);
+		assertNextPayerExpiry(b, 66);
+		assertNextPayerExpiry(a, 77);
+		assertTrue(subject.payerExpiries.allExpiries.isEmpty());
+		// and:
+		assertTrue(LongStream.of(55, 77, 33, 66).mapToObj(t -> txnIdOf(t).toGrpc()).allMatch(txnHistories::containsKey));
+		assertTrue(txnHistories.values().stream().noneMatch(TxnIdRecentHistory::isStagePending));
+	}
+
+	@Test
+	public void restartsEntitiesTrackingFromPartitions() {
+		// setup:
+		var view = subject.entityExpiriesView();
+		var partition = view.newPartition();
+		var otherPartition = view.newPartition();
+
+		givenSchedule(1L);
+		givenSchedule(2L);
+
+		// given:
+		view.derive(new MerkleEntityId(0, 0, 2), schedules.get(new MerkleEntityId(0, 0, 2)), partition);
+		view.derive(new MerkleEntityId(0, 0, 1), schedules.get(new MerkleEntityId(0, 0, 1)), otherPartition);
+
+		// when:
+		view.rebuildFrom(List.of(partition, otherPartition));
+
+		// then:
+		assertEquals(1L, subject.entityExpiries.allExpiries.poll().getId().getKey());
+		assertEquals(2L, subject.entityExpiries.allExpiries.poll().getId().getKey());
+		assertTrue(subject.entityExpiries.allExpiries.isEmpty());
+	}
+
+	private void assertNextPayerExpiry(long num, long expiry) {
+		var event = subject.payerExpiries.allExpiries.poll();
+		assertEquals(num, event.getId());
+		assertEquals(expiry, event.getExpiry());
+	}
+
 	private void givenAccount(long num, long[] payerExpiries) {
 		var account = new MerkleAccount();
 		for (long t : payerExpiries) {
@@ -363,7 +496,7 @@ class ExpiryManagerTest {
 	@Test
 	public void addsExpectedExpiringEntity() {
 		// setup:
-		subject.entityExpiries = (MonotonicFullQueueExpiries<Pair<Long, Consumer<EntityId>>>) mock(MonotonicFullQueueExpiries.class);
+		subject.entityExpiries = (PriorityQueueExpiries<Pair<Long, Consumer<EntityId>>>) mock(PriorityQueueExpiries.class);
 
 		// when:
 		subject.trackEntity(expiringEntity, expiry);
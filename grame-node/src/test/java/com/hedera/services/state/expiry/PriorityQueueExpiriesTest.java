@@ -0,0 +1,147 @@
+package com.grame.services.state.expiry;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityQueueExpiriesTest {
+	String k1 = "first", k2 = "second", k3 = "third";
+	long expiry1 = 50, expiry2 = 100, expiry3 = 1000;
+
+	PriorityQueueExpiries<String> subject;
+
+	@BeforeEach
+	public void setup() {
+		subject = new PriorityQueueExpiries<>(String::compareTo);
+	}
+
+	@Test
+	public void acceptsNonMonotonicExpiries() {
+		// given:
+		subject.track(k3, expiry3);
+		subject.track(k1, expiry1);
+		subject.track(k2, expiry2);
+
+		// expect:
+		assertTrue(subject.hasExpiringAt(expiry1 + 1));
+		assertFalse(subject.hasExpiringAt(expiry1 - 1));
+
+		// when:
+		var firstExpired = subject.expireNextAt(expiry1);
+		var secondExpired = subject.expireNextAt(expiry2);
+
+		// then:
+		assertEquals(k1, firstExpired);
+		assertEquals(k2, secondExpired);
+		// and:
+		assertEquals(1, subject.allExpiries.size());
+		assertFalse(subject.hasExpiringAt(expiry2));
+		assertTrue(subject.hasExpiringAt(expiry3));
+	}
+
+	@Test
+	public void breaksTiesWithComparator() {
+		// given:
+		subject.track(k2, expiry1);
+		subject.track(k3, expiry1);
+		subject.track(k1, expiry1);
+
+		// expect:
+		assertEquals(k1, subject.expireNextAt(expiry1));
+		assertEquals(k2, subject.expireNextAt(expiry1));
+		assertEquals(k3, subject.expireNextAt(expiry1));
+	}
+
+	@Test
+	public void resetsToUnsortedExpiries() {
+		// given:
+		subject.track("stale", expiry1);
+
+		// when:
+		subject.resetTo(List.of(
+				entry(k3, expiry3),
+				entry(k2, expiry1),
+				entry(k1, expiry1)));
+
+		// then:
+		assertEquals(3, subject.allExpiries.size());
+		assertEquals(k1, subject.expireNextAt(expiry1));
+		assertEquals(k2, subject.expireNextAt(expiry1));
+		assertFalse(subject.hasExpiringAt(expiry2));
+		assertEquals(k3, subject.expireNextAt(expiry3));
+	}
+
+	@Test
+	public void resetWorks() {
+		// given:
+		subject.track(k1, expiry1);
+
+		// when:
+		subject.reset();
+
+		// then:
+		assertTrue(subject.allExpiries.isEmpty());
+	}
+
+	@Test
+	public void throwsIfNextExpiryIsFuture() {
+		// given:
+		subject.track(k1, expiry1);
+
+		// expect:
+		assertThrows(IllegalArgumentException.class, () -> subject.expireNextAt(expiry1 - 1));
+	}
+
+	@Test
+	public void throwsIfNoPossibleExpiries() {
+		// expect:
+		assertThrows(IllegalStateException.class, () -> subject.expireNextAt(expiry1));
+	}
+
+	@Test
+	public void noExpiringIfEmpty() {
+		// expect:
+		assertFalse(subject.hasExpiringAt(expiry1));
+	}
+
+	@Test
+	public void eventsHaveExpectedToString() {
+		// given:
+		subject.track(k1, expiry1);
+
+		// expect:
+		assertEquals("ExpiryEvent{id=first, expiry=50}", subject.allExpiries.peek().toString());
+	}
+
+	private Map.Entry<String, Long> entry(String id, long expiry) {
+		return new AbstractMap.SimpleImmutableEntry<>(id, expiry);
+	}
+}
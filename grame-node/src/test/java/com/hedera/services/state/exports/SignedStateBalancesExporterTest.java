@@ -30,11 +30,13 @@ import com.grame.services.state.merkle.MerkleEntityAssociation;
 import com.grame.services.state.merkle.MerkleEntityId;
 import com.grame.services.state.merkle.MerkleToken;
 import com.grame.services.state.merkle.MerkleTokenRelStatus;
+import com.grame.services.state.validation.LedgerValidator;
 import com.grame.test.factories.accounts.MerkleAccountFactory;
 import com.gramegrame.api.proto.java.AccountID;
 import com.grame.services.stream.proto.AllAccountBalances;
 import com.grame.services.stream.proto.SingleAccountBalances;
 import com.grame.services.stream.proto.TokenUnitBalance;
+import com.gramegrame.api.proto.java.Timestamp;
 import com.gramegrame.api.proto.java.TokenID;
 
 import com.swirlds.common.Address;
@@ -54,12 +56,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.function.UnaryOperator;
 import java.util.Optional;
 
 import static com.grame.services.state.exports.SignedStateBalancesExporter.GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL;
+import static com.grame.services.state.exports.SignedStateBalancesExporter.MERKLE_ENTITY_ID_COMPARATOR;
 import static com.grame.services.state.exports.SignedStateBalancesExporter.SINGLE_ACCOUNT_BALANCES_COMPARATOR;
 import static com.grame.services.state.exports.SignedStateBalancesExporter.b64Encode;
 import static com.grame.services.state.merkle.MerkleEntityAssociation.fromAccountTokenRel;
@@ -67,6 +71,8 @@ import static com.grame.services.state.merkle.MerkleEntityId.fromAccountId;
 import static com.grame.services.state.merkle.MerkleEntityId.fromTokenId;
 import static com.grame.test.utils.IdUtils.asAccount;
 import static com.grame.test.utils.IdUtils.asToken;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -76,6 +82,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 class SignedStateBalancesExporterTest {
@@ -106,7 +114,6 @@ class SignedStateBalancesExporterTest {
 	long secondNonNodeDeletedTokenBalance = 100;
 
 	byte[] sig = "not-really-a-sig".getBytes();
-	byte[] fileHash = "not-really-a-hash".getBytes();
 
 	MerkleAccount thisNodeAccount, anotherNodeAccount, firstNonNodeAccount, secondNonNodeAccount, deletedAccount;
 
@@ -120,7 +127,7 @@ class SignedStateBalancesExporterTest {
 	PropertySource properties;
 	UnaryOperator<byte[]> signer;
 	SigFileWriter sigFileWriter;
-	FileHashReader hashReader;
+	LedgerValidator ledgerValidator;
 	DirectoryAssurance assurance;
 
 	SignedStateBalancesExporter subject;
@@ -183,13 +190,12 @@ class SignedStateBalancesExporterTest {
 		given(state.addressBook()).willReturn(book);
 
 		signer = mock(UnaryOperator.class);
-		given(signer.apply(fileHash)).willReturn(sig);
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		given(signer.apply(any())).willReturn(sig);
+		ledgerValidator = mock(LedgerValidator.class);
+		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties, ledgerValidator);
 
 		sigFileWriter = mock(SigFileWriter.class);
-		hashReader = mock(FileHashReader.class);
 		subject.sigFileWriter = sigFileWriter;
-		subject.hashReader = hashReader;
 	}
 
 	@Test
@@ -201,7 +207,7 @@ class SignedStateBalancesExporterTest {
 				return "not/a/real/location";
 			}
 		};
-		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties);
+		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties, ledgerValidator);
 
 		// given:
 		subject.directories = assurance;
@@ -219,7 +225,7 @@ class SignedStateBalancesExporterTest {
 		// setup:
 		var loc = expectedExportLoc();
 
-		given(hashReader.readHash(loc)).willThrow(IllegalStateException.class);
+		given(signer.apply(any())).willThrow(IllegalStateException.class);
 
 		// when:
 		subject.exportProto = false;
@@ -232,6 +238,27 @@ class SignedStateBalancesExporterTest {
 		new File(loc).delete();
 	}
 
+	@Test
+	public void closesOpenedFilesIfStreamingFails() throws IOException {
+		// setup:
+		var loc = expectedExportLoc();
+
+		given(state.tokenAssociations()).willThrow(IllegalStateException.class);
+
+		// when:
+		subject.exportProto = false;
+		assertThrows(IllegalStateException.class, () -> subject.exportBalancesFrom(state, now));
+
+		// then: the buffered header was flushed by closing the file
+		var lines = Files.readAllLines(Paths.get(loc));
+		assertEquals("# " + SignedStateBalancesExporter.CURRENT_VERSION, lines.get(0));
+		// and:
+		verify(sigFileWriter, never()).writeSigFile(any(), any(), any());
+
+		// cleanup:
+		new File(loc).delete();
+	}
+
 	@Test
 	public void matchesV2OutputForCsv() throws IOException {
 		// setup:
@@ -271,15 +298,13 @@ class SignedStateBalancesExporterTest {
 		tokens.put(new MerkleEntityId(0, 0, 1001), token);
 		tokens.put(new MerkleEntityId(0, 0, 1002), token);
 
-		given(hashReader.readHash(loc)).willReturn(fileHash);
 		given(sigFileWriter.writeSigFile(captor.capture(), any(), any())).willReturn(loc + "_sig");
 		given(properties.getLongProperty("ledger.totalTinyBarFloat"))
 				.willReturn(5000000000000000000L);
-		given(signer.apply(fileHash)).willReturn(sig);
+		given(signer.apply(any())).willReturn(sig);
 		// and:
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties, ledgerValidator);
 		subject.sigFileWriter = sigFileWriter;
-		subject.hashReader = hashReader;
 
 		// when:
 		subject.exportProto = false;
@@ -295,7 +320,7 @@ class SignedStateBalancesExporterTest {
 		assertEquals("0,0,2,4999999999999999920,CggKAxjpBxCaBQoICgMY6gcQvAM=", lines.get(4));
 		assertEquals("0,0,3,80,CggKAxjqBxDNAg==", lines.get(5));
 		// and:
-		verify(sigFileWriter).writeSigFile(loc, sig, fileHash);
+		verify(sigFileWriter).writeSigFile(loc, sig, sha384Of(loc));
 		// and:
 		verify(mockLog).debug(String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, loc + "_sig"));
 
@@ -310,7 +335,6 @@ class SignedStateBalancesExporterTest {
 		// and:
 		var loc = expectedExportLoc();
 
-		given(hashReader.readHash(loc)).willReturn(fileHash);
 		given(sigFileWriter.writeSigFile(captor.capture(), any(), any())).willReturn(loc + "_sig");
 
 		// when:
@@ -335,7 +359,7 @@ class SignedStateBalancesExporterTest {
 					entry.getTokenUnitBalancesList().size() > 0 ? b64Encode(entry) : ""), lines.get(i + 3));
 		}
 		// and:
-		verify(sigFileWriter).writeSigFile(loc, sig, fileHash);
+		verify(sigFileWriter).writeSigFile(loc, sig, sha384Of(loc));
 		// and:
 		verify(mockLog).debug(String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, loc + "_sig"));
 
@@ -352,9 +376,8 @@ class SignedStateBalancesExporterTest {
 				return false;
 			}
 		};
-		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties);
+		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties, ledgerValidator);
 		subject.sigFileWriter = sigFileWriter;
-		subject.hashReader = hashReader;
 
 		// when:
 		subject.exportProto = false;
@@ -387,7 +410,6 @@ class SignedStateBalancesExporterTest {
 		// and:
 		var loc = expectedExportLoc(true);
 
-		given(hashReader.readHash(loc)).willReturn(fileHash);
 		given(sigFileWriter.writeSigFile(captor.capture(), any(), any())).willReturn(loc + "_sig");
 
 		// when:
@@ -415,7 +437,7 @@ class SignedStateBalancesExporterTest {
 		}
 
 		// and:
-		verify(sigFileWriter).writeSigFile(loc, sig, fileHash);
+		verify(sigFileWriter).writeSigFile(loc, sig, sha384Of(loc));
 		// and:
 		verify(mockLog).debug(String.format(GOOD_SIGNING_ATTEMPT_DEBUG_MSG_TPL, loc + "_sig"));
 
@@ -423,6 +445,74 @@ class SignedStateBalancesExporterTest {
 		new File(loc).delete();
 	}
 
+	@Test
+	public void streamsProtoBytesIdenticalToInMemoryMessage() throws IOException {
+		// setup:
+		var loc = expectedExportLoc(true);
+		// and:
+		var expected = AllAccountBalances.newBuilder()
+				.setConsensusTimestamp(Timestamp.newBuilder()
+						.setSeconds(now.getEpochSecond())
+						.setNanos(now.getNano()))
+				.addAllAllAccounts(theExpectedBalances())
+				.build();
+
+		// when:
+		subject.exportCsv = false;
+		subject.exportChunkSize = 3;
+		subject.exportBalancesFrom(state, now);
+
+		// then:
+		assertArrayEquals(expected.toByteArray(), Files.readAllBytes(Paths.get(loc)));
+
+		// cleanup:
+		new File(loc).delete();
+	}
+
+	@Test
+	public void exportsSameCsvForAnyChunkSize() throws IOException {
+		// setup:
+		var loc = expectedExportLoc();
+
+		// given:
+		subject.exportProto = false;
+		subject.exportBalancesFrom(state, now);
+		var unchunked = Files.readAllLines(Paths.get(loc));
+		new File(loc).delete();
+
+		// when:
+		subject.exportChunkSize = 1;
+		subject.exportBalancesFrom(state, now);
+
+		// then:
+		assertEquals(unchunked, Files.readAllLines(Paths.get(loc)));
+		// and:
+		verify(sigFileWriter, times(2)).writeSigFile(loc, sig, sha384Of(loc));
+
+		// cleanup:
+		new File(loc).delete();
+	}
+
+	@Test
+	public void entityIdComparatorMatchesAccountIdOrder() {
+		// given:
+		var ids = new ArrayList<>(List.of(
+				new MerkleEntityId(1, 0, 2),
+				new MerkleEntityId(0, 1, 2),
+				new MerkleEntityId(0, 0, 3),
+				new MerkleEntityId(0, 0, 2)));
+
+		// when:
+		ids.sort(MERKLE_ENTITY_ID_COMPARATOR);
+
+		// then:
+		assertEquals(List.of(
+				new MerkleEntityId(0, 0, 2),
+				new MerkleEntityId(0, 1, 2),
+				new MerkleEntityId(1, 0, 2),
+				new MerkleEntityId(0, 0, 3)), ids);
+	}
+
 	@Test
 	public void protoWriteIoException() throws IOException {
 		// setup:
@@ -432,7 +522,7 @@ class SignedStateBalancesExporterTest {
 				return "not/a/real/location";
 			}
 		};
-		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties);
+		subject = new SignedStateBalancesExporter(properties, signer, otherDynamicProperties, ledgerValidator);
 
 		// given:
 		subject.directories = assurance;
@@ -451,7 +541,6 @@ class SignedStateBalancesExporterTest {
 		// setup:
 		var loc = expectedExportLoc(true);
 
-		given(hashReader.readHash(loc)).willReturn(fileHash);
 
 		// when: Pretend the .csv file is a corrupted .pb file
 		subject.exportProto = false;
@@ -541,7 +630,9 @@ class SignedStateBalancesExporterTest {
 
 		// then:
 		assertEquals(ledgerFloat, summary.getTotalFloat().longValue());
-		assertEquals(expectedBalances, summary.getOrderedBalances());
+		assertEquals(
+				expectedBalances.stream().map(SingleAccountBalances::getAccountID).collect(toList()),
+				Arrays.stream(summary.getOrderedIds()).map(MerkleEntityId::toAccountId).collect(toList()));
 		// and:
 		verify(mockLog).warn(String.format(
 				SignedStateBalancesExporter.LOW_NODE_BALANCE_WARN_MSG_TPL,
@@ -588,6 +679,20 @@ class SignedStateBalancesExporterTest {
 		verify(assurance).ensureExistenceOf(expectedExportDir());
 	}
 
+	@Test
+	public void spotChecksBalancesInSignedStateEvenWithoutExportDir() throws IOException {
+		// given:
+		subject.directories = assurance;
+		// and:
+		willThrow(IOException.class).given(assurance).ensureExistenceOf(any());
+
+		// when:
+		subject.exportBalancesFrom(state, now);
+
+		// then:
+		verify(ledgerValidator).spotCheckBalancesIn(accounts, now);
+	}
+
 	@Test
 	public void throwsOnUnexpectedTotalFloat() throws NegativeAccountBalanceException {
 		// given:
@@ -629,13 +734,13 @@ class SignedStateBalancesExporterTest {
 		given(mockLog.isDebugEnabled()).willReturn(true);
 		Instant startTime = Instant.parse("2021-03-11T10:59:59.0Z");
 
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties, ledgerValidator);
 		assertFalse(subject.isTimeToExport(startTime));
 		assertEquals(startTime, subject.periodBegin);
 		assertTrue(subject.isTimeToExport(startTime.plusSeconds(1)));
 		assertEquals(startTime.plusSeconds(1), subject.periodBegin);
 
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties, ledgerValidator);
 		assertFalse(subject.isTimeToExport(startTime));
 		assertTrue(subject.isTimeToExport(startTime.plusSeconds(2)));
 		assertEquals(startTime.plusSeconds(2), subject.periodBegin);
@@ -655,7 +760,7 @@ class SignedStateBalancesExporterTest {
 		assertEquals(anEternityLater, subject.periodBegin);
 
 		given(mockLog.isDebugEnabled()).willReturn(false);
-		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties);
+		subject = new SignedStateBalancesExporter(properties, signer, dynamicProperties, ledgerValidator);
 		startTime = Instant.parse("2021-03-11T10:59:59.0Z");
 		assertFalse(subject.isTimeToExport(startTime));
 	}
@@ -668,6 +773,10 @@ class SignedStateBalancesExporterTest {
 				.forEach(File::delete);
 	}
 
+	static byte[] sha384Of(String loc) {
+		return new Sha384HashReader().readHash(loc);
+	}
+
 	static Optional<AllAccountBalances> importBalanceProtoFile(String protoLoc) {
 		try {
 			FileInputStream fin = new FileInputStream(protoLoc);
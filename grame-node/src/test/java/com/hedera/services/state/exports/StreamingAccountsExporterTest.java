@@ -0,0 +1,142 @@
+package com.grame.services.state.exports;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.ByteString;
+import com.grame.services.state.merkle.MerkleAccount;
+import com.grame.services.state.merkle.MerkleEntityId;
+import com.grame.test.factories.accounts.MerkleAccountFactory;
+import com.grame.test.utils.IdUtils;
+import com.gramegrame.api.proto.java.CryptoGetInfoResponse;
+import com.gramegrame.api.proto.java.Key;
+import com.swirlds.fcmap.FCMap;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingAccountsExporterTest {
+	private static final String JSON_EXPORT_LOC = "src/test/resources/streamedAccounts.txt";
+	private static final String PROTO_EXPORT_LOC = "src/test/resources/streamedAccounts.pb.gz";
+
+	Key key = Key.newBuilder()
+			.setEd25519(ByteString.copyFromUtf8("01234567890123456789012345678901"))
+			.build();
+	String hexKey = Hex.encodeHexString(key.toByteArray());
+
+	FCMap<MerkleEntityId, MerkleAccount> accounts;
+
+	StreamingAccountsExporter subject;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		accounts = new FCMap<>();
+		accounts.put(new MerkleEntityId(0, 0, 1002), MerkleAccountFactory.newAccount()
+				.balance(1_234L)
+				.accountKeys(key)
+				.proxy(IdUtils.asAccount("0.0.3"))
+				.receiverSigRequired(true)
+				.autoRenewPeriod(7_776_000L)
+				.get());
+		accounts.put(new MerkleEntityId(0, 0, 1001), MerkleAccountFactory.newAccount()
+				.balance(4_321L)
+				.accountKeys(key)
+				.autoRenewPeriod(2_592_000L)
+				.get());
+
+		subject = new StreamingAccountsExporter();
+		subject.exportChunkSize = 1;
+	}
+
+	@Test
+	public void throwsOnInvalidLoc() {
+		// expect:
+		assertThrows(IOException.class, () -> subject.toFile("not/a/location", new FCMap<>()));
+	}
+
+	@Test
+	public void exportsJsonLinesInIdOrder() throws Exception {
+		// when:
+		subject.toFile(JSON_EXPORT_LOC, accounts);
+
+		// then:
+		assertEquals(
+				List.of(
+						"{\"shardID\":0,\"realmID\":0,\"accountNum\":1001,\"initialBalance\":4321," +
+								"\"proxyShardNum\":0,\"proxyRealmNum\":0,\"proxyAccountNum\":0," +
+								"\"receiverSigRequired\":false,\"autoRenewPeriod\":2592000," +
+								"\"key\":\"" + hexKey + "\"}",
+						"{\"shardID\":0,\"realmID\":0,\"accountNum\":1002,\"initialBalance\":1234," +
+								"\"proxyShardNum\":0,\"proxyRealmNum\":0,\"proxyAccountNum\":3," +
+								"\"receiverSigRequired\":true,\"autoRenewPeriod\":7776000," +
+								"\"key\":\"" + hexKey + "\"}"),
+				Files.readAllLines(Paths.get(JSON_EXPORT_LOC)));
+	}
+
+	@Test
+	public void exportsCompressedDelimitedProtosInIdOrder() throws Exception {
+		// when:
+		subject.toFile(PROTO_EXPORT_LOC, accounts);
+
+		// then:
+		try (var in = new GZIPInputStream(new FileInputStream(PROTO_EXPORT_LOC))) {
+			var first = CryptoGetInfoResponse.AccountInfo.parseDelimitedFrom(in);
+			assertEquals(IdUtils.asAccount("0.0.1001"), first.getAccountID());
+			assertEquals(4_321L, first.getBalance());
+			assertEquals(key, first.getKey());
+			assertFalse(first.getReceiverSigRequired());
+			assertFalse(first.hasProxyAccountID());
+			assertEquals(2_592_000L, first.getAutoRenewPeriod().getSeconds());
+			// and:
+			var second = CryptoGetInfoResponse.AccountInfo.parseDelimitedFrom(in);
+			assertEquals(IdUtils.asAccount("0.0.1002"), second.getAccountID());
+			assertEquals(1_234L, second.getBalance());
+			assertTrue(second.getReceiverSigRequired());
+			assertEquals(IdUtils.asAccount("0.0.3"), second.getProxyAccountID());
+			// and:
+			assertNull(CryptoGetInfoResponse.AccountInfo.parseDelimitedFrom(in));
+		}
+	}
+
+	@AfterAll
+	public static void cleanup() {
+		for (var loc : List.of(JSON_EXPORT_LOC, PROTO_EXPORT_LOC)) {
+			var f = new File(loc);
+			if (f.exists()) {
+				f.delete();
+			}
+		}
+	}
+}
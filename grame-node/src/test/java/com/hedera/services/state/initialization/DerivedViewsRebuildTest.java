@@ -0,0 +1,200 @@
+package com.grame.services.state.initialization;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.grame.services.state.initialization.DerivedViewsRebuild.MIN_PARTITION_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verifyNoInteractions;
+
+class DerivedViewsRebuildTest {
+	int parallelism = 4;
+	int n = 3 * MIN_PARTITION_SIZE + 1;
+
+	Map<Long, Long> source;
+	Set<Long> keys;
+	List<Long> sortedValues;
+	List<Integer> numPartitionsSeen;
+
+	ForkJoinPool pool;
+
+	DerivedViewsRebuild subject;
+
+	@BeforeEach
+	public void setup() {
+		source = new HashMap<>();
+		for (long i = 0; i < n; i++) {
+			source.put(i, (i * 7_919L) % n);
+		}
+		keys = new HashSet<>();
+		sortedValues = new ArrayList<>();
+		numPartitionsSeen = new ArrayList<>();
+
+		pool = new ForkJoinPool(parallelism);
+
+		subject = new DerivedViewsRebuild(pool);
+	}
+
+	@AfterEach
+	public void cleanup() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void rebuildsAllViewsFromOnePartitionedTraversal() {
+		// when:
+		subject.rebuild("longs", source, List.of(keysView(), sortedValuesView()));
+
+		// then:
+		assertEquals(List.of(4, 4), numPartitionsSeen);
+		assertEquals(source.keySet(), keys);
+		// and:
+		var expected = new ArrayList<>(source.values());
+		expected.sort(Comparator.naturalOrder());
+		assertEquals(expected, sortedValues);
+	}
+
+	@Test
+	public void usesSinglePartitionForSmallMaps() {
+		// given:
+		source = Map.of(1L, 2L, 3L, 4L);
+
+		// when:
+		subject.rebuild("longs", source, List.of(keysView()));
+
+		// then:
+		assertEquals(List.of(1), numPartitionsSeen);
+		assertEquals(Set.of(1L, 3L), keys);
+	}
+
+	@Test
+	public void doesNothingWithoutViews() {
+		// setup:
+		Map<Long, Long> map = mock(Map.class);
+
+		// when:
+		subject.rebuild("longs", map, List.of());
+
+		// then:
+		verifyNoInteractions(map);
+	}
+
+	@Test
+	public void partitionsByParallelismAndSize() {
+		// expect:
+		assertEquals(1, subject.numPartitionsFor(0));
+		assertEquals(1, subject.numPartitionsFor(MIN_PARTITION_SIZE));
+		assertEquals(2, subject.numPartitionsFor(MIN_PARTITION_SIZE + 1));
+		assertEquals(parallelism, subject.numPartitionsFor(100 * MIN_PARTITION_SIZE));
+	}
+
+	@Test
+	public void mergesSortedRuns() {
+		// setup:
+		List<Integer> merged = new ArrayList<>();
+
+		// given:
+		var runs = List.of(List.of(1, 4, 7), List.<Integer>of(), List.of(2, 5, 8, 9), List.of(3, 6));
+
+		// when:
+		DerivedViewsRebuild.mergeSortedRuns(runs, Comparator.naturalOrder(), merged::add);
+
+		// then:
+		assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), merged);
+	}
+
+	@Test
+	public void listingRebuildsFromAllPartitions() {
+		// setup:
+		List<List<String>> rebuilt = new ArrayList<>();
+
+		// given:
+		DerivedView<Long, Long, List<String>> view = DerivedView.listing(
+				"strings",
+				(k, v) -> k + "=" + v,
+				rebuilt::addAll);
+		var partition = view.newPartition();
+
+		// when:
+		view.derive(1L, 2L, partition);
+		view.seal(partition);
+		view.rebuildFrom(List.of(partition));
+
+		// then:
+		assertEquals("strings", view.name());
+		assertEquals(List.of(List.of("1=2")), rebuilt);
+	}
+
+	private DerivedView<Long, Long, List<Long>> keysView() {
+		return DerivedView.listing(
+				"keys",
+				(k, v) -> k,
+				partitions -> {
+					numPartitionsSeen.add(partitions.size());
+					partitions.forEach(keys::addAll);
+				});
+	}
+
+	private DerivedView<Long, Long, List<Long>> sortedValuesView() {
+		return new DerivedView<>() {
+			@Override
+			public String name() {
+				return "sorted values";
+			}
+
+			@Override
+			public List<Long> newPartition() {
+				return new ArrayList<>();
+			}
+
+			@Override
+			public void derive(Long key, Long value, List<Long> partition) {
+				partition.add(value);
+			}
+
+			@Override
+			public void seal(List<Long> partition) {
+				partition.sort(Comparator.naturalOrder());
+			}
+
+			@Override
+			public void rebuildFrom(List<List<Long>> partitions) {
+				numPartitionsSeen.add(partitions.size());
+				assertTrue(partitions.stream().mapToInt(List::size).sum() > 0);
+				DerivedViewsRebuild.mergeSortedRuns(partitions, Comparator.naturalOrder(), sortedValues::add);
+			}
+		};
+	}
+}
@@ -23,19 +23,29 @@ package com.grame.services.state.logic;
 import com.grame.services.context.ServicesContext;
 import com.grame.services.context.TransactionContext;
 import com.grame.services.ledger.grameLedger;
+import com.grame.services.records.AccountRecordsHistorian;
+import com.grame.services.records.OutcomeSubscriptions;
 import com.grame.services.records.RecordCache;
+import com.grame.services.sigs.metadata.SigMetadataVersions;
+import com.grame.services.stats.HapiOpLatencies;
 import com.grame.services.utils.PlatformTxnAccessor;
 import com.grame.test.utils.IdUtils;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.ResponseCodeEnum;
+import com.gramegrame.api.proto.java.TransactionRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.function.BiConsumer;
 
+import static com.grame.services.stats.HapiOpLatencies.Stage.COMMIT;
+import static com.grame.services.stats.HapiOpLatencies.Stage.RECORD_STREAMING;
+import static com.gramegrame.api.proto.java.grameFunctionality.CryptoTransfer;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.argThat;
 import static org.mockito.BDDMockito.given;
@@ -58,6 +68,11 @@ class ServicesTxnManagerTest {
 
 	grameLedger ledger;
 	RecordCache recordCache;
+	AccountRecordsHistorian recordsHistorian;
+	TransactionRecord finalRecord = TransactionRecord.newBuilder().setMemo("FINAL").build();
+	HapiOpLatencies opLatencies;
+	OutcomeSubscriptions outcomeSubscriptions;
+	SigMetadataVersions sigMetaVersions;
 	TransactionContext txnCtx;
 	ServicesContext ctx;
 
@@ -82,12 +97,22 @@ class ServicesTxnManagerTest {
 		given(ctx.txnCtx()).willReturn(txnCtx);
 		given(txnCtx.effectivePayer()).willReturn(effectivePayer);
 		given(ctx.recordCache()).willReturn(recordCache);
+		recordsHistorian = mock(AccountRecordsHistorian.class);
+		given(recordsHistorian.lastCreatedRecord()).willReturn(Optional.of(finalRecord));
+		given(ctx.recordsHistorian()).willReturn(recordsHistorian);
+		opLatencies = mock(HapiOpLatencies.class);
+		given(ctx.opLatencies()).willReturn(opLatencies);
+		outcomeSubscriptions = mock(OutcomeSubscriptions.class);
+		given(ctx.outcomeSubscriptions()).willReturn(outcomeSubscriptions);
+		sigMetaVersions = mock(SigMetadataVersions.class);
+		given(ctx.sigMetaVersions()).willReturn(sigMetaVersions);
+		given(accessor.getFunction()).willReturn(CryptoTransfer);
 	}
 
 	@Test
 	public void managesHappyPath() {
 		// setup:
-		InOrder inOrder = inOrder(ledger, txnCtx, processLogic, recordStreaming);
+		InOrder inOrder = inOrder(ledger, txnCtx, processLogic, outcomeSubscriptions, sigMetaVersions, recordStreaming);
 
 		// when:
 		subject.process(accessor, consensusTime, submittingMember, ctx);
@@ -97,7 +122,12 @@ class ServicesTxnManagerTest {
 		inOrder.verify(txnCtx).resetFor(accessor, consensusTime, submittingMember);
 		inOrder.verify(processLogic).run();
 		inOrder.verify(ledger).commit();
+		inOrder.verify(outcomeSubscriptions).publish(finalRecord);
+		inOrder.verify(sigMetaVersions).noteHandled(accessor);
 		inOrder.verify(recordStreaming).run();
+		// and:
+		verify(opLatencies).record(eq(COMMIT), eq(CryptoTransfer), anyLong());
+		verify(opLatencies).record(eq(RECORD_STREAMING), eq(CryptoTransfer), anyLong());
 	}
 
 	@Test
@@ -132,9 +162,13 @@ class ServicesTxnManagerTest {
 	@Test
 	public void retriesRecordCreationOnCommitFailureThenRollbacks() {
 		// setup:
-		InOrder inOrder = inOrder(ledger, txnCtx, processLogic, recordStreaming, warning, recordCache);
+		InOrder inOrder = inOrder(
+				ledger, txnCtx, processLogic, recordStreaming, warning, recordCache, outcomeSubscriptions);
+		var failureRecord = TransactionRecord.getDefaultInstance();
 
 		willThrow(IllegalStateException.class).given(ledger).commit();
+		given(recordCache.setFailInvalid(effectivePayer, accessor, consensusTime, submittingMember))
+				.willReturn(failureRecord);
 
 		// when:
 		subject.process(accessor, consensusTime, submittingMember, ctx);
@@ -146,8 +180,24 @@ class ServicesTxnManagerTest {
 		inOrder.verify(ledger).commit();
 		inOrder.verify(warning).accept(any(IllegalStateException.class), argThat("txn commit"::equals));
 		inOrder.verify(recordCache).setFailInvalid(effectivePayer, accessor, consensusTime, submittingMember);
+		inOrder.verify(outcomeSubscriptions).publish(failureRecord);
 		inOrder.verify(ledger).rollback();
 		inOrder.verify(recordStreaming, never()).run();
+		// and:
+		verify(outcomeSubscriptions, never()).publish(finalRecord);
+	}
+
+	@Test
+	public void warnsOnFailedOutcomePublishingWithoutRollback() {
+		willThrow(IllegalStateException.class).given(outcomeSubscriptions).publish(finalRecord);
+
+		// when:
+		subject.process(accessor, consensusTime, submittingMember, ctx);
+
+		// then:
+		verify(warning).accept(any(IllegalStateException.class), argThat("outcome publishing"::equals));
+		verify(ledger, never()).rollback();
+		verify(recordStreaming).run();
 	}
 
 	@Test
@@ -0,0 +1,151 @@
+package com.grame.services.state.merkle;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.io.SerializableDataInputStream;
+import com.swirlds.common.io.SerializableDataOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.inOrder;
+import static org.mockito.BDDMockito.mock;
+
+class MerkleContractStorageKeyTest {
+	long shard = 0;
+	long realm = 2;
+	long num = 1001;
+	byte[] slot = { 1, 2, 3 };
+
+	MerkleContractStorageKey subject;
+
+	@BeforeEach
+	private void setup() {
+		subject = new MerkleContractStorageKey(shard, realm, num, slot);
+	}
+
+	@Test
+	public void objectContractMet() {
+		// given:
+		var one = new MerkleContractStorageKey();
+		var two = new MerkleContractStorageKey(shard, realm, num, new byte[] { 1, 2, 4 });
+		var three = new MerkleContractStorageKey(shard, realm, num, new byte[] { 1, 2, 3 });
+
+		// then:
+		assertNotEquals(one, null);
+		assertNotEquals(one, new Object());
+		assertNotEquals(two, subject);
+		assertEquals(subject, three);
+		// and:
+		assertNotEquals(subject.hashCode(), two.hashCode());
+		assertEquals(subject.hashCode(), three.hashCode());
+	}
+
+	@Test
+	public void slotCountKeyHasNoSlot() {
+		// given:
+		var count = MerkleContractStorageKey.slotCountOf(shard, realm, num);
+
+		// expect:
+		assertTrue(count.isSlotCount());
+		assertFalse(subject.isSlotCount());
+		assertNotEquals(subject, count);
+	}
+
+	@Test
+	public void merkleMethodsWork() {
+		// expect;
+		assertEquals(MerkleContractStorageKey.MERKLE_VERSION, subject.getVersion());
+		assertEquals(MerkleContractStorageKey.RUNTIME_CONSTRUCTABLE_ID, subject.getClassId());
+		assertTrue(subject.isLeaf());
+	}
+
+	@Test
+	public void serializeWorks() throws IOException {
+		// setup:
+		var out = mock(SerializableDataOutputStream.class);
+		// and:
+		InOrder inOrder = inOrder(out);
+
+		// when:
+		subject.serialize(out);
+
+		// then:
+		inOrder.verify(out).writeLong(shard);
+		inOrder.verify(out).writeLong(realm);
+		inOrder.verify(out).writeLong(num);
+		inOrder.verify(out).writeByteArray(slot);
+	}
+
+	@Test
+	public void deserializeWorks() throws IOException {
+		// setup:
+		var in = mock(SerializableDataInputStream.class);
+		// and:
+		var defaultSubject = new MerkleContractStorageKey();
+
+		given(in.readLong()).willReturn(shard).willReturn(realm).willReturn(num);
+		given(in.readByteArray(MerkleContractStorageKey.MAX_SLOT_BYTES)).willReturn(slot);
+
+		// when:
+		defaultSubject.deserialize(in, MerkleContractStorageKey.MERKLE_VERSION);
+
+		// then:
+		assertEquals(subject, defaultSubject);
+	}
+
+	@Test
+	public void toStringWorks() {
+		// expect:
+		assertEquals(
+				"MerkleContractStorageKey{shard=" + shard
+						+ ", realm=" + realm
+						+ ", num=" + num
+						+ ", slot=010203"
+						+ "}",
+				subject.toString());
+	}
+
+	@Test
+	public void copyWorks() {
+		// when:
+		var subjectCopy = subject.copy();
+
+		// then:
+		assertNotSame(subjectCopy, subject);
+		assertEquals(subject, subjectCopy);
+	}
+
+	@Test
+	public void deleteIsNoop() {
+		// expect:
+		assertDoesNotThrow(subject::release);
+	}
+}
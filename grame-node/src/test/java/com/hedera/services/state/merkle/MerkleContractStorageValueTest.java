@@ -0,0 +1,125 @@
+package com.grame.services.state.merkle;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.swirlds.common.io.SerializableDataInputStream;
+import com.swirlds.common.io.SerializableDataOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+
+class MerkleContractStorageValueTest {
+	byte[] data = { 0, 0, 0, 11 };
+
+	MerkleContractStorageValue subject;
+
+	@BeforeEach
+	private void setup() {
+		subject = new MerkleContractStorageValue(data);
+	}
+
+	@Test
+	public void objectContractMet() {
+		// given:
+		var one = new MerkleContractStorageValue();
+		var two = new MerkleContractStorageValue(new byte[] { 0, 0, 0, 12 });
+		var three = new MerkleContractStorageValue(new byte[] { 0, 0, 0, 11 });
+
+		// then:
+		assertNotEquals(one, null);
+		assertNotEquals(one, new Object());
+		assertNotEquals(two, subject);
+		assertEquals(subject, three);
+		// and:
+		assertNotEquals(subject.hashCode(), two.hashCode());
+		assertEquals(subject.hashCode(), three.hashCode());
+	}
+
+	@Test
+	public void merkleMethodsWork() {
+		// expect;
+		assertEquals(MerkleContractStorageValue.MERKLE_VERSION, subject.getVersion());
+		assertEquals(MerkleContractStorageValue.RUNTIME_CONSTRUCTABLE_ID, subject.getClassId());
+		assertTrue(subject.isLeaf());
+	}
+
+	@Test
+	public void serializeWorks() throws IOException {
+		// setup:
+		var out = mock(SerializableDataOutputStream.class);
+
+		// when:
+		subject.serialize(out);
+
+		// then:
+		verify(out).writeByteArray(data);
+	}
+
+	@Test
+	public void deserializeWorks() throws IOException {
+		// setup:
+		var in = mock(SerializableDataInputStream.class);
+		// and:
+		var defaultSubject = new MerkleContractStorageValue();
+
+		given(in.readByteArray(MerkleContractStorageValue.MAX_DATA_BYTES)).willReturn(data);
+
+		// when:
+		defaultSubject.deserialize(in, MerkleContractStorageValue.MERKLE_VERSION);
+
+		// then:
+		assertEquals(subject, defaultSubject);
+		assertArrayEquals(data, defaultSubject.getData());
+	}
+
+	@Test
+	public void toStringWorks() {
+		// expect:
+		assertEquals("MerkleContractStorageValue{data=0000000b}", subject.toString());
+	}
+
+	@Test
+	public void copyWorks() {
+		// when:
+		var subjectCopy = subject.copy();
+
+		// then:
+		assertNotSame(subjectCopy, subject);
+		assertEquals(subject, subjectCopy);
+	}
+
+	@Test
+	public void deleteIsNoop() {
+		// expect:
+		assertDoesNotThrow(subject::release);
+	}
+}
@@ -36,9 +36,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -52,8 +54,10 @@ import static com.grame.services.utils.EntityIdUtils.asLiteralString;
 import static com.grame.test.utils.IdUtils.asFile;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -72,7 +76,7 @@ public class MerkleDiskFsTest {
 
 	String MOCK_DISKFS_DIR = "src/test/resources/diskFs";
 
-	MerkleDiskFs.ThrowingBytesGetter getter;
+	MerkleDiskFs.ThrowingBufferGetter getter;
 	MerkleDiskFs.ThrowingBytesWriter writer;
 
 	@BeforeEach
@@ -87,18 +91,19 @@ public class MerkleDiskFsTest {
 				MOCK_DISKFS_DIR,
 				asLiteralString(nodeAccount));
 
-		getter = mock(MerkleDiskFs.ThrowingBytesGetter.class);
-		MerkleDiskFs.bytesHelper = getter;
+		getter = mock(MerkleDiskFs.ThrowingBufferGetter.class);
+		MerkleDiskFs.bufferHelper = getter;
 		writer = mock(MerkleDiskFs.ThrowingBytesWriter.class);
 		MerkleDiskFs.writeHelper = writer;
 
-		given(getter.allBytesFrom(subject.pathToContentsOf(file150))).willReturn(origContents);
+		given(getter.bufferFrom(subject.pathToContentsOf(file150)))
+				.willAnswer(invocation -> ByteBuffer.wrap(origContents));
 	}
 
 	@AfterEach
 	private void cleanup() {
-		MerkleDiskFs.writeHelper = (p, c) -> FileUtils.writeByteArrayToFile(p.toFile(), c);
-		MerkleDiskFs.bytesHelper = p -> FileUtils.readFileToByteArray(p.toFile());
+		MerkleDiskFs.writeHelper = MerkleDiskFs::replaceAtomically;
+		MerkleDiskFs.bufferHelper = MerkleDiskFs::mapReadOnly;
 	}
 
 	@Test
@@ -113,9 +118,16 @@ public class MerkleDiskFsTest {
 
 		// when:
 		MerkleDiskFs.writeHelper.allBytesTo(tmpLoc, tmpMsg);
+		var mapped = MerkleDiskFs.bufferHelper.bufferFrom(tmpLoc);
+		// and:
+		MerkleDiskFs.writeHelper.allBytesTo(tmpLoc, "Replaced".getBytes());
 
 		// then:
-		assertArrayEquals(tmpMsg, MerkleDiskFs.bytesHelper.allBytesFrom(tmpLoc));
+		var contents = new byte[mapped.remaining()];
+		mapped.get(contents);
+		assertArrayEquals(tmpMsg, contents);
+		assertArrayEquals("Replaced".getBytes(), FileUtils.readFileToByteArray(tmpLoc.toFile()));
+		assertFalse(Paths.get(tmpBase + "c.txt.tmp").toFile().exists());
 
 		// cleanup:
 		tmpLoc.toFile().delete();
@@ -150,6 +162,78 @@ public class MerkleDiskFsTest {
 		verify(MerkleDiskFs.log, never()).error(any(String.class));
 		// and:
 		verify(writer).allBytesTo(subject.pathToContentsOf(file150), origContents);
+		verify(getter, times(3)).bufferFrom(subject.pathToContentsOf(file150));
+	}
+
+	@Test
+	public void diskHashSeesContentsChangedSinceCached() throws IOException {
+		// setup:
+		MerkleDiskFs.log = mock(Logger.class);
+
+		// given:
+		subject.contentsOf(file150);
+		// and:
+		given(getter.bufferFrom(subject.pathToContentsOf(file150)))
+				.willAnswer(invocation -> ByteBuffer.wrap(newContents));
+
+		// when:
+		var actualHash = subject.diskContentHash(file150);
+		subject.checkHashesAgainstDiskContents();
+
+		// then:
+		assertArrayEquals(newFileHash, actualHash);
+		assertArrayEquals(origContents, subject.contentsOf(file150));
+		verify(MerkleDiskFs.log).error(
+				any(String.class),
+				any(Object.class),
+				any(Object.class),
+				any(Object.class));
+	}
+
+	@Test
+	public void diskHashOfUnreadableContentsIsOfMissingContent() throws Exception {
+		// setup:
+		MerkleDiskFs.log = mock(Logger.class);
+
+		given(getter.bufferFrom(any())).willThrow(IOException.class);
+
+		// expect:
+		assertArrayEquals(
+				MessageDigest.getInstance("SHA-384").digest(MerkleDiskFs.MISSING_CONTENT),
+				subject.diskContentHash(file150));
+	}
+
+	@Test
+	public void sharesVerifiedContentsWithCopies() throws IOException {
+		// given:
+		var copySubject = subject.copy();
+
+		// when:
+		var contents = subject.contentsOf(file150);
+		var copyContents = copySubject.contentsOf(file150);
+		var buffer = copySubject.contentsBufferOf(file150);
+
+		// then:
+		assertArrayEquals(origContents, contents);
+		assertArrayEquals(origContents, copyContents);
+		assertTrue(buffer.isReadOnly());
+		assertEquals(origContents.length, buffer.remaining());
+		// and:
+		verify(getter, times(1)).bufferFrom(subject.pathToContentsOf(file150));
+	}
+
+	@Test
+	public void doesNotCacheContentsWithUnexpectedHash() throws IOException {
+		given(getter.bufferFrom(subject.pathToContentsOf(file150)))
+				.willAnswer(invocation -> ByteBuffer.wrap(newContents));
+
+		// when:
+		subject.contentsOf(file150);
+		var actualHash = subject.diskContentHash(file150);
+
+		// then:
+		assertArrayEquals(newFileHash, actualHash);
+		verify(getter, times(2)).bufferFrom(subject.pathToContentsOf(file150));
 	}
 
 	@Test
@@ -168,7 +252,7 @@ public class MerkleDiskFsTest {
 		// setup:
 		subject = new MerkleDiskFs("this/doesnt/exist", asLiteralString(nodeAccount));
 
-		given(getter.allBytesFrom(any())).willThrow(IOException.class);
+		given(getter.bufferFrom(any())).willThrow(IOException.class);
 
 		Assertions.assertSame(MerkleDiskFs.MISSING_CONTENT, subject.contentsOf(file150));
 	}
@@ -181,7 +265,7 @@ public class MerkleDiskFsTest {
 		MerkleDiskFs.log = log;
 		subject = new MerkleDiskFs("this/doesnt/exist", asLiteralString(nodeAccount));
 
-		given(getter.allBytesFrom(any())).willThrow(IOException.class);
+		given(getter.bufferFrom(any())).willThrow(IOException.class);
 
 		Assertions.assertSame(MerkleDiskFs.MISSING_CONTENT, subject.contentsOf(file150));
 	}
@@ -204,32 +288,35 @@ public class MerkleDiskFsTest {
 	public void serializeWorks() throws IOException {
 		// setup:
 		byte[] expectedBytes = "ABCDEFGH".getBytes();
-		MerkleDiskFs.ThrowingBytesGetter getter = mock(MerkleDiskFs.ThrowingBytesGetter.class);
-		MerkleDiskFs.bytesHelper = getter;
-
-		given(getter.allBytesFrom(subject.pathToContentsOf(file150))).willReturn(expectedBytes);
+		given(getter.bufferFrom(subject.pathToContentsOf(file150)))
+				.willAnswer(invocation -> ByteBuffer.wrap(expectedBytes));
 		// and:
-		var out = mock(SerializableDataOutputStream.class);
+		var baos = new ByteArrayOutputStream();
+		var out = new SerializableDataOutputStream(baos);
+		// and:
+		var expectedBaos = new ByteArrayOutputStream();
+		var expectedOut = new SerializableDataOutputStream(expectedBaos);
+		expectedOut.writeInt(1);
+		expectedOut.writeLong(0);
+		expectedOut.writeLong(0);
+		expectedOut.writeLong(150);
+		expectedOut.writeByteArray(expectedBytes);
+		expectedOut.flush();
 
 		// when:
 		subject.serialize(out);
+		out.flush();
 
 		// then:
-		verify(out).writeInt(1);
-		verify(out, times(2)).writeLong(0);
-		verify(out).writeLong(150);
-		verify(out).writeByteArray(expectedBytes);
+		assertArrayEquals(expectedBaos.toByteArray(), baos.toByteArray());
 	}
 
 	@Test
 	public void serializePropagatesException() throws IOException {
 		// setup:
-		MerkleDiskFs.ThrowingBytesGetter getter = mock(MerkleDiskFs.ThrowingBytesGetter.class);
-		MerkleDiskFs.bytesHelper = getter;
-		// and:
 		var out = mock(SerializableDataOutputStream.class);
 
-		given(getter.allBytesFrom(subject.pathToContentsOf(file150))).willThrow(IOException.class);
+		given(getter.bufferFrom(subject.pathToContentsOf(file150))).willThrow(IOException.class);
 		// expect:
 		assertThrows(UncheckedIOException.class, () -> subject.serialize(out));
 	}
@@ -39,7 +39,9 @@ import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
 
@@ -111,6 +113,20 @@ class MerkleTopicTest {
 				topicFrom(2).toString());
 	}
 
+	@Test
+	public void failedRunningHashUpdateLeavesTopicUnchanged() throws IOException, NoSuchAlgorithmException {
+		// setup:
+		var topic = topicFrom(1);
+		var runningHash = topic.getRunningHash();
+
+		// expect:
+		assertThrows(NullPointerException.class, () ->
+				topic.updateRunningHashAndSequenceNumber(null, "Hello world!".getBytes(), null, null));
+		// and:
+		assertEquals(1L, topic.getSequenceNumber());
+		assertArrayEquals(runningHash, topic.getRunningHash());
+	}
+
 	private MerkleTopic topicFrom(int s) throws IOException, NoSuchAlgorithmException {
 		long v = 1_234_567L + s * 1_000_000L;
 		long t = s + 1;
@@ -0,0 +1,127 @@
+package com.grame.services.state.merkle.internals;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.test.utils.IdUtils;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.TopicID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Random;
+
+import static com.grame.services.state.merkle.MerkleTopic.RUNNING_HASH_VERSION;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopicRunningHasherTest {
+	AccountID payer = IdUtils.asAccount("0.0.2");
+	TopicID topicId = TopicID.newBuilder().setTopicNum(1234).build();
+	Instant consensusTime = Instant.ofEpochSecond(1_234_567L, 890);
+	byte[] message = "Hello world!".getBytes();
+
+	TopicRunningHasher subject;
+
+	@BeforeEach
+	private void setup() {
+		subject = new TopicRunningHasher();
+	}
+
+	@Test
+	public void matchesObjectStreamLayoutForRandomInputs() throws Exception {
+		// setup:
+		var r = new Random(1_234_567L);
+
+		for (int i = 0; i < 500; i++) {
+			// given:
+			var prevRunningHash = new byte[(i % 10 == 0) ? r.nextInt(5) : 48];
+			r.nextBytes(prevRunningHash);
+			var someMessage = new byte[r.nextInt(2_048)];
+			r.nextBytes(someMessage);
+			var somePayer = AccountID.newBuilder()
+					.setShardNum(r.nextInt(3))
+					.setRealmNum(r.nextInt(3))
+					.setAccountNum(r.nextLong())
+					.build();
+			var someTopicId = TopicID.newBuilder()
+					.setShardNum(r.nextInt(3))
+					.setRealmNum(r.nextInt(3))
+					.setTopicNum(r.nextLong())
+					.build();
+			var someTime = Instant.ofEpochSecond(r.nextInt(Integer.MAX_VALUE), r.nextInt(1_000_000_000));
+			var someSequenceNumber = r.nextLong();
+
+			// expect:
+			assertArrayEquals(
+					legacyRunningHash(prevRunningHash, somePayer, someTopicId, someTime, someSequenceNumber, someMessage),
+					subject.nextRunningHash(
+							prevRunningHash, somePayer, someTopicId, someTime, someSequenceNumber, someMessage));
+		}
+	}
+
+	@Test
+	public void discardsInputOfFailedComputation() throws Exception {
+		// setup:
+		var prevRunningHash = new byte[48];
+
+		// given:
+		assertThrows(NullPointerException.class, () ->
+				subject.nextRunningHash(prevRunningHash, null, topicId, consensusTime, 1L, message));
+
+		// expect:
+		assertArrayEquals(
+				legacyRunningHash(prevRunningHash, payer, topicId, consensusTime, 1L, message),
+				subject.nextRunningHash(prevRunningHash, payer, topicId, consensusTime, 1L, message));
+	}
+
+	private byte[] legacyRunningHash(
+			byte[] prevRunningHash,
+			AccountID payer,
+			TopicID topicId,
+			Instant consensusTime,
+			long sequenceNumber,
+			byte[] message
+	) throws IOException, NoSuchAlgorithmException {
+		var boas = new ByteArrayOutputStream();
+		try (var out = new ObjectOutputStream(boas)) {
+			out.writeObject(prevRunningHash);
+			out.writeLong(RUNNING_HASH_VERSION);
+			out.writeLong(payer.getShardNum());
+			out.writeLong(payer.getRealmNum());
+			out.writeLong(payer.getAccountNum());
+			out.writeLong(topicId.getShardNum());
+			out.writeLong(topicId.getRealmNum());
+			out.writeLong(topicId.getTopicNum());
+			out.writeLong(consensusTime.getEpochSecond());
+			out.writeInt(consensusTime.getNano());
+			out.writeLong(sequenceNumber);
+			out.writeObject(MessageDigest.getInstance("SHA-384").digest(message));
+			out.flush();
+		}
+		return MessageDigest.getInstance("SHA-384").digest(boas.toByteArray());
+	}
+}
@@ -302,6 +302,16 @@ class ExpirableTxnRecordTest {
 		assertEquals(subject, ExpirableTxnRecord.fromGprc(subject.asGrpc()));
 	}
 
+	@Test
+	public void memoizesGrpcForm() {
+		// when:
+		var grpc = subject.asGrpc();
+
+		// then:
+		assertSame(grpc, subject.asGrpc());
+		assertEquals(List.of(grpc, grpc), ExpirableTxnRecord.allToGrpc(List.of(subject, subject)));
+	}
+
 	@Test
 	public void objectContractWorks() {
 		// given:
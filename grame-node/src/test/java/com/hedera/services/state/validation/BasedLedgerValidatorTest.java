@@ -23,22 +23,39 @@ package com.grame.services.state.validation;
 import com.grame.services.config.grameNumbers;
 import com.grame.services.config.MockGlobalDynamicProps;
 import com.grame.services.context.properties.GlobalDynamicProperties;
+import com.grame.services.context.properties.NodeLocalProperties;
 import com.grame.services.context.properties.PropertySource;
+import com.grame.services.ledger.RunningBalanceTotals;
 import com.grame.services.ledger.accounts.grameAccountCustomizer;
 import com.grame.services.exceptions.NegativeAccountBalanceException;
 import com.grame.services.state.merkle.MerkleAccount;
 import com.grame.services.state.merkle.MerkleEntityId;
+import com.gramegrame.api.proto.java.AccountAmount;
+import com.gramegrame.api.proto.java.AccountID;
+import com.gramegrame.api.proto.java.TransferList;
 import com.swirlds.fcmap.FCMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.EMPTY;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.MATCHED;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.SEEDED;
+import static com.grame.services.ledger.RunningBalanceTotals.SpotCheck.UNWATCHED;
 import static com.grame.services.state.submerkle.EntityId.MISSING_ENTITY_ID;
+import static com.grame.test.utils.IdUtils.asAccount;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verifyNoInteractions;
+import static org.mockito.BDDMockito.verifyNoMoreInteractions;
 
 class BasedLedgerValidatorTest {
 	private long shard = 1;
@@ -48,6 +65,8 @@ class BasedLedgerValidatorTest {
 
 	grameNumbers grameNums;
 	PropertySource properties;
+	NodeLocalProperties nodeLocalProperties;
+	RunningBalanceTotals balanceTotals;
 	GlobalDynamicProperties dynamicProperties = new MockGlobalDynamicProps();
 
 	BasedLedgerValidator subject;
@@ -61,11 +80,20 @@ class BasedLedgerValidatorTest {
 		properties = mock(PropertySource.class);
 		given(properties.getLongProperty("ledger.totalTinyBarFloat")).willReturn(100L);
 
-		subject = new BasedLedgerValidator(grameNums, properties, dynamicProperties);
+		nodeLocalProperties = mock(NodeLocalProperties.class);
+		given(nodeLocalProperties.floatSpotCheckPeriodSecs()).willReturn(1);
+
+		balanceTotals = new RunningBalanceTotals(100L, 10, Instant::now);
+
+		subject = new BasedLedgerValidator(
+				grameNums, properties, dynamicProperties, nodeLocalProperties, balanceTotals);
 	}
 
 	@Test
 	public void recognizesRightFloat() throws NegativeAccountBalanceException {
+		// setup:
+		given(nodeLocalProperties.fullFloatScanEnabled()).willReturn(true);
+
 		// given:
 		accounts.put(new MerkleEntityId(shard, realm, 1L), expectedWith(50L));
 		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(50L));
@@ -76,6 +104,9 @@ class BasedLedgerValidatorTest {
 
 	@Test
 	public void recognizesWrongFloat() throws NegativeAccountBalanceException {
+		// setup:
+		given(nodeLocalProperties.fullFloatScanEnabled()).willReturn(true);
+
 		// given:
 		accounts.put(new MerkleEntityId(shard, realm, 1L), expectedWith(50L));
 		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(51L));
@@ -84,6 +115,156 @@ class BasedLedgerValidatorTest {
 		assertFalse(subject.hasExpectedTotalBalance(accounts));
 	}
 
+	@Test
+	public void usesRunningTotalsUnlessFullScanEnabled() throws NegativeAccountBalanceException {
+		// given:
+		accounts.put(new MerkleEntityId(shard, realm, 1L), expectedWith(50L));
+		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(50L));
+		balanceTotals.reseedFrom(accounts);
+
+		// expect:
+		assertTrue(subject.hasExpectedTotalBalance(accounts));
+
+		// and when:
+		balanceTotals.track(
+				TransferList.newBuilder().addAccountAmounts(adjustment(asAccount("1.2.1"), 1L)),
+				TransferList.getDefaultInstance());
+
+		// then:
+		assertFalse(subject.hasExpectedTotalBalance(accounts));
+	}
+
+	@Test
+	public void runningTotalsFailCorruptedLoadedState() throws NegativeAccountBalanceException {
+		// given:
+		accounts.put(new MerkleEntityId(shard, realm, 1L), expectedWith(50L));
+		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(51L));
+
+		// when:
+		balanceTotals.reseedFrom(accounts);
+
+		// then:
+		assertFalse(subject.hasExpectedTotalBalance(accounts));
+	}
+
+	@Test
+	public void schedulesOneSpotCheckPerPeriod() {
+		// setup:
+		var now = Instant.ofEpochSecond(1_234_567L);
+		balanceTotals = mock(RunningBalanceTotals.class);
+		given(balanceTotals.watch(0L, now)).willReturn(true);
+		// and:
+		subject = new BasedLedgerValidator(
+				grameNums, properties, dynamicProperties, nodeLocalProperties, balanceTotals);
+
+		// when:
+		subject.scheduleSpotCheckAt(now);
+		subject.scheduleSpotCheckAt(now);
+
+		// then:
+		verify(balanceTotals).watch(0L, now);
+		verifyNoMoreInteractions(balanceTotals);
+	}
+
+	@Test
+	public void retriesSchedulingWhileEarlierSpotCheckIsPending() {
+		// setup:
+		var now = Instant.ofEpochSecond(1_234_567L);
+		balanceTotals = mock(RunningBalanceTotals.class);
+		given(balanceTotals.watch(0L, now)).willReturn(false);
+		// and:
+		subject = new BasedLedgerValidator(
+				grameNums, properties, dynamicProperties, nodeLocalProperties, balanceTotals);
+
+		// when:
+		subject.scheduleSpotCheckAt(now);
+		subject.scheduleSpotCheckAt(now);
+
+		// then:
+		verify(balanceTotals, times(2)).watch(0L, now);
+	}
+
+	@Test
+	public void advancesSegmentOnlyWhenSignedStateSpotCheckCompletes() {
+		// setup:
+		var signedAt = Instant.ofEpochSecond(1_234_567L);
+		balanceTotals = mock(RunningBalanceTotals.class);
+		given(balanceTotals.getNumsPerSegment()).willReturn(10L);
+		given(balanceTotals.spotCheck(accounts, signedAt, shard, realm))
+				.willReturn(UNWATCHED, SEEDED, MATCHED, EMPTY);
+		// and:
+		subject = new BasedLedgerValidator(
+				grameNums, properties, dynamicProperties, nodeLocalProperties, balanceTotals);
+
+		// when:
+		subject.spotCheckBalancesIn(accounts, signedAt);
+		subject.spotCheckBalancesIn(accounts, signedAt);
+		// then:
+		assertEquals(0L, subject.nextSegment);
+
+		// and when:
+		subject.spotCheckBalancesIn(accounts, signedAt);
+		// then:
+		assertEquals(1L, subject.nextSegment);
+
+		// and when:
+		subject.spotCheckBalancesIn(accounts, signedAt);
+		// then:
+		assertEquals(0L, subject.nextSegment);
+	}
+
+	@Test
+	public void wrapsSpotChecksAtMaxAccountNum() {
+		// setup:
+		var signedAt = Instant.ofEpochSecond(1_234_567L);
+		balanceTotals = mock(RunningBalanceTotals.class);
+		given(balanceTotals.getNumsPerSegment()).willReturn(dynamicProperties.maxAccountNum() + 1);
+		given(balanceTotals.spotCheck(accounts, signedAt, shard, realm)).willReturn(MATCHED);
+		// and:
+		subject = new BasedLedgerValidator(
+				grameNums, properties, dynamicProperties, nodeLocalProperties, balanceTotals);
+
+		// when:
+		subject.spotCheckBalancesIn(accounts, signedAt);
+
+		// then:
+		assertEquals(0L, subject.nextSegment);
+	}
+
+	@Test
+	public void spotChecksSignedStatesAgainstRealTotals() throws NegativeAccountBalanceException {
+		// setup:
+		var start = Instant.ofEpochSecond(1_234_567L);
+		accounts.put(new MerkleEntityId(shard, realm, 1L), expectedWith(50L));
+		accounts.put(new MerkleEntityId(shard, realm, 2L), expectedWith(50L));
+		balanceTotals.reseedFrom(accounts);
+
+		// when:
+		subject.scheduleSpotCheckAt(start);
+		subject.spotCheckBalancesIn(accounts, start);
+		subject.spotCheckBalancesIn(accounts, start.plusSeconds(1));
+
+		// then:
+		assertEquals(1L, subject.nextSegment);
+		assertFalse(balanceTotals.isWatching());
+	}
+
+	@Test
+	public void doesNotSpotCheckIfDisabled() {
+		// setup:
+		balanceTotals = mock(RunningBalanceTotals.class);
+		given(nodeLocalProperties.floatSpotCheckPeriodSecs()).willReturn(0);
+		// and:
+		subject = new BasedLedgerValidator(
+				grameNums, properties, dynamicProperties, nodeLocalProperties, balanceTotals);
+
+		// when:
+		subject.scheduleSpotCheckAt(Instant.ofEpochSecond(1_234_567L));
+
+		// then:
+		verifyNoInteractions(balanceTotals);
+	}
+
 	@Test
 	public void doesntThrowWithValidIds() throws NegativeAccountBalanceException {
 		// given:
@@ -133,6 +314,13 @@ class BasedLedgerValidatorTest {
 		assertThrows(IllegalStateException.class, () -> subject.assertIdsAreValid(accounts));
 	}
 
+	private AccountAmount adjustment(AccountID id, long amount) {
+		return AccountAmount.newBuilder()
+				.setAccountID(id)
+				.setAmount(amount)
+				.build();
+	}
+
 	private MerkleAccount expectedWith(long balance) throws NegativeAccountBalanceException {
 		MerkleAccount hAccount = new grameAccountCustomizer()
 				.isReceiverSigRequired(false)
@@ -0,0 +1,196 @@
+package com.grame.services.stats;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.gramegrame.api.proto.java.grameFunctionality;
+import com.swirlds.common.Platform;
+import com.swirlds.common.StatEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static com.grame.services.stats.HapiOpLatencies.Stage.COMMIT;
+import static com.grame.services.stats.HapiOpLatencies.Stage.TRANSITION;
+import static com.gramegrame.api.proto.java.grameFunctionality.ConsensusSubmitMessage;
+import static com.gramegrame.api.proto.java.grameFunctionality.CryptoTransfer;
+import static com.gramegrame.api.proto.java.grameFunctionality.NONE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+import static org.mockito.BDDMockito.times;
+import static org.mockito.BDDMockito.verify;
+
+class HapiOpLatenciesTest {
+	Platform platform;
+	CounterFactory factory;
+
+	HapiOpLatencies subject;
+
+	@BeforeEach
+	void setUp() {
+		platform = mock(Platform.class);
+		factory = mock(CounterFactory.class);
+
+		subject = new HapiOpLatencies(factory, grameFunctionality::toString);
+	}
+
+	@Test
+	void createsHistogramsOnlyWhenNeeded() {
+		// when:
+		subject.record(TRANSITION, CryptoTransfer, 1_000L);
+
+		// then:
+		assertEquals(1L, countOf(TRANSITION, CryptoTransfer));
+		assertNull(subject.histograms.get(COMMIT).get(CryptoTransfer.ordinal()));
+		assertNull(subject.histograms.get(TRANSITION).get(ConsensusSubmitMessage.ordinal()));
+	}
+
+	@Test
+	void ignoresIgnoredAndMissingFunctions() {
+		// when:
+		subject.record(TRANSITION, NONE, 1_000L);
+		subject.record(TRANSITION, null, 1_000L);
+
+		// then:
+		assertNull(subject.histograms.get(TRANSITION).get(NONE.ordinal()));
+		assertFalse(subject.asText().contains("function="));
+	}
+
+	@Test
+	void mergesFunctionsForPlatformStats() {
+		// given:
+		subject.record(COMMIT, CryptoTransfer, 2_000L);
+		subject.record(COMMIT, ConsensusSubmitMessage, 2_000L);
+		subject.record(COMMIT, ConsensusSubmitMessage, 1_000_000L);
+		// and:
+		subject.rotateStats();
+
+		// expect:
+		assertEquals(2L, subject.mergedMicrosAt(COMMIT, 50.0));
+		assertTrue(subject.mergedMicrosAt(COMMIT, 99.0) >= 1_000L);
+		assertEquals(0L, subject.mergedMicrosAt(TRANSITION, 99.0));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void registersMedianAndTailPerStage() {
+		// setup:
+		var entry = mock(StatEntry.class);
+		given(factory.from(any(), any(), any())).willReturn(entry);
+
+		// given:
+		subject.record(COMMIT, CryptoTransfer, 3_000L);
+		subject.rotateStats();
+
+		// when:
+		subject.registerWith(platform);
+
+		// then:
+		verify(platform, times(2 * HapiOpLatencies.Stage.values().length)).addAppStatEntry(entry);
+		verify(factory).from(
+				argThat("commitP50Us"::equals),
+				argThat("median commit latency of all transactions in microseconds"::equals),
+				argThat((Supplier<Object> sample) -> Long.valueOf(3L).equals(sample.get())));
+		verify(factory).from(
+				argThat("transitionP99Us"::equals),
+				argThat("99th percentile transition latency of all transactions in microseconds"::equals),
+				argThat((Supplier<Object> sample) -> Long.valueOf(0L).equals(sample.get())));
+	}
+
+	@Test
+	void rendersPerFunctionText() {
+		// given:
+		subject.record(TRANSITION, CryptoTransfer, 5_000L);
+		subject.record(TRANSITION, CryptoTransfer, 7_000L);
+
+		// when:
+		var text = subject.asText();
+
+		// then:
+		var labels = "stage=\"transition\",function=\"CryptoTransfer\"";
+		assertTrue(text.startsWith("# TYPE hapi_latency_micros summary\n"));
+		assertTrue(text.contains("hapi_latency_micros{" + labels + ",quantile=\"0.5\"} 5\n"));
+		assertTrue(text.contains("hapi_latency_micros{" + labels + ",quantile=\"0.99\"} 7\n"));
+		assertTrue(text.contains("hapi_latency_micros_sum{" + labels + "} 12\n"));
+		assertTrue(text.contains("hapi_latency_micros_count{" + labels + "} 2\n"));
+	}
+
+	@Test
+	void platformStatsCoverOnlyLatestInterval() {
+		// given:
+		subject.record(COMMIT, CryptoTransfer, 1_000_000L);
+		subject.rotateStats();
+		// and:
+		subject.record(COMMIT, CryptoTransfer, 2_000L);
+
+		// expect:
+		assertTrue(subject.mergedMicrosAt(COMMIT, 50.0) >= 1_000L);
+
+		// and when:
+		subject.rotateStats();
+
+		// then:
+		assertEquals(2L, subject.mergedMicrosAt(COMMIT, 99.0));
+
+		// and when:
+		subject.rotateStats();
+
+		// then:
+		assertEquals(0L, subject.mergedMicrosAt(COMMIT, 99.0));
+	}
+
+	@Test
+	void textQuantilesCoverOnlyValuesSinceLastScrape() {
+		// setup:
+		var labels = "stage=\"transition\",function=\"CryptoTransfer\"";
+
+		// given:
+		subject.record(TRANSITION, CryptoTransfer, 900_000L);
+		subject.asText();
+		// and:
+		subject.record(TRANSITION, CryptoTransfer, 5_000L);
+
+		// when:
+		var text = subject.asText();
+
+		// then:
+		assertTrue(text.contains("hapi_latency_micros{" + labels + ",quantile=\"0.99\"} 5\n"));
+		assertTrue(text.contains("hapi_latency_micros_sum{" + labels + "} 905\n"));
+		assertTrue(text.contains("hapi_latency_micros_count{" + labels + "} 2\n"));
+
+		// and when:
+		text = subject.asText();
+
+		// then:
+		assertTrue(text.contains("hapi_latency_micros{" + labels + ",quantile=\"0.99\"} 0\n"));
+		assertTrue(text.contains("hapi_latency_micros_count{" + labels + "} 2\n"));
+	}
+
+	private long countOf(HapiOpLatencies.Stage stage, grameFunctionality function) {
+		return subject.histograms.get(stage).get(function.ordinal()).addCountsTo(LatencyHistogram.newCounts());
+	}
+}
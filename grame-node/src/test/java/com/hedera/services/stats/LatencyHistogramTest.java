@@ -0,0 +1,121 @@
+package com.grame.services.stats;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.grame.services.stats.LatencyHistogram.NUM_BUCKETS;
+import static com.grame.services.stats.LatencyHistogram.SUB_BUCKETS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+	LatencyHistogram subject;
+
+	@BeforeEach
+	void setUp() {
+		subject = new LatencyHistogram();
+	}
+
+	@Test
+	void smallValuesHaveExactBuckets() {
+		for (int v = 0; v < SUB_BUCKETS; v++) {
+			// expect:
+			assertEquals(v, LatencyHistogram.indexOf(v));
+			assertEquals(v, LatencyHistogram.lowestEquivalent(v));
+			assertEquals(v, LatencyHistogram.highestEquivalent(v));
+		}
+	}
+
+	@Test
+	void everyValueFallsInItsBucketRange() {
+		// given:
+		long[] values = { 16L, 17L, 31L, 32L, 33L, 1_000L, 123_456_789L, 1L << 40, Long.MAX_VALUE };
+
+		for (long v : values) {
+			// when:
+			int i = LatencyHistogram.indexOf(v);
+
+			// then:
+			assertTrue(i < NUM_BUCKETS);
+			assertTrue(LatencyHistogram.lowestEquivalent(i) <= v);
+			assertTrue(v <= LatencyHistogram.highestEquivalent(i));
+		}
+		// and:
+		assertEquals(NUM_BUCKETS - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+	}
+
+	@Test
+	void bucketsAreContiguous() {
+		for (int i = 0; i < NUM_BUCKETS - 1; i++) {
+			// expect:
+			assertEquals(LatencyHistogram.highestEquivalent(i) + 1, LatencyHistogram.lowestEquivalent(i + 1));
+		}
+	}
+
+	@Test
+	void relativeErrorIsBounded() {
+		// given:
+		long v = 987_654_321L;
+
+		// when:
+		int i = LatencyHistogram.indexOf(v);
+		long width = LatencyHistogram.highestEquivalent(i) - LatencyHistogram.lowestEquivalent(i) + 1;
+
+		// then:
+		assertTrue(width <= v / SUB_BUCKETS);
+	}
+
+	@Test
+	void findsPercentiles() {
+		// given:
+		for (long v = 1; v <= 100; v++) {
+			subject.record(v * 1_000L);
+		}
+		subject.record(-1L);
+		// and:
+		var counts = LatencyHistogram.newCounts();
+
+		// when:
+		long n = subject.addCountsTo(counts);
+
+		// then:
+		assertEquals(101, n);
+		assertEquals(5_050_000L, subject.totalNanos());
+		assertEquals(0L, LatencyHistogram.valueAtPercentile(counts, n, 0.0));
+		assertWithinBucket(50_000L, LatencyHistogram.valueAtPercentile(counts, n, 50.0));
+		assertWithinBucket(99_000L, LatencyHistogram.valueAtPercentile(counts, n, 99.0));
+		assertWithinBucket(100_000L, LatencyHistogram.valueAtPercentile(counts, n, 100.0));
+	}
+
+	@Test
+	void reportsZeroWithNoValues() {
+		// expect:
+		assertEquals(0L, LatencyHistogram.valueAtPercentile(LatencyHistogram.newCounts(), 0, 99.0));
+	}
+
+	private void assertWithinBucket(long expected, long actual) {
+		int i = LatencyHistogram.indexOf(expected);
+		assertTrue(LatencyHistogram.lowestEquivalent(i) <= actual);
+		assertTrue(actual <= LatencyHistogram.highestEquivalent(i));
+	}
+}
@@ -0,0 +1,83 @@
+package com.grame.services.stats;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import static com.grame.services.stats.LatencyScrapeEndpoint.CONTENT_TYPE;
+import static com.grame.services.stats.LatencyScrapeEndpoint.PATH;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.mock;
+
+class LatencyScrapeEndpointTest {
+	String text = "hapi_latency_micros_count{stage=\"commit\",function=\"CryptoTransfer\"} 1\n";
+
+	HapiOpLatencies opLatencies;
+
+	LatencyScrapeEndpoint subject;
+
+	@BeforeEach
+	void setUp() {
+		opLatencies = mock(HapiOpLatencies.class);
+		given(opLatencies.asText()).willReturn(text);
+
+		subject = new LatencyScrapeEndpoint(opLatencies);
+	}
+
+	@AfterEach
+	void cleanup() {
+		subject.stop();
+	}
+
+	@Test
+	void servesLatenciesAsText() throws IOException {
+		// given:
+		subject.startOn(0);
+
+		// when:
+		var url = new URL("http", "127.0.0.1", subject.boundPort(), PATH);
+		var connection = (HttpURLConnection) url.openConnection();
+		String body;
+		try (var in = connection.getInputStream()) {
+			body = new String(in.readAllBytes(), UTF_8);
+		}
+
+		// then:
+		assertEquals(200, connection.getResponseCode());
+		assertEquals(CONTENT_TYPE, connection.getHeaderField("Content-Type"));
+		assertEquals(text, body);
+	}
+
+	@Test
+	void stopIsIdempotent() {
+		// expect:
+		assertDoesNotThrow(subject::stop);
+	}
+}
@@ -59,6 +59,12 @@ class MiscRunningAvgsTest {
 		StatEntry waitMs = mock(StatEntry.class);
 		StatEntry queueSizes = mock(StatEntry.class);
 		StatEntry submitSizes = mock(StatEntry.class);
+		StatEntry copied = mock(StatEntry.class);
+		StatEntry mutated = mock(StatEntry.class);
+		StatEntry histories = mock(StatEntry.class);
+		StatEntry historiesKb = mock(StatEntry.class);
+		StatEntry hitRatio = mock(StatEntry.class);
+		StatEntry evictions = mock(StatEntry.class);
 
 		given(factory.from(
 				argThat(MiscRunningAvgs.Names.ACCOUNT_LOOKUP_RETRIES::equals),
@@ -76,6 +82,30 @@ class MiscRunningAvgsTest {
 				argThat(MiscRunningAvgs.Names.HANDLED_SUBMIT_MESSAGE_SIZE::equals),
 				argThat(MiscRunningAvgs.Descriptions.HANDLED_SUBMIT_MESSAGE_SIZE::equals),
 				argThat(subject.handledSubmitMessageSize::equals))).willReturn(submitSizes);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.ACCOUNTS_COPIED_PER_TXN::equals),
+				argThat(MiscRunningAvgs.Descriptions.ACCOUNTS_COPIED_PER_TXN::equals),
+				argThat(subject.accountsCopiedPerTxn::equals))).willReturn(copied);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.ACCOUNTS_MUTATED_PER_TXN::equals),
+				argThat(MiscRunningAvgs.Descriptions.ACCOUNTS_MUTATED_PER_TXN::equals),
+				argThat(subject.accountsMutatedPerTxn::equals))).willReturn(mutated);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.RECENT_TXN_ID_HISTORIES::equals),
+				argThat(MiscRunningAvgs.Descriptions.RECENT_TXN_ID_HISTORIES::equals),
+				argThat(subject.recentTxnIdHistories::equals))).willReturn(histories);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.RECENT_TXN_ID_HISTORIES_KB::equals),
+				argThat(MiscRunningAvgs.Descriptions.RECENT_TXN_ID_HISTORIES_KB::equals),
+				argThat(subject.recentTxnIdHistoriesKb::equals))).willReturn(historiesKb);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BYTECODE_CACHE_HIT_RATIO::equals),
+				argThat(MiscRunningAvgs.Descriptions.BYTECODE_CACHE_HIT_RATIO::equals),
+				argThat(subject.bytecodeCacheHitRatio::equals))).willReturn(hitRatio);
+		given(factory.from(
+				argThat(MiscRunningAvgs.Names.BYTECODE_CACHE_EVICTIONS::equals),
+				argThat(MiscRunningAvgs.Descriptions.BYTECODE_CACHE_EVICTIONS::equals),
+				argThat(subject.bytecodeCacheEvictions::equals))).willReturn(evictions);
 
 		// when:
 		subject.registerWith(platform);
@@ -85,6 +115,12 @@ class MiscRunningAvgsTest {
 		verify(platform).addAppStatEntry(waitMs);
 		verify(platform).addAppStatEntry(queueSizes);
 		verify(platform).addAppStatEntry(submitSizes);
+		verify(platform).addAppStatEntry(copied);
+		verify(platform).addAppStatEntry(mutated);
+		verify(platform).addAppStatEntry(histories);
+		verify(platform).addAppStatEntry(historiesKb);
+		verify(platform).addAppStatEntry(hitRatio);
+		verify(platform).addAppStatEntry(evictions);
 	}
 
 	@Test
@@ -94,22 +130,47 @@ class MiscRunningAvgsTest {
 		StatsRunningAverage waitMs = mock(StatsRunningAverage.class);
 		StatsRunningAverage queueSize = mock(StatsRunningAverage.class);
 		StatsRunningAverage submitSizes = mock(StatsRunningAverage.class);
+		StatsRunningAverage copied = mock(StatsRunningAverage.class);
+		StatsRunningAverage mutated = mock(StatsRunningAverage.class);
+		StatsRunningAverage histories = mock(StatsRunningAverage.class);
+		StatsRunningAverage historiesKb = mock(StatsRunningAverage.class);
+		StatsRunningAverage hitRatio = mock(StatsRunningAverage.class);
+		StatsRunningAverage evictions = mock(StatsRunningAverage.class);
 		// and:
 		subject.accountLookupRetries = retries;
 		subject.accountRetryWaitMs = waitMs;
 		subject.handledSubmitMessageSize = submitSizes;
 		subject.writeQueueSizeRecordStream = queueSize;
+		subject.accountsCopiedPerTxn = copied;
+		subject.accountsMutatedPerTxn = mutated;
+		subject.recentTxnIdHistories = histories;
+		subject.recentTxnIdHistoriesKb = historiesKb;
+		subject.bytecodeCacheHitRatio = hitRatio;
+		subject.bytecodeCacheEvictions = evictions;
 
 		// when:
 		subject.recordAccountLookupRetries(1);
 		subject.recordAccountRetryWaitMs(2.0);
 		subject.recordHandledSubmitMessageSize(3);
 		subject.writeQueueSizeRecordStream(4);
+		subject.recordAccountsCopiedPerTxn(5);
+		subject.recordAccountsMutatedPerTxn(6);
+		subject.recordRecentTxnIdHistories(7, 8192L);
+		subject.recordBytecodeCacheLookup(true, 9);
+		subject.recordBytecodeCacheLookup(false, 0);
 
 		// then:
 		verify(retries).recordValue(1.0);
 		verify(waitMs).recordValue(2.0);
 		verify(submitSizes).recordValue(3.0);
 		verify(queueSize).recordValue(4.0);
+		verify(copied).recordValue(5.0);
+		verify(mutated).recordValue(6.0);
+		verify(histories).recordValue(7.0);
+		verify(historiesKb).recordValue(8.0);
+		verify(hitRatio).recordValue(1.0);
+		verify(hitRatio).recordValue(0.0);
+		verify(evictions).recordValue(9.0);
+		verify(evictions).recordValue(0.0);
 	}
 }
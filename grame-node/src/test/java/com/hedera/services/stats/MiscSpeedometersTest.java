@@ -59,7 +59,13 @@ class MiscSpeedometersTest {
 		StatEntry sync = mock(StatEntry.class);
 		StatEntry async = mock(StatEntry.class);
 		StatEntry retries = mock(StatEntry.class);
+		StatEntry parked = mock(StatEntry.class);
+		StatEntry woken = mock(StatEntry.class);
 		StatEntry rejections = mock(StatEntry.class);
+		StatEntry parsesAvoided = mock(StatEntry.class);
+		StatEntry hashesAvoided = mock(StatEntry.class);
+		StatEntry memoHits = mock(StatEntry.class);
+		StatEntry memoInvalidations = mock(StatEntry.class);
 
 		given(factory.from(
 				argThat(MiscSpeedometers.Names.SYNC_VERIFICATIONS::equals),
@@ -73,44 +79,98 @@ class MiscSpeedometersTest {
 				argThat(MiscSpeedometers.Names.ACCOUNT_LOOKUP_RETRIES::equals),
 				argThat(MiscSpeedometers.Descriptions.ACCOUNT_LOOKUP_RETRIES::equals),
 				any())).willReturn(retries);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.ACCOUNT_LOOKUPS_PARKED::equals),
+				argThat(MiscSpeedometers.Descriptions.ACCOUNT_LOOKUPS_PARKED::equals),
+				any())).willReturn(parked);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.ACCOUNT_LOOKUPS_WOKEN::equals),
+				argThat(MiscSpeedometers.Descriptions.ACCOUNT_LOOKUPS_WOKEN::equals),
+				any())).willReturn(woken);
 		given(factory.from(
 				argThat(MiscSpeedometers.Names.PLATFORM_TXN_REJECTIONS::equals),
 				argThat(MiscSpeedometers.Descriptions.PLATFORM_TXN_REJECTIONS::equals),
 				any())).willReturn(rejections);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.TXN_PARSES_AVOIDED::equals),
+				argThat(MiscSpeedometers.Descriptions.TXN_PARSES_AVOIDED::equals),
+				any())).willReturn(parsesAvoided);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.TXN_HASHES_AVOIDED::equals),
+				argThat(MiscSpeedometers.Descriptions.TXN_HASHES_AVOIDED::equals),
+				any())).willReturn(hashesAvoided);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.SIGNING_ORDER_MEMO_HITS::equals),
+				argThat(MiscSpeedometers.Descriptions.SIGNING_ORDER_MEMO_HITS::equals),
+				any())).willReturn(memoHits);
+		given(factory.from(
+				argThat(MiscSpeedometers.Names.SIGNING_ORDER_MEMO_INVALIDATIONS::equals),
+				argThat(MiscSpeedometers.Descriptions.SIGNING_ORDER_MEMO_INVALIDATIONS::equals),
+				any())).willReturn(memoInvalidations);
 
 		// when:
 		subject.registerWith(platform);
 
 		// then:
 		verify(platform).addAppStatEntry(retries);
+		verify(platform).addAppStatEntry(parked);
+		verify(platform).addAppStatEntry(woken);
 		verify(platform).addAppStatEntry(sync);
 		verify(platform).addAppStatEntry(async);
 		verify(platform).addAppStatEntry(rejections);
+		verify(platform).addAppStatEntry(parsesAvoided);
+		verify(platform).addAppStatEntry(hashesAvoided);
+		verify(platform).addAppStatEntry(memoHits);
+		verify(platform).addAppStatEntry(memoInvalidations);
 	}
 
 	@Test
 	public void cyclesExpectedSpeedometers() {
 		// setup:
 		StatsSpeedometer retries = mock(StatsSpeedometer.class);
+		StatsSpeedometer parked = mock(StatsSpeedometer.class);
+		StatsSpeedometer woken = mock(StatsSpeedometer.class);
 		StatsSpeedometer sync = mock(StatsSpeedometer.class);
 		StatsSpeedometer async = mock(StatsSpeedometer.class);
 		StatsSpeedometer rejections = mock(StatsSpeedometer.class);
+		StatsSpeedometer parsesAvoided = mock(StatsSpeedometer.class);
+		StatsSpeedometer hashesAvoided = mock(StatsSpeedometer.class);
+		StatsSpeedometer memoHits = mock(StatsSpeedometer.class);
+		StatsSpeedometer memoInvalidations = mock(StatsSpeedometer.class);
 		// and:
 		subject.accountLookupRetries = retries;
+		subject.accountLookupsParked = parked;
+		subject.accountLookupsWoken = woken;
 		subject.syncVerifications = sync;
 		subject.platformTxnRejections = rejections;
 		subject.asyncVerifications = async;
+		subject.txnParsesAvoided = parsesAvoided;
+		subject.txnHashesAvoided = hashesAvoided;
+		subject.signingOrderMemoHits = memoHits;
+		subject.signingOrderMemoInvalidations = memoInvalidations;
 
 		// when:
 		subject.cycleAccountLookupRetries();
+		subject.cycleAccountLookupsParked();
+		subject.cycleAccountLookupsWoken();
 		subject.cycleAsyncVerifications();
 		subject.cycleSyncVerifications();
 		subject.cyclePlatformTxnRejections();
+		subject.cycleTxnParsesAvoided(3);
+		subject.cycleTxnHashesAvoided();
+		subject.cycleSigningOrderMemoHits();
+		subject.cycleSigningOrderMemoInvalidations();
 
 		// then:
 		verify(retries).update(1.0);
+		verify(parked).update(1.0);
+		verify(woken).update(1.0);
 		verify(rejections).update(1.0);
 		verify(sync).update(1.0);
 		verify(async).update(1.0);
+		verify(parsesAvoided).update(3.0);
+		verify(hashesAvoided).update(1.0);
+		verify(memoHits).update(1.0);
+		verify(memoInvalidations).update(1.0);
 	}
 }
@@ -21,6 +21,7 @@ package com.grame.services.stats;
  */
 
 import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.records.TxnIdRecentHistories;
 import com.grame.services.utils.Pause;
 import com.grame.services.utils.SleepingPause;
 import com.swirlds.common.NodeId;
@@ -30,18 +31,24 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.io.IOException;
 import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.verify;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 class ServicesStatsManagerTest {
 	long updateIntervalMs = 1_234;
 
 	Pause pause;
 	Function<Runnable, Thread> threads;
+	Function<HapiOpLatencies, LatencyScrapeEndpoint> endpoints;
 	Platform platform;
 
 	HapiOpCounters counters;
@@ -49,6 +56,9 @@ class ServicesStatsManagerTest {
 	MiscSpeedometers miscSpeedometers;
 	HapiOpSpeedometers speedometers;
 	NodeLocalProperties properties;
+	TxnIdRecentHistories txnHistories;
+	HapiOpLatencies latencies;
+	LatencyScrapeEndpoint endpoint;
 
 	ServicesStatsManager subject;
 
@@ -56,8 +66,12 @@ class ServicesStatsManagerTest {
 	public void setup() throws Exception {
 		pause = mock(Pause.class);
 		threads = mock(Function.class);
+		endpoints = mock(Function.class);
+		endpoint = mock(LatencyScrapeEndpoint.class);
+		given(endpoints.apply(any())).willReturn(endpoint);
 
 		ServicesStatsManager.loopFactory = threads;
+		ServicesStatsManager.endpointFactory = endpoints;
 		ServicesStatsManager.pause = pause;
 
 		platform = mock(Platform.class);
@@ -68,8 +82,13 @@ class ServicesStatsManagerTest {
 		miscSpeedometers = mock(MiscSpeedometers.class);
 		properties = mock(NodeLocalProperties.class);
 		given(properties.statsHapiOpsSpeedometerUpdateIntervalMs()).willReturn(updateIntervalMs);
+		txnHistories = mock(TxnIdRecentHistories.class);
+		given(txnHistories.size()).willReturn(3);
+		given(txnHistories.estimatedHeapBytes()).willReturn(4096L);
+		latencies = mock(HapiOpLatencies.class);
 
-		subject = new ServicesStatsManager(counters, runningAvgs, miscSpeedometers, speedometers, properties);
+		subject = new ServicesStatsManager(
+				counters, runningAvgs, miscSpeedometers, speedometers, properties, txnHistories, latencies);
 	}
 
 
@@ -81,6 +100,7 @@ class ServicesStatsManagerTest {
 				runnable.run();
 			}
 		});
+		ServicesStatsManager.endpointFactory = LatencyScrapeEndpoint::new;
 	}
 
 	@Test
@@ -100,6 +120,7 @@ class ServicesStatsManagerTest {
 		verify(speedometers).registerWith(platform);
 		verify(miscSpeedometers).registerWith(platform);
 		verify(runningAvgs).registerWith(platform);
+		verify(latencies).registerWith(platform);
 		verify(platform).appStatInit();
 		// and:
 		verify(thread).start();
@@ -109,5 +130,32 @@ class ServicesStatsManagerTest {
 		// then:
 		verify(pause).forMs(updateIntervalMs);
 		verify(speedometers).updateAll();
+		verify(latencies).rotateStats();
+		verify(runningAvgs).recordRecentTxnIdHistories(3, 4096L);
+		// and:
+		verify(endpoints, never()).apply(any());
+	}
+
+	@Test
+	public void servesLatenciesIfPortConfigured() throws IOException {
+		given(threads.apply(any())).willReturn(mock(Thread.class));
+		given(properties.statsLatencyScrapePort()).willReturn(9999);
+
+		// when:
+		subject.initializeFor(platform);
+
+		// then:
+		verify(endpoints).apply(latencies);
+		verify(endpoint).startOn(9999);
+	}
+
+	@Test
+	public void toleratesUnavailableScrapePort() throws IOException {
+		given(threads.apply(any())).willReturn(mock(Thread.class));
+		given(properties.statsLatencyScrapePort()).willReturn(9999);
+		willThrow(IOException.class).given(endpoint).startOn(9999);
+
+		// expect:
+		assertDoesNotThrow(() -> subject.initializeFor(platform));
 	}
 }
@@ -46,6 +46,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.function.BiConsumer;
@@ -128,6 +129,7 @@ public class grameScheduleStoreTest {
 		given(schedule.adminKey()).willReturn(Optional.of(SCHEDULE_ADMIN_KT.asJKeyUnchecked()));
 		given(schedule.payer()).willReturn(ofNullableAccountId(payerId));
 		given(schedule.memo()).willReturn(Optional.of(entityMemo));
+		given(schedule.expiry()).willReturn(expectedExpiry);
 
 		given(anotherSchedule.payer()).willReturn(ofNullableAccountId(anotherPayerId));
 
@@ -477,6 +479,30 @@ public class grameScheduleStoreTest {
 		assertEquals(Pair.of(Optional.of(created), schedule), scheduleIdPair);
 	}
 
+	@Test
+	public void ignoresCollisionWithExpiredButUnpurgedSchedule() {
+		// setup:
+		var parentTxn = MerkleScheduleTest.scheduleCreateTxnWith(
+				asKeyUnchecked(adminJKey),
+				entityMemo,
+				entityPayer.toGrpcAccountId(),
+				entitySchedulingAccount.toGrpcAccountId(),
+				schedulingTXValidStart.toGrpc());
+		var candSchedule = MerkleSchedule.from(parentTxn.toByteArray(), expectedExpiry);
+		var cav = candSchedule.toContentAddressableView();
+
+		// given:
+		subject.getExtantSchedules().put(cav, fromScheduleId(created));
+		given(txnCtx.consensusTime()).willReturn(Instant.ofEpochSecond(expectedExpiry));
+
+		// when:
+		var scheduleIdPair = subject.lookupSchedule(parentTxn.toByteArray());
+
+		// then:
+		assertTrue(scheduleIdPair.getLeft().isEmpty());
+		assertEquals(MerkleSchedule.from(parentTxn.toByteArray(), 0L), scheduleIdPair.getRight());
+	}
+
 	@Test
 	public void recognizesCollisionWithPending() {
 		// setup:
@@ -642,6 +668,51 @@ public class grameScheduleStoreTest {
 		assertFalse(subject.getExtantSchedules().containsKey(schedule));
 	}
 
+	@Test
+	void expiringKeepsNewerIdenticalSchedule() {
+		// setup:
+		var newer = new MerkleEntityId(1, 2, 4);
+
+		// given:
+		subject.getExtantSchedules().put(schedule, newer);
+
+		// when:
+		subject.expire(EntityId.ofNullableScheduleId(created));
+
+		// then:
+		verify(schedules).remove(fromScheduleId(created));
+		// and:
+		assertEquals(newer, subject.getExtantSchedules().get(schedule));
+	}
+
+	@Test
+	public void resolvesOnlyUnexpiredSchedules() {
+		// given:
+		given(txnCtx.consensusTime()).willReturn(Instant.ofEpochSecond(expectedExpiry - 1));
+
+		// expect:
+		assertEquals(created, subject.resolve(created));
+
+		// and given:
+		given(txnCtx.consensusTime()).willReturn(Instant.ofEpochSecond(expectedExpiry));
+
+		// expect:
+		assertEquals(ScheduleStore.MISSING_SCHEDULE, subject.resolve(created));
+		assertTrue(subject.exists(created));
+	}
+
+	@Test
+	public void rejectsUsingExpiredButUnpurgedSchedule() {
+		// given:
+		given(txnCtx.consensusTime()).willReturn(Instant.ofEpochSecond(expectedExpiry + 1));
+
+		// expect:
+		assertEquals(INVALID_SCHEDULE_ID, subject.delete(created));
+		assertEquals(INVALID_SCHEDULE_ID, subject.markAsExecuted(created));
+		// and:
+		verify(schedules, never()).getForModify(fromScheduleId(created));
+	}
+
 	@Test
 	public void throwsOnExpiringMissingSchedule() {
 		// given:
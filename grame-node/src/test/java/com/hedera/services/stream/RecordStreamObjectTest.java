@@ -44,6 +44,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class RecordStreamObjectTest {
@@ -129,6 +131,47 @@ public class RecordStreamObjectTest {
 		}
 	}
 
+	@Test
+	public void serializesGivenTransactionBytesVerbatim() throws IOException {
+		// setup:
+		final byte[] transactionBytes = realObject.getTransaction().toByteArray();
+		final RecordStreamObject subject = new RecordStreamObject(
+				realObject.getTransactionRecord(), realObject.getTransaction(), transactionBytes, realObject.getTimestamp());
+
+		// expect:
+		Assert.assertSame(transactionBytes, subject.getTransactionBytes());
+		Assert.assertArrayEquals(serialized(realObject), serialized(subject));
+		assertEquals(realObject, subject);
+	}
+
+	@Test
+	public void encodesRecordAndTransactionOnlyOnce() throws IOException {
+		// setup:
+		final TransactionRecord record = mock(TransactionRecord.class);
+		final Transaction transaction = mock(Transaction.class);
+		when(record.toByteArray()).thenReturn(new byte[] { 1, 2 });
+		when(transaction.toByteArray()).thenReturn(new byte[] { 3, 4, 5 });
+		final RecordStreamObject subject = new RecordStreamObject(record, transaction, consensusTimestamp);
+
+		// when:
+		final byte[] first = serialized(subject);
+		final byte[] second = serialized(subject);
+
+		// then:
+		Assert.assertArrayEquals(first, second);
+		verify(record, times(1)).toByteArray();
+		verify(transaction, times(1)).toByteArray();
+	}
+
+	private static byte[] serialized(RecordStreamObject object) throws IOException {
+		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+			 SerializableDataOutputStream out = new SerializableDataOutputStream(byteArrayOutputStream)) {
+			object.serialize(out);
+			out.flush();
+			return byteArrayOutputStream.toByteArray();
+		}
+	}
+
 	private static RecordStreamObject getRecordStreamObject() {
 		final Instant consensusTimestamp = Instant.now();
 		final AccountID.Builder accountID = AccountID.newBuilder().setAccountNum(3);
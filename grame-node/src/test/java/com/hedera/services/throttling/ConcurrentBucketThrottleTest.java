@@ -0,0 +1,115 @@
+package com.grame.services.throttling;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.throttles.DeterministicThrottle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentBucketThrottleTest {
+	long now = 1_234_567_890L;
+	long nanosPerSec = 1_000_000_000L;
+
+	@Test
+	void singleStripeAdmitsExactlyTheBurstCapacity() {
+		// setup:
+		var subject = ConcurrentBucketThrottle.from(DeterministicThrottle.withTpsAndBurstPeriod(10, 2), 1, 1);
+		var cost = subject.costOf(1);
+
+		// expect:
+		for (int i = 0; i < 20; i++) {
+			assertTrue(subject.allow(cost, now));
+		}
+		assertFalse(subject.allow(cost, now));
+		// and:
+		assertTrue(subject.allow(cost, now + nanosPerSec / 10));
+		assertFalse(subject.allow(cost, now + nanosPerSec / 10));
+	}
+
+	@Test
+	void leaksFullyAfterBurstPeriod() {
+		// setup:
+		var subject = ConcurrentBucketThrottle.from(DeterministicThrottle.withTpsAndBurstPeriod(1, 1), 1, 1);
+		var cost = subject.costOf(1);
+
+		// given:
+		assertTrue(subject.allow(cost, now));
+		assertFalse(subject.allow(cost, now));
+
+		// expect:
+		assertTrue(subject.allow(cost, now + 2 * nanosPerSec));
+	}
+
+	@Test
+	void reclaimsCostForNextRequest() {
+		// setup:
+		var subject = ConcurrentBucketThrottle.from(DeterministicThrottle.withTpsAndBurstPeriod(1, 1), 1, 1);
+		var cost = subject.costOf(1);
+
+		// given:
+		assertTrue(subject.allow(cost, now));
+
+		// when:
+		subject.reclaim(cost);
+
+		// then:
+		assertTrue(subject.allow(cost, now));
+	}
+
+	@Test
+	void eachStripeGetsShareOfCapacity() {
+		// setup:
+		var subject = ConcurrentBucketThrottle.from(DeterministicThrottle.withTpsAndBurstPeriod(10, 1), 1, 2);
+		var cost = subject.costOf(1);
+
+		// expect:
+		assertEquals(2, subject.numStripes());
+		for (int i = 0; i < 5; i++) {
+			assertTrue(subject.allow(cost, now));
+		}
+		assertFalse(subject.allow(cost, now));
+		// and:
+		assertTrue(subject.allow(cost, now + nanosPerSec / 5));
+	}
+
+	@Test
+	void neverUsesStripesTooSmallForLargestReq() {
+		// given:
+		var throttle = DeterministicThrottle.withTpsAndBurstPeriod(10, 1);
+
+		// expect:
+		assertEquals(2, ConcurrentBucketThrottle.from(throttle, 5, 8).numStripes());
+		assertEquals(1, ConcurrentBucketThrottle.from(throttle, 10, 8).numStripes());
+		assertEquals(1, ConcurrentBucketThrottle.from(throttle, 20, 8).numStripes());
+	}
+
+	@Test
+	void hasExpectedName() {
+		// given:
+		var subject = ConcurrentBucketThrottle.from(DeterministicThrottle.withTpsNamed(10, "A"), 1, 1);
+
+		// expect:
+		assertEquals("A", subject.name());
+	}
+}
@@ -0,0 +1,121 @@
+package com.grame.services.throttling;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.grame.services.sysfiles.domain.throttling.ThrottleDefinitions;
+import com.grame.test.utils.SerdeUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.gramegrame.api.proto.java.grameFunctionality.ContractCall;
+import static com.gramegrame.api.proto.java.grameFunctionality.CryptoTransfer;
+import static com.gramegrame.api.proto.java.grameFunctionality.FileCreate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentHapiThrottlingTest {
+	int n = 2;
+	int stripes = 1;
+	long now = 1_234_567_890L;
+	ThrottleDefinitions defs;
+
+	ConcurrentHapiThrottling subject;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		defs = SerdeUtils.pojoDefs("bootstrap/throttles.json");
+
+		subject = new ConcurrentHapiThrottling(() -> n, () -> stripes, () -> now);
+		subject.rebuildFor(defs);
+	}
+
+	@Test
+	void alwaysThrottlesUnconfiguredFunction() {
+		// expect:
+		assertTrue(subject.shouldThrottle(FileCreate));
+	}
+
+	@Test
+	void admitsUpToTightestBucketAndReclaimsOthers() {
+		// expect:
+		for (int i = 0; i < 10; i++) {
+			assertFalse(subject.shouldThrottle(ContractCall));
+		}
+		assertTrue(subject.shouldThrottle(ContractCall));
+		// and:
+		assertEquals(1666, numAdmitted(CryptoTransfer));
+	}
+
+	@Test
+	void admitsSameTotalAcrossManyThreads() throws InterruptedException {
+		// setup:
+		stripes = 4;
+		int numThreads = 8;
+		var admitted = new AtomicInteger();
+		var done = new CountDownLatch(numThreads);
+		ExecutorService exec = Executors.newFixedThreadPool(numThreads);
+
+		// given:
+		subject.rebuildFor(defs);
+
+		// when:
+		for (int i = 0; i < numThreads; i++) {
+			exec.submit(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					if (!subject.shouldThrottle(CryptoTransfer)) {
+						admitted.incrementAndGet();
+					}
+				}
+				done.countDown();
+			});
+		}
+		done.await(10, TimeUnit.SECONDS);
+		exec.shutdown();
+
+		// then:
+		assertTrue(admitted.get() > 0);
+		assertTrue(admitted.get() <= 10_000);
+	}
+
+	@Test
+	void unsupportedMethodsThrow() {
+		// expect:
+		assertThrows(UnsupportedOperationException.class, () -> subject.activeThrottlesFor(null));
+		assertThrows(UnsupportedOperationException.class, () -> subject.allActiveThrottles());
+	}
+
+	private int numAdmitted(com.gramegrame.api.proto.java.grameFunctionality function) {
+		int admitted = 0;
+		while (!subject.shouldThrottle(function)) {
+			admitted++;
+		}
+		return admitted;
+	}
+}
@@ -95,6 +95,7 @@ public class ScheduleSignTransitionLogicTest {
         classifier = mock(SigMapScheduleClassifier.class);
         schedule = mock(MerkleSchedule.class);
         given(txnCtx.activePayerKey()).willReturn(payerKey);
+        given(store.resolve(scheduleId)).willReturn(scheduleId);
 
         given(replSigningWitness.observeInScope(scheduleId, store, validScheduleKeys, activationHelper))
                 .willReturn(Pair.of(OK, true));
@@ -207,6 +208,21 @@ public class ScheduleSignTransitionLogicTest {
         verify(executor, never()).doProcess(any());
     }
 
+    @Test
+    public void rejectsExpiredButUnpurgedSchedule() throws InvalidProtocolBufferException {
+        givenValidTxnCtx();
+        given(store.resolve(scheduleId)).willReturn(ScheduleStore.MISSING_SCHEDULE);
+
+        // when:
+        subject.doStateTransition();
+
+        // then:
+        verify(txnCtx).setStatus(INVALID_SCHEDULE_ID);
+        // and:
+        verify(replSigningWitness, never()).observeInScope(any(), any(), any(), any());
+        verify(executor, never()).doProcess(any());
+    }
+
     @Test
     public void rejectsInvalidScheduleId() {
         givenCtx(true);
@@ -23,7 +23,9 @@ package com.grame.services.txns.submission;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.grame.services.records.RecordCache;
+import com.grame.services.stats.HapiOpLatencies;
 import com.grame.services.stats.MiscSpeedometers;
+import com.grame.services.utils.ParsedTxnAccessorCache;
 import com.grame.services.utils.SignedTxnAccessor;
 import com.gramegrame.api.proto.java.CryptoTransferTransactionBody;
 import com.gramegrame.api.proto.java.Transaction;
@@ -35,11 +37,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import static com.grame.services.stats.HapiOpLatencies.Stage.SUBMISSION;
 import static com.grame.test.utils.IdUtils.asAccount;
+import static com.gramegrame.api.proto.java.grameFunctionality.UncheckedSubmit;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.PLATFORM_TRANSACTION_NOT_CREATED;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.mock;
@@ -76,6 +82,8 @@ class PlatformSubmissionManagerTest {
 	Platform platform;
 	RecordCache recordCache;
 	MiscSpeedometers speedometers;
+	ParsedTxnAccessorCache accessorCache;
+	HapiOpLatencies opLatencies;
 
 	PlatformSubmissionManager subject;
 
@@ -84,12 +92,14 @@ class PlatformSubmissionManagerTest {
 		platform = mock(Platform.class);
 		recordCache = mock(RecordCache.class);
 		speedometers = mock(MiscSpeedometers.class);
+		accessorCache = mock(ParsedTxnAccessorCache.class);
+		opLatencies = mock(HapiOpLatencies.class);
 
 		accessor = new SignedTxnAccessor(signedTxn);
 		uncheckedAccessor = new SignedTxnAccessor(uncheckedSubTxn);
 		invalidUncheckedAccessor = new SignedTxnAccessor(invalidUncheckedSubTxn);
 
-		subject = new PlatformSubmissionManager(platform, recordCache, speedometers);
+		subject = new PlatformSubmissionManager(platform, recordCache, speedometers, accessorCache, opLatencies);
 	}
 
 	@Test
@@ -108,6 +118,7 @@ class PlatformSubmissionManagerTest {
 		assertEquals(OK, result);
 		// and:
 		verify(recordCache).addPreConsensus(accessor.getTxnId());
+		verify(accessorCache).cache(accessor);
 	}
 
 	@Test
@@ -121,6 +132,7 @@ class PlatformSubmissionManagerTest {
 		assertEquals(PLATFORM_TRANSACTION_NOT_CREATED, result);
 		// and:
 		verify(recordCache, never()).addPreConsensus(any());
+		verify(accessorCache, never()).cache(any());
 		verify(speedometers).cyclePlatformTxnRejections();
 	}
 
@@ -140,6 +152,7 @@ class PlatformSubmissionManagerTest {
 		assertEquals(OK, result);
 		// and:
 		verify(recordCache).addPreConsensus(accessor.getTxnId());
+		verify(opLatencies).record(eq(SUBMISSION), eq(UncheckedSubmit), anyLong());
 	}
 
 	@Test
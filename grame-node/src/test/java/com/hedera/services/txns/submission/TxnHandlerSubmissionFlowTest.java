@@ -43,8 +43,10 @@ import com.gramegrame.api.proto.java.TransactionID;
 import com.gramegrame.api.proto.java.TransactionResponse;
 import com.grame.services.context.domain.process.TxnValidityAndFeeReq;
 import com.grame.services.legacy.handler.TransactionHandler;
+import com.grame.services.utils.SignedTxnAccessor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
 
 import java.util.Optional;
 import java.util.function.Function;
@@ -131,7 +133,7 @@ class TxnHandlerSubmissionFlowTest {
 		// setup:
 		TxnValidityAndFeeReq metaValidity = new TxnValidityAndFeeReq(INSUFFICIENT_PAYER_BALANCE, feeRequired);
 
-		given(txnHandler.validateTransactionPreConsensus(signedTxn, false)).willReturn(metaValidity);
+		given(txnHandler.validateAccessorPreConsensus(argThat(isAccessorOf(signedTxn)), eq(false))).willReturn(metaValidity);
 
 		// when:
 		TransactionResponse response = subject.submit(signedTxn);
@@ -143,7 +145,7 @@ class TxnHandlerSubmissionFlowTest {
 
 	@Test
 	public void rejectsInvalidSyntax() {
-		given(txnHandler.validateTransactionPreConsensus(signedTxn, false)).willReturn(okMeta);
+		given(txnHandler.validateAccessorPreConsensus(argThat(isAccessorOf(signedTxn)), eq(false))).willReturn(okMeta);
 		given(syntaxCheck.apply(any())).willReturn(INVALID_ACCOUNT_ID);
 
 		// when:
@@ -155,7 +157,7 @@ class TxnHandlerSubmissionFlowTest {
 
 	@Test
 	public void catchesPlatformCreateEx() throws Exception {
-		given(txnHandler.validateTransactionPreConsensus(signedTxn, false)).willReturn(okMeta);
+		given(txnHandler.validateAccessorPreConsensus(argThat(isAccessorOf(signedTxn)), eq(false))).willReturn(okMeta);
 		given(syntaxCheck.apply(any())).willReturn(OK);
 		given(submissionManager.trySubmission(any())).willReturn(PLATFORM_TRANSACTION_NOT_CREATED);
 
@@ -168,7 +170,7 @@ class TxnHandlerSubmissionFlowTest {
 
 	@Test
 	public void followsHappyPathToOk() throws Exception {
-		given(txnHandler.validateTransactionPreConsensus(signedTxn, false)).willReturn(okMeta);
+		given(txnHandler.validateAccessorPreConsensus(argThat(isAccessorOf(signedTxn)), eq(false))).willReturn(okMeta);
 		given(syntaxCheck.apply(any())).willReturn(OK);
 		given(submissionManager.trySubmission(any())).willReturn(OK);
 
@@ -181,7 +183,7 @@ class TxnHandlerSubmissionFlowTest {
 
 	@Test
 	public void usesFallbackSyntaxCheckIfNotSupported() throws Exception {
-		given(txnHandler.validateTransactionPreConsensus(signedTxn, false)).willReturn(okMeta);
+		given(txnHandler.validateAccessorPreConsensus(argThat(isAccessorOf(signedTxn)), eq(false))).willReturn(okMeta);
 		given(logicLookup.lookupFor(any(), any())).willReturn(Optional.empty());
 
 		// when:
@@ -196,7 +198,7 @@ class TxnHandlerSubmissionFlowTest {
 		// setup:
 		TxnValidityAndFeeReq metaValidity = new TxnValidityAndFeeReq(INSUFFICIENT_PAYER_BALANCE, feeRequired);
 
-		given(txnHandler.validateTransactionPreConsensus(newTxn, false)).willReturn(metaValidity);
+		given(txnHandler.validateAccessorPreConsensus(argThat(isAccessorOf(newTxn)), eq(false))).willReturn(metaValidity);
 
 		// when:
 		TransactionResponse response = subject.submit(newTxn);
@@ -208,7 +210,7 @@ class TxnHandlerSubmissionFlowTest {
 
 	@Test
 	public void followsSignedTxnHappyPathToOk() throws Exception {
-		given(txnHandler.validateTransactionPreConsensus(newTxn, false)).willReturn(okMeta);
+		given(txnHandler.validateAccessorPreConsensus(argThat(isAccessorOf(newTxn)), eq(false))).willReturn(okMeta);
 		given(syntaxCheck.apply(any())).willReturn(OK);
 		given(submissionManager.trySubmission(any())).willReturn(OK);
 
@@ -218,4 +220,8 @@ class TxnHandlerSubmissionFlowTest {
 		// then:
 		assertEquals(OK, response.getNodeTransactionPrecheckCode());
 	}
+
+	private ArgumentMatcher<SignedTxnAccessor> isAccessorOf(Transaction txn) {
+		return accessor -> txn.equals(accessor.getBackwardCompatibleSignedTxn());
+	}
 }
@@ -21,6 +21,7 @@ package com.grame.services.txns.submission;
  */
 
 import com.grame.services.stats.HapiOpCounters;
+import com.grame.services.stats.HapiOpLatencies;
 import com.grame.services.txns.SubmissionFlow;
 import com.gramegrame.api.proto.java.Transaction;
 import com.gramegrame.api.proto.java.TransactionResponse;
@@ -29,8 +30,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
+import static com.grame.services.stats.HapiOpLatencies.Stage.RECEIPT;
 import static com.gramegrame.api.proto.java.grameFunctionality.CryptoTransfer;
 import static com.gramegrame.api.proto.java.ResponseCodeEnum.OK;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.inOrder;
 import static org.mockito.BDDMockito.mock;
@@ -43,6 +47,7 @@ class TxnResponseHelperTest {
 
 	SubmissionFlow submissionFlow;
 	HapiOpCounters opCounters;
+	HapiOpLatencies opLatencies;
 	StreamObserver<TransactionResponse> observer;
 	TxnResponseHelper subject;
 
@@ -50,18 +55,19 @@ class TxnResponseHelperTest {
 	private void setup() {
 		submissionFlow = mock(SubmissionFlow.class);
 		opCounters = mock(HapiOpCounters.class);
+		opLatencies = mock(HapiOpLatencies.class);
 		observer = mock(StreamObserver.class);
 		okResponse = mock(TransactionResponse.class);
 		given(okResponse.getNodeTransactionPrecheckCode()).willReturn(OK);
 		notOkResponse = mock(TransactionResponse.class);
 
-		subject = new TxnResponseHelper(submissionFlow, opCounters);
+		subject = new TxnResponseHelper(submissionFlow, opCounters, opLatencies);
 	}
 
 	@Test
 	public void helpsWithSubmitHappyPath() {
 		// setup:
-		InOrder inOrder = inOrder(submissionFlow, opCounters, observer);
+		InOrder inOrder = inOrder(submissionFlow, opCounters, observer, opLatencies);
 
 		given(submissionFlow.submit(txn)).willReturn(okResponse);
 
@@ -74,6 +80,7 @@ class TxnResponseHelperTest {
 		inOrder.verify(observer).onNext(okResponse);
 		inOrder.verify(observer).onCompleted();
 		inOrder.verify(opCounters).countSubmitted(CryptoTransfer);
+		inOrder.verify(opLatencies).record(eq(RECEIPT), eq(CryptoTransfer), anyLong());
 	}
 
 	@Test
@@ -0,0 +1,175 @@
+package com.grame.services.utils;
+
+/*-
+ * ‌
+ * grame Services Node
+ * ​
+ * Copyright (C) 2018 - 2021 grame grame, LLC
+ * ​
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ‍
+ */
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.grame.services.context.properties.NodeLocalProperties;
+import com.grame.services.sigs.order.SigningOrderMemo;
+import com.grame.services.stats.HapiOpLatencies;
+import com.grame.services.stats.MiscSpeedometers;
+import com.gramegrame.api.proto.java.Transaction;
+import com.gramegrame.api.proto.java.TransactionBody;
+import com.gramegrame.api.proto.java.TransactionID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.grame.services.stats.HapiOpLatencies.Stage.CONSENSUS;
+import static com.grame.services.utils.ParsedTxnAccessorCache.PARSES_PER_ACCESSOR;
+import static com.gramegrame.api.proto.java.grameFunctionality.NONE;
+import static com.grame.test.utils.IdUtils.asAccount;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+class ParsedTxnAccessorCacheTest {
+	int maxSize = 2;
+	Transaction signedTxn = Transaction.newBuilder()
+			.setBodyBytes(TransactionBody.newBuilder()
+					.setTransactionID(TransactionID.newBuilder().setAccountID(asAccount("0.0.2")))
+					.setMemo("Hi!")
+					.build().toByteString())
+			.build();
+
+	NodeLocalProperties properties;
+	MiscSpeedometers speedometers;
+	HapiOpLatencies opLatencies;
+
+	ParsedTxnAccessorCache subject;
+
+	@BeforeEach
+	private void setup() {
+		properties = mock(NodeLocalProperties.class);
+		given(properties.accessorCacheMaxSize()).willReturn(maxSize);
+		speedometers = mock(MiscSpeedometers.class);
+		opLatencies = mock(HapiOpLatencies.class);
+
+		subject = new ParsedTxnAccessorCache(properties, speedometers, opLatencies);
+	}
+
+	@Test
+	public void reusesParsedAccessorForSubmittedTxn() throws InvalidProtocolBufferException {
+		// setup:
+		var submitted = new SignedTxnAccessor(signedTxn);
+		var platformTxn = new com.swirlds.common.Transaction(signedTxn.toByteArray());
+
+		// given:
+		subject.cache(submitted);
+
+		// when:
+		var accessor = subject.accessorFor(platformTxn);
+
+		// then:
+		assertSame(submitted.getTxn(), accessor.getTxn());
+		assertSame(submitted.getHash(), accessor.getHash());
+		assertSame(platformTxn, accessor.getPlatformTxn());
+		// and:
+		verify(speedometers).cycleTxnParsesAvoided(PARSES_PER_ACCESSOR);
+		verify(speedometers).cycleTxnHashesAvoided();
+		verify(opLatencies).record(eq(CONSENSUS), eq(NONE), longThat(nanos -> nanos >= 0));
+		// and:
+		assertEquals(0, subject.size());
+	}
+
+	@Test
+	public void parsesTxnsNotSubmittedByThisNode() throws InvalidProtocolBufferException {
+		// setup:
+		var platformTxn = new com.swirlds.common.Transaction(signedTxn.toByteArray());
+
+		// when:
+		var accessor = subject.accessorFor(platformTxn);
+
+		// then:
+		assertEquals(signedTxn, accessor.getBackwardCompatibleSignedTxn());
+		verify(speedometers, never()).cycleTxnParsesAvoided(anyInt());
+		verify(speedometers, never()).cycleTxnHashesAvoided();
+		verify(opLatencies, never()).record(any(), any(), anyLong());
+	}
+
+	@Test
+	public void reusesExpansionAccessorAtConsensus() throws InvalidProtocolBufferException {
+		// setup:
+		var platformTxn = new com.swirlds.common.Transaction(signedTxn.toByteArray());
+		var memo = mock(SigningOrderMemo.class);
+
+		// given:
+		var expansionAccessor = subject.expansionAccessorFor(platformTxn);
+		expansionAccessor.setSigningOrderMemo(memo);
+
+		// when:
+		var accessor = subject.accessorFor(platformTxn);
+
+		// then:
+		assertSame(expansionAccessor, accessor);
+		assertSame(memo, accessor.getSigningOrderMemo());
+		assertSame(expansionAccessor, subject.expansionAccessorFor(platformTxn));
+		// and:
+		verify(speedometers).cycleTxnParsesAvoided(PARSES_PER_ACCESSOR);
+		verify(opLatencies, never()).record(any(), any(), anyLong());
+		assertEquals(0, subject.size());
+	}
+
+	@Test
+	public void expansionReusesParsedAccessorForSubmittedTxn() throws InvalidProtocolBufferException {
+		// setup:
+		var submitted = new SignedTxnAccessor(signedTxn);
+		var platformTxn = new com.swirlds.common.Transaction(signedTxn.toByteArray());
+
+		// given:
+		subject.cache(submitted);
+
+		// when:
+		var expansionAccessor = subject.expansionAccessorFor(platformTxn);
+		var accessor = subject.accessorFor(platformTxn);
+
+		// then:
+		assertSame(submitted.getTxn(), expansionAccessor.getTxn());
+		assertSame(platformTxn, expansionAccessor.getPlatformTxn());
+		assertSame(expansionAccessor, accessor);
+		// and:
+		verify(opLatencies).record(eq(CONSENSUS), eq(NONE), longThat(nanos -> nanos >= 0));
+	}
+
+	@Test
+	public void doesNotReuseExpansionAccessorForDifferentPlatformTxn() throws InvalidProtocolBufferException {
+		// setup:
+		var platformTxn = new com.swirlds.common.Transaction(signedTxn.toByteArray());
+		var samePlatformTxn = new com.swirlds.common.Transaction(signedTxn.toByteArray());
+
+		// given:
+		var expansionAccessor = subject.expansionAccessorFor(platformTxn);
+
+		// when:
+		var accessor = subject.accessorFor(samePlatformTxn);
+
+		// then:
+		assertNotSame(expansionAccessor, accessor);
+		assertSame(expansionAccessor.getTxn(), accessor.getTxn());
+		assertSame(samePlatformTxn, accessor.getPlatformTxn());
+	}
+
+	@Test
+	public void propagatesInvalidContentsOnMiss() {
+		// setup:
+		var platformTxn = new com.swirlds.common.Transaction("NONSENSE".getBytes());
+
+		// expect:
+		assertThrows(InvalidProtocolBufferException.class, () -> subject.accessorFor(platformTxn));
+	}
+}
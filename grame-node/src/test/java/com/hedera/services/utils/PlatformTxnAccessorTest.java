@@ -23,6 +23,7 @@ package com.grame.services.utils;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.grame.services.legacy.proto.utils.CommonUtils;
+import com.grame.services.sigs.order.SigningOrderMemo;
 import com.gramegrame.api.proto.java.AccountID;
 import com.gramegrame.api.proto.java.ConsensusCreateTopicTransactionBody;
 import com.gramegrame.api.proto.java.grameFunctionality;
@@ -40,6 +41,8 @@ import static org.mockito.BDDMockito.*;
 import static com.gramegrame.api.proto.java.grameFunctionality.ConsensusCreateTopic;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.List;
 import java.util.function.Function;
@@ -121,6 +124,49 @@ public class PlatformTxnAccessorTest {
 		SignedTxnAccessor.functionExtractor = memory;
 	}
 
+	@Test
+	public void sharesPreParsedParts() throws InvalidProtocolBufferException {
+		// setup:
+		Transaction signedTxnWithBody = Transaction.newBuilder()
+				.setBodyBytes(someTxn.toByteString())
+				.build();
+		com.swirlds.common.Transaction platformTxn =
+				new com.swirlds.common.Transaction(signedTxnWithBody.toByteArray());
+		SignedTxnAccessor parsed = new SignedTxnAccessor(signedTxnWithBody);
+		var pkToSigsFn = parsed.getPkToSigsFn();
+
+		// when:
+		PlatformTxnAccessor subject = new PlatformTxnAccessor(parsed, platformTxn);
+
+		// then:
+		assertEquals(parsed.getTxn(), subject.getTxn());
+		assertEquals(parsed.getHash(), subject.getHash());
+		assertEquals(parsed.getSigMap(), subject.getSigMap());
+		assertSame(pkToSigsFn, subject.getPkToSigsFn());
+		assertEquals(platformTxn, subject.getPlatformTxn());
+	}
+
+	@Test
+	public void inheritsSigningOrderMemoFromPlatformAccessor() throws InvalidProtocolBufferException {
+		// setup:
+		Transaction signedTxnWithBody = Transaction.newBuilder()
+				.setBodyBytes(someTxn.toByteString())
+				.build();
+		com.swirlds.common.Transaction platformTxn =
+				new com.swirlds.common.Transaction(signedTxnWithBody.toByteArray());
+		var memo = mock(SigningOrderMemo.class);
+		// and:
+		PlatformTxnAccessor expanded = new PlatformTxnAccessor(platformTxn);
+		expanded.setSigningOrderMemo(memo);
+
+		// when:
+		PlatformTxnAccessor subject = new PlatformTxnAccessor(expanded, platformTxn);
+
+		// then:
+		assertSame(memo, subject.getSigningOrderMemo());
+		assertNull(new PlatformTxnAccessor(new SignedTxnAccessor(signedTxnWithBody), platformTxn).getSigningOrderMemo());
+	}
+
 	@Test
 	public void allowsUncheckedConstruction() {
 		// setup:
@@ -37,6 +37,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class SignedTxnAccessorTest {
 	SignatureMap expectedMap = SignatureMap.newBuilder()
@@ -114,6 +115,21 @@ public class SignedTxnAccessorTest {
 		assertEquals(expectedMap, accessor.getSigMap());
 	}
 
+	@Test
+	void memoizesIndexedSigMap() throws Exception {
+		// given:
+		var subject = SignedTxnAccessor.uncheckedFrom(Transaction.newBuilder()
+				.setSigMap(expectedMap)
+				.build());
+
+		// when:
+		var pkToSigsFn = subject.getPkToSigsFn();
+
+		// then:
+		assertArrayEquals("econd".getBytes(), pkToSigsFn.sigBytesFor("second".getBytes()));
+		assertSame(pkToSigsFn, subject.getPkToSigsFn());
+	}
+
 	@Test
 	void throwsOnUnsupportedCallToGetScheduleRef() {
 		// given:
@@ -23,10 +23,12 @@ package com.grame.test.mocks;
 import com.google.common.cache.CacheBuilder;
 import com.grame.services.config.MockGlobalDynamicProps;
 import com.grame.services.context.properties.BootstrapProperties;
+import com.grame.services.context.properties.NodeLocalProperties;
 import com.grame.services.context.properties.PropertySource;
 import com.grame.services.context.properties.StandardizedPropertySources;
 import com.grame.services.fees.FeeCalculator;
 import com.grame.services.fees.HbarCentExchange;
+import com.grame.services.fees.calculation.FeeQuoteCache;
 import com.grame.services.fees.calculation.TxnResourceUsageEstimator;
 import com.grame.services.fees.calculation.UsageBasedFeeCalculator;
 import com.grame.services.fees.calculation.consensus.queries.GetTopicInfoResourceUsage;
@@ -124,7 +126,8 @@ public enum TestFeesFactory {
 						/* Consensus */
 						new GetTopicInfoResourceUsage()
 				),
-				txnUsageFn(cryptoOpsUsage, fileOpsUsage, fileFees, cryptoFees, contractFees)
+				txnUsageFn(cryptoOpsUsage, fileOpsUsage, fileFees, cryptoFees, contractFees),
+				new FeeQuoteCache(new NodeLocalProperties(properties))
 		);
 	}
 